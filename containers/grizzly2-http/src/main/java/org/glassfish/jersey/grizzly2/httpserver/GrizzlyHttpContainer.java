@@ -41,8 +41,6 @@ package org.glassfish.jersey.grizzly2.httpserver;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.security.Principal;
 import java.util.HashSet;
 import java.util.List;
@@ -53,13 +51,13 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.ws.rs.core.SecurityContext;
-import javax.ws.rs.core.UriBuilder;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
 
 import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.ExtendedLogger;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.process.internal.RequestScoped;
 import org.glassfish.jersey.server.ApplicationHandler;
@@ -68,6 +66,7 @@ import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.internal.ConfigHelper;
+import org.glassfish.jersey.server.internal.ContainerUriCache;
 import org.glassfish.jersey.server.spi.Container;
 import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
@@ -80,9 +79,12 @@ import org.glassfish.hk2.utilities.Binder;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
 import org.glassfish.grizzly.CompletionHandler;
+import org.glassfish.grizzly.ReadHandler;
+import org.glassfish.grizzly.http.io.NIOInputStream;
 import org.glassfish.grizzly.http.server.HttpHandler;
 import org.glassfish.grizzly.http.server.Request;
 import org.glassfish.grizzly.http.server.Response;
+import org.glassfish.grizzly.memory.MemoryManager;
 import org.glassfish.grizzly.utils.Charsets;
 
 /**
@@ -160,9 +162,34 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
 
         private final String name;
         private final Response grizzlyResponse;
+        private final boolean nonBlockingChunkedOutput;
+        private final int chunkedOutputQueueLimit;
+
+        private volatile TimeoutHandler timeoutHandler = null;
+        private volatile boolean suspendedByContainer = false;
+        private volatile NonBlockingOutputStream nonBlockingStream = null;
+
+        private final org.glassfish.grizzly.http.server.TimeoutHandler grizzlyTimeoutHandler =
+                new org.glassfish.grizzly.http.server.TimeoutHandler() {
+
+                    @Override
+                    public boolean onTimeout(Response response) {
+                        final TimeoutHandler handler = timeoutHandler;
+                        if (handler != null) {
+                            handler.onTimeout(ResponseWriter.this);
+                        }
+
+                        // TODO should we return true ins some cases instead?
+                        // Returning false relies on the fact that the timeoutHandler
+                        // will resume the response.
+                        return false;
+                    }
+                };
 
-        ResponseWriter(final Response response) {
+        ResponseWriter(final Response response, final boolean nonBlockingChunkedOutput, final int chunkedOutputQueueLimit) {
             this.grizzlyResponse = response;
+            this.nonBlockingChunkedOutput = nonBlockingChunkedOutput;
+            this.chunkedOutputQueueLimit = chunkedOutputQueueLimit;
 
             if (logger.isDebugLoggable()) {
                 this.name = "ResponseWriter {" + "id=" + UUID.randomUUID().toString() + ", grizzlyResponse=" + grizzlyResponse.hashCode() + '}';
@@ -177,35 +204,53 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
             return name;
         }
 
+        /**
+         * Suspend the Grizzly response (without a timeout) before the request is dispatched to the application,
+         * so that the request processing can continue once the request entity has been read asynchronously.
+         * A subsequent {@link #suspend(long, TimeUnit, TimeoutHandler)} call made by the application takes
+         * over the suspended response.
+         */
+        void suspendByContainer() {
+            grizzlyResponse.suspend(0, TimeUnit.MILLISECONDS, EMPTY_COMPLETION_HANDLER, grizzlyTimeoutHandler);
+            suspendedByContainer = true;
+        }
+
         @Override
         public void commit() {
             try {
-                if (grizzlyResponse.isSuspended()) {
-                    grizzlyResponse.resume();
+                final NonBlockingOutputStream stream = nonBlockingStream;
+                if (stream != null) {
+                    // resume only after all the queued chunks have been written out
+                    stream.whenClosed(new Runnable() {
+                        @Override
+                        public void run() {
+                            resume();
+                        }
+                    });
+                } else {
+                    resume();
                 }
             } finally {
                 logger.debugLog("{0} - commit() called", name);
             }
         }
 
+        private void resume() {
+            if (grizzlyResponse.isSuspended()) {
+                grizzlyResponse.resume();
+            }
+        }
+
         @Override
         public boolean suspend(final long timeOut, final TimeUnit timeUnit, final TimeoutHandler timeoutHandler) {
             try {
-                grizzlyResponse.suspend(timeOut, timeUnit, EMPTY_COMPLETION_HANDLER,
-                        new org.glassfish.grizzly.http.server.TimeoutHandler() {
-
-                            @Override
-                            public boolean onTimeout(Response response) {
-                                if (timeoutHandler != null) {
-                                    timeoutHandler.onTimeout(ResponseWriter.this);
-                                }
-
-                                // TODO should we return true ins some cases instead?
-                                // Returning false relies on the fact that the timeoutHandler
-                                // will resume the response.
-                                return false;
-                            }
-                        });
+                this.timeoutHandler = timeoutHandler;
+                if (suspendedByContainer) {
+                    suspendedByContainer = false;
+                    grizzlyResponse.getSuspendContext().setTimeout(timeOut, timeUnit);
+                } else {
+                    grizzlyResponse.suspend(timeOut, timeUnit, EMPTY_COMPLETION_HANDLER, grizzlyTimeoutHandler);
+                }
                 return true;
             } catch (IllegalStateException ex) {
                 return false;
@@ -237,7 +282,13 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
                     }
                 }
 
-                return grizzlyResponse.getOutputStream();
+                if (nonBlockingChunkedOutput && context.isChunked()) {
+                    final NonBlockingOutputStream stream = new NonBlockingOutputStream(grizzlyResponse.getNIOOutputStream(),
+                            chunkedOutputQueueLimit);
+                    nonBlockingStream = stream;
+                    return stream;
+                }
+                return new GrizzlyOutputStream(grizzlyResponse.getNIOOutputStream(), MemoryManager.DEFAULT_MEMORY_MANAGER);
             } finally {
                 logger.debugLog("{0} - writeResponseStatusAndHeaders() called", name);
             }
@@ -253,6 +304,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
                 logger.log(Level.SEVERE, "Unable to send 500 error response.", e);
             } finally {
                 logger.debugLog("{0} - failure(...) called", name);
+                resume();
                 rethrow(error);
             }
         }
@@ -276,8 +328,12 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         }
     }
 
+    private final ContainerUriCache uriCache = new ContainerUriCache();
     private volatile ApplicationHandler appHandler;
     private volatile ContainerLifecycleListener containerListener;
+    private volatile int entityReadThreshold;
+    private volatile boolean nonBlockingChunkedOutput;
+    private volatile int chunkedOutputQueueLimit;
 
     /**
      * Creates a new Grizzly container.
@@ -287,12 +343,24 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
     GrizzlyHttpContainer(final ApplicationHandler application) {
         this.appHandler = application;
         this.containerListener = ConfigHelper.getContainerLifecycleListener(application);
+        configure(application.getConfiguration());
 
         this.appHandler.registerAdditionalBinders(new HashSet<Binder>() {{
             add(new GrizzlyBinder());
         }});
     }
 
+    private void configure(final ResourceConfig configuration) {
+        final Map<String, Object> properties = configuration.getProperties();
+        this.entityReadThreshold = PropertiesHelper.getValue(properties,
+                GrizzlyHttpContainerProperties.ENTITY_READ_THRESHOLD, 0);
+        this.nonBlockingChunkedOutput = PropertiesHelper.getValue(properties,
+                GrizzlyHttpContainerProperties.CHUNKED_OUTPUT_NON_BLOCKING, Boolean.FALSE);
+        this.chunkedOutputQueueLimit = PropertiesHelper.getValue(properties,
+                GrizzlyHttpContainerProperties.CHUNKED_OUTPUT_QUEUE_LIMIT,
+                GrizzlyHttpContainerProperties.DEFAULT_CHUNKED_OUTPUT_QUEUE_LIMIT);
+    }
+
     @Override
     public void start() {
         super.start();
@@ -301,11 +369,69 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
 
     @Override
     public void service(final Request request, final Response response) {
-        final ResponseWriter responseWriter = new ResponseWriter(response);
+        final ResponseWriter responseWriter = new ResponseWriter(response, nonBlockingChunkedOutput,
+                chunkedOutputQueueLimit);
+        final int threshold = entityReadThreshold;
+        if (threshold > 0 && hasEntity(request) && request.getContentLengthLong() <= threshold) {
+            readEntityAndDispatch(request, response, responseWriter, threshold);
+        } else {
+            dispatch(request, response, responseWriter);
+        }
+    }
+
+    private static boolean hasEntity(final Request request) {
+        return request.getContentLengthLong() > 0 || request.getRequest().isChunked();
+    }
+
+    /**
+     * Read the request entity asynchronously and dispatch the request to the application once the whole entity
+     * (or, in case of a chunked entity of an unknown length, its first {@code threshold} bytes) is available.
+     * The Grizzly worker thread is released in the meantime.
+     */
+    private void readEntityAndDispatch(final Request request,
+                                       final Response response,
+                                       final ResponseWriter responseWriter,
+                                       final int threshold) {
+        final long contentLength = request.getContentLengthLong();
+        final int size = contentLength > 0 ? (int) contentLength : threshold;
+        final NIOInputStream input = request.getNIOInputStream();
+
+        responseWriter.suspendByContainer();
+        input.notifyAvailable(new ReadHandler() {
+
+            @Override
+            public void onDataAvailable() throws Exception {
+                if (input.readyData() < size && !input.isFinished()) {
+                    // not enough data yet - keep waiting without blocking
+                    input.notifyAvailable(this, size);
+                } else {
+                    dispatch(request, response, responseWriter);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() throws Exception {
+                dispatch(request, response, responseWriter);
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                logger.debugLog("GrizzlyHttpContaner - reading of the request entity failed: {0}", t);
+                try {
+                    responseWriter.failure(new ContainerException("Reading of the request entity failed.", t));
+                } catch (RuntimeException e) {
+                    // failure(...) rethrows the error, there is nobody to handle it on the Grizzly read handler thread
+                    logger.log(Level.FINE, "Reading of the request entity failed.", e);
+                }
+            }
+        }, size);
+    }
+
+    private void dispatch(final Request request, final Response response, final ResponseWriter responseWriter) {
         try {
             logger.debugLog("GrizzlyHttpContaner.service(...) started");
-            URI baseUri = getBaseUri(request);
-            ContainerRequest requestContext = new ContainerRequest(baseUri,
+            final ContainerUriCache.BaseUri baseUri = getBaseUri(request);
+            ContainerRequest requestContext = new ContainerRequest(baseUri.getUri(),
                     getRequestUri(baseUri, request), request.getMethod().getMethodString(),
                     getSecurityContext(request), new GrizzlyRequestPropertiesDelegate(request));
             requestContext.setEntityStream(request.getInputStream());
@@ -344,6 +470,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         appHandler = new ApplicationHandler(configuration.register(new GrizzlyBinder()));
         containerListener.onReload(this);
         this.containerListener = ConfigHelper.getContainerLifecycleListener(appHandler);
+        configure(appHandler.getConfiguration());
     }
 
     @Override
@@ -378,13 +505,9 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         };
     }
 
-    private URI getBaseUri(final Request request) {
-        try {
-            return new URI(request.getScheme(), null, request.getServerName(),
-                    request.getServerPort(), getBasePath(request), null, null);
-        } catch (final URISyntaxException ex) {
-            throw new IllegalArgumentException(ex);
-        }
+    private ContainerUriCache.BaseUri getBaseUri(final Request request) {
+        return uriCache.getBaseUri(request.getScheme(), request.getServerName(),
+                request.getServerPort(), getBasePath(request));
     }
 
     private String getBasePath(final Request request) {
@@ -399,18 +522,10 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         }
     }
 
-    private URI getRequestUri(URI baseUri, Request grizzlyRequest) {
-        // TODO: this is terrible, there must be a way to obtain the original request URI!
-        String originalUri = UriBuilder
-                .fromPath(
-                        grizzlyRequest.getRequest().getRequestURIRef().getOriginalRequestURIBC()
-                                .toString(Charsets.DEFAULT_CHARSET)).build().toString();
-
-        String queryString = grizzlyRequest.getQueryString();
-        if (queryString != null) {
-            originalUri = originalUri + "?" + queryString;
-        }
+    private String getRequestUri(final ContainerUriCache.BaseUri baseUri, final Request grizzlyRequest) {
+        final String originalUri = grizzlyRequest.getRequest().getRequestURIRef().getOriginalRequestURIBC()
+                .toString(Charsets.DEFAULT_CHARSET);
 
-        return baseUri.resolve(originalUri);
+        return baseUri.requestUri(originalUri, grizzlyRequest.getQueryString());
     }
 }
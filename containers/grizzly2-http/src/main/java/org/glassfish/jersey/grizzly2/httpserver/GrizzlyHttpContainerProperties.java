@@ -0,0 +1,121 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.grizzly2.httpserver;
+
+/**
+ * Jersey Grizzly 2 HTTP container configuration properties.
+ */
+public final class GrizzlyHttpContainerProperties {
+
+    /**
+     * Maximum size (in bytes) of a request entity the container reads asynchronously, without blocking a Grizzly
+     * worker thread, before the request is dispatched to the Jersey application.
+     * <p>
+     * If set to a positive value, the container reads the entity of incoming requests that are not larger than
+     * the configured number of bytes using the Grizzly {@link org.glassfish.grizzly.http.io.NIOInputStream
+     * non-blocking input stream} and dispatches the request only once the whole entity is available. Slow clients
+     * uploading such entities thus do not occupy a worker thread while the entity is being received, which is
+     * particularly useful for applications with {@link javax.ws.rs.container.Suspended asynchronous} or
+     * {@link org.glassfish.jersey.server.ManagedAsync managed asynchronous} resource methods.
+     * </p>
+     * <p>
+     * Larger entities are not read without blocking: requests with a larger {@code Content-Length} are dispatched
+     * immediately and a chunked entity is dispatched once the configured number of bytes has been received; the rest
+     * of the entity is then read by the application in the regular blocking fashion. A failure to read the entity
+     * before the request is dispatched is reported through the container response writer and the request is not
+     * dispatched to the application.
+     * </p>
+     * <p>
+     * Note that the request entity buffered in the container is held in memory, the value should therefore
+     * be kept reasonably small.
+     * </p>
+     * <p>
+     * The type of this property must be an integer. The default value is {@code 0}, i.e. the request entity is
+     * always read in the blocking fashion.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String ENTITY_READ_THRESHOLD = "jersey.config.grizzly2.http.entityReadThreshold";
+
+    /**
+     * If set to {@code true}, the container writes {@link org.glassfish.jersey.server.ChunkedOutput chunked}
+     * responses using the Grizzly {@link org.glassfish.grizzly.http.io.NIOOutputStream non-blocking output stream}.
+     * <p>
+     * Chunks that cannot be written immediately, because the client does not consume the response fast enough,
+     * are queued in memory and written once Grizzly notifies the container that writing is possible again.
+     * A thread writing chunks therefore does not block on a slow client until the size of the queue reaches
+     * the {@link #CHUNKED_OUTPUT_QUEUE_LIMIT limit}.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String CHUNKED_OUTPUT_NON_BLOCKING = "jersey.config.grizzly2.http.chunkedOutput.nonBlocking";
+
+    /**
+     * Maximum number of bytes of {@link org.glassfish.jersey.server.ChunkedOutput chunked} response data queued
+     * by the container when {@link #CHUNKED_OUTPUT_NON_BLOCKING non-blocking chunked output} is enabled.
+     * <p>
+     * Once the queued chunks reach the limit, a thread writing another chunk blocks until enough queued data
+     * have been written out to the client. A single chunk larger than the limit is queued once the queue is empty.
+     * </p>
+     * <p>
+     * The type of this property must be an integer. The default value is {@value #DEFAULT_CHUNKED_OUTPUT_QUEUE_LIMIT}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String CHUNKED_OUTPUT_QUEUE_LIMIT = "jersey.config.grizzly2.http.chunkedOutput.queueLimit";
+
+    /**
+     * Default value of the {@link #CHUNKED_OUTPUT_QUEUE_LIMIT} property.
+     */
+    public static final int DEFAULT_CHUNKED_OUTPUT_QUEUE_LIMIT = 256 * 1024;
+
+    private GrizzlyHttpContainerProperties() {
+        // prevents instantiation
+    }
+}
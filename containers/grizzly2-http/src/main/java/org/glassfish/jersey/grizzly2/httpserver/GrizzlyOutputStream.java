@@ -0,0 +1,116 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.grizzly2.httpserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.glassfish.jersey.message.internal.GatheringOutput;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.http.io.NIOOutputStream;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.CompositeBuffer;
+import org.glassfish.grizzly.memory.MemoryManager;
+
+/**
+ * Response output stream that passes the buffered entity to the Grizzly {@link NIOOutputStream} as a single
+ * composite {@link Buffer} wrapping the entity buffers, i.e. without copying the entity into the Grizzly
+ * output buffer.
+ */
+final class GrizzlyOutputStream extends OutputStream implements GatheringOutput {
+
+    private final NIOOutputStream out;
+    private final MemoryManager memoryManager;
+
+    /**
+     * Create new Grizzly response output stream.
+     *
+     * @param out           underlying Grizzly output stream.
+     * @param memoryManager memory manager used to wrap the written buffers.
+     */
+    GrizzlyOutputStream(final NIOOutputStream out, final MemoryManager memoryManager) {
+        this.out = out;
+        this.memoryManager = memoryManager;
+    }
+
+    @Override
+    public void write(final ByteBuffer[] buffers) throws IOException {
+        if (buffers.length == 0) {
+            return;
+        }
+
+        final Buffer[] wrapped = new Buffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            wrapped[i] = Buffers.wrap(memoryManager, buffers[i]);
+            // the wrapped arrays are not owned by the Grizzly memory manager
+            wrapped[i].allowBufferDispose(false);
+        }
+
+        if (wrapped.length == 1) {
+            out.write(wrapped[0]);
+        } else {
+            final CompositeBuffer composite = CompositeBuffer.newBuffer(memoryManager, wrapped);
+            composite.allowBufferDispose(false);
+            out.write(composite);
+        }
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        out.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
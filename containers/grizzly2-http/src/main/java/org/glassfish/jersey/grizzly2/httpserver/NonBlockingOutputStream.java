@@ -0,0 +1,286 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.grizzly2.httpserver;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.LinkedList;
+import java.util.Queue;
+
+import org.glassfish.grizzly.WriteHandler;
+import org.glassfish.grizzly.http.io.NIOOutputStream;
+
+/**
+ * Output stream that writes to the Grizzly {@link NIOOutputStream} without blocking the calling thread
+ * as long as the client keeps up with the written data.
+ * <p>
+ * Data are written directly to the underlying stream as long as Grizzly is able to accept them. Once it is not,
+ * the data are copied into an in-memory queue and the stream registers itself for the write-possible
+ * notification. The queue is drained, and any flush or close requested in the meantime is carried out, once
+ * the notification arrives. The order of the written data is always preserved.
+ * </p>
+ * <p>
+ * The size of the queue is bounded by the {@code queueLimit} number of bytes. A write that would exceed
+ * the limit blocks until the queued data have been written out to make room for it. A single write larger than
+ * the limit is accepted once the queue is empty.
+ * </p>
+ * <p>
+ * Instances are thread-safe.
+ * </p>
+ */
+final class NonBlockingOutputStream extends OutputStream implements WriteHandler {
+
+    private final NIOOutputStream out;
+    private final int queueLimit;
+    private final Queue<byte[]> pending = new LinkedList<byte[]>();
+
+    private long pendingBytes = 0;
+    private boolean registered = false;
+    private boolean flushRequested = false;
+    private boolean closeRequested = false;
+    private boolean closed = false;
+    private Throwable failure = null;
+    private Runnable closeCallback = null;
+
+    /**
+     * Create new non-blocking output stream.
+     *
+     * @param out        underlying Grizzly non-blocking output stream.
+     * @param queueLimit maximum number of bytes queued before a write blocks.
+     */
+    NonBlockingOutputStream(final NIOOutputStream out, final int queueLimit) {
+        this.out = out;
+        this.queueLimit = queueLimit;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureOpen();
+        if (len == 0) {
+            return;
+        }
+
+        if (pending.isEmpty() && out.canWrite()) {
+            out.write(b, off, len);
+            return;
+        }
+
+        awaitQueueSpace(len);
+        if (pending.isEmpty() && out.canWrite()) {
+            out.write(b, off, len);
+        } else {
+            final byte[] copy = new byte[len];
+            System.arraycopy(b, off, copy, 0, len);
+            pending.add(copy);
+            pendingBytes += len;
+            register();
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+        if (pending.isEmpty()) {
+            out.flush();
+        } else {
+            flushRequested = true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Runnable callback = null;
+        try {
+            synchronized (this) {
+                if (closed || closeRequested) {
+                    return;
+                }
+                if (failure == null && !pending.isEmpty()) {
+                    closeRequested = true;
+                    return;
+                }
+
+                try {
+                    if (failure == null) {
+                        out.close();
+                    }
+                } finally {
+                    callback = markClosed();
+                }
+            }
+        } finally {
+            run(callback);
+        }
+    }
+
+    /**
+     * Invoke the callback once the stream is closed, i.e. after all the queued data have been written
+     * to the underlying stream (or the writing failed). If the stream is already closed, the callback
+     * is invoked immediately.
+     *
+     * @param callback callback to be invoked.
+     */
+    void whenClosed(final Runnable callback) {
+        synchronized (this) {
+            if (!closed) {
+                closeCallback = callback;
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    @Override
+    public void onWritePossible() throws Exception {
+        Runnable callback = null;
+        try {
+            synchronized (this) {
+                registered = false;
+                if (failure != null || closed) {
+                    return;
+                }
+
+                try {
+                    while (!pending.isEmpty()) {
+                        if (!out.canWrite()) {
+                            register();
+                            return;
+                        }
+                        final byte[] chunk = pending.poll();
+                        pendingBytes -= chunk.length;
+                        out.write(chunk);
+                    }
+                } finally {
+                    // wake up the writers waiting for the queue space
+                    notifyAll();
+                }
+
+                if (flushRequested) {
+                    flushRequested = false;
+                    out.flush();
+                }
+                if (closeRequested) {
+                    try {
+                        out.close();
+                    } finally {
+                        callback = markClosed();
+                    }
+                }
+            }
+        } finally {
+            run(callback);
+        }
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+        Runnable callback = null;
+        try {
+            synchronized (this) {
+                registered = false;
+                failure = t;
+                pending.clear();
+                pendingBytes = 0;
+                notifyAll();
+                if (closeRequested) {
+                    callback = markClosed();
+                }
+            }
+        } finally {
+            run(callback);
+        }
+    }
+
+    /**
+     * Wait until there is room for {@code len} more bytes in the queue. Must be called while holding the lock.
+     */
+    private void awaitQueueSpace(final int len) throws IOException {
+        while (!pending.isEmpty() && pendingBytes + len > queueLimit) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            ensureOpen();
+        }
+    }
+
+    private void register() {
+        if (!registered) {
+            registered = true;
+            out.notifyCanWrite(this);
+        }
+    }
+
+    /**
+     * Mark the stream closed. Must be called while holding the lock.
+     *
+     * @return close callback to be invoked once the lock is released, may be {@code null}.
+     */
+    private Runnable markClosed() {
+        closed = true;
+        notifyAll();
+        final Runnable callback = closeCallback;
+        closeCallback = null;
+        return callback;
+    }
+
+    private static void run(final Runnable callback) {
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (failure != null) {
+            throw new IOException(failure);
+        }
+        if (closed || closeRequested) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
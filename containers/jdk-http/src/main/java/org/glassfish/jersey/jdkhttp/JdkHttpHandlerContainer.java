@@ -64,6 +64,7 @@ import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.internal.ConfigHelper;
+import org.glassfish.jersey.server.internal.ContainerSuspendSupport;
 import org.glassfish.jersey.server.spi.Container;
 import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
@@ -82,6 +83,12 @@ import com.sun.net.httpserver.HttpsExchange;
 public class JdkHttpHandlerContainer implements HttpHandler, Container {
     private static final Logger LOGGER = Logger.getLogger(JdkHttpHandlerContainer.class.getName());
 
+    /**
+     * Suspend support and scheduler of the suspended request time-outs.
+     */
+    private final ContainerSuspendSupport suspendSupport =
+            new ContainerSuspendSupport("jersey-jdk-http-container-timeout");
+
     private volatile ApplicationHandler appHandler;
     private volatile ContainerLifecycleListener containerListener;
 
@@ -153,7 +160,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
         final URI requestUri = baseUri.resolve(exchangeUri);
 
-        final ResponseWriter responseWriter = new ResponseWriter(exchange);
+        final ResponseWriter responseWriter = new ResponseWriter(exchange, suspendSupport);
         ContainerRequest requestContext = new ContainerRequest(baseUri, requestUri,
                 exchange.getRequestMethod(), getSecurityContext(exchange.getPrincipal(), isSecure),
                 new MapPropertiesDelegate());
@@ -163,9 +170,11 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
         try {
             appHandler.handle(requestContext);
         } finally {
-            // if the response was not committed yet by the JerseyApplication
-            // then commit it and log warning
-            responseWriter.closeAndLogWarning();
+            // if the response was not committed yet by the JerseyApplication (and the request processing
+            // has not been suspended) then commit it and log warning
+            if (!responseWriter.isSuspended()) {
+                responseWriter.closeAndLogWarning();
+            }
         }
     }
 
@@ -219,19 +228,31 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
         this.containerListener.onStartup(this);
     }
 
+    /**
+     * Inform this container that the server is being stopped. This method must be implicitly called before
+     * the server containing this container is stopped.
+     */
+    void onServerStop() {
+        suspendSupport.shutdown();
+        this.containerListener.onShutdown(this);
+    }
+
     private final static class ResponseWriter implements ContainerResponseWriter {
 
         private final HttpExchange exchange;
         private final AtomicBoolean closed;
+        private final ContainerSuspendSupport.Suspension suspension;
 
         /**
          * Creates a new ResponseWriter for given {@link HttpExchange HTTP Exchange}.
          *
-         * @param exchange Exchange of the {@link HttpServer JDK Http Server}
+         * @param exchange       Exchange of the {@link HttpServer JDK Http Server}
+         * @param suspendSupport suspend support of the container.
          */
-        ResponseWriter(HttpExchange exchange) {
+        ResponseWriter(HttpExchange exchange, ContainerSuspendSupport suspendSupport) {
             this.exchange = exchange;
             this.closed = new AtomicBoolean(false);
+            this.suspension = suspendSupport.newSuspension(this);
         }
 
         @Override
@@ -273,12 +294,22 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
         @Override
         public boolean suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
-            throw new UnsupportedOperationException("Method suspend is not support by the container.");
+            return suspension.suspend(timeOut, timeUnit, timeoutHandler);
         }
 
         @Override
         public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) throws IllegalStateException {
-            throw new UnsupportedOperationException("Method suspend is not support by the container.");
+            suspension.setSuspendTimeout(timeOut, timeUnit);
+        }
+
+        /**
+         * Check whether the request processing has been suspended, i.e. the response will be committed
+         * asynchronously.
+         *
+         * @return {@code true} if the response writer has been suspended.
+         */
+        boolean isSuspended() {
+            return suspension.isSuspended();
         }
 
         @Override
@@ -300,6 +331,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
         @Override
         public void commit() {
+            suspension.cancelTimeout();
             if (closed.compareAndSet(false, true)) {
                 exchange.close();
             }
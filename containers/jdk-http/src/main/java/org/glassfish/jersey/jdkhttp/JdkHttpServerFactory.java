@@ -42,6 +42,7 @@ package org.glassfish.jersey.jdkhttp;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 
 import org.glassfish.jersey.internal.ProcessingException;
@@ -50,7 +51,10 @@ import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
 
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
 import com.sun.net.httpserver.HttpsServer;
 
 /**
@@ -118,8 +122,8 @@ public class JdkHttpServerFactory {
         HttpServer server;
         try {
             server = (scheme.equalsIgnoreCase("http"))
-                    ? HttpServer.create(new InetSocketAddress(port), 0)
-                    : HttpsServer.create(new InetSocketAddress(port), 0);
+                    ? createHttpServer(HttpServer.create(new InetSocketAddress(port), 0), handler)
+                    : createHttpsServer(HttpsServer.create(new InetSocketAddress(port), 0), handler);
         } catch (IOException ioe) {
             throw new ProcessingException(LocalizationMessages.ERROR_CONTAINER_EXCEPTION_IO(), ioe);
         }
@@ -132,6 +136,142 @@ public class JdkHttpServerFactory {
         return server;
     }
 
+    /**
+     * Wrap the HTTP server so that the container is notified once the server is stopped.
+     *
+     * @param delegate HTTP server.
+     * @param handler  container deployed on the server.
+     * @return wrapped HTTP server.
+     */
+    private static HttpServer createHttpServer(final HttpServer delegate, final JdkHttpHandlerContainer handler) {
+        return new HttpServer() {
+
+            @Override
+            public void bind(InetSocketAddress inetSocketAddress, int i) throws IOException {
+                delegate.bind(inetSocketAddress, i);
+            }
+
+            @Override
+            public void start() {
+                delegate.start();
+            }
+
+            @Override
+            public void setExecutor(Executor executor) {
+                delegate.setExecutor(executor);
+            }
+
+            @Override
+            public Executor getExecutor() {
+                return delegate.getExecutor();
+            }
+
+            @Override
+            public void stop(int i) {
+                handler.onServerStop();
+                delegate.stop(i);
+            }
+
+            @Override
+            public HttpContext createContext(String s, HttpHandler httpHandler) {
+                return delegate.createContext(s, httpHandler);
+            }
+
+            @Override
+            public HttpContext createContext(String s) {
+                return delegate.createContext(s);
+            }
+
+            @Override
+            public void removeContext(String s) throws IllegalArgumentException {
+                delegate.removeContext(s);
+            }
+
+            @Override
+            public void removeContext(HttpContext httpContext) {
+                delegate.removeContext(httpContext);
+            }
+
+            @Override
+            public InetSocketAddress getAddress() {
+                return delegate.getAddress();
+            }
+        };
+    }
+
+    /**
+     * Wrap the HTTPS server so that the container is notified once the server is stopped.
+     *
+     * @param delegate HTTPS server.
+     * @param handler  container deployed on the server.
+     * @return wrapped HTTPS server.
+     */
+    private static HttpsServer createHttpsServer(final HttpsServer delegate, final JdkHttpHandlerContainer handler) {
+        return new HttpsServer() {
+
+            @Override
+            public void setHttpsConfigurator(HttpsConfigurator httpsConfigurator) {
+                delegate.setHttpsConfigurator(httpsConfigurator);
+            }
+
+            @Override
+            public HttpsConfigurator getHttpsConfigurator() {
+                return delegate.getHttpsConfigurator();
+            }
+
+            @Override
+            public void bind(InetSocketAddress inetSocketAddress, int i) throws IOException {
+                delegate.bind(inetSocketAddress, i);
+            }
+
+            @Override
+            public void start() {
+                delegate.start();
+            }
+
+            @Override
+            public void setExecutor(Executor executor) {
+                delegate.setExecutor(executor);
+            }
+
+            @Override
+            public Executor getExecutor() {
+                return delegate.getExecutor();
+            }
+
+            @Override
+            public void stop(int i) {
+                handler.onServerStop();
+                delegate.stop(i);
+            }
+
+            @Override
+            public HttpContext createContext(String s, HttpHandler httpHandler) {
+                return delegate.createContext(s, httpHandler);
+            }
+
+            @Override
+            public HttpContext createContext(String s) {
+                return delegate.createContext(s);
+            }
+
+            @Override
+            public void removeContext(String s) throws IllegalArgumentException {
+                delegate.removeContext(s);
+            }
+
+            @Override
+            public void removeContext(HttpContext httpContext) {
+                delegate.removeContext(httpContext);
+            }
+
+            @Override
+            public InetSocketAddress getAddress() {
+                return delegate.getAddress();
+            }
+        };
+    }
+
     /**
      * Prevents instantiation.
      */
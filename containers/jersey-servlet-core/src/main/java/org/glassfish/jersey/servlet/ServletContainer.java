@@ -47,8 +47,6 @@ import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import javax.ws.rs.core.Response;
-import javax.ws.rs.core.UriBuilder;
-import javax.ws.rs.core.UriBuilderException;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -68,6 +66,7 @@ import org.glassfish.jersey.server.ContainerException;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.ConfigHelper;
+import org.glassfish.jersey.server.internal.ContainerUriCache;
 import org.glassfish.jersey.server.spi.Container;
 import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
 import org.glassfish.jersey.servlet.internal.LocalizationMessages;
@@ -149,6 +148,7 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
     private static final long serialVersionUID = 3932047066686065219L;
     private transient FilterConfig filterConfig;
     private transient WebComponent webComponent;
+    private transient ContainerUriCache uriCache;
     private transient ResourceConfig resourceConfig;
     private transient Pattern staticContentPattern;
     private transient String filterContextPath;
@@ -165,6 +165,7 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
      */
     protected void init(WebConfig webConfig) throws ServletException {
         webComponent = new WebComponent(webConfig, resourceConfig);
+        uriCache = new ContainerUriCache();
         containerListener = ConfigHelper.getContainerLifecycleListener(webComponent.appHandler);
         containerListener.onStartup(this);
     }
@@ -247,7 +248,6 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
          */
         final String servletPath = request.getServletPath();
         String pathInfo = request.getPathInfo();
-        StringBuffer requestURL = request.getRequestURL();
         String requestURI = request.getRequestURI();
         final boolean checkPathInfo = pathInfo == null || pathInfo.isEmpty() || pathInfo.equals("/");
         if (checkPathInfo && !request.getRequestURI().endsWith("/")) {
@@ -277,19 +277,6 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
             }
         }
 
-        /**
-         * The HttpServletRequest.getRequestURL() contains the complete URI
-         * minus the query and fragment components.
-         */
-        UriBuilder absoluteUriBuilder;
-        try {
-            absoluteUriBuilder = UriBuilder.fromUri(requestURL.toString());
-        } catch (IllegalArgumentException iae) {
-            final Response.Status badRequest = Response.Status.BAD_REQUEST;
-            response.sendError(badRequest.getStatusCode(), badRequest.getReasonPhrase());
-            return;
-        }
-
         /**
          * The HttpServletRequest.getPathInfo() and
          * HttpServletRequest.getServletPath() are in decoded form.
@@ -312,21 +299,18 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
                     + "servlet path contain characters that are percent encoded");
         }
 
+        /**
+         * The base URI is parsed once per scheme, host, port and base path and cached,
+         * the request URI is assembled from the cached base URI prefix.
+         */
         final URI baseUri;
         final URI requestUri;
         try {
-            baseUri = absoluteUriBuilder.replacePath(encodedBasePath).
-                    build();
-
-            String queryParameters = request.getQueryString();
-            if (queryParameters == null) {
-                queryParameters = "";
-            }
+            final ContainerUriCache.BaseUri base = getBaseUri(request, encodedBasePath);
 
-            requestUri = absoluteUriBuilder.replacePath(requestURI).
-                    replaceQuery(queryParameters).
-                    build();
-        } catch (UriBuilderException ex) {
+            baseUri = base.getUri();
+            requestUri = URI.create(base.requestUri(requestURI, request.getQueryString()));
+        } catch (IllegalArgumentException ex) {
             final Response.Status badRequest = Response.Status.BAD_REQUEST;
             response.sendError(badRequest.getStatusCode(), badRequest.getReasonPhrase());
             return;
@@ -335,6 +319,16 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
         service(baseUri, requestUri, request, response);
     }
 
+    private ContainerUriCache.BaseUri getBaseUri(final HttpServletRequest request, final String basePath) {
+        final String scheme = request.getScheme();
+        int port = request.getServerPort();
+        if (("http".equalsIgnoreCase(scheme) && port == 80) || ("https".equalsIgnoreCase(scheme) && port == 443)) {
+            // HttpServletRequest.getRequestURL() omits the default port as well
+            port = -1;
+        }
+        return uriCache.getBaseUri(scheme, request.getServerName(), port, basePath);
+    }
+
     @Override
     public void destroy() {
         super.destroy();
@@ -506,21 +500,12 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
             }
         }
 
-        final UriBuilder absoluteUriBuilder = UriBuilder.fromUri(
-                request.getRequestURL().toString());
-
-        final URI baseUri = (filterContextPath == null)
-                ? absoluteUriBuilder.replacePath(request.getContextPath()).
-                path("/").
-                build()
-                : absoluteUriBuilder.replacePath(request.getContextPath()).
-                path(filterContextPath).
-                path("/").
-                build();
-
-        final URI requestUri = absoluteUriBuilder.replacePath(requestURI).
-                replaceQuery(queryString).
-                build();
+        final ContainerUriCache.BaseUri base = getBaseUri(request, (filterContextPath == null)
+                ? request.getContextPath() + "/"
+                : request.getContextPath() + filterContextPath + "/");
+
+        final URI baseUri = base.getUri();
+        final URI requestUri = URI.create(base.requestUri(requestURI, queryString));
 
         final int status = service(baseUri, requestUri, request, response).get();
 
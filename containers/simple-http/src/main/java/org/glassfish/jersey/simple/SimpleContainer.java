@@ -67,6 +67,7 @@ import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.internal.ConfigHelper;
+import org.glassfish.jersey.server.internal.ContainerSuspendSupport;
 import org.glassfish.jersey.server.spi.Container;
 import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
@@ -130,16 +131,23 @@ public final class SimpleContainer implements org.simpleframework.http.core.Cont
         }
     }
 
+    /**
+     * Suspend support and scheduler of the suspended request time-outs.
+     */
+    private final ContainerSuspendSupport suspendSupport = new ContainerSuspendSupport("jersey-simple-container-timeout");
+
     private volatile ApplicationHandler appHandler;
     private volatile ContainerLifecycleListener containerListener;
 
     private final static class Writer implements ContainerResponseWriter {
         private final Response response;
         private final Request request;
+        private final ContainerSuspendSupport.Suspension suspension;
 
-        Writer(Request request, Response response) {
+        Writer(Request request, Response response, ContainerSuspendSupport suspendSupport) {
             this.response = response;
             this.request = request;
+            this.suspension = suspendSupport.newSuspension(this);
         }
 
         @Override
@@ -169,16 +177,27 @@ public final class SimpleContainer implements org.simpleframework.http.core.Cont
 
         @Override
         public boolean suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
-            throw new UnsupportedOperationException("Method suspend is not supported by the container.");
+            return suspension.suspend(timeOut, timeUnit, timeoutHandler);
         }
 
         @Override
         public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) throws IllegalStateException {
-            throw new UnsupportedOperationException("Method suspend is not supported by the container.");
+            suspension.setSuspendTimeout(timeOut, timeUnit);
+        }
+
+        /**
+         * Check whether the request processing has been suspended, i.e. the response will be committed
+         * asynchronously.
+         *
+         * @return {@code true} if the response writer has been suspended.
+         */
+        boolean isSuspended() {
+            return suspension.isSuspended();
         }
 
         @Override
         public void commit() {
+            suspension.cancelTimeout();
             try {
                 response.close();
             } catch (IOException e) {
@@ -224,7 +243,7 @@ public final class SimpleContainer implements org.simpleframework.http.core.Cont
     }
 
     public void handle(final Request request, final Response response) {
-        final Writer responseWriter = new Writer(request, response);
+        final Writer responseWriter = new Writer(request, response, suspendSupport);
         final URI baseUri = getBaseUri(request);
         final URI requestUri = baseUri.resolve(request.getTarget());
 
@@ -254,7 +273,10 @@ public final class SimpleContainer implements org.simpleframework.http.core.Cont
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         } finally {
-            close(response);
+            // suspended response is committed asynchronously
+            if (!responseWriter.isSuspended()) {
+                close(response);
+            }
         }
     }
 
@@ -333,6 +355,15 @@ public final class SimpleContainer implements org.simpleframework.http.core.Cont
         this.containerListener.onStartup(this);
     }
 
+    /**
+     * Inform this container that the server is being stopped. This method must be implicitly called before
+     * the server containing this container is stopped.
+     */
+    void onServerStop() {
+        suspendSupport.shutdown();
+        this.containerListener.onShutdown(this);
+    }
+
 
     /**
      * Creates a new Grizzly container.
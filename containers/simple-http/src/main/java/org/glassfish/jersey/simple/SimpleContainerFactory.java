@@ -188,7 +188,7 @@ public final class SimpleContainerFactory {
             port = defaultPort;
         }
         SocketAddress listen = new InetSocketAddress(port);
-        Connection connection;
+        final Connection connection;
         try {
             Server server = new ContainerServer(container);
             connection = new SocketConnection(server);
@@ -198,6 +198,12 @@ public final class SimpleContainerFactory {
         } catch (IOException ex) {
             throw new ProcessingException("IOException thrown when trying to create simple server", ex);
         }
-        return connection;
+        return new Closeable() {
+            @Override
+            public void close() throws IOException {
+                container.onServerStop();
+                connection.close();
+            }
+        };
     }
 }
@@ -0,0 +1,155 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+/**
+ * Snapshot of the statistics of a thread pool used by the client to execute asynchronous requests.
+ *
+ * @see JerseyClient#getAsyncExecutorStatistics()
+ * @see ClientProperties#ASYNC_THREADPOOL_SIZE
+ * @see ClientProperties#ASYNC_BULKHEAD
+ */
+public final class AsyncExecutorStatistics {
+
+    private final String name;
+    private final int poolSize;
+    private final int maxPoolSize;
+    private final int activeCount;
+    private final int queueSize;
+    private final long completedTaskCount;
+    private final long rejectedTaskCount;
+
+    /**
+     * Create new asynchronous executor statistics snapshot.
+     *
+     * @param name               executor name.
+     * @param poolSize           current number of threads in the pool.
+     * @param maxPoolSize        maximal number of threads in the pool.
+     * @param activeCount        approximate number of threads that are actively executing requests.
+     * @param queueSize          number of requests waiting for a thread.
+     * @param completedTaskCount approximate number of completed requests.
+     * @param rejectedTaskCount  number of rejected requests.
+     */
+    AsyncExecutorStatistics(final String name, final int poolSize, final int maxPoolSize, final int activeCount,
+                            final int queueSize, final long completedTaskCount, final long rejectedTaskCount) {
+        this.name = name;
+        this.poolSize = poolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.activeCount = activeCount;
+        this.queueSize = queueSize;
+        this.completedTaskCount = completedTaskCount;
+        this.rejectedTaskCount = rejectedTaskCount;
+    }
+
+    /**
+     * Get the executor name. The shared executor is named {@code "default"}, bulkhead executors are named
+     * after the target host or resource they serve.
+     *
+     * @return executor name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the current number of threads in the pool.
+     *
+     * @return current number of threads.
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Get the maximal number of threads in the pool.
+     *
+     * @return maximal number of threads.
+     */
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * Get the approximate number of threads that are actively executing requests.
+     *
+     * @return number of active threads.
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Get the number of requests waiting for a thread (queue depth).
+     *
+     * @return number of queued requests.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Get the approximate number of requests that have completed execution.
+     *
+     * @return number of completed requests.
+     */
+    public long getCompletedTaskCount() {
+        return completedTaskCount;
+    }
+
+    /**
+     * Get the number of requests rejected by the executor since it has been created.
+     *
+     * @return number of rejected requests.
+     */
+    public long getRejectedTaskCount() {
+        return rejectedTaskCount;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncExecutorStatistics{name=" + name
+                + ", poolSize=" + poolSize
+                + ", maxPoolSize=" + maxPoolSize
+                + ", activeCount=" + activeCount
+                + ", queueSize=" + queueSize
+                + ", completedTaskCount=" + completedTaskCount
+                + ", rejectedTaskCount=" + rejectedTaskCount + '}';
+    }
+}
@@ -40,7 +40,6 @@
 package org.glassfish.jersey.client;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
@@ -103,41 +102,122 @@ public class ChunkedInput<T> extends GenericType<T> implements Closeable {
         return new FixedBoundaryParser(boundary);
     }
 
+    /**
+     * Fixed boundary chunk parser.
+     * <p>
+     * The parser reads the input stream in bulk into an internal buffer and searches the buffered data for
+     * the boundary using the Boyer-Moore-Horspool algorithm. The data read past the boundary are kept in the buffer
+     * for the next {@link #readChunk(InputStream)} invocation with the same input stream.
+     * </p>
+     */
     private static class FixedBoundaryParser implements ChunkParser {
+        private static final int INITIAL_BUFFER_SIZE = 8192;
+
         private final byte[] delimiter;
+        /**
+         * Boyer-Moore-Horspool bad character shift table.
+         */
+        private final int[] shifts = new int[256];
+
+        private InputStream source;
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        /**
+         * Start of the buffered, not yet returned data.
+         */
+        private int start = 0;
+        /**
+         * End of the buffered data.
+         */
+        private int end = 0;
 
         public FixedBoundaryParser(byte[] boundary) {
             delimiter = Arrays.copyOf(boundary, boundary.length);
+
+            Arrays.fill(shifts, delimiter.length);
+            for (int i = 0; i < delimiter.length - 1; i++) {
+                shifts[delimiter[i] & 0xff] = delimiter.length - 1 - i;
+            }
         }
 
         @Override
         public byte[] readChunk(InputStream in) throws IOException {
-            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-            final byte[] delimiterBuffer = new byte[delimiter.length];
+            if (in != source) {
+                // data buffered from a different stream are of no use
+                source = in;
+                start = 0;
+                end = 0;
+            }
+
+            int searchFrom = start;
+            while (true) {
+                final int index = indexOfDelimiter(searchFrom);
+                if (index >= 0) {
+                    final int chunkStart = start;
+                    start = index + delimiter.length;
+                    if (index > chunkStart) {
+                        return Arrays.copyOfRange(buffer, chunkStart, index);
+                    }
+                    // skip empty chunk
+                    searchFrom = start;
+                    continue;
+                }
 
-            int data;
-            do {
-                int dPos = 0;
-                while ((data = in.read()) != -1) {
-                    final byte b = (byte) data;
-                    if (b == delimiter[dPos]) {
-                        delimiterBuffer[dPos++] = b;
-                        if (dPos == delimiter.length) {
-                            // found chunk delimiter
-                            break;
-                        }
-                    } else if (dPos > 0) {
-                        buffer.write(delimiterBuffer, 0, dPos - 1);
-                        dPos = 0;
+                // delimiter not found in the buffered data, the last delimiter.length - 1 bytes may contain its prefix
+                searchFrom = Math.max(start, end - delimiter.length + 1);
+                final int shift = start;
+                if (!fill(in)) {
+                    if (end > start) {
+                        final byte[] chunk = Arrays.copyOfRange(buffer, start, end);
+                        start = end;
+                        return chunk;
                     }
-                    buffer.write(b);
+                    return null;
+                }
+                searchFrom -= shift - start;
+            }
+        }
+
+        /**
+         * Read more data into the buffer, compact or grow the buffer if needed.
+         *
+         * @param in input stream to read from.
+         * @return {@code false} if the end of the stream has been reached.
+         * @throws IOException in case of the stream read failure.
+         */
+        private boolean fill(InputStream in) throws IOException {
+            if (end == buffer.length) {
+                final int length = end - start;
+                if (length > buffer.length / 2) {
+                    buffer = Arrays.copyOfRange(buffer, start, start + 2 * buffer.length);
+                } else {
+                    System.arraycopy(buffer, start, buffer, 0, length);
                 }
-            } while (data != -1 && buffer.size() == 0);
+                start = 0;
+                end = length;
+            }
 
-            if (buffer.size() > 0) {
-                return buffer.toByteArray();
+            final int read = in.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                return false;
+            }
+            end += read;
+            return true;
+        }
+
+        private int indexOfDelimiter(int from) {
+            final int last = delimiter.length - 1;
+            int i = from;
+            while (i + last < end) {
+                int j = last;
+                while (buffer[i + j] == delimiter[j]) {
+                    if (j == 0) {
+                        return i;
+                    }
+                    j--;
+                }
+                i += shifts[buffer[i + last] & 0xff];
             }
-            return null;
+            return -1;
         }
     }
 
@@ -279,7 +359,10 @@ public class ChunkedInput<T> extends GenericType<T> implements Closeable {
 
     /**
      * Read next chunk from the response stream and convert it to a Java instance
-     * using the {@link #getChunkType() chunk media type}. The method returns {@code null}
+     * using the {@link #getChunkType() chunk media type}. Each chunk is read by the
+     * {@link MessageBodyWorkers message body workers} the same way as any other entity, the
+     * {@link javax.ws.rs.ext.MessageBodyReader} look-up for the subsequent chunks of the same media type
+     * is served from the look-up cache of the workers. The method returns {@code null}
      * if the underlying entity input stream has been closed (either implicitly or explicitly
      * by calling the {@link #close()} method).
      * <p>
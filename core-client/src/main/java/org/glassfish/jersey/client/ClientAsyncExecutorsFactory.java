@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -40,9 +40,26 @@
 
 package org.glassfish.jersey.client;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
 
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.process.internal.ExecutorsFactory;
 import org.glassfish.jersey.spi.RequestExecutorsProvider;
 import org.glassfish.jersey.spi.ResponseExecutorsProvider;
@@ -56,28 +73,88 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
  * {@link ExecutorsFactory Executors factory} used on the client side for asynchronous request
  * processing.
  *
+ * Unless a custom {@link RequestExecutorsProvider requesting executors provider} is registered, the requests
+ * are executed by a thread pool configured using the {@link ClientProperties#ASYNC_THREADPOOL_SIZE} and
+ * {@link ClientProperties#ASYNC_QUEUE_SIZE} properties, optionally partitioned into
+ * {@link ClientProperties#ASYNC_BULKHEAD bulkheads} per target host or resource.
+ *
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
 class ClientAsyncExecutorsFactory extends ExecutorsFactory<ClientRequest> {
+    private static final Logger LOGGER = Logger.getLogger(ClientAsyncExecutorsFactory.class.getName());
+
+    /**
+     * Default maximal number of requests waiting for a thread of a bounded executor.
+     */
+    static final int DEFAULT_QUEUE_SIZE = 1024;
+    /**
+     * Maximal number of bulkhead executors; requests to the targets encountered after the limit
+     * has been reached are executed using the shared requesting executor.
+     */
+    private static final int MAX_BULKHEADS = 256;
+    /**
+     * Name of the shared requesting executor.
+     */
+    static final String DEFAULT_EXECUTOR_NAME = "default";
+
+    /**
+     * Asynchronous request bulkhead types.
+     */
+    private static enum Bulkhead {
+        NONE, HOST, TARGET
+    }
+
+    /**
+     * Rejected execution handler that counts the rejected tasks.
+     */
+    private static final class CountingAbortPolicy extends ThreadPoolExecutor.AbortPolicy {
+
+        private final AtomicLong rejected = new AtomicLong();
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            rejected.incrementAndGet();
+            super.rejectedExecution(r, executor);
+        }
+    }
+
+    private final int poolSize;
+    private final int queueSize;
+    private final Bulkhead bulkhead;
     private final ExecutorService requestingExecutor;
     private final ExecutorService respondingExecutor;
+    private final ConcurrentMap<String, ThreadPoolExecutor> bulkheads;
+    private volatile ThreadPoolExecutor defaultExecutor;
 
     /**
      * Creates a new instance.
      *
      * @param locator Injected HK2 service locator.
+     * @param config  client runtime configuration.
      */
-    public ClientAsyncExecutorsFactory(ServiceLocator locator) {
+    public ClientAsyncExecutorsFactory(ServiceLocator locator, Configuration config) {
         super(locator);
+
+        final Map<String, Object> properties = config.getProperties();
+        this.poolSize = Math.max(0, PropertiesHelper.getValue(properties, ClientProperties.ASYNC_THREADPOOL_SIZE, 0));
+        this.queueSize = Math.max(0, PropertiesHelper.getValue(properties, ClientProperties.ASYNC_QUEUE_SIZE,
+                DEFAULT_QUEUE_SIZE));
+        this.bulkhead = getBulkhead(PropertiesHelper.getValue(properties, ClientProperties.ASYNC_BULKHEAD, String.class));
+
         this.requestingExecutor = getInitialRequestingExecutor(new RequestExecutorsProvider() {
 
             @Override
             public ExecutorService getRequestingExecutor() {
-                return Executors.newCachedThreadPool(
-                        new ThreadFactoryBuilder().setNameFormat("jersey-client-async-executor-%d").build());
+                defaultExecutor = poolSize > 0
+                        ? createBoundedExecutor(poolSize, "jersey-client-async-executor-%d")
+                        : createCachedExecutor();
+                return defaultExecutor;
             }
         });
+        this.bulkheads = (bulkhead != Bulkhead.NONE && defaultExecutor != null)
+                ? new ConcurrentHashMap<String, ThreadPoolExecutor>() : null;
+
         this.respondingExecutor = getInitialRespondingExecutor(new ResponseExecutorsProvider() {
 
             @Override
@@ -87,13 +164,122 @@ class ClientAsyncExecutorsFactory extends ExecutorsFactory<ClientRequest> {
         });
     }
 
+    private static Bulkhead getBulkhead(final String value) {
+        if (value == null) {
+            return Bulkhead.NONE;
+        }
+        try {
+            return Bulkhead.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning(LocalizationMessages.ASYNC_EXECUTOR_BULKHEAD_INVALID(value));
+            return Bulkhead.NONE;
+        }
+    }
+
+    private static ThreadPoolExecutor createCachedExecutor() {
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                new ThreadFactoryBuilder().setNameFormat("jersey-client-async-executor-%d").build(),
+                new CountingAbortPolicy());
+    }
+
+    private ThreadPoolExecutor createBoundedExecutor(final int size, final String nameFormat) {
+        final BlockingQueue<Runnable> queue = queueSize > 0
+                ? new ArrayBlockingQueue<Runnable>(queueSize) : new SynchronousQueue<Runnable>();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60L, TimeUnit.SECONDS, queue,
+                new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build(),
+                new CountingAbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     @Override
     public ExecutorService getRequestingExecutor(ClientRequest request) {
+        if (bulkheads != null) {
+            final String key = getBulkheadKey(request.getUri());
+            if (key != null) {
+                return getBulkheadExecutor(key);
+            }
+        }
         return requestingExecutor;
     }
 
+    private String getBulkheadKey(final URI uri) {
+        if (uri == null || uri.getHost() == null) {
+            return null;
+        }
+        final StringBuilder key = new StringBuilder(uri.getScheme()).append("://").append(uri.getHost());
+        if (uri.getPort() >= 0) {
+            key.append(':').append(uri.getPort());
+        }
+        if (bulkhead == Bulkhead.TARGET && uri.getRawPath() != null) {
+            key.append(uri.getRawPath());
+        }
+        return key.toString();
+    }
+
+    private ExecutorService getBulkheadExecutor(final String key) {
+        ThreadPoolExecutor executor = bulkheads.get(key);
+        if (executor == null) {
+            if (bulkheads.size() >= MAX_BULKHEADS) {
+                return requestingExecutor;
+            }
+            final ThreadPoolExecutor newExecutor = createBoundedExecutor(
+                    poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors() * 8,
+                    "jersey-client-async-executor-" + key.replace("%", "%%") + "-%d");
+            executor = bulkheads.putIfAbsent(key, newExecutor);
+            if (executor == null) {
+                executor = newExecutor;
+            } else {
+                newExecutor.shutdown();
+            }
+        }
+        return executor;
+    }
+
     @Override
     public ExecutorService getRespondingExecutor(ClientRequest request) {
         return respondingExecutor;
     }
+
+    /**
+     * Get the statistics of the requesting executors created by this factory. Statistics of a custom
+     * requesting executor are not available.
+     *
+     * @return statistics of the shared requesting executor (if created by this factory) followed by the statistics
+     *         of the bulkhead executors.
+     */
+    List<AsyncExecutorStatistics> getStatistics() {
+        final List<AsyncExecutorStatistics> statistics = new ArrayList<AsyncExecutorStatistics>();
+        if (defaultExecutor != null) {
+            statistics.add(getStatistics(DEFAULT_EXECUTOR_NAME, defaultExecutor));
+        }
+        if (bulkheads != null) {
+            for (Map.Entry<String, ThreadPoolExecutor> entry : bulkheads.entrySet()) {
+                statistics.add(getStatistics(entry.getKey(), entry.getValue()));
+            }
+        }
+        return statistics;
+    }
+
+    private static AsyncExecutorStatistics getStatistics(final String name, final ThreadPoolExecutor executor) {
+        final long rejected = executor.getRejectedExecutionHandler() instanceof CountingAbortPolicy
+                ? ((CountingAbortPolicy) executor.getRejectedExecutionHandler()).rejected.get() : 0;
+        return new AsyncExecutorStatistics(name, executor.getPoolSize(), executor.getMaximumPoolSize(),
+                executor.getActiveCount(), executor.getQueue().size(), executor.getCompletedTaskCount(), rejected);
+    }
+
+    /**
+     * Shut down the requesting executors created by this factory. Already submitted requests are executed,
+     * new requests are {@link RejectedExecutionException rejected}.
+     */
+    void close() {
+        if (defaultExecutor != null) {
+            defaultExecutor.shutdown();
+        }
+        if (bulkheads != null) {
+            for (ExecutorService executor : bulkheads.values()) {
+                executor.shutdown();
+            }
+        }
+    }
 }
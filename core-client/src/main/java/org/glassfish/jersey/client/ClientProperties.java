@@ -126,16 +126,72 @@ public final class ClientProperties {
      * If the property is absent then thread pool used for async requests will
      * be initialized as default cached thread pool, which creates new thread
      * for every new request, see {@link java.util.concurrent.Executors}. When
-     * a value &gt; 0 is provided, the created cached thread pool limited to that
-     * number of threads will be utilized.
+     * a value &gt; 0 is provided, a thread pool limited to that number of threads
+     * with a bounded queue of the {@link #ASYNC_QUEUE_SIZE configured size} will be
+     * utilized. Asynchronous requests that can neither be executed nor queued are
+     * rejected, i.e. their response future fails with a
+     * {@link javax.ws.rs.ProcessingException}.
+     * <p />
+     * The asynchronous thread pool is used by all the transport connectors that
+     * do not provide their own asynchronous request processing.
      * <p />
      * A default value is not set.
      * <p />
      * The name of the configuration property is <tt>{@value}</tt>.
      */
-    // TODO add support (ported from Jersey 1.x).
     public static final String ASYNC_THREADPOOL_SIZE = "jersey.config.client.async.threadPoolSize";
 
+    /**
+     * Maximal number of asynchronous requests waiting for a thread of a bounded asynchronous thread pool.
+     *
+     * The value MUST be an instance of {@link java.lang.Integer}. The value is used only if the
+     * {@link #ASYNC_THREADPOOL_SIZE asynchronous thread pool size} is set or if {@link #ASYNC_BULKHEAD bulkheads}
+     * are enabled. The value of {@code 0} means that no requests are queued.
+     * <p />
+     * The default value is {@code 1024}.
+     * <p />
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String ASYNC_QUEUE_SIZE = "jersey.config.client.async.queueSize";
+
+    /**
+     * Asynchronous request bulkheads.
+     *
+     * The value MUST be a {@link java.lang.String} with one of the following values:
+     * <ul>
+     * <li>{@code NONE} - all asynchronous requests share a single thread pool;</li>
+     * <li>{@code HOST} - asynchronous requests are executed in a dedicated thread pool per target host
+     * (scheme, host and port of the request URI);</li>
+     * <li>{@code TARGET} - asynchronous requests are executed in a dedicated thread pool per target resource
+     * (request URI without the query and fragment).</li>
+     * </ul>
+     * A slow downstream service can thus exhaust only the threads of its own pool. The dedicated thread pools are
+     * bounded, their size is determined by the {@link #ASYNC_THREADPOOL_SIZE} property (defaults to the number of
+     * available processors multiplied by {@code 8}) and their queue size by the {@link #ASYNC_QUEUE_SIZE} property.
+     * The number of dedicated thread pools is limited, requests to hosts or resources encountered once the limit
+     * has been reached use the shared asynchronous thread pool.
+     * <p />
+     * Bulkheads are not used if a custom {@link org.glassfish.jersey.spi.RequestExecutorsProvider} is registered.
+     * <p />
+     * The default value is {@code NONE}.
+     * <p />
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String ASYNC_BULKHEAD = "jersey.config.client.async.bulkhead";
+
+    /**
+     * Client-side load balancer distributing the requests of a web target among multiple endpoints.
+     *
+     * The value MUST be an instance of {@link LoadBalancer}. The property is typically set on a
+     * {@link javax.ws.rs.client.WebTarget web target} created by {@link LoadBalancer#target(javax.ws.rs.client.Client)}
+     * and is inherited by all the targets derived from it.
+     * <p />
+     * A default value is not set.
+     * <p />
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String LOAD_BALANCER = "jersey.config.client.loadBalancer";
+
     /**
      * If {@link org.glassfish.jersey.client.filter.EncodingFilter} is registered, this property indicates the value
      * of Content-Encoding property the filter should be adding.
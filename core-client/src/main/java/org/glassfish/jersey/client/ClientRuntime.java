@@ -41,13 +41,16 @@
 package org.glassfish.jersey.client;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.HttpHeaders;
 
 import org.glassfish.jersey.ExtendedConfig;
+import org.glassfish.jersey.client.internal.LocalizationMessages;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
 import org.glassfish.jersey.client.spi.Connector;
 import org.glassfish.jersey.internal.Version;
@@ -95,10 +98,14 @@ class ClientRuntime {
                 responseFilteringStage : Stages.<ClientResponse>identity();
 
         this.config = config;
-        this.connector = connector;
+        // load balancing is applied to each (re-)sent request separately
+        final Connector balancingConnector = new LoadBalancingConnector(connector);
+        final ResiliencePolicy resiliencePolicy = locator.getService(ResiliencePolicy.class);
+        this.connector = resiliencePolicy != null ?
+                new ResilientConnector(balancingConnector, resiliencePolicy) : balancingConnector;
 
         this.requestScope = locator.getService(RequestScope.class);
-        this.asyncExecutorsFactory = new ClientAsyncExecutorsFactory(locator);
+        this.asyncExecutorsFactory = new ClientAsyncExecutorsFactory(locator, config);
 
         this.locator = locator;
     }
@@ -114,7 +121,15 @@ class ClientRuntime {
      * @param callback asynchronous response callback.
      */
     public void submit(final ClientRequest request, final ResponseCallback callback) {
-        submit(asyncExecutorsFactory.getRequestingExecutor(request), new Runnable() {
+        try {
+            submit(asyncExecutorsFactory.getRequestingExecutor(request), request, callback);
+        } catch (RejectedExecutionException e) {
+            callback.failed(new ProcessingException(LocalizationMessages.ASYNC_REQUEST_REJECTED(request.getUri()), e));
+        }
+    }
+
+    private void submit(final ExecutorService executor, final ClientRequest request, final ResponseCallback callback) {
+        submit(executor, new Runnable() {
 
             @Override
             public void run() {
@@ -247,7 +262,20 @@ class ClientRuntime {
      * Close the client runtime and release the underlying transport connector.
      */
     public void close() {
-        connector.close();
+        try {
+            connector.close();
+        } finally {
+            asyncExecutorsFactory.close();
+        }
+    }
+
+    /**
+     * Get the statistics of the executors used to execute asynchronous requests.
+     *
+     * @return asynchronous executors statistics.
+     */
+    public List<AsyncExecutorStatistics> getAsyncExecutorStatistics() {
+        return asyncExecutorsFactory.getStatistics();
     }
 
     /**
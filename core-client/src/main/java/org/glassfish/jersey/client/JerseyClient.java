@@ -40,6 +40,7 @@
 package org.glassfish.jersey.client;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -278,4 +279,21 @@ public class JerseyClient implements javax.ws.rs.client.Client {
         config.preInitialize();
         return this;
     }
+
+    /**
+     * Get the statistics of the thread pools used to execute asynchronous requests of this client.
+     * <p/>
+     * The client runtime is initialized if it has not been initialized yet. Statistics are available only
+     * for the thread pools managed by Jersey, i.e. not if a custom
+     * {@link org.glassfish.jersey.spi.RequestExecutorsProvider requesting executors provider} is registered.
+     *
+     * @return list of asynchronous executors statistics snapshots.
+     * @throws IllegalStateException in case the client instance has been closed already.
+     * @see ClientProperties#ASYNC_THREADPOOL_SIZE
+     * @see ClientProperties#ASYNC_BULKHEAD
+     */
+    public List<AsyncExecutorStatistics> getAsyncExecutorStatistics() {
+        checkNotClosed();
+        return config.getRuntime().getAsyncExecutorStatistics();
+    }
 }
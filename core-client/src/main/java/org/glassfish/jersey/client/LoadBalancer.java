@@ -0,0 +1,331 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.WebTarget;
+
+/**
+ * Client-side load balancer distributing requests among a pool of equivalent endpoints
+ * (replicas of a single service).
+ * <p>
+ * A load balanced {@link WebTarget web target} is {@link #target(Client) created} for the first endpoint of the pool,
+ * which serves as the logical base URI of the service. Every request sent via the target (or any target derived
+ * from it, including {@code WebResourceFactory} proxies) is redirected to an endpoint chosen by the configured
+ * {@link Strategy strategy} right before it is passed to the transport
+ * {@link org.glassfish.jersey.client.spi.Connector connector}. The logical base URI prefix of the request URI is
+ * replaced with the URI of the chosen endpoint.
+ * </p>
+ * <p>
+ * The health of the endpoints is tracked passively: an endpoint that failed (transport failure or a {@code 5xx}
+ * response) {@value #FAILURE_THRESHOLD} times in a row is not chosen for {@value #EJECTION_PERIOD_MS} milliseconds.
+ * If all the endpoints are unhealthy, the requests are distributed among all of them.
+ * </p>
+ * <p>
+ * Instances are thread-safe and may be shared by multiple clients.
+ * </p>
+ *
+ * @see ClientProperties#LOAD_BALANCER
+ */
+public final class LoadBalancer {
+
+    /**
+     * Endpoint selection strategy.
+     */
+    public static enum Strategy {
+        /**
+         * Endpoints are chosen in turns.
+         */
+        ROUND_ROBIN,
+        /**
+         * Endpoint with the least number of outstanding requests is chosen, ties are broken by the lower
+         * average latency.
+         */
+        LEAST_OUTSTANDING,
+        /**
+         * Two random endpoints are compared and the less loaded one (outstanding requests weighted by the
+         * average latency) is chosen.
+         */
+        POWER_OF_TWO_CHOICES
+    }
+
+    /**
+     * Number of consecutive failures after which an endpoint is considered unhealthy.
+     */
+    public static final int FAILURE_THRESHOLD = 3;
+
+    /**
+     * Period (in milliseconds) for which an unhealthy endpoint is not chosen.
+     */
+    public static final long EJECTION_PERIOD_MS = 10000;
+
+    private static final long EJECTION_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(EJECTION_PERIOD_MS);
+
+    private final Strategy strategy;
+    private final List<Endpoint> endpoints;
+    private final String logicalBase;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Random random = new Random();
+
+    /**
+     * Create new load balancer.
+     *
+     * @param strategy  endpoint selection strategy.
+     * @param endpoints endpoint URIs, the first one is used as the logical base URI of the service.
+     */
+    public LoadBalancer(final Strategy strategy, final URI... endpoints) {
+        this(strategy, Arrays.asList(endpoints));
+    }
+
+    /**
+     * Create new load balancer.
+     *
+     * @param strategy  endpoint selection strategy.
+     * @param endpoints endpoint URIs, the first one is used as the logical base URI of the service.
+     */
+    public LoadBalancer(final Strategy strategy, final List<URI> endpoints) {
+        if (strategy == null) {
+            throw new NullPointerException("strategy");
+        }
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("No endpoints specified.");
+        }
+
+        final List<Endpoint> list = new ArrayList<Endpoint>(endpoints.size());
+        for (URI uri : endpoints) {
+            if (uri == null || !uri.isAbsolute()) {
+                throw new IllegalArgumentException("Endpoint URI must be absolute: " + uri);
+            }
+            list.add(new Endpoint(uri));
+        }
+
+        this.strategy = strategy;
+        this.endpoints = Collections.unmodifiableList(list);
+        this.logicalBase = list.get(0).base;
+    }
+
+    /**
+     * Create a load balanced web target.
+     *
+     * @param client client used to create the target.
+     * @return web target for the logical base URI of the service with this load balancer configured.
+     */
+    public WebTarget target(final Client client) {
+        return client.target(endpoints.get(0).uri).property(ClientProperties.LOAD_BALANCER, this);
+    }
+
+    /**
+     * Get the endpoint selection strategy.
+     *
+     * @return endpoint selection strategy.
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Get the URIs of the healthy endpoints.
+     *
+     * @return URIs of the endpoints that are currently considered healthy.
+     */
+    public List<URI> getHealthyEndpoints() {
+        final long now = System.nanoTime();
+        final List<URI> healthy = new ArrayList<URI>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isHealthy(now)) {
+                healthy.add(endpoint.uri);
+            }
+        }
+        return healthy;
+    }
+
+    /**
+     * Choose an endpoint for the request and redirect the request to it.
+     *
+     * @param request client request.
+     * @return chosen endpoint or {@code null} if the request URI is not based on the logical base URI.
+     */
+    Endpoint route(final ClientRequest request) {
+        final String uri = request.getUri().toString();
+        if (!uri.startsWith(logicalBase)
+                || (uri.length() > logicalBase.length() && "/?#".indexOf(uri.charAt(logicalBase.length())) < 0)) {
+            return null;
+        }
+
+        final Endpoint endpoint = choose();
+        if (endpoint != endpoints.get(0)) {
+            request.setUri(URI.create(endpoint.base + uri.substring(logicalBase.length())));
+        }
+        return endpoint;
+    }
+
+    private Endpoint choose() {
+        final int size = endpoints.size();
+        if (size == 1) {
+            return endpoints.get(0);
+        }
+
+        final long now = System.nanoTime();
+        List<Endpoint> candidates = endpoints;
+        for (int i = 0; i < size; i++) {
+            if (!endpoints.get(i).isHealthy(now)) {
+                // at least one endpoint unhealthy - filter the candidates
+                final List<Endpoint> healthy = new ArrayList<Endpoint>(size);
+                for (Endpoint endpoint : endpoints) {
+                    if (endpoint.isHealthy(now)) {
+                        healthy.add(endpoint);
+                    }
+                }
+                if (!healthy.isEmpty()) {
+                    candidates = healthy;
+                }
+                break;
+            }
+        }
+
+        final int count = candidates.size();
+        switch (strategy) {
+            case LEAST_OUTSTANDING:
+                Endpoint best = candidates.get(0);
+                for (int i = 1; i < count; i++) {
+                    final Endpoint candidate = candidates.get(i);
+                    final int outstanding = candidate.outstanding.get();
+                    final int bestOutstanding = best.outstanding.get();
+                    if (outstanding < bestOutstanding
+                            || (outstanding == bestOutstanding && candidate.latencyNanos < best.latencyNanos)) {
+                        best = candidate;
+                    }
+                }
+                return best;
+            case POWER_OF_TWO_CHOICES:
+                if (count == 1) {
+                    return candidates.get(0);
+                }
+                final int first = random.nextInt(count);
+                int second = random.nextInt(count - 1);
+                if (second >= first) {
+                    second++;
+                }
+                final Endpoint a = candidates.get(first);
+                final Endpoint b = candidates.get(second);
+                return a.load() <= b.load() ? a : b;
+            default:
+                return candidates.get((next.getAndIncrement() & Integer.MAX_VALUE) % count);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LoadBalancer{strategy=" + strategy + ", endpoints=" + endpoints + '}';
+    }
+
+    /**
+     * Single load balanced endpoint with its passively tracked health and load.
+     */
+    static final class Endpoint {
+
+        private final URI uri;
+        private final String base;
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile long ejectedUntil;
+        private volatile boolean ejected = false;
+        // exponentially weighted moving average; updates may race, which only makes the average less precise
+        private volatile long latencyNanos = 0;
+
+        private Endpoint(final URI uri) {
+            this.uri = uri;
+            final String value = uri.toString();
+            this.base = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+        }
+
+        private boolean isHealthy(final long now) {
+            return !ejected || now - ejectedUntil >= 0;
+        }
+
+        private long load() {
+            return (outstanding.get() + 1) * Math.max(latencyNanos, 1);
+        }
+
+        /**
+         * Record the start of a request sent to the endpoint.
+         */
+        void started() {
+            outstanding.incrementAndGet();
+        }
+
+        /**
+         * Record the completion of a request sent to the endpoint.
+         *
+         * @param elapsedNanos request latency.
+         * @param failed       {@code true} if the request failed.
+         */
+        void completed(final long elapsedNanos, final boolean failed) {
+            outstanding.decrementAndGet();
+            if (failed) {
+                if (failures.incrementAndGet() >= FAILURE_THRESHOLD) {
+                    ejectedUntil = System.nanoTime() + EJECTION_PERIOD_NANOS;
+                    ejected = true;
+                    failures.set(0);
+                }
+            } else {
+                failures.set(0);
+                ejected = false;
+                final long average = latencyNanos;
+                latencyNanos = average == 0 ? elapsedNanos : average + (elapsedNanos - average) / 8;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return uri.toString();
+        }
+    }
+}
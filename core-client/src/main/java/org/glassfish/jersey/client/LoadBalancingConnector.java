@@ -0,0 +1,131 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.util.concurrent.Future;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+
+/**
+ * Connector decorator that redirects the requests of {@link LoadBalancer load balanced} targets to the chosen
+ * endpoints and reports the outcome of each request back to the load balancer.
+ * <p>
+ * Requests without a {@link ClientProperties#LOAD_BALANCER load balancer} configured are passed to the underlying
+ * connector unchanged.
+ * </p>
+ */
+final class LoadBalancingConnector implements Connector {
+
+    private final Connector connector;
+
+    /**
+     * Create new load balancing connector.
+     *
+     * @param connector underlying transport connector.
+     */
+    LoadBalancingConnector(final Connector connector) {
+        this.connector = connector;
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest request) {
+        final LoadBalancer.Endpoint endpoint = route(request);
+        if (endpoint == null) {
+            return connector.apply(request);
+        }
+
+        final long start = System.nanoTime();
+        endpoint.started();
+        final ClientResponse response;
+        try {
+            response = connector.apply(request);
+        } catch (RuntimeException ex) {
+            endpoint.completed(System.nanoTime() - start, true);
+            throw ex;
+        }
+        endpoint.completed(System.nanoTime() - start, response.getStatus() >= 500);
+        return response;
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        final LoadBalancer.Endpoint endpoint = route(request);
+        if (endpoint == null) {
+            return connector.apply(request, callback);
+        }
+
+        final long start = System.nanoTime();
+        endpoint.started();
+        try {
+            return connector.apply(request, new AsyncConnectorCallback() {
+                @Override
+                public void response(final ClientResponse response) {
+                    endpoint.completed(System.nanoTime() - start, response.getStatus() >= 500);
+                    callback.response(response);
+                }
+
+                @Override
+                public void failure(final Throwable failure) {
+                    endpoint.completed(System.nanoTime() - start, true);
+                    callback.failure(failure);
+                }
+            });
+        } catch (RuntimeException ex) {
+            endpoint.completed(System.nanoTime() - start, true);
+            throw ex;
+        }
+    }
+
+    private static LoadBalancer.Endpoint route(final ClientRequest request) {
+        final Object balancer = request.getConfiguration().getProperty(ClientProperties.LOAD_BALANCER);
+        return balancer instanceof LoadBalancer ? ((LoadBalancer) balancer).route(request) : null;
+    }
+
+    @Override
+    public String getName() {
+        return connector.getName();
+    }
+
+    @Override
+    public void close() {
+        connector.close();
+    }
+}
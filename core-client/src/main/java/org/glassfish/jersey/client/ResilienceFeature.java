@@ -0,0 +1,218 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+/**
+ * Feature that makes the client invocations resilient to transient failures of the target services.
+ * <p>
+ * Once enabled, each request that has passed through the client request filters is sent to the transport
+ * {@link org.glassfish.jersey.client.spi.Connector connector} by a resilient invoker that supports:
+ * <ul>
+ * <li><b>retries</b> - requests that failed with a {@link javax.ws.rs.ProcessingException transport failure}
+ * or with one of the {@link #retryOnStatus(int...) retryable status codes} are retried (up to the configured
+ * {@link #retries(int) number of retries}) after an exponential {@link #backoff(long, long, TimeUnit) backoff}
+ * with a random jitter. Only idempotent requests ({@code GET}, {@code HEAD}, {@code OPTIONS}, {@code PUT},
+ * {@code DELETE} and {@code TRACE}) and requests with an {@value #IDEMPOTENCY_KEY_HEADER} header are retried,
+ * unless {@link #retryNonIdempotent(boolean) retries of non-idempotent requests} are enabled;</li>
+ * <li><b>replayable entities</b> - request entities are serialized again for each attempt. Single-pass entities
+ * (an {@link java.io.InputStream}, a {@link java.io.Reader}, a stream {@link javax.xml.transform.Source source},
+ * an {@link java.util.Iterator} or any other {@link java.io.Closeable} entity such as a database cursor) are
+ * buffered in memory once so that they can be replayed; entities larger than the
+ * {@link #replayBufferSize(int) replay buffer size} are sent only once;</li>
+ * <li><b>hedged requests</b> - if enabled, an idempotent request that has not completed within the
+ * {@link #hedgeAfterPercentile(double) configured percentile} of the recently observed latencies is sent once more
+ * and the first response wins;</li>
+ * <li><b>circuit breaker</b> - if enabled, requests to a host that has failed (transport failure or a {@code 5xx}
+ * response) a {@link #circuitBreaker(int, long, TimeUnit) configured number of times} in a row fail fast
+ * for the configured period, after which a single trial request is let through.</li>
+ * </ul>
+ * The resilience applies to both synchronous and asynchronous invocations. Each attempt is performed using the
+ * synchronous connector API; attempts of asynchronous invocations are executed on the client
+ * {@link ClientProperties#ASYNC_THREADPOOL_SIZE asynchronous executor} thread or, in case of delayed retries and
+ * hedged requests, on an internal executor.
+ * </p>
+ * <p>
+ * The feature instance is a mutable builder of the resilience settings. The settings are captured when the
+ * feature is configured in the client runtime, subsequent changes do not affect the already initialized clients.
+ * </p>
+ */
+public class ResilienceFeature implements Feature {
+
+    /**
+     * Name of the request header marking a non-idempotent request as safe to be retried.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private int retries = 2;
+    private long initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(50);
+    private long maxBackoffNanos = TimeUnit.SECONDS.toNanos(2);
+    private int[] retryStatuses = {502, 503, 504};
+    private boolean retryNonIdempotent = false;
+    private int replayBufferSize = 64 * 1024;
+    private double hedgePercentile = 0;
+    private int circuitBreakerThreshold = 0;
+    private long circuitBreakerOpenNanos = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * Set the maximal number of retries of a single request. The default value is {@code 2}.
+     *
+     * @param retries maximal number of retries, {@code 0} disables the retries.
+     * @return updated feature.
+     */
+    public ResilienceFeature retries(final int retries) {
+        if (retries < 0) {
+            throw new IllegalArgumentException("retries < 0");
+        }
+        this.retries = retries;
+        return this;
+    }
+
+    /**
+     * Set the retry backoff. The delay before the {@code n}-th retry is a random value between one half and the
+     * whole of {@code min(maxDelay, initialDelay * 2^(n-1))}. The default backoff is {@code 50} milliseconds
+     * growing up to {@code 2} seconds.
+     *
+     * @param initialDelay delay before the first retry.
+     * @param maxDelay     maximal delay before a retry.
+     * @param unit         time unit of the delays.
+     * @return updated feature.
+     */
+    public ResilienceFeature backoff(final long initialDelay, final long maxDelay, final TimeUnit unit) {
+        if (initialDelay < 0 || maxDelay < initialDelay) {
+            throw new IllegalArgumentException("initialDelay < 0 || maxDelay < initialDelay");
+        }
+        this.initialBackoffNanos = unit.toNanos(initialDelay);
+        this.maxBackoffNanos = unit.toNanos(maxDelay);
+        return this;
+    }
+
+    /**
+     * Set the response status codes upon which a request is retried. The default status codes are
+     * {@code 502}, {@code 503} and {@code 504}.
+     *
+     * @param statuses retryable response status codes.
+     * @return updated feature.
+     */
+    public ResilienceFeature retryOnStatus(final int... statuses) {
+        this.retryStatuses = statuses.clone();
+        return this;
+    }
+
+    /**
+     * Enable or disable retries of non-idempotent requests. Disabled by default.
+     *
+     * @param retryNonIdempotent if {@code true}, also non-idempotent requests (e.g. {@code POST}) are retried.
+     * @return updated feature.
+     */
+    public ResilienceFeature retryNonIdempotent(final boolean retryNonIdempotent) {
+        this.retryNonIdempotent = retryNonIdempotent;
+        return this;
+    }
+
+    /**
+     * Set the maximal size of a single-pass (e.g. {@link java.io.InputStream input stream}) request entity that is
+     * buffered so that the request can be retried. The default size is {@code 64} KiB.
+     *
+     * @param size replay buffer size in bytes, {@code 0} disables the buffering.
+     * @return updated feature.
+     */
+    public ResilienceFeature replayBufferSize(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size < 0");
+        }
+        this.replayBufferSize = size;
+        return this;
+    }
+
+    /**
+     * Enable hedged requests. An idempotent request that has not completed within the given percentile of the
+     * recently observed request latencies is sent once more. Disabled by default.
+     *
+     * @param percentile latency percentile (exclusively between {@code 0} and {@code 100}), {@code 0} disables
+     *                   the hedged requests.
+     * @return updated feature.
+     */
+    public ResilienceFeature hedgeAfterPercentile(final double percentile) {
+        if (percentile < 0 || percentile >= 100) {
+            throw new IllegalArgumentException("percentile < 0 || percentile >= 100");
+        }
+        this.hedgePercentile = percentile;
+        return this;
+    }
+
+    /**
+     * Enable the per-host circuit breaker. Disabled by default.
+     *
+     * @param failureThreshold number of consecutive failures that opens the circuit, {@code 0} disables
+     *                         the circuit breaker.
+     * @param openDuration     period for which the requests to the host fail fast once the circuit is open.
+     * @param unit             time unit of the open duration.
+     * @return updated feature.
+     */
+    public ResilienceFeature circuitBreaker(final int failureThreshold, final long openDuration, final TimeUnit unit) {
+        if (failureThreshold < 0 || openDuration < 0) {
+            throw new IllegalArgumentException("failureThreshold < 0 || openDuration < 0");
+        }
+        this.circuitBreakerThreshold = failureThreshold;
+        this.circuitBreakerOpenNanos = unit.toNanos(openDuration);
+        return this;
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final ResiliencePolicy policy = new ResiliencePolicy(retries, initialBackoffNanos, maxBackoffNanos, retryStatuses,
+                retryNonIdempotent, replayBufferSize, hedgePercentile, circuitBreakerThreshold, circuitBreakerOpenNanos);
+
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(policy).to(ResiliencePolicy.class);
+            }
+        });
+        return true;
+    }
+}
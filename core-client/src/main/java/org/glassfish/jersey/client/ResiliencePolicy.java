@@ -0,0 +1,177 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import javax.ws.rs.HttpMethod;
+
+/**
+ * Immutable snapshot of the {@link ResilienceFeature resilience} settings.
+ */
+final class ResiliencePolicy {
+
+    private final int retries;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final int[] retryStatuses;
+    private final boolean retryNonIdempotent;
+    private final int replayBufferSize;
+    private final double hedgePercentile;
+    private final int circuitBreakerThreshold;
+    private final long circuitBreakerOpenNanos;
+
+    /**
+     * Create new resilience policy.
+     *
+     * @param retries                 maximal number of retries.
+     * @param initialBackoffNanos     backoff before the first retry.
+     * @param maxBackoffNanos         maximal backoff.
+     * @param retryStatuses           retryable response status codes.
+     * @param retryNonIdempotent      {@code true} if non-idempotent requests may be retried.
+     * @param replayBufferSize        maximal size of a buffered single-pass entity.
+     * @param hedgePercentile         latency percentile after which a hedged request is sent, {@code 0} if disabled.
+     * @param circuitBreakerThreshold number of consecutive failures that opens the circuit, {@code 0} if disabled.
+     * @param circuitBreakerOpenNanos period for which an open circuit fails fast.
+     */
+    ResiliencePolicy(final int retries,
+                     final long initialBackoffNanos,
+                     final long maxBackoffNanos,
+                     final int[] retryStatuses,
+                     final boolean retryNonIdempotent,
+                     final int replayBufferSize,
+                     final double hedgePercentile,
+                     final int circuitBreakerThreshold,
+                     final long circuitBreakerOpenNanos) {
+        this.retries = retries;
+        this.initialBackoffNanos = initialBackoffNanos;
+        this.maxBackoffNanos = maxBackoffNanos;
+        this.retryStatuses = retryStatuses.clone();
+        Arrays.sort(this.retryStatuses);
+        this.retryNonIdempotent = retryNonIdempotent;
+        this.replayBufferSize = replayBufferSize;
+        this.hedgePercentile = hedgePercentile;
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+        this.circuitBreakerOpenNanos = circuitBreakerOpenNanos;
+    }
+
+    int getRetries() {
+        return retries;
+    }
+
+    int getReplayBufferSize() {
+        return replayBufferSize;
+    }
+
+    boolean isHedgingEnabled() {
+        return hedgePercentile > 0;
+    }
+
+    double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    boolean isCircuitBreakerEnabled() {
+        return circuitBreakerThreshold > 0;
+    }
+
+    int getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    long getCircuitBreakerOpenNanos() {
+        return circuitBreakerOpenNanos;
+    }
+
+    /**
+     * Check whether the response status code is retryable.
+     *
+     * @param status response status code.
+     * @return {@code true} if a request that resulted in the status code may be retried.
+     */
+    boolean isRetryableStatus(final int status) {
+        return Arrays.binarySearch(retryStatuses, status) >= 0;
+    }
+
+    /**
+     * Check whether the request is idempotent, i.e. whether it is safe to send it more than once.
+     *
+     * @param request client request.
+     * @return {@code true} if the request is idempotent.
+     */
+    static boolean isIdempotent(final ClientRequest request) {
+        final String method = request.getMethod() == null ? "" : request.getMethod().toUpperCase(Locale.ENGLISH);
+        return HttpMethod.GET.equals(method)
+                || HttpMethod.HEAD.equals(method)
+                || HttpMethod.OPTIONS.equals(method)
+                || HttpMethod.PUT.equals(method)
+                || HttpMethod.DELETE.equals(method)
+                || "TRACE".equals(method)
+                || request.getHeaders().containsKey(ResilienceFeature.IDEMPOTENCY_KEY_HEADER);
+    }
+
+    /**
+     * Check whether the request may be sent more than once according to this policy.
+     *
+     * @param request client request.
+     * @return {@code true} if the request may be retried.
+     */
+    boolean isRetryable(final ClientRequest request) {
+        return retryNonIdempotent || isIdempotent(request);
+    }
+
+    /**
+     * Get the backoff before the given retry. The backoff is a random value between one half and the whole of the
+     * exponentially growing delay capped by the maximal backoff.
+     *
+     * @param retry number of the retry (starting with {@code 1}).
+     * @return backoff in nanoseconds.
+     */
+    long backoffNanos(final int retry) {
+        final int shift = Math.min(retry - 1, 30);
+        long delay = initialBackoffNanos << shift;
+        if (delay < 0 || (delay >> shift) != initialBackoffNanos || delay > maxBackoffNanos) {
+            delay = maxBackoffNanos;
+        }
+        final long half = delay / 2;
+        return half + (long) (Math.random() * (delay - half));
+    }
+}
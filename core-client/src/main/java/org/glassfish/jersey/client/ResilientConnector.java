@@ -0,0 +1,648 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.MediaType;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Connector decorator that applies the {@link ResiliencePolicy resilience policy} to the requests sent
+ * by the underlying transport connector.
+ * <p>
+ * Each attempt sends a fresh {@link ClientRequest#ClientRequest(ClientRequest) copy} of the filtered request
+ * using the synchronous connector API, so that the request entity is serialized again for every attempt.
+ * </p>
+ */
+final class ResilientConnector implements Connector {
+
+    private static final Logger LOGGER = Logger.getLogger(ResilientConnector.class.getName());
+
+    /**
+     * Maximal number of hosts tracked by the circuit breaker.
+     */
+    static final int MAX_CIRCUIT_BREAKERS = 256;
+
+    private final Connector connector;
+    private final ResiliencePolicy policy;
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers;
+    private final LatencyTracker latencies;
+
+    private final ExecutorService attemptExecutor;
+    private final ScheduledExecutorService backoffScheduler;
+
+    /**
+     * Create new resilient connector.
+     *
+     * @param connector underlying transport connector.
+     * @param policy    resilience policy.
+     */
+    ResilientConnector(final Connector connector, final ResiliencePolicy policy) {
+        this.connector = connector;
+        this.policy = policy;
+
+        this.breakers = policy.isCircuitBreakerEnabled() ? new ConcurrentHashMap<String, CircuitBreaker>() : null;
+        this.latencies = policy.isHedgingEnabled() ? new LatencyTracker(policy.getHedgePercentile()) : null;
+
+        // the executors are needed only by the hedged requests and the asynchronous retries
+        final boolean retries = policy.getRetries() > 0;
+        this.attemptExecutor = retries || policy.isHedgingEnabled()
+                ? Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                        .setNameFormat("jersey-client-resilience-%d")
+                        .setDaemon(true)
+                        .build())
+                : null;
+        this.backoffScheduler = retries
+                ? Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                        .setNameFormat("jersey-client-resilience-backoff-%d")
+                        .setDaemon(true)
+                        .build())
+                : null;
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest request) {
+        final boolean replayable = prepareEntity(request);
+
+        int attempt = 0;
+        while (true) {
+            ClientResponse response = null;
+            ProcessingException failure = null;
+            try {
+                response = execute(request, replayable);
+            } catch (ProcessingException ex) {
+                failure = ex;
+            }
+
+            if (!shouldRetry(request, replayable, attempt, response, failure)) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+
+            discard(response);
+            attempt++;
+            try {
+                TimeUnit.NANOSECONDS.sleep(policy.backoffNanos(attempt));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw failure != null ? failure : new ProcessingException(ex);
+            }
+        }
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        final SettableFuture<ClientResponse> future = SettableFuture.create();
+        new AsyncAttempt(request, prepareEntity(request), callback, future).run();
+        return future;
+    }
+
+    @Override
+    public String getName() {
+        return connector.getName();
+    }
+
+    @Override
+    public void close() {
+        if (attemptExecutor != null) {
+            attemptExecutor.shutdownNow();
+        }
+        if (backoffScheduler != null) {
+            backoffScheduler.shutdownNow();
+        }
+        connector.close();
+    }
+
+    /**
+     * Asynchronous invocation. The first attempt is executed in the calling (client requesting executor) thread,
+     * the retries are scheduled after the backoff and executed on the attempt executor.
+     */
+    private final class AsyncAttempt implements Runnable {
+
+        private final ClientRequest request;
+        private final boolean replayable;
+        private final AsyncConnectorCallback callback;
+        private final SettableFuture<ClientResponse> future;
+
+        private int attempt = 0;
+
+        private AsyncAttempt(final ClientRequest request,
+                             final boolean replayable,
+                             final AsyncConnectorCallback callback,
+                             final SettableFuture<ClientResponse> future) {
+            this.request = request;
+            this.replayable = replayable;
+            this.callback = callback;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            ClientResponse response = null;
+            ProcessingException failure = null;
+            try {
+                response = execute(request, replayable);
+            } catch (ProcessingException ex) {
+                failure = ex;
+            }
+
+            if (shouldRetry(request, replayable, attempt, response, failure)) {
+                discard(response);
+                attempt++;
+                try {
+                    backoffScheduler.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                attemptExecutor.execute(AsyncAttempt.this);
+                            } catch (RejectedExecutionException ex) {
+                                complete(null, new ProcessingException(ex));
+                            }
+                        }
+                    }, policy.backoffNanos(attempt), TimeUnit.NANOSECONDS);
+                    return;
+                } catch (RejectedExecutionException ex) {
+                    // connector has been closed, report the failure
+                    complete(null, failure != null ? failure : new ProcessingException(ex));
+                    return;
+                }
+            }
+
+            complete(response, failure);
+        }
+
+        private void complete(final ClientResponse response, final ProcessingException failure) {
+            if (failure != null) {
+                callback.failure(failure);
+                future.setException(failure);
+            } else {
+                callback.response(response);
+                future.set(response);
+            }
+        }
+    }
+
+    /**
+     * Make the request entity replayable if necessary. Entities that can be serialized repeatedly (byte arrays,
+     * strings, files, forms, beans, ...) are serialized again by each attempt. Single-pass entities (input streams,
+     * readers, stream sources, iterators and closeable iterables) are buffered in memory once; the request can be
+     * replayed only if the buffered entity does not exceed the replay buffer size.
+     *
+     * @param request client request.
+     * @return {@code true} if the request can be sent more than once.
+     */
+    private boolean prepareEntity(final ClientRequest request) {
+        if (!request.hasEntity() || !isSinglePass(request.getEntity())) {
+            return true;
+        }
+        if (policy.getReplayBufferSize() == 0
+                || (policy.getRetries() == 0 && !policy.isHedgingEnabled())
+                || !policy.isRetryable(request)) {
+            return false;
+        }
+
+        if (request.getEntity() instanceof InputStream) {
+            return bufferStream(request);
+        }
+        return bufferEntity(request);
+    }
+
+    /**
+     * Check whether the entity can be serialized only once.
+     *
+     * @param entity request entity.
+     * @return {@code true} if the entity is consumed by its serialization.
+     */
+    private static boolean isSinglePass(final Object entity) {
+        return entity instanceof Closeable
+                || entity instanceof Iterator
+                || entity instanceof Enumeration
+                || (entity instanceof Source && !(entity instanceof DOMSource));
+    }
+
+    /**
+     * Serialize a single-pass entity into a byte array using the message body writer selected for the entity.
+     * The writer interceptors are not invoked, they are applied by each attempt to the buffered entity.
+     * The whole entity is buffered since it is consumed by the serialization.
+     */
+    private boolean bufferEntity(final ClientRequest request) {
+        final MessageBodyWorkers workers = request.getWorkers();
+        final MediaType mediaType = request.getMediaType();
+        if (workers == null || mediaType == null) {
+            // the entity will be serialized by the connector, send it only once
+            return false;
+        }
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try {
+            workers.writeTo(request.getEntity(), request.getEntityClass(), request.getEntityType(),
+                    request.getEntityAnnotations(), mediaType, request.getHeaders(), request.getPropertiesDelegate(),
+                    buffer, false);
+        } catch (IOException ex) {
+            throw new ProcessingException(ex);
+        }
+
+        request.setEntity(buffer.toByteArray(), byte[].class, request.getEntityAnnotations());
+        return buffer.size() <= policy.getReplayBufferSize();
+    }
+
+    /**
+     * Buffer an input stream entity in memory provided it does not exceed the replay buffer size.
+     */
+    private boolean bufferStream(final ClientRequest request) {
+        final InputStream in = (InputStream) request.getEntity();
+        final int limit = policy.getReplayBufferSize();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.min(limit, 8192));
+        final byte[] chunk = new byte[Math.min(limit + 1, 8192)];
+        try {
+            int read;
+            while (buffer.size() <= limit
+                    && (read = in.read(chunk, 0, Math.min(chunk.length, limit + 1 - buffer.size()))) != -1) {
+                buffer.write(chunk, 0, read);
+            }
+        } catch (IOException ex) {
+            throw new ProcessingException(ex);
+        }
+
+        if (buffer.size() > limit) {
+            // too large to be replayed - send the consumed prefix followed by the rest of the stream
+            request.setEntity(new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), in),
+                    request.getEntityType(), request.getEntityAnnotations());
+            return false;
+        }
+        request.setEntity(buffer.toByteArray(), byte[].class, request.getEntityAnnotations());
+        return true;
+    }
+
+    private boolean shouldRetry(final ClientRequest request,
+                                final boolean replayable,
+                                final int attempt,
+                                final ClientResponse response,
+                                final ProcessingException failure) {
+        if (attempt >= policy.getRetries() || !replayable || !policy.isRetryable(request)) {
+            return false;
+        }
+        if (failure != null) {
+            return !(failure instanceof CircuitOpenException);
+        }
+        return policy.isRetryableStatus(response.getStatus());
+    }
+
+    /**
+     * Execute a single attempt, possibly hedged, guarded by the host circuit breaker.
+     */
+    private ClientResponse execute(final ClientRequest request, final boolean replayable) {
+        final CircuitBreaker breaker = breaker(request.getUri());
+        final CircuitBreaker.Permit permit = breaker != null ? breaker.allow() : null;
+        if (breaker != null && permit == null) {
+            throw new CircuitOpenException(LocalizationMessages.RESILIENCE_CIRCUIT_OPEN(request.getUri()));
+        }
+
+        final long start = System.nanoTime();
+        ClientResponse response = null;
+        try {
+            if (latencies != null && replayable && ResiliencePolicy.isIdempotent(request)) {
+                response = hedged(request);
+            } else {
+                response = connector.apply(replayable ? new ClientRequest(request) : request);
+            }
+        } finally {
+            if (response == null && breaker != null) {
+                // any failure (not only a ProcessingException) counts, so that a half-open trial is always concluded
+                breaker.failure(permit, policy.getCircuitBreakerThreshold(), policy.getCircuitBreakerOpenNanos());
+            }
+        }
+
+        if (breaker != null) {
+            if (response.getStatus() >= 500) {
+                breaker.failure(permit, policy.getCircuitBreakerThreshold(), policy.getCircuitBreakerOpenNanos());
+            } else {
+                breaker.success(permit);
+            }
+        }
+        if (latencies != null) {
+            latencies.record(System.nanoTime() - start);
+        }
+        return response;
+    }
+
+    /**
+     * Send the request and, if it does not complete within the hedging delay, send it once more.
+     * The first completed attempt wins, the response of the other attempt is closed.
+     */
+    private ClientResponse hedged(final ClientRequest request) {
+        final long delay = latencies.getHedgeDelayNanos();
+        if (delay < 0) {
+            // not enough latency samples yet
+            return connector.apply(new ClientRequest(request));
+        }
+
+        final CompletionService<ClientResponse> attempts = new ExecutorCompletionService<ClientResponse>(attemptExecutor);
+        try {
+            final Future<ClientResponse> primary = attempts.submit(attempt(request));
+            Future<ClientResponse> done = attempts.poll(delay, TimeUnit.NANOSECONDS);
+            if (done != null) {
+                return result(done);
+            }
+
+            final Future<ClientResponse> secondary = attempts.submit(attempt(request));
+            done = attempts.take();
+            final Future<ClientResponse> other = done == primary ? secondary : primary;
+            ClientResponse response;
+            try {
+                response = result(done);
+            } catch (ProcessingException ex) {
+                // first completed attempt failed, wait for the other one
+                return result(other);
+            }
+            discardWhenDone(other);
+            return response;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(ex);
+        } catch (RejectedExecutionException ex) {
+            throw new ProcessingException(ex);
+        }
+    }
+
+    private Callable<ClientResponse> attempt(final ClientRequest request) {
+        final ClientRequest copy = new ClientRequest(request);
+        return new Callable<ClientResponse>() {
+            @Override
+            public ClientResponse call() throws Exception {
+                return connector.apply(copy);
+            }
+        };
+    }
+
+    private static ClientResponse result(final Future<ClientResponse> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof ProcessingException) {
+                throw (ProcessingException) cause;
+            }
+            throw new ProcessingException(cause);
+        }
+    }
+
+    private void discardWhenDone(final Future<ClientResponse> future) {
+        try {
+            attemptExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        discard(future.get());
+                    } catch (Exception ex) {
+                        LOGGER.log(Level.FINEST, "Hedged request failed.", ex);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            future.cancel(true);
+        }
+    }
+
+    private static void discard(final ClientResponse response) {
+        if (response != null) {
+            try {
+                response.close();
+            } catch (Exception ex) {
+                LOGGER.log(Level.FINEST, "Failed to close a discarded response.", ex);
+            }
+        }
+    }
+
+    private CircuitBreaker breaker(final URI uri) {
+        if (breakers == null) {
+            return null;
+        }
+        final String host = uri.getScheme() + "://" + uri.getAuthority();
+        CircuitBreaker breaker = breakers.get(host);
+        if (breaker == null) {
+            if (breakers.size() >= MAX_CIRCUIT_BREAKERS) {
+                return null;
+            }
+            breaker = new CircuitBreaker();
+            final CircuitBreaker existing = breakers.putIfAbsent(host, breaker);
+            if (existing != null) {
+                breaker = existing;
+            }
+        }
+        return breaker;
+    }
+
+    /**
+     * Failure reported by an open circuit breaker; such a failure is never retried.
+     */
+    private static final class CircuitOpenException extends ProcessingException {
+
+        private CircuitOpenException(final String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Per-host circuit breaker. The circuit opens after a number of consecutive failures; once the open period
+     * elapses a single trial request is let through (half-open state) which either closes or re-opens the circuit.
+     * <p>
+     * Each call is {@link #allow() permitted} within the current circuit generation, which changes whenever the
+     * circuit opens or closes. Outcomes of calls permitted in a previous generation (e.g. calls that started before
+     * the circuit opened) do not affect the circuit.
+     * </p>
+     */
+    static final class CircuitBreaker {
+
+        /**
+         * Permission to execute a single call.
+         */
+        static final class Permit {
+
+            private final long generation;
+            private final boolean trial;
+
+            private Permit(final long generation, final boolean trial) {
+                this.generation = generation;
+                this.trial = trial;
+            }
+        }
+
+        private final AtomicBoolean trial = new AtomicBoolean();
+        private volatile boolean open = false;
+        private volatile long openUntil;
+        private volatile long generation = 0;
+        // guarded by this
+        private int failures = 0;
+
+        /**
+         * Request a permission to execute a call.
+         *
+         * @return call permit or {@code null} if the circuit is open.
+         */
+        Permit allow() {
+            final long current = generation;
+            if (!open) {
+                return new Permit(current, false);
+            }
+            if (System.nanoTime() - openUntil < 0 || !trial.compareAndSet(false, true)) {
+                return null;
+            }
+            if (generation != current) {
+                // the circuit has been re-opened (or closed) concurrently, do not start a stale trial
+                trial.set(false);
+                return null;
+            }
+            return new Permit(current, true);
+        }
+
+        synchronized void success(final Permit permit) {
+            if (permit.generation != generation) {
+                return;
+            }
+            if (permit.trial) {
+                open = false;
+                generation++;
+                trial.set(false);
+            }
+            failures = 0;
+        }
+
+        synchronized void failure(final Permit permit, final int threshold, final long openNanos) {
+            if (permit.generation != generation) {
+                // late failure of a call that started before the circuit changed its state
+                return;
+            }
+            if (permit.trial) {
+                // failed half-open trial re-opens the circuit for another period
+                openUntil = System.nanoTime() + openNanos;
+                generation++;
+                trial.set(false);
+            } else if (!open && ++failures >= threshold) {
+                openUntil = System.nanoTime() + openNanos;
+                open = true;
+                generation++;
+                failures = 0;
+            }
+        }
+    }
+
+    /**
+     * Tracks the latencies of the recent requests and computes the hedging delay as the configured
+     * percentile of the tracked latencies.
+     */
+    static final class LatencyTracker {
+
+        private static final int SAMPLES = 128;
+        private static final int MIN_SAMPLES = 16;
+        private static final int RECOMPUTE_INTERVAL = 16;
+
+        private final double percentile;
+        private final long[] samples = new long[SAMPLES];
+        private int count = 0;
+        private int next = 0;
+        private volatile long hedgeDelayNanos = -1;
+
+        LatencyTracker(final double percentile) {
+            this.percentile = percentile;
+        }
+
+        synchronized void record(final long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % SAMPLES;
+            if (count < SAMPLES) {
+                count++;
+            }
+            if (count >= MIN_SAMPLES && next % RECOMPUTE_INTERVAL == 0) {
+                final long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                final int index = (int) Math.ceil(percentile / 100 * count) - 1;
+                hedgeDelayNanos = sorted[Math.max(0, Math.min(index, count - 1))];
+            }
+        }
+
+        /**
+         * Get the hedging delay.
+         *
+         * @return hedging delay in nanoseconds, or {@code -1} if not enough latencies has been recorded yet.
+         */
+        long getHedgeDelayNanos() {
+            return hedgeDelayNanos;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * {@link ChunkedInput} chunk parser tests.
+ */
+public class ChunkedInputTest {
+
+    /**
+     * Input stream returning at most a few bytes per read to simulate data arriving in small pieces.
+     */
+    private static class TricklingInputStream extends ByteArrayInputStream {
+
+        TricklingInputStream(String data) {
+            super(data.getBytes());
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 3));
+        }
+    }
+
+    private static String next(ChunkParser parser, InputStream in) throws IOException {
+        final byte[] chunk = parser.readChunk(in);
+        return chunk == null ? null : new String(chunk);
+    }
+
+    @Test
+    public void testFixedBoundary() throws IOException {
+        final ChunkParser parser = ChunkedInput.createParser("\r\n");
+        final InputStream in = new TricklingInputStream("first\r\n\r\nsecond\rpart\r\nthird");
+
+        assertEquals("first", next(parser, in));
+        assertEquals("second\rpart", next(parser, in));
+        assertEquals("third", next(parser, in));
+        assertNull(next(parser, in));
+    }
+
+    @Test
+    public void testLargeChunk() throws IOException {
+        final StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            data.append(i % 10);
+        }
+        final String chunk = data.toString();
+        final ChunkParser parser = ChunkedInput.createParser("||");
+        final InputStream in = new ByteArrayInputStream((chunk + "||" + chunk + "||").getBytes());
+
+        assertEquals(chunk, next(parser, in));
+        assertEquals(chunk, next(parser, in));
+        assertNull(next(parser, in));
+    }
+
+    @Test
+    public void testOverlappingBoundary() throws IOException {
+        final ChunkParser parser = ChunkedInput.createParser("aab");
+        final InputStream in = new TricklingInputStream("xaaaby");
+
+        assertEquals("xa", next(parser, in));
+        assertEquals("y", next(parser, in));
+        assertNull(next(parser, in));
+    }
+}
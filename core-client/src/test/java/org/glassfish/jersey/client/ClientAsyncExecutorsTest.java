@@ -0,0 +1,158 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.util.concurrent.Futures;
+
+/**
+ * Asynchronous request executors configuration test.
+ */
+public class ClientAsyncExecutorsTest {
+
+    /**
+     * Connector that blocks the asynchronous requests until released.
+     */
+    private static class BlockingConnector implements Connector {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public ClientResponse apply(ClientRequest request) {
+            return new ClientResponse(Response.Status.OK, request);
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            callback.response(new ClientResponse(Response.Status.OK, request));
+            return Futures.immediateFuture(null);
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+    }
+
+    @Test
+    public void testBoundedExecutorRejectsRequests() throws Exception {
+        final BlockingConnector connector = new BlockingConnector();
+        final JerseyClient client = new JerseyClientBuilder().withConfig(new ClientConfig()
+                .connector(connector)
+                .property(ClientProperties.ASYNC_THREADPOOL_SIZE, 1)
+                .property(ClientProperties.ASYNC_QUEUE_SIZE, 0)).build();
+        try {
+            final Future<Response> first = client.target("http://localhost/a").request().async().get();
+            assertTrue(connector.started.await(10, TimeUnit.SECONDS));
+
+            final Future<Response> second = client.target("http://localhost/b").request().async().get();
+            try {
+                second.get(10, TimeUnit.SECONDS);
+                fail("The request should have been rejected.");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ProcessingException);
+            }
+
+            final List<AsyncExecutorStatistics> statistics = client.getAsyncExecutorStatistics();
+            assertEquals(1, statistics.size());
+            assertEquals(ClientAsyncExecutorsFactory.DEFAULT_EXECUTOR_NAME, statistics.get(0).getName());
+            assertEquals(1, statistics.get(0).getMaxPoolSize());
+            assertEquals(1, statistics.get(0).getActiveCount());
+            assertEquals(1, statistics.get(0).getRejectedTaskCount());
+
+            connector.release.countDown();
+            assertEquals(200, first.get(10, TimeUnit.SECONDS).getStatus());
+        } finally {
+            connector.release.countDown();
+            client.close();
+        }
+    }
+
+    @Test
+    public void testHostBulkheads() throws Exception {
+        final BlockingConnector connector = new BlockingConnector();
+        connector.release.countDown();
+        final JerseyClient client = new JerseyClientBuilder().withConfig(new ClientConfig()
+                .connector(connector)
+                .property(ClientProperties.ASYNC_BULKHEAD, "host")).build();
+        try {
+            assertEquals(200, client.target("http://one.example.org/a").request().async().get()
+                    .get(10, TimeUnit.SECONDS).getStatus());
+            assertEquals(200, client.target("http://two.example.org:8080/b").request().async().get()
+                    .get(10, TimeUnit.SECONDS).getStatus());
+            assertEquals(200, client.target("http://two.example.org:8080/c").request().async().get()
+                    .get(10, TimeUnit.SECONDS).getStatus());
+
+            final List<AsyncExecutorStatistics> statistics = client.getAsyncExecutorStatistics();
+            assertEquals(3, statistics.size());
+            assertEquals(ClientAsyncExecutorsFactory.DEFAULT_EXECUTOR_NAME, statistics.get(0).getName());
+        } finally {
+            client.close();
+        }
+    }
+}
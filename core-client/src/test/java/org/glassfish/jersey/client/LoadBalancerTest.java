@@ -0,0 +1,188 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.net.URI;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Futures;
+
+/**
+ * {@link LoadBalancer} test.
+ */
+public class LoadBalancerTest {
+
+    /**
+     * Connector recording the request URIs and failing the requests sent to the given host.
+     */
+    private static class RecordingConnector implements Connector {
+
+        private final List<URI> uris = new LinkedList<URI>();
+        private final String failingHost;
+
+        private RecordingConnector(final String failingHost) {
+            this.failingHost = failingHost;
+        }
+
+        @Override
+        public synchronized ClientResponse apply(ClientRequest request) {
+            uris.add(request.getUri());
+            return new ClientResponse(request.getUri().getHost().equals(failingHost)
+                    ? Response.Status.SERVICE_UNAVAILABLE : Response.Status.OK, request);
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+            callback.response(apply(request));
+            return Futures.immediateFuture(null);
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        private synchronized List<URI> uris() {
+            return new LinkedList<URI>(uris);
+        }
+    }
+
+    private static JerseyClient client(final Connector connector) {
+        return new JerseyClientBuilder().withConfig(new ClientConfig().connector(connector)).build();
+    }
+
+    @Test
+    public void testRoundRobin() throws Exception {
+        final RecordingConnector connector = new RecordingConnector(null);
+        final JerseyClient client = client(connector);
+        final LoadBalancer balancer = new LoadBalancer(LoadBalancer.Strategy.ROUND_ROBIN,
+                URI.create("http://one/api"), URI.create("http://two:8080/v2/"));
+        try {
+            final WebTarget target = balancer.target(client).path("items");
+            target.path("1").queryParam("q", "a").request().get();
+            target.path("2").request().get();
+            target.path("3").request().async().get().get(10, TimeUnit.SECONDS);
+
+            final List<URI> uris = connector.uris();
+            assertEquals(URI.create("http://one/api/items/1?q=a"), uris.get(0));
+            assertEquals(URI.create("http://two:8080/v2/items/2"), uris.get(1));
+            assertEquals(URI.create("http://one/api/items/3"), uris.get(2));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testUnhealthyEndpointEjected() {
+        final RecordingConnector connector = new RecordingConnector("two");
+        final JerseyClient client = client(connector);
+        final LoadBalancer balancer = new LoadBalancer(LoadBalancer.Strategy.ROUND_ROBIN,
+                URI.create("http://one/"), URI.create("http://two/"));
+        try {
+            final WebTarget target = balancer.target(client);
+            for (int i = 0; i < 2 * LoadBalancer.FAILURE_THRESHOLD; i++) {
+                target.request().get();
+            }
+            assertEquals(1, balancer.getHealthyEndpoints().size());
+            assertEquals(URI.create("http://one/"), balancer.getHealthyEndpoints().get(0));
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals(200, target.request().get().getStatus());
+            }
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testLeastOutstandingAndPowerOfTwoChoices() {
+        for (LoadBalancer.Strategy strategy : new LoadBalancer.Strategy[] {
+                LoadBalancer.Strategy.LEAST_OUTSTANDING, LoadBalancer.Strategy.POWER_OF_TWO_CHOICES}) {
+            final RecordingConnector connector = new RecordingConnector(null);
+            final JerseyClient client = client(connector);
+            final LoadBalancer balancer = new LoadBalancer(strategy, URI.create("http://one"), URI.create("http://two"));
+            try {
+                for (int i = 0; i < 10; i++) {
+                    assertEquals(200, balancer.target(client).path("a").request().get().getStatus());
+                }
+                for (URI uri : connector.uris()) {
+                    assertTrue(uri.toString().equals("http://one/a") || uri.toString().equals("http://two/a"));
+                }
+            } finally {
+                client.close();
+            }
+        }
+    }
+
+    @Test
+    public void testForeignTargetNotBalanced() {
+        final RecordingConnector connector = new RecordingConnector(null);
+        final JerseyClient client = client(connector);
+        try {
+            client.target("http://one/apis").property(ClientProperties.LOAD_BALANCER,
+                    new LoadBalancer(LoadBalancer.Strategy.ROUND_ROBIN, URI.create("http://one/api"),
+                            URI.create("http://two/api"))).request().get();
+            client.target("http://other/a").request().get();
+
+            assertEquals(URI.create("http://one/apis"), connector.uris().get(0));
+            assertEquals(URI.create("http://other/a"), connector.uris().get(1));
+        } finally {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import com.google.common.util.concurrent.Futures;
+
+/**
+ * {@link ResilienceFeature} test.
+ */
+public class ResilienceFeatureTest {
+
+    /**
+     * Connector responding with the scripted status codes and recording the sent request entities.
+     * A negative status makes the connector throw a runtime exception instead.
+     */
+    private static class ScriptedConnector implements Connector {
+
+        private final LinkedList<Integer> statuses = new LinkedList<Integer>();
+        private final List<Object> entities = new LinkedList<Object>();
+
+        private ScriptedConnector(final Integer... statuses) {
+            for (Integer status : statuses) {
+                this.statuses.add(status);
+            }
+        }
+
+        @Override
+        public synchronized ClientResponse apply(ClientRequest request) {
+            entities.add(request.getEntity());
+            final Integer status = statuses.isEmpty() ? 200 : statuses.removeFirst();
+            if (status < 0) {
+                throw new IllegalStateException("Connector failure.");
+            }
+            return new ClientResponse(Response.Status.fromStatusCode(status), request);
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+            callback.response(apply(request));
+            return Futures.immediateFuture(null);
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        private synchronized int attempts() {
+            return entities.size();
+        }
+    }
+
+    /**
+     * Single-pass closeable cursor entity.
+     */
+    public static class Cursor implements Iterator<String>, Closeable {
+
+        private final Iterator<String> elements;
+        private int closed = 0;
+
+        private Cursor(final String... elements) {
+            this.elements = Arrays.asList(elements).iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return closed == 0 && elements.hasNext();
+        }
+
+        @Override
+        public String next() {
+            return elements.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            closed++;
+        }
+    }
+
+    /**
+     * Writes the {@link Cursor} elements line by line.
+     */
+    public static class CursorWriter implements MessageBodyWriter<Cursor> {
+
+        @Override
+        public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return Cursor.class.isAssignableFrom(type);
+        }
+
+        @Override
+        public long getSize(Cursor cursor, Class<?> type, Type genericType, Annotation[] annotations,
+                            MediaType mediaType) {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(Cursor cursor, Class<?> type, Type genericType, Annotation[] annotations,
+                            MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+                throws IOException, WebApplicationException {
+            while (cursor.hasNext()) {
+                entityStream.write((cursor.next() + "\n").getBytes());
+            }
+        }
+    }
+
+    private static JerseyClient client(final Connector connector, final ResilienceFeature feature) {
+        return new JerseyClientBuilder().withConfig(new ClientConfig()
+                .connector(connector)
+                .register(feature.backoff(1, 5, TimeUnit.MILLISECONDS))).build();
+    }
+
+    @Test
+    public void testIdempotentRequestRetried() {
+        final ScriptedConnector connector = new ScriptedConnector(503, 502);
+        final JerseyClient client = client(connector, new ResilienceFeature());
+        try {
+            assertEquals(200, client.target("http://localhost/a").request().get().getStatus());
+            assertEquals(3, connector.attempts());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testRetriesExhausted() {
+        final ScriptedConnector connector = new ScriptedConnector(503, 503, 503);
+        final JerseyClient client = client(connector, new ResilienceFeature().retries(1));
+        try {
+            assertEquals(503, client.target("http://localhost/a").request().get().getStatus());
+            assertEquals(2, connector.attempts());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testNonIdempotentRequestNotRetried() {
+        final ScriptedConnector connector = new ScriptedConnector(503);
+        final JerseyClient client = client(connector, new ResilienceFeature());
+        try {
+            assertEquals(503, client.target("http://localhost/a").request()
+                    .post(Entity.entity("data", MediaType.TEXT_PLAIN_TYPE)).getStatus());
+            assertEquals(1, connector.attempts());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testInputStreamEntityReplayed() {
+        final ScriptedConnector connector = new ScriptedConnector(503);
+        final JerseyClient client = client(connector, new ResilienceFeature());
+        final byte[] data = "replayable".getBytes();
+        try {
+            assertEquals(200, client.target("http://localhost/a").request()
+                    .header(ResilienceFeature.IDEMPOTENCY_KEY_HEADER, "42")
+                    .post(Entity.entity(new ByteArrayInputStream(data), MediaType.APPLICATION_OCTET_STREAM_TYPE))
+                    .getStatus());
+            assertEquals(2, connector.attempts());
+            assertArrayEquals(data, (byte[]) connector.entities.get(0));
+            assertArrayEquals(data, (byte[]) connector.entities.get(1));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testReaderEntityReplayed() {
+        final ScriptedConnector connector = new ScriptedConnector(503);
+        final JerseyClient client = client(connector, new ResilienceFeature());
+        final String data = "replayable reader entity";
+        try {
+            assertEquals(200, client.target("http://localhost/a").request()
+                    .put(Entity.entity(new StringReader(data), MediaType.TEXT_PLAIN_TYPE))
+                    .getStatus());
+            assertEquals(2, connector.attempts());
+            assertArrayEquals(data.getBytes(), (byte[]) connector.entities.get(0));
+            assertArrayEquals(data.getBytes(), (byte[]) connector.entities.get(1));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testCloseableCursorEntityReplayed() {
+        final ScriptedConnector connector = new ScriptedConnector(503);
+        final JerseyClient client = new JerseyClientBuilder().withConfig(new ClientConfig()
+                .connector(connector)
+                .register(new ResilienceFeature().backoff(1, 5, TimeUnit.MILLISECONDS))
+                .register(CursorWriter.class)).build();
+        final Cursor cursor = new Cursor("a", "b", "c");
+        try {
+            assertEquals(200, client.target("http://localhost/a").request()
+                    .put(Entity.entity(cursor, MediaType.TEXT_PLAIN_TYPE))
+                    .getStatus());
+
+            // the cursor is serialized (and closed) once, both attempts carry the complete entity
+            assertEquals(1, cursor.closed);
+            assertEquals(2, connector.attempts());
+            assertArrayEquals("a\nb\nc\n".getBytes(), (byte[]) connector.entities.get(0));
+            assertArrayEquals("a\nb\nc\n".getBytes(), (byte[]) connector.entities.get(1));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testCircuitBreakerOpens() {
+        final ScriptedConnector connector = new ScriptedConnector(500, 500);
+        final JerseyClient client = client(connector,
+                new ResilienceFeature().retries(0).circuitBreaker(2, 1, TimeUnit.HOURS));
+        try {
+            assertEquals(500, client.target("http://localhost/a").request().get().getStatus());
+            assertEquals(500, client.target("http://localhost/b").request().get().getStatus());
+            try {
+                client.target("http://localhost/c").request().get();
+                fail("The circuit breaker should be open.");
+            } catch (ProcessingException expected) {
+                // expected
+            }
+            assertEquals(2, connector.attempts());
+
+            // other hosts are not affected
+            assertEquals(200, client.target("http://remote/a").request().get().getStatus());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testCircuitBreakerTrialFailsWithRuntimeException() throws Exception {
+        final ScriptedConnector connector = new ScriptedConnector(500, -1);
+        final JerseyClient client = client(connector,
+                new ResilienceFeature().retries(0).circuitBreaker(1, 1, TimeUnit.MILLISECONDS));
+        try {
+            assertEquals(500, client.target("http://localhost/a").request().get().getStatus());
+
+            // half-open trial fails with an unexpected exception
+            Thread.sleep(10);
+            try {
+                client.target("http://localhost/a").request().get();
+                fail("The connector failure should be propagated.");
+            } catch (RuntimeException expected) {
+                // expected
+            }
+
+            // the failed trial re-opened the circuit, another trial is let through once it elapses
+            Thread.sleep(10);
+            assertEquals(200, client.target("http://localhost/a").request().get().getStatus());
+            assertEquals(3, connector.attempts());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testCircuitBreakerIgnoresLateFailures() {
+        final ResilientConnector.CircuitBreaker breaker = new ResilientConnector.CircuitBreaker();
+        final ResilientConnector.CircuitBreaker.Permit late = breaker.allow();
+        breaker.failure(breaker.allow(), 1, 0);
+
+        // half-open trial is in progress, no other call is let through
+        final ResilientConnector.CircuitBreaker.Permit trial = breaker.allow();
+        assertNotNull(trial);
+        assertNull(breaker.allow());
+
+        // failure of a call that started before the circuit opened does not start another trial
+        breaker.failure(late, 1, 0);
+        assertNull(breaker.allow());
+
+        breaker.success(trial);
+        assertNotNull(breaker.allow());
+    }
+
+    @Test
+    public void testAsyncRequestRetried() throws Exception {
+        final ScriptedConnector connector = new ScriptedConnector(503, 504);
+        final JerseyClient client = client(connector, new ResilienceFeature());
+        try {
+            assertEquals(200, client.target("http://localhost/a").request().async().get()
+                    .get(10, TimeUnit.SECONDS).getStatus());
+            assertEquals(3, connector.attempts());
+        } finally {
+            client.close();
+        }
+    }
+}
@@ -94,6 +94,27 @@ public final class CommonProperties {
      */
     public static final String CONTENT_LENGTH_BUFFER = "jersey.config.contentLength.buffer";
 
+    /**
+     * If {@code true} then the buffers used to buffer the outbound entity (see {@link #CONTENT_LENGTH_BUFFER}) are
+     * recycled: the buffer segments are borrowed from a shared pool as the entity bytes are written and returned back
+     * to the pool as soon as the buffered entity is written to the underlying (container or connector) output stream.
+     * <p>
+     * In the recycling mode, writes to an entity output stream that has already been closed fail with an
+     * {@link java.io.IOException}, to detect application code that keeps a reference to the stream after the message
+     * processing has completed.
+     * </p>
+     * The value of this property may be overridden by the client/server variant of this property by defining the suffix
+     * to this property "<code>.server</code>" or "<code>.client</code>"
+     * (<tt>{@value}</tt><code>.server</code> or  <tt>{@value}</tt><code>.client</code>).
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String CONTENT_LENGTH_BUFFER_RECYCLING = "jersey.config.contentLength.buffer.recycling";
+
     /**
      * Prevent instantiation.
      */
@@ -44,6 +44,8 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -94,7 +96,18 @@ public class ExceptionMapperFactory implements ExceptionMappers {
         }
     }
 
+    /**
+     * Maximum number of exception types for which the {@link #find(Class) lookup} result is cached.
+     */
+    private static final int MAX_CACHED_EXCEPTION_TYPES = 256;
+    /**
+     * Cached lookup result for exception types that cannot be mapped.
+     */
+    private static final ExceptionMapperType NO_MAPPER = new ExceptionMapperType(null, null);
+
     private Set<ExceptionMapperType> exceptionMapperTypes = new LinkedHashSet<ExceptionMapperType>();
+    private final ConcurrentMap<Class<?>, ExceptionMapperType> selectedMapperTypes =
+            new ConcurrentHashMap<Class<?>, ExceptionMapperType>();
 
     /**
      * Create new exception mapper factory initialized with {@link ServiceLocator
@@ -116,20 +129,33 @@ public class ExceptionMapperFactory implements ExceptionMappers {
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Throwable> ExceptionMapper<T> find(Class<T> type) {
+        ExceptionMapperType selected = selectedMapperTypes.get(type);
+        if (selected == null) {
+            selected = select(type);
+            // the set of registered mappers does not change, the lookup result can be reused
+            if (selectedMapperTypes.size() < MAX_CACHED_EXCEPTION_TYPES) {
+                selectedMapperTypes.putIfAbsent(type, selected);
+            }
+        }
+
+        return selected.mapper;
+    }
+
+    private ExceptionMapperType select(Class<?> type) {
         int distance = Integer.MAX_VALUE;
-        ExceptionMapper selectedEm = null;
+        ExceptionMapperType selected = NO_MAPPER;
         for (ExceptionMapperType mapperType : exceptionMapperTypes) {
             int d = distance(type, mapperType.exceptionType);
             if (d < distance) {
                 distance = d;
-                selectedEm = mapperType.mapper;
+                selected = mapperType;
                 if (distance == 0) {
                     break;
                 }
             }
         }
 
-        return selectedEm;
+        return selected;
     }
 
     private int distance(Class<?> c, Class<?> emtc) {
@@ -0,0 +1,129 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compression statistics gathered by a pooled {@link org.glassfish.jersey.spi.ContentEncoder content encoder}.
+ * <p>
+ * The statistics are updated once per encoded message, when the encoded entity stream is closed.
+ * Instances are thread-safe.
+ * </p>
+ */
+public final class CompressionStatistics {
+
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong bytesOut = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+
+    /**
+     * Record a single encoded message.
+     *
+     * @param uncompressed number of entity bytes written to the encoding stream.
+     * @param compressed   number of bytes produced by the encoding stream.
+     * @param elapsedNanos time spent compressing the message (in nanoseconds).
+     */
+    public void record(final long uncompressed, final long compressed, final long elapsedNanos) {
+        messages.incrementAndGet();
+        bytesIn.addAndGet(uncompressed);
+        bytesOut.addAndGet(compressed);
+        nanos.addAndGet(elapsedNanos);
+    }
+
+    /**
+     * Get the number of encoded messages.
+     *
+     * @return number of encoded messages.
+     */
+    public long getMessageCount() {
+        return messages.get();
+    }
+
+    /**
+     * Get the total number of entity bytes that were passed to the encoder.
+     *
+     * @return number of uncompressed bytes.
+     */
+    public long getUncompressedBytes() {
+        return bytesIn.get();
+    }
+
+    /**
+     * Get the total number of bytes produced by the encoder.
+     *
+     * @return number of compressed bytes.
+     */
+    public long getCompressedBytes() {
+        return bytesOut.get();
+    }
+
+    /**
+     * Get the total time spent compressing the entities.
+     *
+     * @param unit time unit of the returned value.
+     * @return total compression time.
+     */
+    public long getCompressionTime(final TimeUnit unit) {
+        return unit.convert(nanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the overall compression ratio, i.e. the number of compressed bytes divided by the number of
+     * uncompressed bytes. Returns {@code 1.0} if no data have been compressed yet.
+     *
+     * @return overall compression ratio.
+     */
+    public double getCompressionRatio() {
+        final long in = bytesIn.get();
+        return in == 0 ? 1.0 : (double) bytesOut.get() / in;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionStatistics{messages=" + getMessageCount()
+                + ", uncompressed=" + getUncompressedBytes()
+                + ", compressed=" + getCompressedBytes()
+                + ", ratio=" + getCompressionRatio()
+                + ", timeMs=" + getCompressionTime(TimeUnit.MILLISECONDS) + '}';
+    }
+}
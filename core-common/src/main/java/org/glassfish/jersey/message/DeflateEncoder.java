@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -43,15 +43,13 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
-import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
 
 import javax.ws.rs.core.Configuration;
 
 import javax.inject.Inject;
 
+import org.glassfish.jersey.message.internal.PooledDeflaterOutputStream;
+import org.glassfish.jersey.message.internal.PooledInflaterInputStream;
 import org.glassfish.jersey.spi.ContentEncoder;
 
 /**
@@ -59,6 +57,12 @@ import org.glassfish.jersey.spi.ContentEncoder;
  * {@link javax.ws.rs.core.HttpHeaders#CONTENT_ENCODING Content-Encoding header} value equals to {@code deflate}.
  * The default behavior of this interceptor can be tweaked using {@link MessageProperties#DEFLATE_WITHOUT_ZLIB}
  * property.
+ * <p>
+ * {@link java.util.zip.Deflater Deflaters} and {@link java.util.zip.Inflater inflaters} are borrowed from bounded
+ * pools owned by the encoder instance and returned back once the encoded or decoded stream is closed.
+ * The compression level and buffer size can be tweaked using {@link MessageProperties#ENCODING_COMPRESSION_LEVEL}
+ * and {@link MessageProperties#ENCODING_BUFFER_SIZE} properties.
+ * </p>
  *
  * @author Martin Matula (martin.matula at oracle.com)
  */
@@ -66,6 +70,7 @@ public class DeflateEncoder extends ContentEncoder {
 
     // TODO This provider should be registered and configured via a feature.
     private final Configuration config;
+    private final PooledCompression compression;
 
     /**
      * Initialize DeflateEncoder.
@@ -76,6 +81,7 @@ public class DeflateEncoder extends ContentEncoder {
     public DeflateEncoder(final Configuration config) {
         super("deflate");
         this.config = config;
+        this.compression = new PooledCompression(config);
     }
 
     @Override
@@ -94,10 +100,12 @@ public class DeflateEncoder extends ContentEncoder {
         // that should never be the case if no zlib wrapper
         if ((firstByte & 15) == 8) {
             // ok, zlib wrapped stream
-            return new InflaterInputStream(markSupportingStream);
+            return new PooledInflaterInputStream(markSupportingStream,
+                    compression.inflaterPool(false), compression.bufferSize());
         } else {
             // no zlib wrapper
-            return new InflaterInputStream(markSupportingStream, new Inflater(true));
+            return new PooledInflaterInputStream(markSupportingStream,
+                    compression.inflaterPool(true), compression.bufferSize());
         }
     }
 
@@ -117,8 +125,16 @@ public class DeflateEncoder extends ContentEncoder {
             deflateWithoutZLib = false;
         }
 
-        return deflateWithoutZLib ?
-                new DeflaterOutputStream(entityStream, new Deflater(Deflater.DEFAULT_COMPRESSION, true)) :
-                new DeflaterOutputStream(entityStream);
+        return new PooledDeflaterOutputStream(entityStream,
+                compression.deflaterPool(deflateWithoutZLib), compression.bufferSize(), compression.statistics());
+    }
+
+    /**
+     * Get the statistics of the entities compressed by this encoder.
+     *
+     * @return compression statistics.
+     */
+    public CompressionStatistics getStatistics() {
+        return compression.statistics();
     }
 }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -43,24 +43,47 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.HttpHeaders;
 
+import javax.inject.Inject;
+
+import org.glassfish.jersey.message.internal.PooledGZipOutputStream;
 import org.glassfish.jersey.spi.ContentEncoder;
 
 /**
  * GZIP encoding support. Interceptor that encodes the output or decodes the input if
  * {@link HttpHeaders#CONTENT_ENCODING Content-Encoding header} value equals to {@code gzip} or {@code x-gzip}.
+ * <p>
+ * Encoded entities are compressed using {@link java.util.zip.Deflater deflaters} borrowed from a bounded
+ * pool owned by the encoder instance. The compression level and buffer size can be tweaked using
+ * {@link MessageProperties#ENCODING_COMPRESSION_LEVEL} and {@link MessageProperties#ENCODING_BUFFER_SIZE}
+ * properties.
+ * </p>
  *
  * @author Martin Matula (martin.matula at oracle.com)
  */
 public class GZipEncoder extends ContentEncoder {
+
+    private final PooledCompression compression;
+
     /**
-     * Initialize GZipEncoder.
+     * Initialize GZipEncoder with the default compression settings.
      */
     public GZipEncoder() {
+        this(null);
+    }
+
+    /**
+     * Initialize GZipEncoder.
+     *
+     * @param config Jersey configuration properties.
+     */
+    @Inject
+    public GZipEncoder(final Configuration config) {
         super("gzip", "x-gzip");
+        this.compression = new PooledCompression(config);
     }
 
     @Override
@@ -72,6 +95,16 @@ public class GZipEncoder extends ContentEncoder {
     @Override
     public OutputStream encode(String contentEncoding, OutputStream entityStream)
             throws IOException {
-        return new GZIPOutputStream(entityStream);
+        return new PooledGZipOutputStream(entityStream,
+                compression.deflaterPool(true), compression.bufferSize(), compression.statistics());
+    }
+
+    /**
+     * Get the statistics of the entities compressed by this encoder.
+     *
+     * @return compression statistics.
+     */
+    public CompressionStatistics getStatistics() {
+        return compression.statistics();
     }
 }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -110,6 +110,40 @@ public final class MessageProperties {
      */
     public static final String DEFLATE_WITHOUT_ZLIB = "jersey.config.deflate.nozlib";
 
+    /**
+     * Compression level used by the {@code GZipEncoder gzip} and {@code DeflateEncoder deflate} encoding
+     * interceptors. The property value is expected to be an integer in the range {@code 0-9}
+     * (see {@link java.util.zip.Deflater#setLevel(int)}) or {@code -1} for the default zlib compression level.
+     * <p />
+     * The default value is {@code -1}.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String ENCODING_COMPRESSION_LEVEL = "jersey.config.encoding.compressionLevel";
+
+    /**
+     * Size (in bytes) of the buffers used by the {@code GZipEncoder gzip} and {@code DeflateEncoder deflate}
+     * encoding interceptors to pass data to and from the native zlib compressor. The property value is expected
+     * to be a positive integer otherwise it will be ignored.
+     * <p />
+     * The default value is {@code 512}.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String ENCODING_BUFFER_SIZE = "jersey.config.encoding.bufferSize";
+
+    /**
+     * Minimum entity size (in bytes) for which a content encoding is negotiated by the server-side
+     * {@code EncodingFilter}. Entities of a known size (byte arrays, strings or entities with an explicitly set
+     * {@code Content-Length}) smaller than the configured threshold are sent unencoded. The property value
+     * is expected to be a non-negative integer.
+     * <p />
+     * The default value is {@code 0}, i.e. all entities are encoded.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String ENCODING_MIN_SIZE = "jersey.config.encoding.minSize";
+
     /**
      * If set to {@code true}, {@link javax.ws.rs.ext.MessageBodyReader MessageBodyReaders} and
      * {@link javax.ws.rs.ext.MessageBodyWriter MessageBodyWriters} will be ordered by rules from JAX-RS 1.x, where custom
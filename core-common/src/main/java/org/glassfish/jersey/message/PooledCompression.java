@@ -0,0 +1,168 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.internal.util.collection.Values;
+import org.glassfish.jersey.message.internal.CompressorPool;
+
+/**
+ * Pooled compression resources and statistics shared by a single content encoder instance.
+ * <p>
+ * Compression level and buffer size are read lazily from the {@link Configuration} upon the
+ * first use, the deflater and inflater pools are created on demand.
+ * </p>
+ *
+ * @see MessageProperties#ENCODING_COMPRESSION_LEVEL
+ * @see MessageProperties#ENCODING_BUFFER_SIZE
+ */
+final class PooledCompression {
+
+    /**
+     * Default size of the compression buffers (in bytes).
+     */
+    static final int DEFAULT_BUFFER_SIZE = 512;
+
+    private final CompressionStatistics statistics = new CompressionStatistics();
+
+    private final Value<Integer> level;
+    private final Value<Integer> bufferSize;
+
+    private final Value<CompressorPool<Deflater>> zlibDeflaters;
+    private final Value<CompressorPool<Deflater>> rawDeflaters;
+    private final Value<CompressorPool<Inflater>> zlibInflaters;
+    private final Value<CompressorPool<Inflater>> rawInflaters;
+
+    /**
+     * Create new pooled compression support.
+     *
+     * @param config configuration to read the compression settings from, may be {@code null}.
+     */
+    PooledCompression(final Configuration config) {
+        this.level = Values.lazy(new Value<Integer>() {
+            @Override
+            public Integer get() {
+                return PropertiesHelper.getValue(properties(config),
+                        MessageProperties.ENCODING_COMPRESSION_LEVEL, Deflater.DEFAULT_COMPRESSION);
+            }
+        });
+        this.bufferSize = Values.lazy(new Value<Integer>() {
+            @Override
+            public Integer get() {
+                final int size = PropertiesHelper.getValue(properties(config),
+                        MessageProperties.ENCODING_BUFFER_SIZE, DEFAULT_BUFFER_SIZE);
+                return size > 0 ? size : DEFAULT_BUFFER_SIZE;
+            }
+        });
+
+        this.zlibDeflaters = deflaters(false);
+        this.rawDeflaters = deflaters(true);
+        this.zlibInflaters = inflaters(false);
+        this.rawInflaters = inflaters(true);
+    }
+
+    private static Map<String, Object> properties(final Configuration config) {
+        return config == null ? Collections.<String, Object>emptyMap() : config.getProperties();
+    }
+
+    private Value<CompressorPool<Deflater>> deflaters(final boolean nowrap) {
+        return Values.lazy(new Value<CompressorPool<Deflater>>() {
+            @Override
+            public CompressorPool<Deflater> get() {
+                return CompressorPool.deflaters(level.get(), nowrap, CompressorPool.DEFAULT_CAPACITY);
+            }
+        });
+    }
+
+    private static Value<CompressorPool<Inflater>> inflaters(final boolean nowrap) {
+        return Values.lazy(new Value<CompressorPool<Inflater>>() {
+            @Override
+            public CompressorPool<Inflater> get() {
+                return CompressorPool.inflaters(nowrap, CompressorPool.DEFAULT_CAPACITY);
+            }
+        });
+    }
+
+    /**
+     * Get the deflater pool.
+     *
+     * @param nowrap if {@code true}, the pooled deflaters do not produce the ZLIB wrapper.
+     * @return deflater pool.
+     */
+    CompressorPool<Deflater> deflaterPool(final boolean nowrap) {
+        return nowrap ? rawDeflaters.get() : zlibDeflaters.get();
+    }
+
+    /**
+     * Get the inflater pool.
+     *
+     * @param nowrap if {@code true}, the pooled inflaters expect no ZLIB wrapper.
+     * @return inflater pool.
+     */
+    CompressorPool<Inflater> inflaterPool(final boolean nowrap) {
+        return nowrap ? rawInflaters.get() : zlibInflaters.get();
+    }
+
+    /**
+     * Get the configured compression buffer size.
+     *
+     * @return compression buffer size in bytes.
+     */
+    int bufferSize() {
+        return bufferSize.get();
+    }
+
+    /**
+     * Get the compression statistics.
+     *
+     * @return compression statistics.
+     */
+    CompressionStatistics statistics() {
+        return statistics;
+    }
+}
@@ -49,10 +49,12 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Stack;
 import java.util.TreeSet;
@@ -96,6 +98,12 @@ import javax.xml.stream.XMLStreamReader;
  * <code>T</code> must be a JAXB type annotated with
  * {@link XmlRootElement}.
  * <p>
+ * In addition, the provider writes (but does not read) streamed collections, i.e. any
+ * <code>Iterable&lt;T&gt;</code> or <code>Iterator&lt;T&gt;</code>. A streamed collection is iterated
+ * only once, while it is being marshalled, so that even huge result sets can be written without
+ * materializing them in memory. Streamed collections
+ * that implement {@link java.io.Closeable} are closed once the entity has been written.
+ * <p>
  * Implementing classes may extend this class to provide specific marshalling
  * and unmarshalling behaviour.
  * <p>
@@ -161,7 +169,7 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
 
     @Override
     public boolean isWriteable(Class<?> type, Type genericType, Annotation annotations[], MediaType mediaType) {
-        if (Collection.class.isAssignableFrom(type)) {
+        if (Iterable.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type)) {
             return verifyGenericType(genericType) && isSupported(mediaType);
         } else if (type.isArray()) {
             return verifyArrayType(type) && isSupported(mediaType);
@@ -257,9 +265,15 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
         try {
-            final Collection c = (type.isArray())
-                    ? Arrays.asList((Object[]) t)
-                    : (Collection) t;
+            final Collection c;
+            if (type.isArray()) {
+                c = Arrays.asList((Object[]) t);
+            } else if (t instanceof Collection) {
+                c = (Collection) t;
+            } else {
+                final Iterator<?> iterator = (t instanceof Iterator) ? (Iterator<?>) t : ((Iterable<?>) t).iterator();
+                c = new StreamedCollection(iterator);
+            }
             final Class elementType = getElementClass(type, genericType);
             final Charset charset = getCharset(mediaType);
             final String charsetName = charset.name();
@@ -276,8 +290,45 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
         }
     }
 
+    /**
+     * Number of marshalled collection elements after which the entity stream is flushed.
+     */
+    static final int FLUSH_INTERVAL = 100;
+
+    /**
+     * Single-pass collection view of a streamed collection.
+     */
+    private static final class StreamedCollection extends AbstractCollection<Object> {
+
+        private Iterator<?> iterator;
+
+        StreamedCollection(Iterator<?> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<Object> iterator() {
+            if (iterator == null) {
+                throw new IllegalStateException("Streamed collection can be iterated only once.");
+            }
+            final Iterator<?> result = iterator;
+            iterator = null;
+            return (Iterator<Object>) result;
+        }
+
+        @Override
+        public int size() {
+            throw new UnsupportedOperationException("Size of a streamed collection is not known.");
+        }
+    }
+
     /**
      * Write a collection of JAXB objects as child elements of the root element.
+     * <p>
+     * The collection may be a single-pass view of a streamed collection (an {@link Iterable} or {@link Iterator}
+     * entity), the implementations must therefore iterate the collection only once and must not query its size.
+     * </p>
      *
      * @param elementType the element type in the collection.
      * @param t the collecton to marshall
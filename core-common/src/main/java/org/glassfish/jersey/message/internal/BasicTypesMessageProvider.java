@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -58,6 +58,7 @@ import javax.inject.Singleton;
 
 import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.message.AnnotationInsensitive;
 
 /**
  * The basic types message body provider for {@link MediaType#TEXT_PLAIN} media type.
@@ -72,6 +73,7 @@ import org.glassfish.jersey.internal.util.ReflectionHelper;
 @Produces({"text/plain"})
 @Consumes({"text/plain"})
 @Singleton
+@AnnotationInsensitive
 final class BasicTypesMessageProvider extends AbstractMessageReaderWriterProvider<Object> {
 
     private static enum PrimitiveTypes {
@@ -0,0 +1,160 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Striped pool of equally sized byte buffers.
+ * <p>
+ * The idle buffers are distributed among a number of stripes (one per available processor) selected by the
+ * id of the calling thread so that concurrent threads rarely contend for the same stripe. Each stripe keeps
+ * a bounded number of idle buffers; buffers returned to a full stripe are left to the garbage collector and
+ * new buffers are allocated whenever the stripe of the calling thread is empty.
+ * </p>
+ */
+public final class BufferPool {
+
+    /**
+     * Maximum number of idle buffers kept by a single stripe.
+     */
+    public static final int STRIPE_CAPACITY = 16;
+
+    /**
+     * Maximum number of distinct buffer sizes for which {@link #forSize(int) shared pools} are kept.
+     */
+    static final int MAX_SHARED_POOLS = 16;
+
+    private static final ConcurrentMap<Integer, BufferPool> SHARED = new ConcurrentHashMap<Integer, BufferPool>();
+
+    private final int bufferSize;
+    private final BlockingQueue<byte[]>[] stripes;
+
+    /**
+     * Create new buffer pool.
+     *
+     * @param bufferSize size of the pooled buffers.
+     * @param stripes    number of stripes.
+     * @param capacity   maximum number of idle buffers kept by a single stripe.
+     */
+    @SuppressWarnings("unchecked")
+    public BufferPool(final int bufferSize, final int stripes, final int capacity) {
+        if (bufferSize < 1 || stripes < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Buffer size, number of stripes and capacity must be positive.");
+        }
+        this.bufferSize = bufferSize;
+        this.stripes = new BlockingQueue[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ArrayBlockingQueue<byte[]>(capacity);
+        }
+    }
+
+    /**
+     * Get the shared pool of buffers of the given size. Shared pools are kept for a limited number of distinct
+     * buffer sizes, a new (not shared) pool is returned once the limit is reached.
+     *
+     * @param bufferSize size of the pooled buffers.
+     * @return buffer pool.
+     */
+    public static BufferPool forSize(final int bufferSize) {
+        BufferPool pool = SHARED.get(bufferSize);
+        if (pool == null) {
+            pool = new BufferPool(bufferSize, Runtime.getRuntime().availableProcessors(), STRIPE_CAPACITY);
+            if (SHARED.size() < MAX_SHARED_POOLS) {
+                final BufferPool existing = SHARED.putIfAbsent(bufferSize, pool);
+                if (existing != null) {
+                    pool = existing;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Get the size of the pooled buffers.
+     *
+     * @return size of the pooled buffers.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Get a buffer from the pool. If there is no idle buffer available, a new one is allocated.
+     *
+     * @return buffer of the {@link #getBufferSize() pool buffer size}. The content of the buffer is undefined.
+     */
+    public byte[] acquire() {
+        final byte[] buffer = stripe().poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    /**
+     * Return previously {@link #acquire() acquired} buffer to the pool. The buffer must not be used
+     * by the caller anymore.
+     *
+     * @param buffer buffer to be returned to the pool.
+     */
+    public void release(final byte[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            stripe().offer(buffer);
+        }
+    }
+
+    /**
+     * Get the current number of idle pooled buffers.
+     *
+     * @return number of idle buffers.
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (BlockingQueue<byte[]> stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    private BlockingQueue<byte[]> stripe() {
+        return stripes[(int) (Thread.currentThread().getId() % stripes.length)];
+    }
+}
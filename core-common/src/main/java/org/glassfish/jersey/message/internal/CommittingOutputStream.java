@@ -39,7 +39,6 @@
  */
 package org.glassfish.jersey.message.internal;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.logging.Level;
@@ -74,6 +73,19 @@ import com.google.common.base.Preconditions;
  * <tt>{@value org.glassfish.jersey.message.internal.CommittingOutputStream#DEFAULT_BUFFER_SIZE}</tt> bytes specified
  * in {@link #DEFAULT_BUFFER_SIZE}.
  * </p>
+ * <p>
+ * The buffered bytes are kept in a {@link SegmentedBuffer segmented buffer}, the segments of which are allocated
+ * lazily, as the buffered entity grows. The buffered entity is therefore never copied into a larger buffer and even
+ * large buffer sizes do not cost any memory for small entities. If a {@link BufferPool buffer pool} is supplied
+ * when {@link #enableBuffering(int, BufferPool) enabling the buffering}, the segments are borrowed from the pool and
+ * returned back as soon as their content is written to the adapted output stream. Writing to a stream with pooled
+ * buffer after the stream has been {@link #close() closed} fails with an {@link IOException}, as such writes
+ * indicate that the stream is still referenced after the message processing has completed.
+ * </p>
+ * <p>
+ * If the adapted output stream implements {@link GatheringOutput}, the buffered (not pooled) segments are passed
+ * to the adapted output stream in a single gathering write, without being copied.
+ * </p>
  *
  *
  * @author Paul Sandoz
@@ -100,9 +112,13 @@ final class CommittingOutputStream extends OutputStream {
      */
     private int bufferSize = 0;
     /**
-     * Entity buffer.
+     * Entity buffer, created upon the first buffered write.
+     */
+    private SegmentedBuffer buffer;
+    /**
+     * Pool of entity buffer segments, {@code null} if the segments are not pooled.
      */
-    private ByteArrayOutputStream buffer;
+    private BufferPool bufferPool;
     /**
      * When {@code true} the data are written directly to output stream and not to the buffer.
      */
@@ -111,6 +127,10 @@ final class CommittingOutputStream extends OutputStream {
      * When {@code true} the stream is already committed (redirected to adaptedOutput).
      */
     private boolean isCommitted;
+    /**
+     * When {@code true} the stream has been closed.
+     */
+    private boolean isClosed;
 
     /**
      * Creates new committing output stream. The returned stream instance still needs to be initialized before
@@ -143,18 +163,44 @@ final class CommittingOutputStream extends OutputStream {
      *                   {@link org.glassfish.jersey.message.internal.OutboundMessageContext.StreamProvider#getOutputStream(int) callback}.
      */
     public void enableBuffering(int bufferSize) {
-        Preconditions.checkState(!isCommitted && (this.buffer == null || this.buffer.size() == 0),
+        enableBuffering(bufferSize, null);
+    }
+
+    /**
+     * Enable buffering of the serialized entity using a buffer borrowed from the buffer pool.
+     *
+     * @param bufferSize size of the buffer. When the value is less or equal to zero then
+     *                   buffering will be disabled and -1 will be passed to the
+     *                   {@link org.glassfish.jersey.message.internal.OutboundMessageContext.StreamProvider#getOutputStream(int) callback}.
+     * @param bufferPool pool of the entity buffer segments or {@code null} if the buffer should not be pooled.
+     *                   The buffer pool is used only if the size of its buffers equals to the
+     *                   {@link #segmentSize(int) segment size} for the requested buffer size.
+     */
+    public void enableBuffering(int bufferSize, BufferPool bufferPool) {
+        Preconditions.checkState(!isCommitted && bufferedSize() == 0,
                 LocalizationMessages.COMMITTING_STREAM_BUFFERING_ILLEGAL_STATE());
+        releaseBuffer();
         this.bufferSize = bufferSize;
         if (bufferSize <= 0) {
             this.directWrite = true;
-            this.buffer = null;
+            this.bufferPool = null;
         } else {
-            directWrite = false;
-            buffer = new ByteArrayOutputStream(bufferSize);
+            this.directWrite = false;
+            this.bufferPool = bufferPool != null && bufferPool.getBufferSize() == segmentSize(bufferSize) ?
+                    bufferPool : null;
         }
     }
 
+    /**
+     * Get the size of the entity buffer segments used for the given entity buffer size.
+     *
+     * @param bufferSize entity buffer size.
+     * @return entity buffer segment size.
+     */
+    static int segmentSize(int bufferSize) {
+        return Math.min(bufferSize, SegmentedBuffer.DEFAULT_SEGMENT_SIZE);
+    }
+
 
     /**
      * Enable buffering of the serialized entity with the {@link #DEFAULT_BUFFER_SIZE default buffer size }.
@@ -192,49 +238,65 @@ final class CommittingOutputStream extends OutputStream {
 
     @Override
     public void write(byte b[]) throws IOException {
-        if (directWrite) {
-            commitStream();
-            adaptedOutput.write(b);
-        } else {
-            if (b.length + buffer.size() > bufferSize) {
-                flushBuffer(false);
-                adaptedOutput.write(b);
-            } else {
-                buffer.write(b);
-            }
-        }
+        write(b, 0, b.length);
     }
 
     @Override
     public void write(byte b[], int off, int len) throws IOException {
+        ensureWritable();
         if (directWrite) {
             commitStream();
             adaptedOutput.write(b, off, len);
         } else {
-            if (len + buffer.size() > bufferSize) {
+            if (len + bufferedSize() > bufferSize) {
                 flushBuffer(false);
                 adaptedOutput.write(b, off, len);
             } else {
-                buffer.write(b, off, len);
+                buffer().write(b, off, len);
             }
         }
     }
 
     @Override
     public void write(int b) throws IOException {
+        ensureWritable();
         if (directWrite) {
             commitStream();
             adaptedOutput.write(b);
         } else {
-            if (buffer.size() + 1 > bufferSize) {
+            if (bufferedSize() + 1 > bufferSize) {
                 flushBuffer(false);
                 adaptedOutput.write(b);
             } else {
-                buffer.write(b);
+                buffer().write(b);
             }
         }
     }
 
+    private SegmentedBuffer buffer() {
+        if (buffer == null) {
+            buffer = bufferPool != null ? new SegmentedBuffer(bufferPool) : new SegmentedBuffer(segmentSize(bufferSize));
+        }
+        return buffer;
+    }
+
+    private int bufferedSize() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    private void releaseBuffer() {
+        if (buffer != null) {
+            buffer.release();
+        }
+        buffer = null;
+    }
+
+    private void ensureWritable() throws IOException {
+        if (isClosed && bufferPool != null) {
+            throw new IOException(LocalizationMessages.COMMITTING_STREAM_WRITE_AFTER_CLOSE());
+        }
+    }
+
     /**
      * Commit the output stream.
      *
@@ -248,6 +310,7 @@ final class CommittingOutputStream extends OutputStream {
     @Override
     public void close() throws IOException {
         commit();
+        isClosed = true;
         adaptedOutput.close();
     }
 
@@ -262,14 +325,23 @@ final class CommittingOutputStream extends OutputStream {
         if (!directWrite) {
             int currentSize;
             if (endOfStream) {
-                currentSize = buffer == null ? 0 : buffer.size();
+                currentSize = bufferedSize();
             } else {
                 currentSize = -1;
             }
 
-            commitStream(currentSize);
-            if (buffer != null) {
-                buffer.writeTo(adaptedOutput);
+            try {
+                commitStream(currentSize);
+                if (bufferedSize() > 0) {
+                    if (bufferPool == null && adaptedOutput instanceof GatheringOutput) {
+                        // the segments are not reused, their ownership can be passed to the adapted output
+                        ((GatheringOutput) adaptedOutput).write(buffer.toByteBuffers());
+                    } else {
+                        buffer.writeTo(adaptedOutput);
+                    }
+                }
+            } finally {
+                releaseBuffer();
             }
         }
     }
@@ -0,0 +1,193 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Bounded pool of native compression resources ({@link Deflater deflaters} or {@link Inflater inflaters}).
+ * <p>
+ * Every {@link Deflater} and {@link Inflater} instance holds native zlib memory that is released only when
+ * {@code end()} is invoked or when the instance gets finalized. Creating a new instance per message therefore
+ * results in a native memory growth and a finalizer backlog under load. The pool keeps a bounded number of
+ * idle instances which are {@link #reset(Object) reset} when returned so that they can be reused by subsequent
+ * messages. Instances returned to a full pool are {@link #destroy(Object) destroyed} eagerly.
+ * </p>
+ *
+ * @param <T> pooled compression resource type.
+ */
+public abstract class CompressorPool<T> {
+
+    /**
+     * Default maximum number of idle instances kept by a pool.
+     */
+    public static final int DEFAULT_CAPACITY = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final BlockingQueue<T> idle;
+
+    /**
+     * Create new pool.
+     *
+     * @param capacity maximum number of idle instances kept by the pool.
+     */
+    protected CompressorPool(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Pool capacity must be positive: " + capacity);
+        }
+        this.idle = new ArrayBlockingQueue<T>(capacity);
+    }
+
+    /**
+     * Get an instance from the pool. If there is no idle instance available, a new one is created.
+     *
+     * @return compression resource ready to be used.
+     */
+    public T acquire() {
+        final T instance = idle.poll();
+        return instance != null ? instance : create();
+    }
+
+    /**
+     * Return previously {@link #acquire() acquired} instance to the pool. The instance is reset
+     * and either kept for reuse or destroyed in case the pool is already full.
+     *
+     * @param instance instance to be returned to the pool.
+     */
+    public void release(final T instance) {
+        if (instance == null) {
+            return;
+        }
+        reset(instance);
+        if (!idle.offer(instance)) {
+            destroy(instance);
+        }
+    }
+
+    /**
+     * Get the current number of idle pooled instances.
+     *
+     * @return number of idle instances.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Create new pooled instance.
+     *
+     * @return new compression resource instance.
+     */
+    protected abstract T create();
+
+    /**
+     * Reset the instance so that it can be reused for a new message.
+     *
+     * @param instance instance to be reset.
+     */
+    protected abstract void reset(T instance);
+
+    /**
+     * Release all the resources held by the instance.
+     *
+     * @param instance instance to be destroyed.
+     */
+    protected abstract void destroy(T instance);
+
+    /**
+     * Create new pool of {@link Deflater deflaters}.
+     *
+     * @param level    compression level (see {@link Deflater#setLevel(int)}).
+     * @param nowrap   if {@code true} the deflaters do not produce the ZLIB header and checksum fields.
+     * @param capacity maximum number of idle instances kept by the pool.
+     * @return new deflater pool.
+     */
+    public static CompressorPool<Deflater> deflaters(final int level, final boolean nowrap, final int capacity) {
+        if ((level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+                && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+
+        return new CompressorPool<Deflater>(capacity) {
+            @Override
+            protected Deflater create() {
+                return new Deflater(level, nowrap);
+            }
+
+            @Override
+            protected void reset(final Deflater instance) {
+                instance.reset();
+            }
+
+            @Override
+            protected void destroy(final Deflater instance) {
+                instance.end();
+            }
+        };
+    }
+
+    /**
+     * Create new pool of {@link Inflater inflaters}.
+     *
+     * @param nowrap   if {@code true} the inflaters expect no ZLIB header and checksum fields.
+     * @param capacity maximum number of idle instances kept by the pool.
+     * @return new inflater pool.
+     */
+    public static CompressorPool<Inflater> inflaters(final boolean nowrap, final int capacity) {
+        return new CompressorPool<Inflater>(capacity) {
+            @Override
+            protected Inflater create() {
+                return new Inflater(nowrap);
+            }
+
+            @Override
+            protected void reset(final Inflater instance) {
+                instance.reset();
+            }
+
+            @Override
+            protected void destroy(final Inflater instance) {
+                instance.end();
+            }
+        };
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -54,6 +54,8 @@ import javax.ws.rs.core.MultivaluedMap;
 
 import javax.activation.DataSource;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 
 /**
  * Provider for marshalling/un-marshalling of {@code application/octet-stream}
@@ -64,6 +66,7 @@ import javax.activation.DataSource;
  */
 @Produces({"application/octet-stream", "*/*"})
 @Consumes({"application/octet-stream", "*/*"})
+@AnnotationInsensitive
 public class DataSourceProvider extends AbstractMessageReaderWriterProvider<DataSource> {
 
     /**
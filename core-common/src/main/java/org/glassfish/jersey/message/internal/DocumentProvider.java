@@ -65,6 +65,8 @@ import javax.xml.transform.stream.StreamResult;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 /**
  * Provider for marshalling/un-marshalling {@link Document XML document} instances.
  *
@@ -74,6 +76,7 @@ import org.xml.sax.SAXException;
 @Produces({"application/xml", "text/xml", "*/*"})
 @Consumes({"application/xml", "text/xml", "*/*"})
 @Singleton
+@AnnotationInsensitive
 public final class DocumentProvider extends AbstractMessageReaderWriterProvider<Document> {
 
     @Inject
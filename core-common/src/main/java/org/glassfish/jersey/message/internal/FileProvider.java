@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -56,6 +56,8 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 
 /**
  * Provider for marshalling/un-marshalling of {@code application/octet-stream}
@@ -67,6 +69,7 @@ import javax.ws.rs.core.MultivaluedMap;
 @Produces({"application/octet-stream", "*/*"})
 @Consumes({"application/octet-stream", "*/*"})
 @Singleton
+@AnnotationInsensitive
 public final class FileProvider extends AbstractMessageReaderWriterProvider<File> {
 
     @Override
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -54,6 +54,8 @@ import javax.ws.rs.core.MultivaluedMap;
 
 import javax.inject.Singleton;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 /**
  * Provider for marshalling/un-marshalling of {@code application/x-www-form-urlencoded}
  * entity type to/from {@link MultivaluedMap multi-valued map} instance.
@@ -64,6 +66,7 @@ import javax.inject.Singleton;
 @Produces("application/x-www-form-urlencoded")
 @Consumes("application/x-www-form-urlencoded")
 @Singleton
+@AnnotationInsensitive
 public final class FormMultivaluedMapProvider extends AbstractFormProvider<MultivaluedMap<String, String>> {
 
     private final Type mapType;
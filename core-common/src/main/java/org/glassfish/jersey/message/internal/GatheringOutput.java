@@ -0,0 +1,68 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Output capable of writing a sequence of byte buffers in a single (gathering) write operation.
+ * <p>
+ * Container or connector output streams implement this interface in addition to extending
+ * {@link java.io.OutputStream} if the underlying I/O layer accepts NIO buffers directly. The
+ * {@link CommittingOutputStream committing output stream} then passes its buffered entity to the output
+ * without copying it into an intermediate stream buffer.
+ * </p>
+ */
+public interface GatheringOutput {
+
+    /**
+     * Write the remaining bytes of the buffers, in the given order.
+     * <p>
+     * The ownership of the buffers is transferred to the output, i.e. the output may keep a reference to the buffers
+     * until they are actually written to the underlying I/O layer and the caller must neither modify nor reuse
+     * the buffers once this method has been called.
+     * </p>
+     *
+     * @param buffers buffers to be written.
+     * @throws IOException in case of an I/O error.
+     */
+    public void write(ByteBuffer[] buffers) throws IOException;
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2011-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -67,6 +67,10 @@ final class GrammarUtil {
     private static final boolean[] IS_WHITE_SPACE = createWhiteSpaceTable();
     /** convenience table mapping chars to true if they are tokens */
     private static final boolean[] IS_TOKEN = createTokenTable();
+    /**
+     * Cached single-character strings for US-ASCII characters.
+     */
+    private static final String[] CHAR_STRINGS = createCharStringTable();
 
     private static int[] createEventTable() {
         int[] table = new int[128];
@@ -101,6 +105,27 @@ final class GrammarUtil {
         return table;
     }
 
+    /**
+     * Get a single-character string for the given US-ASCII character. The returned
+     * strings are cached so that no new string instance is created.
+     *
+     * @param c US-ASCII character.
+     * @return single-character string.
+     */
+    public static String charToString(final char c) {
+        return (c < 128) ? CHAR_STRINGS[c] : String.valueOf(c);
+    }
+
+    private static String[] createCharStringTable() {
+        final String[] table = new String[128];
+
+        for (char c = 0; c < 128; c++) {
+            table[c] = String.valueOf(c).intern();
+        }
+
+        return table;
+    }
+
     private static boolean[] createWhiteSpaceTable() {
         boolean[] table = new boolean[128];
 
@@ -199,12 +224,12 @@ final class GrammarUtil {
      * Filter a substring of a string by removing any new-line characters and
      * un-escaping escaped characters.
      *
-     * @param s string to use for substring token filtering.
+     * @param s character sequence to use for substring token filtering.
      * @param start start filtering position in the string.
      * @param end end filtering position in the string.
      * @return filtered substring.
      */
-    public static String filterToken(final String s, final int start, final int end) {
+    public static String filterToken(final CharSequence s, final int start, final int end) {
         return filterToken(s, start, end, false);
     }
 
@@ -212,15 +237,15 @@ final class GrammarUtil {
      * Filter a substring of a string by removing any new-line characters and
      * un-escaping escaped characters (unless preserveBackslash is set to {@code true}).
      *
-     * @param s string to use for substring token filtering.
+     * @param s character sequence to use for substring token filtering.
      * @param start start filtering position in the string.
      * @param end end filtering position in the string.
      * @param preserveBackslash if set to {@code true}, this method does not treat backslash as an escape character
      *                         (treats it as a regular character instead)
      * @return filtered substring.
      */
-    public static String filterToken(final String s, final int start, final int end, final boolean preserveBackslash) {
-        StringBuilder sb = new StringBuilder();
+    public static String filterToken(final CharSequence s, final int start, final int end, final boolean preserveBackslash) {
+        StringBuilder sb = new StringBuilder(end - start);
         char c;
         boolean gotEscape = false;
         boolean gotCR = false;
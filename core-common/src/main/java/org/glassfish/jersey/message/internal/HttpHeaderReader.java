@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -140,11 +140,11 @@ public abstract class HttpHeaderReader {
         return getEventValue();
     }
 
-    public static HttpHeaderReader newInstance(String header) {
+    public static HttpHeaderReader newInstance(CharSequence header) {
         return new HttpHeaderReaderImpl(header);
     }
 
-    public static HttpHeaderReader newInstance(String header, boolean processComments) {
+    public static HttpHeaderReader newInstance(CharSequence header, boolean processComments) {
         return new HttpHeaderReaderImpl(header, processComments);
     }
 
@@ -353,7 +353,25 @@ public abstract class HttpHeaderReader {
         }
     };
 
+    /**
+     * Read the {@code Accept} header value.
+     *
+     * @param header {@code Accept} header value.
+     * @return modifiable list of acceptable media types sorted by the quality factor and specificity.
+     * @throws ParseException in case the header value cannot be parsed.
+     */
     public static List<AcceptableMediaType> readAcceptMediaType(String header) throws ParseException {
+        return new ArrayList<AcceptableMediaType>(MediaTypeParser.readAcceptMediaType(header));
+    }
+
+    /**
+     * Read the {@code Accept} header value using the generic header reader.
+     *
+     * @param header {@code Accept} header value.
+     * @return list of acceptable media types sorted by the quality factor and specificity.
+     * @throws ParseException in case the header value cannot be parsed.
+     */
+    static List<AcceptableMediaType> readAcceptMediaTypeGeneric(CharSequence header) throws ParseException {
         return HttpHeaderReader.readAcceptableList(
                 ACCEPTABLE_MEDIA_TYPE_COMPARATOR,
                 ACCEPTABLE_MEDIA_TYPE_CREATOR,
@@ -471,7 +489,7 @@ public abstract class HttpHeaderReader {
     public static <T> List<T> readAcceptableList(
             Comparator<T> comparator,
             ListElementCreator<T> c,
-            String header) throws ParseException {
+            CharSequence header) throws ParseException {
         List<T> l = readList(c, header);
         Collections.sort(l, comparator);
         return l;
@@ -494,12 +512,12 @@ public abstract class HttpHeaderReader {
     }
 
     public static <T> List<T> readList(ListElementCreator<T> c,
-            String header) throws ParseException {
+            CharSequence header) throws ParseException {
         return readList(new ArrayList<T>(), c, header);
     }
 
     public static <T> List<T> readList(List<T> l, ListElementCreator<T> c,
-            String header) throws ParseException {
+            CharSequence header) throws ParseException {
         HttpHeaderReader reader = new HttpHeaderReaderImpl(header);
         HttpHeaderListAdapter adapter = new HttpHeaderListAdapter(reader);
         while (reader.hasNext()) {
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -51,21 +51,21 @@ import static org.glassfish.jersey.message.internal.GrammarUtil.*;
  */
 /* package */ final class HttpHeaderReaderImpl extends HttpHeaderReader {
 
-    private String header;
+    private CharSequence header;
     private boolean processComments;
     private int index;
     private int length;
     private Event event;
     private String value;
 
-    public HttpHeaderReaderImpl(String header, boolean processComments) {
+    public HttpHeaderReaderImpl(CharSequence header, boolean processComments) {
         this.header = (header == null) ? "" : header;
         this.processComments = processComments;
         this.index = 0;
         this.length = this.header.length();
     }
 
-    public HttpHeaderReaderImpl(String header) {
+    public HttpHeaderReaderImpl(CharSequence header) {
         this(header, false);
     }
 
@@ -108,7 +108,7 @@ import static org.glassfish.jersey.message.internal.GrammarUtil.*;
         }
 
         event = Event.Token;
-        return value = header.substring(start, index++);
+        return value = substring(start, index++);
     }
 
     @Override
@@ -138,7 +138,7 @@ import static org.glassfish.jersey.message.internal.GrammarUtil.*;
 
     @Override
     public String getRemainder() {
-        return (index < length) ? header.substring(index) : null;
+        return (index < length) ? substring(index, length) : null;
     }
 
     @Override
@@ -146,6 +146,10 @@ import static org.glassfish.jersey.message.internal.GrammarUtil.*;
         return index;
     }
 
+    private String substring(int start, int end) {
+        return header.subSequence(start, end).toString();
+    }
+
     private boolean skipWhiteSpace() {
         for (; index < length; index++) {
             if (!isWhiteSpace(header.charAt(index))) {
@@ -182,7 +186,7 @@ import static org.glassfish.jersey.message.internal.GrammarUtil.*;
                         break;
                     }
                 }
-                value = header.substring(start, index);
+                value = substring(start, index);
                 return Event.Token;
             }
             case QUOTED_STRING:
@@ -197,11 +201,11 @@ import static org.glassfish.jersey.message.internal.GrammarUtil.*;
                 return Event.Comment;
             case SEPARATOR:
                 index++;
-                value = String.valueOf(c);
+                value = charToString(c);
                 return Event.Separator;
             case CONTROL:
                 index++;
-                value = String.valueOf(c);
+                value = charToString(c);
                 return Event.Control;
             default:
                 // White space
@@ -234,7 +238,7 @@ import static org.glassfish.jersey.message.internal.GrammarUtil.*;
 
         value = (filter)
                 ? filterToken(header, start, index - 1)
-                : header.substring(start, index - 1);
+                : substring(start, index - 1);
     }
 
     private void processQuotedString(boolean preserveBackslash) throws ParseException {
@@ -249,7 +253,7 @@ import static org.glassfish.jersey.message.internal.GrammarUtil.*;
             } else if (c == '"') {
                 value = (filter)
                         ? filterToken(header, start, index, preserveBackslash)
-                        : header.substring(start, index);
+                        : substring(start, index);
 
                 index++;
                 return;
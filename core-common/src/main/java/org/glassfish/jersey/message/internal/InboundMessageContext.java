@@ -39,8 +39,6 @@
  */
 package org.glassfish.jersey.message.internal;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
@@ -432,7 +430,7 @@ public class InboundMessageContext {
         }
 
         try {
-            return Collections.unmodifiableList(HttpHeaderReader.readAcceptMediaType(value));
+            return MediaTypeParser.readAcceptMediaType(value);
         } catch (ParseException e) {
             throw exception(HttpHeaders.ACCEPT, value, e);
         }
@@ -844,14 +842,15 @@ public class InboundMessageContext {
             }
 
             final InputStream entityStream = entityContent.getWrappedStream();
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            // segmented buffer grows without copying the already buffered content
+            final SegmentedBuffer buffer = new SegmentedBuffer();
             try {
-                ReaderWriter.writeTo(entityStream, baos);
+                ReaderWriter.writeTo(entityStream, buffer);
             } finally {
                 entityStream.close();
             }
 
-            entityContent.setBufferedContentStream(new ByteArrayInputStream(baos.toByteArray()));
+            entityContent.setBufferedContentStream(buffer.toInputStream());
 
             return true;
         } catch (IOException ex) {
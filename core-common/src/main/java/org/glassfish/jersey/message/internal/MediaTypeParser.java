@@ -0,0 +1,385 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.ws.rs.core.MediaType;
+
+import static org.glassfish.jersey.message.internal.GrammarUtil.isToken;
+import static org.glassfish.jersey.message.internal.GrammarUtil.isWhiteSpace;
+
+/**
+ * Single-pass parser of media type related HTTP header values.
+ * <p>
+ * The parser works directly on a {@link CharSequence} and produces immutable results, so that the results
+ * can be safely cached and shared. Frequently used media types without parameters are represented by
+ * canonical shared instances. The {@code Accept} header elements are sorted using a quality key that
+ * is computed once per element.
+ * </p>
+ * <p>
+ * Only a common subset of the HTTP header grammar is handled by the single-pass parser. Header values
+ * that contain comments, escaped quoted strings, white space around parameter separators or any other
+ * unusual constructs are delegated to the generic {@link HttpHeaderReader} so that the parsing results
+ * (including the parse errors) stay the same.
+ * </p>
+ *
+ * @see HttpHeaderReader
+ */
+final class MediaTypeParser {
+
+    /**
+     * Maximum number of cached header values per cache.
+     */
+    private static final int MAX_CACHE_SIZE = 256;
+
+    /**
+     * Maximum length of a header value to be cached.
+     */
+    private static final int MAX_CACHED_HEADER_LENGTH = 512;
+
+    private static final AcceptableMediaType[] CANONICAL_ACCEPTABLE = new AcceptableMediaType[] {
+            MediaTypes.GENERAL_ACCEPT_MEDIA_TYPE,
+            new AcceptableMediaType("application", "json"),
+            new AcceptableMediaType("application", "xml"),
+            new AcceptableMediaType("text", "html"),
+            new AcceptableMediaType("text", "plain"),
+            new AcceptableMediaType("text", "xml"),
+            new AcceptableMediaType("application", "xhtml+xml"),
+            new AcceptableMediaType("application", "octet-stream"),
+            new AcceptableMediaType("application", "x-www-form-urlencoded"),
+            new AcceptableMediaType("text", "*"),
+            new AcceptableMediaType("application", "*"),
+            new AcceptableMediaType("image", "*"),
+            new AcceptableMediaType("image", "png"),
+            new AcceptableMediaType("image", "jpeg"),
+            new AcceptableMediaType("text", "event-stream")
+    };
+
+    private static final Map<String, MediaType> CANONICAL_MEDIA_TYPES = createCanonicalMediaTypes();
+
+    private static final ConcurrentMap<String, List<AcceptableMediaType>> ACCEPT_CACHE =
+            new ConcurrentHashMap<String, List<AcceptableMediaType>>();
+
+    private static final ConcurrentMap<String, MediaType> MEDIA_TYPE_CACHE =
+            new ConcurrentHashMap<String, MediaType>();
+
+    private static Map<String, MediaType> createCanonicalMediaTypes() {
+        final Map<String, MediaType> map = new ConcurrentHashMap<String, MediaType>();
+        for (MediaType mediaType : new MediaType[] {
+                MediaType.WILDCARD_TYPE,
+                MediaType.APPLICATION_JSON_TYPE,
+                MediaType.APPLICATION_XML_TYPE,
+                MediaType.APPLICATION_XHTML_XML_TYPE,
+                MediaType.APPLICATION_ATOM_XML_TYPE,
+                MediaType.APPLICATION_SVG_XML_TYPE,
+                MediaType.APPLICATION_OCTET_STREAM_TYPE,
+                MediaType.APPLICATION_FORM_URLENCODED_TYPE,
+                MediaType.MULTIPART_FORM_DATA_TYPE,
+                MediaType.TEXT_PLAIN_TYPE,
+                MediaType.TEXT_XML_TYPE,
+                MediaType.TEXT_HTML_TYPE}) {
+            map.put(mediaType.getType() + '/' + mediaType.getSubtype(), mediaType);
+        }
+        return map;
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private MediaTypeParser() {
+    }
+
+    /**
+     * Read a media type from the header value. Canonical shared instances are returned for the
+     * common media types, other parsed values are cached.
+     *
+     * @param header media type header value.
+     * @return parsed (immutable) media type.
+     * @throws ParseException in case the header value cannot be parsed.
+     */
+    static MediaType readMediaType(final String header) throws ParseException {
+        MediaType mediaType = CANONICAL_MEDIA_TYPES.get(header);
+        if (mediaType != null) {
+            return mediaType;
+        }
+
+        mediaType = MEDIA_TYPE_CACHE.get(header);
+        if (mediaType == null) {
+            mediaType = MediaTypeProvider.valueOf(HttpHeaderReader.newInstance(header));
+            cache(MEDIA_TYPE_CACHE, header, mediaType);
+        }
+        return mediaType;
+    }
+
+    /**
+     * Read the {@code Accept} header value.
+     *
+     * @param header {@code Accept} header value.
+     * @return immutable list of acceptable media types sorted by the quality factor (highest first)
+     *         and specificity (most specific first).
+     * @throws ParseException in case the header value cannot be parsed.
+     */
+    static List<AcceptableMediaType> readAcceptMediaType(final CharSequence header) throws ParseException {
+        final boolean cacheable = header instanceof String;
+        if (cacheable) {
+            final List<AcceptableMediaType> cached = ACCEPT_CACHE.get(header);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<AcceptableMediaType> result = parseAcceptMediaType(header);
+        if (result == null) {
+            // not handled by the fast parser - fall back to the generic header reader
+            result = Collections.unmodifiableList(new ArrayList<AcceptableMediaType>(
+                    HttpHeaderReader.readAcceptMediaTypeGeneric(header)));
+        }
+
+        if (cacheable) {
+            cache(ACCEPT_CACHE, (String) header, result);
+        }
+        return result;
+    }
+
+    private static <V> void cache(final ConcurrentMap<String, V> cache, final String key, final V value) {
+        if (key.length() <= MAX_CACHED_HEADER_LENGTH && cache.size() < MAX_CACHE_SIZE) {
+            cache.putIfAbsent(key, value);
+        }
+    }
+
+    /**
+     * Single-pass {@code Accept} header parser.
+     *
+     * @param s header value.
+     * @return immutable sorted list of acceptable media types or {@code null} if the header value
+     *         contains constructs not supported by the single-pass parser.
+     * @throws ParseException in case a quality factor value cannot be parsed.
+     */
+    private static List<AcceptableMediaType> parseAcceptMediaType(final CharSequence s) throws ParseException {
+        final int length = s.length();
+
+        AcceptableMediaType[] items = new AcceptableMediaType[4];
+        int[] keys = new int[4];
+        int count = 0;
+
+        int i = skipWhiteSpace(s, 0, length);
+        while (i < length) {
+            // type
+            final int typeStart = i;
+            i = skipToken(s, i, length);
+            if (i == typeStart) {
+                return null;
+            }
+            final int typeEnd = i;
+
+            // subtype - some HTTP implementations use "*" to mean "*/*"
+            int subtypeStart = -1;
+            int subtypeEnd = -1;
+            if (i < length && s.charAt(i) == '/') {
+                subtypeStart = ++i;
+                i = skipToken(s, i, length);
+                if (i == subtypeStart) {
+                    return null;
+                }
+                subtypeEnd = i;
+            }
+
+            // parameters
+            Map<String, String> parameters = null;
+            int quality = Quality.DEFAULT_QUALITY;
+
+            i = skipWhiteSpace(s, i, length);
+            while (i < length && s.charAt(i) == ';') {
+                i = skipWhiteSpace(s, i + 1, length);
+                if (i >= length || s.charAt(i) == ',') {
+                    // ignore a ';' with no parameters
+                    break;
+                }
+
+                final int nameStart = i;
+                i = skipToken(s, i, length);
+                if (i == nameStart || i >= length || s.charAt(i) != '=') {
+                    return null;
+                }
+                final int nameEnd = i++;
+
+                final String value;
+                if (i < length && s.charAt(i) == '"') {
+                    final int valueStart = ++i;
+                    for (; i < length; i++) {
+                        final char c = s.charAt(i);
+                        if (c == '"') {
+                            break;
+                        } else if (c == '\\' || c == '\r') {
+                            return null;
+                        }
+                    }
+                    if (i >= length) {
+                        return null;
+                    }
+                    value = s.subSequence(valueStart, i++).toString();
+                } else {
+                    final int valueStart = i;
+                    i = skipToken(s, i, length);
+                    if (i == valueStart) {
+                        return null;
+                    }
+                    value = s.subSequence(valueStart, i).toString();
+                }
+
+                final String name = s.subSequence(nameStart, nameEnd).toString().toLowerCase();
+                if (parameters == null) {
+                    parameters = new LinkedHashMap<String, String>();
+                }
+                parameters.put(name, value);
+
+                i = skipWhiteSpace(s, i, length);
+            }
+            if (parameters != null) {
+                final String q = parameters.get(Qualified.QUALITY_PARAMETER_NAME);
+                if (q != null) {
+                    quality = HttpHeaderReader.readQualityFactor(q);
+                }
+            }
+
+            // element end
+            if (i < length) {
+                if (s.charAt(i) != ',') {
+                    return null;
+                }
+                i = skipWhiteSpace(s, i + 1, length);
+            }
+
+            final AcceptableMediaType mediaType = createAcceptable(s, typeStart, typeEnd, subtypeStart, subtypeEnd,
+                    quality, parameters);
+
+            if (count == items.length) {
+                items = Arrays.copyOf(items, count * 2);
+                keys = Arrays.copyOf(keys, count * 2);
+            }
+
+            // stable insertion sort by the precomputed quality key
+            final int key = qualityKey(mediaType);
+            int j = count++;
+            while (j > 0 && keys[j - 1] > key) {
+                items[j] = items[j - 1];
+                keys[j] = keys[j - 1];
+                j--;
+            }
+            items[j] = mediaType;
+            keys[j] = key;
+        }
+
+        if (count == 0) {
+            return Collections.emptyList();
+        } else if (count == 1) {
+            return Collections.singletonList(items[0]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(items, count)));
+    }
+
+    /**
+     * Compute the sort key of an acceptable media type. Media types with higher quality factor go first,
+     * media types with the same quality are ordered by specificity ({@code m/n < m/* < *}{@code /n < *}{@code /*}),
+     * consistently with {@link MediaTypes#MEDIA_TYPE_COMPARATOR}.
+     *
+     * @param mediaType acceptable media type.
+     * @return quality sort key, lower key goes first.
+     */
+    private static int qualityKey(final AcceptableMediaType mediaType) {
+        final int specificity = (mediaType.isWildcardType() ? 2 : 0) + (mediaType.isWildcardSubtype() ? 1 : 0);
+        return (Quality.MAXIMUM_QUALITY - mediaType.getQuality()) * 4 + specificity;
+    }
+
+    private static AcceptableMediaType createAcceptable(final CharSequence s,
+                                                        final int typeStart, final int typeEnd,
+                                                        final int subtypeStart, final int subtypeEnd,
+                                                        final int quality, final Map<String, String> parameters) {
+        if (parameters == null && subtypeStart >= 0) {
+            for (AcceptableMediaType canonical : CANONICAL_ACCEPTABLE) {
+                if (regionEquals(s, typeStart, typeEnd, canonical.getType())
+                        && regionEquals(s, subtypeStart, subtypeEnd, canonical.getSubtype())) {
+                    return canonical;
+                }
+            }
+        }
+
+        final String type = s.subSequence(typeStart, typeEnd).toString();
+        final String subtype = subtypeStart < 0 ? MediaType.MEDIA_TYPE_WILDCARD
+                : s.subSequence(subtypeStart, subtypeEnd).toString();
+        return new AcceptableMediaType(type, subtype, quality, parameters);
+    }
+
+    private static boolean regionEquals(final CharSequence s, final int start, final int end, final String value) {
+        final int length = end - start;
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipToken(final CharSequence s, int i, final int length) {
+        while (i < length && isToken(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhiteSpace(final CharSequence s, int i, final int length) {
+        while (i < length && isWhiteSpace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
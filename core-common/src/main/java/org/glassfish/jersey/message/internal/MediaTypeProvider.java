@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -84,7 +84,7 @@ public class MediaTypeProvider implements HeaderDelegateProvider<MediaType> {
         throwIllegalArgumentExceptionIfNull(header, LocalizationMessages.MEDIA_TYPE_IS_NULL());
 
         try {
-            return valueOf(HttpHeaderReader.newInstance(header));
+            return MediaTypeParser.readMediaType(header);
         } catch (ParseException ex) {
             throw new IllegalArgumentException(
                     "Error parsing media type '" + header + "'", ex);
@@ -57,6 +57,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
@@ -80,6 +82,7 @@ import org.glassfish.jersey.internal.util.KeyComparatorLinkedHashMap;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
 import org.glassfish.jersey.internal.util.ReflectionHelper.DeclaringClassInterfacePair;
+import org.glassfish.jersey.message.AnnotationInsensitive;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.message.MessageProperties;
 import org.glassfish.jersey.model.internal.RankedComparator;
@@ -94,6 +97,14 @@ import com.google.common.collect.Lists;
 /**
  * A factory for managing {@link MessageBodyReader}, {@link MessageBodyWriter}, {@link ReaderInterceptor}
  * and {@link WriterInterceptor} instances.
+ * <p>
+ * Message body worker look-ups are cached on two levels. The first level keeps the sorted list of candidate
+ * workers per raw Java type and media type. The second level keeps the result of the worker selection per
+ * raw Java type, generic type and media type so that a repeated look-up returns the selected worker directly,
+ * without consulting the candidate workers again. Workers that are not {@link AnnotationInsensitive annotation
+ * insensitive} and precede the selected worker in the candidate list are still consulted on every look-up, since
+ * their decision may depend on the annotations passed in.
+ * </p>
  *
  * @author Paul Sandoz
  * @author Marek Potociar (marek.potociar at oracle.com)
@@ -164,6 +175,9 @@ public class MessageBodyFactory implements MessageBodyWorkers {
     private final Map<TypeMediaTypePair, List<MessageBodyWorkerPair<MessageBodyWriter>>> mbwLookupCache =
             new ConcurrentHashMap<TypeMediaTypePair, List<MessageBodyWorkerPair<MessageBodyWriter>>>();
 
+    private final ResolutionCache<MessageBodyReader> mbrResolutionCache = new ResolutionCache<MessageBodyReader>();
+    private final ResolutionCache<MessageBodyWriter> mbwResolutionCache = new ResolutionCache<MessageBodyWriter>();
+
 
     @Override
     public List<ReaderInterceptor> getReaderInterceptors() {
@@ -179,12 +193,196 @@ public class MessageBodyFactory implements MessageBodyWorkers {
         final T provider;
         final List<MediaType> types;
         final Boolean custom;
+        final boolean annotationSensitive;
         Class<?> providerClassParam = null;
 
         private MessageBodyWorkerPair(T provider, List<MediaType> types, Boolean custom) {
             this.provider = provider;
             this.types = types;
             this.custom = custom;
+            this.annotationSensitive = !provider.getClass().isAnnotationPresent(AnnotationInsensitive.class);
+        }
+    }
+
+    /**
+     * Result of a message body worker selection for a particular raw type, generic type and media type.
+     *
+     * @param <T> MessageBodyReader or MessageBodyWriter.
+     */
+    private static final class WorkerResolution<T> {
+        /**
+         * Annotation sensitive workers preceding the selected worker; need to be consulted on each look-up.
+         */
+        final List<T> sensitive;
+        /**
+         * Selected annotation insensitive worker or {@code null} if there is no such worker.
+         */
+        final T selected;
+
+        private WorkerResolution(List<T> sensitive, T selected) {
+            this.sensitive = sensitive;
+            this.selected = selected;
+        }
+    }
+
+    /**
+     * Bounded cache of {@link WorkerResolution worker resolutions} keyed by raw type, generic type and media type.
+     * The cache is organized as nested maps so that a cache hit does not allocate any key instance.
+     *
+     * @param <T> MessageBodyReader or MessageBodyWriter.
+     */
+    private static final class ResolutionCache<T> {
+
+        private static final Object NULL_KEY = new Object();
+        private static final int MAX_GENERIC_TYPES = 64;
+        private static final int MAX_MEDIA_TYPES = 64;
+
+        private final ConcurrentMap<Class<?>, ConcurrentMap<Object, ConcurrentMap<Object, WorkerResolution<T>>>> cache =
+                new ConcurrentHashMap<Class<?>, ConcurrentMap<Object, ConcurrentMap<Object, WorkerResolution<T>>>>();
+
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        WorkerResolution<T> get(Class<?> c, Type t, MediaType mediaType) {
+            final ConcurrentMap<Object, ConcurrentMap<Object, WorkerResolution<T>>> byGenericType = cache.get(c);
+            if (byGenericType != null) {
+                final ConcurrentMap<Object, WorkerResolution<T>> byMediaType = byGenericType.get(key(t));
+                if (byMediaType != null) {
+                    final WorkerResolution<T> resolution = byMediaType.get(key(mediaType));
+                    if (resolution != null) {
+                        hits.incrementAndGet();
+                        return resolution;
+                    }
+                }
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+
+        void put(Class<?> c, Type t, MediaType mediaType, WorkerResolution<T> resolution) {
+            ConcurrentMap<Object, ConcurrentMap<Object, WorkerResolution<T>>> byGenericType = cache.get(c);
+            if (byGenericType == null) {
+                byGenericType = new ConcurrentHashMap<Object, ConcurrentMap<Object, WorkerResolution<T>>>();
+                final ConcurrentMap<Object, ConcurrentMap<Object, WorkerResolution<T>>> existing =
+                        cache.putIfAbsent(c, byGenericType);
+                if (existing != null) {
+                    byGenericType = existing;
+                }
+            }
+
+            ConcurrentMap<Object, WorkerResolution<T>> byMediaType = byGenericType.get(key(t));
+            if (byMediaType == null) {
+                if (byGenericType.size() >= MAX_GENERIC_TYPES) {
+                    return;
+                }
+                byMediaType = new ConcurrentHashMap<Object, WorkerResolution<T>>();
+                final ConcurrentMap<Object, WorkerResolution<T>> existing = byGenericType.putIfAbsent(key(t), byMediaType);
+                if (existing != null) {
+                    byMediaType = existing;
+                }
+            }
+
+            // media types with variable parameters (e.g. multipart boundary) must not flood the cache
+            if (byMediaType.size() < MAX_MEDIA_TYPES) {
+                byMediaType.putIfAbsent(key(mediaType), resolution);
+            }
+        }
+
+        long size() {
+            long size = 0;
+            for (ConcurrentMap<Object, ConcurrentMap<Object, WorkerResolution<T>>> byGenericType : cache.values()) {
+                for (ConcurrentMap<Object, WorkerResolution<T>> byMediaType : byGenericType.values()) {
+                    size += byMediaType.size();
+                }
+            }
+            return size;
+        }
+
+        private static Object key(Object value) {
+            return value == null ? NULL_KEY : value;
+        }
+    }
+
+    /**
+     * Message body worker look-up cache statistics.
+     */
+    public static final class CacheStatistics {
+        private final long readerHits;
+        private final long readerMisses;
+        private final long readerSize;
+        private final long writerHits;
+        private final long writerMisses;
+        private final long writerSize;
+
+        private CacheStatistics(ResolutionCache<?> readers, ResolutionCache<?> writers) {
+            this.readerHits = readers.hits.get();
+            this.readerMisses = readers.misses.get();
+            this.readerSize = readers.size();
+            this.writerHits = writers.hits.get();
+            this.writerMisses = writers.misses.get();
+            this.writerSize = writers.size();
+        }
+
+        /**
+         * Get the number of message body reader look-ups served from the cache.
+         *
+         * @return number of reader cache hits.
+         */
+        public long getReaderHits() {
+            return readerHits;
+        }
+
+        /**
+         * Get the number of message body reader look-ups that were not served from the cache.
+         *
+         * @return number of reader cache misses.
+         */
+        public long getReaderMisses() {
+            return readerMisses;
+        }
+
+        /**
+         * Get the number of cached message body reader resolutions.
+         *
+         * @return number of reader cache entries.
+         */
+        public long getReaderCacheSize() {
+            return readerSize;
+        }
+
+        /**
+         * Get the number of message body writer look-ups served from the cache.
+         *
+         * @return number of writer cache hits.
+         */
+        public long getWriterHits() {
+            return writerHits;
+        }
+
+        /**
+         * Get the number of message body writer look-ups that were not served from the cache.
+         *
+         * @return number of writer cache misses.
+         */
+        public long getWriterMisses() {
+            return writerMisses;
+        }
+
+        /**
+         * Get the number of cached message body writer resolutions.
+         *
+         * @return number of writer cache entries.
+         */
+        public long getWriterCacheSize() {
+            return writerSize;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStatistics{"
+                    + "readerHits=" + readerHits + ", readerMisses=" + readerMisses + ", readerSize=" + readerSize
+                    + ", writerHits=" + writerHits + ", writerMisses=" + writerMisses + ", writerSize=" + writerSize
+                    + '}';
         }
     }
 
@@ -268,6 +466,7 @@ public class MessageBodyFactory implements MessageBodyWorkers {
 
         final Class wantedType;
         final MediaType wantedMediaType;
+        private final Map<Class<?>, Integer> typeDistanceMap = new HashMap<Class<?>, Integer>();
 
         private WorkerComparator(Class wantedType, MediaType wantedMediaType) {
             this.wantedType = wantedType;
@@ -318,8 +517,15 @@ public class MessageBodyFactory implements MessageBodyWorkers {
         }
 
         private int getTypeDistance(Class<?> classParam) {
-            // cache?
+            Integer distance = typeDistanceMap.get(classParam);
+            if (distance == null) {
+                distance = computeTypeDistance(classParam);
+                typeDistanceMap.put(classParam, distance);
+            }
+            return distance;
+        }
 
+        private int computeTypeDistance(Class<?> classParam) {
             Class<?> tmp1 = wantedType;
             Class<?> tmp2 = classParam;
 
@@ -650,30 +856,45 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                                                            MediaType mediaType,
                                                            List<MessageBodyWorkerPair<MessageBodyReader>> workers) {
 
-        List<MessageBodyWorkerPair<MessageBodyReader>> readers = mbrLookupCache.get(new TypeMediaTypePair(c, mediaType));
-        if (readers == null) {
-            readers = new ArrayList<MessageBodyWorkerPair<MessageBodyReader>>();
+        WorkerResolution<MessageBodyReader> resolution = mbrResolutionCache.get(c, t, mediaType);
+        if (resolution == null) {
+            final TypeMediaTypePair lookupKey = new TypeMediaTypePair(c, mediaType);
+            List<MessageBodyWorkerPair<MessageBodyReader>> readers = mbrLookupCache.get(lookupKey);
+            if (readers == null) {
+                readers = new ArrayList<MessageBodyWorkerPair<MessageBodyReader>>();
 
-            for (MessageBodyWorkerPair<MessageBodyReader> mbwp : workers) {
-                if (isCompatible(MessageBodyReader.class, mbwp, c, mediaType)) {
-                    readers.add(mbwp);
+                for (MessageBodyWorkerPair<MessageBodyReader> mbwp : workers) {
+                    if (isCompatible(MessageBodyReader.class, mbwp, c, mediaType)) {
+                        readers.add(mbwp);
+                    }
                 }
+                Collections.sort(readers, new WorkerComparator<MessageBodyReader>(c, mediaType));
+                mbrLookupCache.put(lookupKey, readers);
             }
-            Collections.sort(readers, new WorkerComparator<MessageBodyReader>(c, mediaType));
-            mbrLookupCache.put(new TypeMediaTypePair(c, mediaType), readers);
-        }
 
-        if (readers.isEmpty()) {
-            return null;
+            final List<MessageBodyReader> sensitive = new ArrayList<MessageBodyReader>();
+            MessageBodyReader selected = null;
+            for (MessageBodyWorkerPair<MessageBodyReader> mbwp : readers) {
+                if (mbwp.annotationSensitive) {
+                    sensitive.add(mbwp.provider);
+                } else if (mbwp.provider.isReadable(c, t, as, mediaType)) {
+                    selected = mbwp.provider;
+                    break;
+                }
+            }
+            resolution = new WorkerResolution<MessageBodyReader>(sensitive, selected);
+            mbrResolutionCache.put(c, t, mediaType, resolution);
         }
 
-        for (MessageBodyWorkerPair<MessageBodyReader> mbwp : readers) {
-            if (mbwp.provider.isReadable(c, t, as, mediaType)) {
-                return mbwp.provider;
+        final List<MessageBodyReader> sensitive = resolution.sensitive;
+        for (int i = 0; i < sensitive.size(); i++) {
+            final MessageBodyReader reader = sensitive.get(i);
+            if (reader.isReadable(c, t, as, mediaType)) {
+                return reader;
             }
         }
 
-        return null;
+        return resolution.selected;
     }
 
 
@@ -727,32 +948,54 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                                                            MediaType mediaType,
                                                            List<MessageBodyWorkerPair<MessageBodyWriter>> workers) {
 
-        List<MessageBodyWorkerPair<MessageBodyWriter>> writers = mbwLookupCache.get(new TypeMediaTypePair(c, mediaType));
-        if (writers == null) {
+        WorkerResolution<MessageBodyWriter> resolution = mbwResolutionCache.get(c, t, mediaType);
+        if (resolution == null) {
+            final TypeMediaTypePair lookupKey = new TypeMediaTypePair(c, mediaType);
+            List<MessageBodyWorkerPair<MessageBodyWriter>> writers = mbwLookupCache.get(lookupKey);
+            if (writers == null) {
+                writers = new ArrayList<MessageBodyWorkerPair<MessageBodyWriter>>();
 
-            writers = new ArrayList<MessageBodyWorkerPair<MessageBodyWriter>>();
-
-            for (MessageBodyWorkerPair<MessageBodyWriter> mbwp : workers) {
-                if (isCompatible(MessageBodyWriter.class, mbwp, c, mediaType)) {
-                    writers.add(mbwp);
+                for (MessageBodyWorkerPair<MessageBodyWriter> mbwp : workers) {
+                    if (isCompatible(MessageBodyWriter.class, mbwp, c, mediaType)) {
+                        writers.add(mbwp);
+                    }
                 }
+                Collections.sort(writers, new WorkerComparator<MessageBodyWriter>(c, mediaType));
+                mbwLookupCache.put(lookupKey, writers);
             }
-            Collections.sort(writers, new WorkerComparator<MessageBodyWriter>(c, mediaType));
-            mbwLookupCache.put(new TypeMediaTypePair(c, mediaType), writers);
-        }
 
-        if (writers.isEmpty()) {
-            return null;
+            final List<MessageBodyWriter> sensitive = new ArrayList<MessageBodyWriter>();
+            MessageBodyWriter selected = null;
+            for (MessageBodyWorkerPair<MessageBodyWriter> mbwp : writers) {
+                if (mbwp.annotationSensitive) {
+                    sensitive.add(mbwp.provider);
+                } else if (mbwp.provider.isWriteable(c, t, as, mediaType)) {
+                    selected = mbwp.provider;
+                    break;
+                }
+            }
+            resolution = new WorkerResolution<MessageBodyWriter>(sensitive, selected);
+            mbwResolutionCache.put(c, t, mediaType, resolution);
         }
 
-
-        for (MessageBodyWorkerPair<MessageBodyWriter> mbwp : writers) {
-            if (mbwp.provider.isWriteable(c, t, as, mediaType)) {
-                return mbwp.provider;
+        final List<MessageBodyWriter> sensitive = resolution.sensitive;
+        for (int i = 0; i < sensitive.size(); i++) {
+            final MessageBodyWriter writer = sensitive.get(i);
+            if (writer.isWriteable(c, t, as, mediaType)) {
+                return writer;
             }
         }
 
-        return null;
+        return resolution.selected;
+    }
+
+    /**
+     * Get the current statistics of the message body worker look-up cache.
+     *
+     * @return snapshot of the cache statistics.
+     */
+    public CacheStatistics getCacheStatistics() {
+        return new CacheStatistics(mbrResolutionCache, mbwResolutionCache);
     }
 
     @SuppressWarnings("unchecked")
@@ -861,9 +1104,15 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                                     MultivaluedMap<String, Object> httpHeaders, PropertiesDelegate propertiesDelegate,
                                     OutputStream entityStream, boolean intercept) throws IOException, WebApplicationException {
 
-        WriterInterceptorExecutor executor = new WriterInterceptorExecutor(t, rawType, type, annotations, mediaType,
-                httpHeaders, propertiesDelegate, entityStream, this, intercept);
-        executor.proceed();
-        return executor.getOutputStream();
+        final TracingLogger tracingLogger = TracingLogger.getInstance(propertiesDelegate);
+        final long timestamp = tracingLogger.timestamp();
+        try {
+            WriterInterceptorExecutor executor = new WriterInterceptorExecutor(t, rawType, type, annotations, mediaType,
+                    httpHeaders, propertiesDelegate, entityStream, this, intercept);
+            executor.proceed();
+            return executor.getOutputStream();
+        } finally {
+            tracingLogger.log(TracingLogger.MESSAGE_BODY_WRITER, timestamp);
+        }
     }
 }
@@ -780,7 +780,8 @@ public class OutboundMessageContext {
 
     /**
      * Enable a buffering of serialized entity. The buffering will be configured from configuration. The property
-     * determining the size of the buffer is {@link CommonProperties#CONTENT_LENGTH_BUFFER}.
+     * determining the size of the buffer is {@link CommonProperties#CONTENT_LENGTH_BUFFER}, the buffer is recycled
+     * if the {@link CommonProperties#CONTENT_LENGTH_BUFFER_RECYCLING} property is enabled.
      * </p>
      * The buffering functionality is by default disabled and could be enabled by calling this method. In this case
      * this method must be called before first bytes are written to the {@link #getEntityStream() entity stream}.
@@ -788,12 +789,17 @@ public class OutboundMessageContext {
      * @param configuration runtime configuration.
      */
     public void enableBuffering(Configuration configuration) {
-        final Integer bufferSize = PropertiesHelper.getValue(configuration.getProperties(),
+        final Map<String, Object> properties = configuration.getProperties();
+        final Integer configuredSize = PropertiesHelper.getValue(properties,
                 configuration.getRuntimeType(), CommonProperties.CONTENT_LENGTH_BUFFER, Integer.class);
-        if (bufferSize != null) {
-            committingOutputStream.enableBuffering(bufferSize);
+        final int bufferSize = configuredSize != null ? configuredSize : CommittingOutputStream.DEFAULT_BUFFER_SIZE;
+
+        if (bufferSize > 0 && PropertiesHelper.getValue(properties, configuration.getRuntimeType(),
+                CommonProperties.CONTENT_LENGTH_BUFFER_RECYCLING, Boolean.FALSE)) {
+            committingOutputStream.enableBuffering(bufferSize,
+                    BufferPool.forSize(CommittingOutputStream.segmentSize(bufferSize)));
         } else {
-            committingOutputStream.enableBuffering();
+            committingOutputStream.enableBuffering(bufferSize);
         }
     }
 
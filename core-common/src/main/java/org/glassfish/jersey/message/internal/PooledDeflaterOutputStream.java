@@ -0,0 +1,153 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.glassfish.jersey.message.CompressionStatistics;
+
+/**
+ * {@link DeflaterOutputStream} that borrows its {@link Deflater} from a {@link CompressorPool} and returns
+ * it back to the pool once the stream is closed. Compression time and the number of processed bytes
+ * are recorded into the supplied {@link CompressionStatistics} on close.
+ */
+public class PooledDeflaterOutputStream extends DeflaterOutputStream {
+
+    private final CompressorPool<Deflater> pool;
+    private final CompressionStatistics statistics;
+
+    private long elapsedNanos = 0;
+    private boolean closed = false;
+
+    /**
+     * Create new pooled deflater output stream.
+     *
+     * @param out        underlying output stream.
+     * @param pool       pool to borrow the deflater from.
+     * @param bufferSize size of the compressed output buffer.
+     * @param statistics compression statistics to be updated, may be {@code null}.
+     */
+    public PooledDeflaterOutputStream(final OutputStream out,
+                                      final CompressorPool<Deflater> pool,
+                                      final int bufferSize,
+                                      final CompressionStatistics statistics) {
+        super(out, pool.acquire(), bufferSize);
+        this.pool = pool;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureOpen();
+        final long start = System.nanoTime();
+        try {
+            super.write(b, off, len);
+        } finally {
+            elapsedNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        ensureOpen();
+        if (!def.finished()) {
+            final long start = System.nanoTime();
+            try {
+                super.finish();
+            } finally {
+                elapsedNanos += System.nanoTime() - start;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            finish();
+            out.close();
+        } finally {
+            closed = true;
+            if (statistics != null) {
+                statistics.record(def.getBytesRead(), def.getBytesWritten() + getFramingLength(), elapsedNanos);
+            }
+            pool.release(def);
+        }
+    }
+
+    /**
+     * Get the number of bytes written to the underlying stream in addition to the compressed data
+     * (e.g. a format header and trailer). Used for the statistics purposes only.
+     *
+     * @return number of framing bytes.
+     */
+    protected int getFramingLength() {
+        return 0;
+    }
+
+    /**
+     * Return the deflater to the pool without finishing the compressed data or closing the underlying stream.
+     * Used by subclasses that fail to initialize after the deflater has already been borrowed.
+     * The stream is closed afterwards.
+     */
+    protected final void releaseDeflater() {
+        if (!closed) {
+            closed = true;
+            pool.release(def);
+        }
+    }
+
+    /**
+     * Check that the stream has not been closed yet. Once closed, the deflater is returned to the pool
+     * and must not be touched by this stream anymore.
+     *
+     * @throws IOException in case the stream has already been closed.
+     */
+    protected final void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.glassfish.jersey.message.CompressionStatistics;
+
+/**
+ * GZIP output stream backed by a pooled {@link Deflater}.
+ * <p>
+ * Unlike {@link java.util.zip.GZIPOutputStream}, which always allocates its own deflater, this stream writes
+ * the GZIP member header and trailer itself and compresses the data using a raw ({@code nowrap}) deflater
+ * borrowed from the supplied {@link CompressorPool}.
+ * </p>
+ */
+public class PooledGZipOutputStream extends PooledDeflaterOutputStream {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int HEADER_LENGTH = 10;
+    private static final int TRAILER_LENGTH = 8;
+
+    private static final byte[] HEADER = {
+            (byte) GZIP_MAGIC,          // magic number (short)
+            (byte) (GZIP_MAGIC >> 8),   // magic number (short)
+            Deflater.DEFLATED,          // compression method
+            0,                          // flags
+            0, 0, 0, 0,                 // modification time
+            0,                          // extra flags
+            0                           // operating system
+    };
+
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Create new pooled GZIP output stream.
+     *
+     * @param out        underlying output stream.
+     * @param pool       pool of raw ({@code nowrap}) deflaters.
+     * @param bufferSize size of the compressed output buffer.
+     * @param statistics compression statistics to be updated, may be {@code null}.
+     * @throws IOException in case the GZIP header cannot be written.
+     */
+    public PooledGZipOutputStream(final OutputStream out,
+                                  final CompressorPool<Deflater> pool,
+                                  final int bufferSize,
+                                  final CompressionStatistics statistics) throws IOException {
+        super(out, pool, bufferSize, statistics);
+        try {
+            out.write(HEADER);
+        } catch (IOException e) {
+            releaseDeflater();
+            throw e;
+        } catch (RuntimeException e) {
+            releaseDeflater();
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        super.write(b, off, len);
+        crc.update(b, off, len);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        ensureOpen();
+        if (!def.finished()) {
+            super.finish();
+            final byte[] trailer = new byte[TRAILER_LENGTH];
+            writeInt((int) crc.getValue(), trailer, 0);
+            writeInt((int) def.getBytesRead(), trailer, 4);
+            out.write(trailer);
+        }
+    }
+
+    @Override
+    protected int getFramingLength() {
+        return HEADER_LENGTH + TRAILER_LENGTH;
+    }
+
+    private static void writeInt(final int value, final byte[] buf, final int offset) {
+        buf[offset] = (byte) (value & 0xff);
+        buf[offset + 1] = (byte) ((value >> 8) & 0xff);
+        buf[offset + 2] = (byte) ((value >> 16) & 0xff);
+        buf[offset + 3] = (byte) ((value >> 24) & 0xff);
+    }
+}
@@ -57,6 +57,8 @@ import javax.ws.rs.core.MultivaluedMap;
 
 import javax.inject.Singleton;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 /**
  *
  * @author Paul Sandoz
@@ -64,6 +66,7 @@ import javax.inject.Singleton;
 @Produces({"text/plain", "*/*"})
 @Consumes({"text/plain", "*/*"})
 @Singleton
+@AnnotationInsensitive
 public final class ReaderProvider extends AbstractMessageReaderWriterProvider<Reader> {
 
     @Override
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -59,6 +59,8 @@ import javax.imageio.ImageReader;
 import javax.imageio.ImageWriter;
 import javax.imageio.stream.ImageInputStream;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 /**
  * Provider for marshalling/un-marshalling of graphical image data represented as
  * {@code image/*, application/x-www-form-urlencoded} entity types to
@@ -71,6 +73,7 @@ import javax.imageio.stream.ImageInputStream;
 @Produces("image/*")
 @Consumes({"image/*", "application/octet-stream"})
 @Singleton
+@AnnotationInsensitive
 public final class RenderedImageProvider extends AbstractMessageReaderWriterProvider<RenderedImage> {
 
     private static final MediaType IMAGE_MEDIA_TYPE = new MediaType("image", "*");
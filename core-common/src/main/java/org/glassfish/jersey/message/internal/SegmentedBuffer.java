@@ -0,0 +1,264 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output stream that accumulates the written bytes in a list of equally sized byte array segments.
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream}, the buffer never copies the already written data when it grows
+ * and its content can be {@link #writeTo(OutputStream) written out}, {@link #toInputStream() read} or
+ * {@link #toByteBuffers() wrapped} without creating a copy of the whole content. The segments are allocated upon
+ * the first write into them and may be borrowed from a {@link BufferPool buffer pool}, in which case they are
+ * returned back to the pool when the buffer is {@link #release() released}.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class SegmentedBuffer extends OutputStream {
+
+    /**
+     * Default size of the buffer segments.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 8192;
+
+    private final int segmentSize;
+    private final BufferPool pool;
+    private final List<byte[]> segments = new ArrayList<byte[]>();
+
+    private int size = 0;
+
+    /**
+     * Create new segmented buffer with the {@link #DEFAULT_SEGMENT_SIZE default segment size}.
+     */
+    public SegmentedBuffer() {
+        this(DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Create new segmented buffer.
+     *
+     * @param segmentSize size of the buffer segments.
+     */
+    public SegmentedBuffer(final int segmentSize) {
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("Segment size must be positive.");
+        }
+        this.segmentSize = segmentSize;
+        this.pool = null;
+    }
+
+    /**
+     * Create new segmented buffer with the segments borrowed from the buffer pool.
+     *
+     * @param pool pool of the buffer segments.
+     */
+    public SegmentedBuffer(final BufferPool pool) {
+        this.segmentSize = pool.getBufferSize();
+        this.pool = pool;
+    }
+
+    @Override
+    public void write(final int b) {
+        final int offset = size % segmentSize;
+        if (offset == 0 && size / segmentSize == segments.size()) {
+            segments.add(allocate());
+        }
+        segments.get(size / segmentSize)[offset] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(final byte[] b, int off, int len) {
+        while (len > 0) {
+            final int offset = size % segmentSize;
+            if (offset == 0 && size / segmentSize == segments.size()) {
+                segments.add(allocate());
+            }
+            final int n = Math.min(len, segmentSize - offset);
+            System.arraycopy(b, off, segments.get(size / segmentSize), offset, n);
+            size += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    private byte[] allocate() {
+        return pool != null ? pool.acquire() : new byte[segmentSize];
+    }
+
+    /**
+     * Get the number of bytes written into the buffer.
+     *
+     * @return number of buffered bytes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Write the buffered bytes to the output stream, one segment at a time.
+     *
+     * @param out output stream to write the buffered bytes to.
+     * @throws IOException in case of the output stream write failure.
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        int remaining = size;
+        for (int i = 0; remaining > 0; i++) {
+            final int n = Math.min(remaining, segmentSize);
+            out.write(segments.get(i), 0, n);
+            remaining -= n;
+        }
+    }
+
+    /**
+     * Wrap the buffered bytes into byte buffers, one per segment. The returned buffers share the content with
+     * this segmented buffer.
+     *
+     * @return byte buffers wrapping the buffered bytes.
+     */
+    public ByteBuffer[] toByteBuffers() {
+        final ByteBuffer[] buffers = new ByteBuffer[(size + segmentSize - 1) / segmentSize];
+        int remaining = size;
+        for (int i = 0; i < buffers.length; i++) {
+            final int n = Math.min(remaining, segmentSize);
+            buffers[i] = ByteBuffer.wrap(segments.get(i), 0, n);
+            remaining -= n;
+        }
+        return buffers;
+    }
+
+    /**
+     * Get an input stream reading the buffered bytes. The returned stream shares the content with this segmented
+     * buffer and supports {@link InputStream#mark(int) mark and reset}. As with the
+     * {@link java.io.ByteArrayInputStream}, the stream can be reset and read again even after it has been closed.
+     *
+     * @return input stream reading the buffered bytes.
+     */
+    public InputStream toInputStream() {
+        return new SegmentedInputStream();
+    }
+
+    /**
+     * Release the buffer segments and clear the buffer. Pooled segments are returned back to the pool,
+     * so neither the buffer content nor any of the {@link #toByteBuffers() byte buffers} or
+     * {@link #toInputStream() input streams} sharing the content can be used anymore.
+     */
+    public void release() {
+        if (pool != null) {
+            for (byte[] segment : segments) {
+                pool.release(segment);
+            }
+        }
+        segments.clear();
+        size = 0;
+    }
+
+    private final class SegmentedInputStream extends InputStream {
+
+        private int position = 0;
+        private int mark = 0;
+
+        @Override
+        public int read() {
+            if (position >= size) {
+                return -1;
+            }
+            final int b = segments.get(position / segmentSize)[position % segmentSize] & 0xff;
+            position++;
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= size) {
+                return -1;
+            }
+            final int count = Math.min(len, size - position);
+            int remaining = count;
+            while (remaining > 0) {
+                final int offset = position % segmentSize;
+                final int n = Math.min(remaining, segmentSize - offset);
+                System.arraycopy(segments.get(position / segmentSize), offset, b, off, n);
+                position += n;
+                off += n;
+                remaining -= n;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final long skipped = Math.max(0, Math.min(n, size - position));
+            position += (int) skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return Math.max(0, size - position);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(final int readLimit) {
+            mark = position;
+        }
+
+        @Override
+        public void reset() {
+            position = mark;
+        }
+    }
+}
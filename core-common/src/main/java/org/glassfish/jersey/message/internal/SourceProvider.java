@@ -67,6 +67,8 @@ import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 import org.glassfish.hk2.api.Factory;
 
 import org.w3c.dom.Document;
@@ -89,6 +91,7 @@ public final class SourceProvider {
     @Produces({"application/xml", "text/xml", "*/*"})
     @Consumes({"application/xml", "text/xml", "*/*"})
     @Singleton
+    @AnnotationInsensitive
     public static final class StreamSourceReader implements MessageBodyReader<StreamSource> {
 
         @Override
@@ -114,6 +117,7 @@ public final class SourceProvider {
     @Produces({"application/xml", "text/xml", "*/*"})
     @Consumes({"application/xml", "text/xml", "*/*"})
     @Singleton
+    @AnnotationInsensitive
     public static final class SaxSourceReader implements MessageBodyReader<SAXSource> {
         // Delay construction of factory
 
@@ -155,6 +159,7 @@ public final class SourceProvider {
     @Produces({"application/xml", "text/xml", "*/*"})
     @Consumes({"application/xml", "text/xml", "*/*"})
     @Singleton
+    @AnnotationInsensitive
     public static final class DomSourceReader implements MessageBodyReader<DOMSource> {
 
         private final Factory<DocumentBuilderFactory> dbf;
@@ -195,6 +200,7 @@ public final class SourceProvider {
     @Produces({"application/xml", "text/xml", "*/*"})
     @Consumes({"application/xml", "text/xml", "*/*"})
     @Singleton
+    @AnnotationInsensitive
     public static final class SourceWriter implements MessageBodyWriter<Source> {
 
         private final Factory<SAXParserFactory> saxParserFactory;
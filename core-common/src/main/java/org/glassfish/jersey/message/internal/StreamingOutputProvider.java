@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -50,6 +50,8 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.ext.MessageBodyWriter;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 /**
  * Message body writer that supports {@link StreamingOutput streaming output} marshalling.
  *
@@ -57,6 +59,7 @@ import javax.ws.rs.ext.MessageBodyWriter;
  */
 @Produces({"application/octet-stream", "*/*"})
 @Singleton
+@AnnotationInsensitive
 public final class StreamingOutputProvider implements MessageBodyWriter<StreamingOutput> {
 
     @Override
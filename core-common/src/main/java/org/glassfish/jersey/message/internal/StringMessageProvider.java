@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -52,6 +52,8 @@ import javax.ws.rs.core.MultivaluedMap;
 
 import javax.inject.Singleton;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 /**
  *
  * @author Paul Sandoz
@@ -59,6 +61,7 @@ import javax.inject.Singleton;
 @Produces({"text/plain", "*/*"})
 @Consumes({"text/plain", "*/*"})
 @Singleton
+@AnnotationInsensitive
 final class StringMessageProvider extends AbstractMessageReaderWriterProvider<String> {
 
     @Override
@@ -0,0 +1,235 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.internal.PropertiesDelegate;
+
+/**
+ * Per-request tracing support collecting the time spent in the individual request processing stages.
+ * <p>
+ * A tracing logger instance is {@link #enable(PropertiesDelegate) enabled} for a single request by storing it
+ * in the request properties; the processing components then {@link #getInstance(PropertiesDelegate) look it up}
+ * and {@link #log(String, long) record} the duration of the traced events. If tracing is not enabled for the request,
+ * a shared no-op instance is returned and the tracing has virtually no overhead.
+ * </p>
+ * <p>
+ * The recorded events are summarized in {@code X-Jersey-Tracing-*} message headers, where the header name suffix
+ * is the event name and the header value is the total time spent in the event, in milliseconds.
+ * </p>
+ */
+public final class TracingLogger {
+
+    /**
+     * Name of the request property the tracing logger instance is stored under.
+     */
+    public static final String PROPERTY_NAME = TracingLogger.class.getName();
+    /**
+     * Prefix of the tracing message headers.
+     */
+    public static final String HEADER_PREFIX = "X-Jersey-Tracing-";
+    /**
+     * Name of the request header used to request tracing of a single request (if tracing on demand is enabled).
+     */
+    public static final String HEADER_ACCEPT = HEADER_PREFIX + "Accept";
+    /**
+     * Name of the event that summarizes the whole traced processing.
+     */
+    public static final String TOTAL = "Total";
+    /**
+     * Name of the event covering the execution of the {@link javax.ws.rs.ext.WriterInterceptor writer interceptors}
+     * and the {@link javax.ws.rs.ext.MessageBodyWriter message body writer}.
+     */
+    public static final String MESSAGE_BODY_WRITER = "Message-Body-Writer";
+
+    private static final TracingLogger DISABLED = new TracingLogger(false);
+
+    private final boolean enabled;
+    private final long startNanos;
+    private final Map<String, long[]> events;
+
+    private TracingLogger(final boolean enabled) {
+        this.enabled = enabled;
+        this.startNanos = enabled ? System.nanoTime() : 0;
+        this.events = enabled ? new LinkedHashMap<String, long[]>() : null;
+    }
+
+    /**
+     * Enable tracing for a single request by storing a new tracing logger into the request properties.
+     *
+     * @param propertiesDelegate request properties.
+     * @return new enabled tracing logger.
+     */
+    public static TracingLogger enable(final PropertiesDelegate propertiesDelegate) {
+        final TracingLogger tracingLogger = new TracingLogger(true);
+        propertiesDelegate.setProperty(PROPERTY_NAME, tracingLogger);
+        return tracingLogger;
+    }
+
+    /**
+     * Get the tracing logger of a request.
+     *
+     * @param propertiesDelegate request properties, may be {@code null}.
+     * @return tracing logger stored in the request properties or a disabled (no-op) tracing logger
+     *         if tracing is not enabled for the request.
+     */
+    public static TracingLogger getInstance(final PropertiesDelegate propertiesDelegate) {
+        if (propertiesDelegate == null) {
+            return DISABLED;
+        }
+        final Object tracingLogger = propertiesDelegate.getProperty(PROPERTY_NAME);
+        return tracingLogger instanceof TracingLogger ? (TracingLogger) tracingLogger : DISABLED;
+    }
+
+    /**
+     * Check whether tracing is enabled.
+     *
+     * @return {@code true} if tracing is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the start timestamp of a traced event.
+     *
+     * @return current value of {@link System#nanoTime()} if tracing is enabled, {@code 0} otherwise.
+     */
+    public long timestamp() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record an occurrence of a traced event that started at the given {@link #timestamp() timestamp} and
+     * ends now. Durations of repeated occurrences of the same event are summed up.
+     *
+     * @param event      event name.
+     * @param startNanos event start timestamp.
+     */
+    public void log(final String event, final long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        final long duration = System.nanoTime() - startNanos;
+        synchronized (events) {
+            long[] value = events.get(event);
+            if (value == null) {
+                value = new long[2];
+                events.put(event, value);
+            }
+            value[0]++;
+            value[1] += duration;
+        }
+    }
+
+    /**
+     * Get the total time elapsed since the tracing has been enabled.
+     *
+     * @return elapsed time in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return enabled ? System.nanoTime() - startNanos : 0;
+    }
+
+    /**
+     * Get the durations of the events recorded so far, in the order of their first occurrence.
+     *
+     * @return map of event names to the total event durations in nanoseconds.
+     */
+    public Map<String, Long> getEvents() {
+        final Map<String, Long> result = new LinkedHashMap<String, Long>();
+        if (enabled) {
+            synchronized (events) {
+                for (final Map.Entry<String, long[]> entry : events.entrySet()) {
+                    result.put(entry.getKey(), entry.getValue()[1]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write the durations of the events recorded so far and the {@link #TOTAL total} elapsed time into
+     * the {@code X-Jersey-Tracing-*} message headers.
+     *
+     * @param headers message headers to be updated.
+     */
+    public void flush(final MultivaluedMap<String, Object> headers) {
+        if (!enabled) {
+            return;
+        }
+        for (final Map.Entry<String, Long> entry : getEvents().entrySet()) {
+            headers.putSingle(HEADER_PREFIX + entry.getKey(), formatMillis(entry.getValue()));
+        }
+        headers.putSingle(HEADER_PREFIX + TOTAL, formatMillis(getTotalNanos()));
+    }
+
+    /**
+     * Format a duration as milliseconds with a microsecond precision, e.g. {@code "12.345"}.
+     *
+     * @param nanos duration in nanoseconds.
+     * @return formatted duration.
+     */
+    public static String formatMillis(final long nanos) {
+        final long micros = nanos / 1000;
+        final long fraction = micros % 1000;
+        final StringBuilder sb = new StringBuilder().append(micros / 1000).append('.');
+        if (fraction < 100) {
+            sb.append(fraction < 10 ? "00" : "0");
+        }
+        return sb.append(fraction).toString();
+    }
+
+    @Override
+    public String toString() {
+        if (!enabled) {
+            return "TracingLogger{disabled}";
+        }
+        final StringBuilder sb = new StringBuilder("TracingLogger{");
+        for (final Map.Entry<String, Long> entry : getEvents().entrySet()) {
+            sb.append(entry.getKey()).append('=').append(formatMillis(entry.getValue())).append("ms, ");
+        }
+        return sb.append(TOTAL).append('=').append(formatMillis(getTotalNanos())).append("ms}").toString();
+    }
+}
@@ -39,6 +39,7 @@
  */
 package org.glassfish.jersey.message.internal;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -48,6 +49,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MediaType;
@@ -192,9 +195,13 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor impleme
      * 1. choose the appropriate {@link MessageBodyWriter} <br>
      * 2. if callback is defined then it retrieves size and passes it to the callback <br>
      * 3. writes the entity to the output stream <br>
+     * 4. closes the streamed entity, i.e. an {@link Iterable} or {@link Iterator} entity implementing
+     * {@link Closeable} <br>
      *
      */
     private static class TerminalWriterInterceptor implements WriterInterceptor {
+        private static final Logger LOGGER = Logger.getLogger(TerminalWriterInterceptor.class.getName());
+
         private final MessageBodyWorkers workers;
 
         public TerminalWriterInterceptor(MessageBodyWorkers workers) {
@@ -205,16 +212,32 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor impleme
         @Override
         @SuppressWarnings("unchecked")
         public void aroundWriteTo(WriterInterceptorContext context) throws WebApplicationException, IOException {
-
-            final MessageBodyWriter writer = workers.getMessageBodyWriter(context.getType(), context.getGenericType(),
-                    context.getAnnotations(), context.getMediaType());
-            if (writer == null) {
-                throw new MessageBodyProviderNotFoundException(LocalizationMessages.ERROR_NOTFOUND_MESSAGEBODYWRITER(
-                        context.getMediaType(), context.getType(), context.getGenericType()));
+            final Object entity = context.getEntity();
+            boolean written = false;
+            try {
+                final MessageBodyWriter writer = workers.getMessageBodyWriter(context.getType(), context.getGenericType(),
+                        context.getAnnotations(), context.getMediaType());
+                if (writer == null) {
+                    throw new MessageBodyProviderNotFoundException(LocalizationMessages.ERROR_NOTFOUND_MESSAGEBODYWRITER(
+                            context.getMediaType(), context.getType(), context.getGenericType()));
+                }
+
+                writer.writeTo(entity, context.getType(), context.getGenericType(), context.getAnnotations(),
+                        context.getMediaType(), context.getHeaders(), context.getOutputStream());
+                written = true;
+            } finally {
+                if (entity instanceof Closeable && (entity instanceof Iterable || entity instanceof Iterator)) {
+                    try {
+                        ((Closeable) entity).close();
+                    } catch (IOException ex) {
+                        if (written) {
+                            throw ex;
+                        }
+                        // do not hide the original write failure
+                        LOGGER.log(Level.FINE, LocalizationMessages.STREAMED_ENTITY_CLOSE_FAILED(entity), ex);
+                    }
+                }
             }
-
-            writer.writeTo(context.getEntity(), context.getType(), context.getGenericType(), context.getAnnotations(),
-                    context.getMediaType(), context.getHeaders(), context.getOutputStream());
         }
     }
 
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -64,6 +64,8 @@ import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 /**
  * Base XML-based message body provider for collections of JAXB beans.
  *
@@ -93,6 +95,7 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
     @Produces("application/xml")
     @Consumes("application/xml")
     @Singleton
+    @AnnotationInsensitive
     public static final class App extends XmlCollectionJaxbProvider {
 
         public App(@Context Factory<XMLInputFactory> xif, @Context Providers ps) {
@@ -107,6 +110,7 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
     @Produces("text/xml")
     @Consumes("text/xml")
     @Singleton
+    @AnnotationInsensitive
     public static final class Text extends XmlCollectionJaxbProvider {
 
         public Text(@Context Factory<XMLInputFactory> xif, @Context Providers ps) {
@@ -121,6 +125,7 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
     @Produces("*/*")
     @Consumes("*/*")
     @Singleton
+    @AnnotationInsensitive
     public static final class General extends XmlCollectionJaxbProvider {
 
         public General(@Context Factory<XMLInputFactory> xif, @Context Providers ps) {
@@ -174,8 +179,13 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
             entityStream.write(header.getBytes(cName));
         }
         entityStream.write(String.format("<%s>", rootElement).getBytes(cName));
+        int count = 0;
         for (Object o : t) {
             m.marshal(o, entityStream);
+            // let the client process the first elements while the rest of the (possibly streamed) collection is written
+            if (++count % FLUSH_INTERVAL == 1) {
+                entityStream.flush();
+            }
         }
 
         entityStream.write(String.format("</%s>", rootElement).getBytes(cName));
@@ -58,6 +58,8 @@ import javax.xml.parsers.SAXParserFactory;
 
 import org.glassfish.hk2.api.Factory;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 /**
  * Base XML-based message body provider for {@link JAXBElement JAXB element} instances.
  *
@@ -87,6 +89,7 @@ public abstract class XmlJaxbElementProvider extends AbstractJaxbElementProvider
     @Produces("application/xml")
     @Consumes("application/xml")
     @Singleton
+    @AnnotationInsensitive
     public static final class App extends XmlJaxbElementProvider {
 
         public App(@Context Factory<SAXParserFactory> spf, @Context Providers ps) {
@@ -101,6 +104,7 @@ public abstract class XmlJaxbElementProvider extends AbstractJaxbElementProvider
     @Produces("text/xml")
     @Consumes("text/xml")
     @Singleton
+    @AnnotationInsensitive
     public static final class Text extends XmlJaxbElementProvider {
 
         public Text(@Context Factory<SAXParserFactory> spf, @Context Providers ps) {
@@ -115,6 +119,7 @@ public abstract class XmlJaxbElementProvider extends AbstractJaxbElementProvider
     @Produces("*/*,*/*+xml")
     @Consumes("*/*,*/*+xml")
     @Singleton
+    @AnnotationInsensitive
     public static final class General extends XmlJaxbElementProvider {
 
         public General(@Context Factory<SAXParserFactory> spf, @Context Providers ps) {
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -57,6 +57,8 @@ import javax.xml.bind.annotation.XmlType;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.sax.SAXSource;
 
+import org.glassfish.jersey.message.AnnotationInsensitive;
+
 /**
  * Base XML-based message body provider for JAXB {@link XmlRootElement root elements}
  * and {@link XmlType types}.
@@ -89,6 +91,7 @@ public abstract class XmlRootElementJaxbProvider extends AbstractRootElementJaxb
     @Produces("application/xml")
     @Consumes("application/xml")
     @Singleton
+    @AnnotationInsensitive
     public static final class App extends XmlRootElementJaxbProvider {
 
         public App(@Context Factory<SAXParserFactory> spf, @Context Providers ps) {
@@ -104,6 +107,7 @@ public abstract class XmlRootElementJaxbProvider extends AbstractRootElementJaxb
     @Produces("text/xml")
     @Consumes("text/xml")
     @Singleton
+    @AnnotationInsensitive
     public static final class Text extends XmlRootElementJaxbProvider {
 
         public Text(@Context Factory<SAXParserFactory> spf, @Context Providers ps) {
@@ -119,6 +123,7 @@ public abstract class XmlRootElementJaxbProvider extends AbstractRootElementJaxb
     @Produces("*/*")
     @Consumes("*/*")
     @Singleton
+    @AnnotationInsensitive
     public static final class General extends XmlRootElementJaxbProvider {
 
         public General(@Context Factory<SAXParserFactory> spf, @Context Providers ps) {
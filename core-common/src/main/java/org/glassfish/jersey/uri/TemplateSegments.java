@@ -0,0 +1,169 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.uri;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import org.glassfish.jersey.uri.internal.UriTemplateParser;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Parsed form of a normalized URI template (or a URI template component): the literal text
+ * segments interleaved with the template variable occurrences.
+ * <p>
+ * For a template with {@code n} template variable occurrences, there are {@code n + 1} literal
+ * segments, i.e. the template is equivalent to
+ * {@code literals[0] + {var(0)} + literals[1] + ... + {var(n - 1)} + literals[n]}.
+ * The parsed templates are immutable and the most recently used ones are cached so that a frequently
+ * used template string is not parsed repeatedly.
+ * </p>
+ *
+ * @see UriTemplate
+ * @see UriTemplateRenderer
+ */
+final class TemplateSegments {
+
+    /**
+     * Maximum number of cached parsed templates.
+     */
+    static final int MAX_CACHE_SIZE = 1024;
+
+    private static final Cache<String, TemplateSegments> CACHE =
+            CacheBuilder.newBuilder().maximumSize(MAX_CACHE_SIZE).<String, TemplateSegments>build();
+
+    /**
+     * Literal text segments.
+     */
+    final String[] literals;
+    /**
+     * Indexes of the template variables (into {@link #variables}) in the order of their
+     * occurrence in the template.
+     */
+    final int[] variableIndexes;
+    /**
+     * Unique template variable names in the order of their first occurrence in the template.
+     */
+    final String[] variables;
+
+    private TemplateSegments(final String[] literals, final int[] variableIndexes, final String[] variables) {
+        this.literals = literals;
+        this.variableIndexes = variableIndexes;
+        this.variables = variables;
+    }
+
+    /**
+     * Get the parsed form of a (non-normalized) URI template. The parsing results are cached,
+     * least recently used templates are evicted once the cache is full.
+     *
+     * @param template URI template that may contain template variables with explicit regular expressions.
+     * @return parsed template.
+     */
+    static TemplateSegments of(final String template) {
+        TemplateSegments segments = CACHE.getIfPresent(template);
+        if (segments == null) {
+            segments = parse(new UriTemplateParser(template).getNormalizedTemplate());
+            CACHE.put(template, segments);
+        }
+        return segments;
+    }
+
+    /**
+     * Parse a normalized URI template, i.e. a template with no explicit template variable
+     * regular expressions.
+     *
+     * @param normalizedTemplate normalized URI template.
+     * @return parsed template.
+     */
+    static TemplateSegments parse(final String normalizedTemplate) {
+        final List<String> literals = new ArrayList<String>();
+        final List<String> variables = new ArrayList<String>();
+        int[] variableIndexes = new int[4];
+        int count = 0;
+
+        final Matcher m = UriTemplate.TEMPLATE_NAMES_PATTERN.matcher(normalizedTemplate);
+        int i = 0;
+        while (m.find()) {
+            literals.add(normalizedTemplate.substring(i, m.start()));
+
+            final String variable = m.group(1);
+            int index = variables.indexOf(variable);
+            if (index < 0) {
+                index = variables.size();
+                variables.add(variable);
+            }
+            if (count == variableIndexes.length) {
+                variableIndexes = Arrays.copyOf(variableIndexes, count * 2);
+            }
+            variableIndexes[count++] = index;
+
+            i = m.end();
+        }
+        literals.add(normalizedTemplate.substring(i));
+
+        return new TemplateSegments(
+                literals.toArray(new String[literals.size()]),
+                Arrays.copyOf(variableIndexes, count),
+                variables.toArray(new String[variables.size()]));
+    }
+
+    /**
+     * Get the number of template variable occurrences in the template.
+     *
+     * @return number of template variable occurrences.
+     */
+    int size() {
+        return variableIndexes.length;
+    }
+
+    /**
+     * Get the name of the template variable at the given occurrence.
+     *
+     * @param occurrence template variable occurrence index.
+     * @return template variable name.
+     */
+    String variable(final int occurrence) {
+        return variables[variableIndexes[occurrence]];
+    }
+}
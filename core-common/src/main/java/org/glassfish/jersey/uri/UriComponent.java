@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,9 +39,7 @@
  */
 package org.glassfish.jersey.uri;
 
-import java.io.UnsupportedEncodingException;
 import java.net.URI;
-import java.net.URLDecoder;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
@@ -520,40 +518,82 @@ public class UriComponent {
             return queryParameters;
         }
 
+        // single pass over the query string, parameters are decoded directly from the query string ranges
+        final int n = q.length();
         int s = 0;
-        do {
+        while (s < n) {
             int e = q.indexOf('&', s);
-
             if (e == -1) {
-                decodeQueryParam(queryParameters, q.substring(s), decode);
-            } else if (e > s) {
-                decodeQueryParam(queryParameters, q.substring(s, e), decode);
+                e = n;
+            }
+            if (e > s) {
+                decodeQueryParam(queryParameters, q, s, e, decode);
             }
             s = e + 1;
-        } while (s > 0 && s < q.length());
+        }
 
         return queryParameters;
     }
 
     private static void decodeQueryParam(MultivaluedMap<String, String> params,
-                                         String param, boolean decode) {
-        try {
-            int equals = param.indexOf('=');
-            if (equals > 0) {
-                params.add(
-                        URLDecoder.decode(param.substring(0, equals), "UTF-8"),
-                        (decode) ? URLDecoder.decode(param.substring(equals + 1), "UTF-8") : param.substring(equals + 1));
-            } else if (equals == 0) {
-                // no key declared, ignore
-            } else if (param.length() > 0) {
-                params.add(
-                        URLDecoder.decode(param, "UTF-8"),
-                        "");
+                                         String q, int start, int end, boolean decode) {
+        int equals = q.indexOf('=', start);
+        if (equals >= end) {
+            equals = -1;
+        }
+
+        if (equals > start) {
+            params.add(
+                    decodeQueryComponent(q, start, equals),
+                    (decode) ? decodeQueryComponent(q, equals + 1, end) : q.substring(equals + 1, end));
+        } else if (equals == start) {
+            // no key declared, ignore
+        } else {
+            params.add(
+                    decodeQueryComponent(q, start, end),
+                    "");
+        }
+    }
+
+    /**
+     * Decode a range of the query string in the {@code application/x-www-form-urlencoded} form (i.e. {@code '+'}
+     * is decoded as a space). If the range contains neither percent-escaped octets nor {@code '+'} characters,
+     * no intermediate copy of the range is created.
+     */
+    private static String decodeQueryComponent(String q, int start, int end) {
+        int i = start;
+        while (i < end) {
+            final char c = q.charAt(i);
+            if (c == '%' || c == '+') {
+                break;
             }
-        } catch (UnsupportedEncodingException ex) {
-            // This should never occur
-            throw new IllegalArgumentException(ex);
+            i++;
         }
+        if (i == end) {
+            return q.substring(start, end);
+        }
+
+        // Malformed percent-escaped octet at the end of the range
+        final int lastPercent = q.lastIndexOf('%', end - 1);
+        if (lastPercent >= start && lastPercent > end - 3) {
+            throw new IllegalArgumentException(LocalizationMessages.URI_COMPONENT_ENCODED_OCTET_MALFORMED(lastPercent));
+        }
+
+        final StringBuilder sb = new StringBuilder(end - start);
+        sb.append(q, start, i);
+        ByteBuffer bb = null;
+        while (i < end) {
+            final char c = q.charAt(i++);
+            if (c == '+') {
+                sb.append(' ');
+            } else if (c != '%') {
+                sb.append(c);
+            } else {
+                bb = decodePercentEncodedOctets(q, i, bb);
+                i = decodeOctets(i, bb, sb);
+            }
+        }
+        return sb.toString();
     }
 
     private static final class PathSegmentImpl implements PathSegment {
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -44,7 +44,6 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -130,7 +129,7 @@ public class UriTemplate {
     /**
      * The regular expression for matching URI templates and names.
      */
-    private static final Pattern TEMPLATE_NAMES_PATTERN = Pattern.compile("\\{(\\w[-\\w\\.]*)\\}");
+    static final Pattern TEMPLATE_NAMES_PATTERN = Pattern.compile("\\{(\\w[-\\w\\.]*)\\}");
     /**
      * The empty URI template that matches the null or empty URI path.
      */
@@ -144,6 +143,10 @@ public class UriTemplate {
      * the template variables.
      */
     private final String normalizedTemplate;
+    /**
+     * The normalized URI template parsed into literal segments and template variables.
+     */
+    private final TemplateSegments segments;
     /**
      * The pattern generated from the template.
      */
@@ -172,6 +175,7 @@ public class UriTemplate {
      */
     private UriTemplate() {
         this.template = this.normalizedTemplate = "";
+        this.segments = TemplateSegments.parse("");
         this.pattern = PatternWithGroups.EMPTY;
         this.endsWithSlash = false;
         this.templateVariables = Collections.emptyList();
@@ -224,6 +228,8 @@ public class UriTemplate {
 
         this.normalizedTemplate = templateParser.getNormalizedTemplate();
 
+        this.segments = TemplateSegments.parse(normalizedTemplate);
+
         this.pattern = initUriPattern(templateParser);
 
         this.numOfExplicitRegexes = templateParser.getNumberOfExplicitRegexes();
@@ -390,19 +396,17 @@ public class UriTemplate {
      * @return the URI.
      */
     public final String createURI(Map<String, String> values) {
-        StringBuilder b = new StringBuilder();
-        // Find all template variables
-        Matcher m = TEMPLATE_NAMES_PATTERN.matcher(normalizedTemplate);
-        int i = 0;
-        while (m.find()) {
-            b.append(normalizedTemplate, i, m.start());
-            String tValue = values.get(m.group(1));
+        final StringBuilder b = new StringBuilder(normalizedTemplate.length() + 16);
+        final String[] literals = segments.literals;
+        final int size = segments.size();
+        for (int i = 0; i < size; i++) {
+            b.append(literals[i]);
+            final String tValue = values.get(segments.variable(i));
             if (tValue != null) {
                 b.append(tValue);
             }
-            i = m.end();
         }
-        b.append(normalizedTemplate, i, normalizedTemplate.length());
+        b.append(literals[size]);
         return b.toString();
     }
 
@@ -435,34 +439,33 @@ public class UriTemplate {
      * @return the URI.
      */
     public final String createURI(String[] values, int offset, int length) {
-        Map<String, String> mapValues = new HashMap<String, String>();
-        StringBuilder b = new StringBuilder();
-        // Find all template variables
-        Matcher m = TEMPLATE_NAMES_PATTERN.matcher(normalizedTemplate);
+        final StringBuilder b = new StringBuilder(normalizedTemplate.length() + 16);
+        final String[] literals = segments.literals;
+        final int size = segments.size();
+        // values of the template variables indexed by the unique template variable index
+        final String[] resolved = new String[segments.variables.length];
         int v = offset;
         length += offset;
-        int i = 0;
-        while (m.find()) {
-            b.append(normalizedTemplate, i, m.start());
-            String tVariable = m.group(1);
+        for (int i = 0; i < size; i++) {
+            b.append(literals[i]);
+            final int variableIndex = segments.variableIndexes[i];
             // Check if a template variable has already occurred
             // If so use the value to ensure that two or more declarations of
             // a template variable have the same value
-            String tValue = mapValues.get(tVariable);
+            String tValue = resolved[variableIndex];
             if (tValue != null) {
                 b.append(tValue);
             } else {
                 if (v < length) {
                     tValue = values[v++];
                     if (tValue != null) {
-                        mapValues.put(tVariable, tValue);
+                        resolved[variableIndex] = tValue;
                         b.append(tValue);
                     }
                 }
             }
-            i = m.end();
         }
-        b.append(normalizedTemplate, i, normalizedTemplate.length());
+        b.append(literals[size]);
         return b.toString();
     }
 
@@ -740,13 +743,13 @@ public class UriTemplate {
         }
 
         // Find all template variables
-        template = new UriTemplateParser(template).getNormalizedTemplate();
-        final Matcher m = TEMPLATE_NAMES_PATTERN.matcher(template);
+        final TemplateSegments segments = TemplateSegments.of(template);
+        final String[] literals = segments.literals;
+        final int size = segments.size();
         int v = offset;
-        int i = 0;
-        while (m.find()) {
-            b.append(template, i, m.start());
-            final String tVariable = m.group(1);
+        for (int i = 0; i < size; i++) {
+            b.append(literals[i]);
+            final String tVariable = segments.variable(i);
             // Check if a template variable has already occurred
             // If so use the value to ensure that two or more declarations of
             // a template variable have the same value
@@ -765,9 +768,8 @@ public class UriTemplate {
             } else {
                 throw templateVariableHasNoValue(tVariable);
             }
-            i = m.end();
         }
-        b.append(template, i, template.length());
+        b.append(literals[size]);
         return v;
     }
 
@@ -797,13 +799,13 @@ public class UriTemplate {
         StringBuilder sb = new StringBuilder();
 
         // Find all template variables
-        template = new UriTemplateParser(template).getNormalizedTemplate();
-        final Matcher m = TEMPLATE_NAMES_PATTERN.matcher(template);
+        final TemplateSegments segments = TemplateSegments.of(template);
+        final String[] literals = segments.literals;
+        final int size = segments.size();
 
-        int i = 0;
-        while (m.find()) {
-            sb.append(template, i, m.start());
-            final String tVariable = m.group(1);
+        for (int i = 0; i < size; i++) {
+            sb.append(literals[i]);
+            final String tVariable = segments.variable(i);
             Object tValue = mapValues.get(tVariable);
 
             if (tValue != null) {
@@ -819,11 +821,10 @@ public class UriTemplate {
                             + " is null.");
                 }
 
-                sb.append(m.group());
+                sb.append('{').append(tVariable).append('}');
             }
-            i = m.end();
         }
-        sb.append(template, i, template.length());
+        sb.append(literals[size]);
         return sb.toString();
     }
 
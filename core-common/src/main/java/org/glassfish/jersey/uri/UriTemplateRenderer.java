@@ -0,0 +1,341 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.uri;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.UriBuilderException;
+
+import org.glassfish.jersey.uri.internal.JerseyUriBuilder;
+
+/**
+ * Precompiled URI template renderer.
+ * <p>
+ * The renderer is created from a URI template once and can then be used repeatedly (and concurrently)
+ * to build URIs from the template. All the template parsing is done when the renderer is compiled;
+ * rendering a URI is a single pass that appends the literal template segments and the encoded
+ * template values to a {@link StringBuilder}.
+ * </p>
+ * <p>
+ * Template values are supplied positionally. Each unique template variable represents a single slot,
+ * the slots are ordered by the first occurrence of the template variables in the template, consistently
+ * with {@link javax.ws.rs.core.UriBuilder#build(Object...)}. Template values are encoded according to
+ * the URI component they appear in.
+ * </p>
+ * <p>
+ * Example:
+ * <pre>
+ * final UriTemplateRenderer renderer = UriTemplateRenderer.compile("http://example.com/orders/{id}/items/{item}");
+ * ...
+ * final String link = renderer.render(orderId, itemId);
+ * </pre>
+ * </p>
+ *
+ * @see JerseyUriBuilder#toRenderer()
+ */
+public final class UriTemplateRenderer {
+
+    private final String[] literals;
+    private final int[] slots;
+    private final UriComponent.Type[] types;
+    private final boolean[] encode;
+    private final List<String> variables;
+    private final int estimatedLength;
+
+    private UriTemplateRenderer(final Builder builder) {
+        this.literals = builder.literals.toArray(new String[builder.literals.size()]);
+        this.slots = Arrays.copyOf(builder.slots, builder.occurrences);
+        this.types = Arrays.copyOf(builder.types, builder.occurrences);
+        this.encode = Arrays.copyOf(builder.encode, builder.occurrences);
+        this.variables = Collections.unmodifiableList(new ArrayList<String>(builder.variables.keySet()));
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.estimatedLength = length + 16 * slots.length;
+    }
+
+    /**
+     * Compile a URI template into a renderer. The template values will be encoded
+     * and the slash ({@code '/'}) characters in path template values will be encoded as well,
+     * i.e. the renderer produces the same URIs as {@link javax.ws.rs.core.UriBuilder#build(Object...)}.
+     *
+     * @param uriTemplate URI template.
+     * @return URI template renderer.
+     * @throws IllegalArgumentException if the URI template is {@code null} or invalid.
+     */
+    public static UriTemplateRenderer compile(final String uriTemplate) {
+        return new JerseyUriBuilder().uri(uriTemplate).toRenderer();
+    }
+
+    /**
+     * Compile URI template components into a renderer. Each of the components may contain template variables.
+     *
+     * @param scheme            the URI scheme component.
+     * @param authority         the URI authority component.
+     * @param userInfo          the URI user info component.
+     * @param host              the URI host component.
+     * @param port              the URI port component.
+     * @param path              the URI path component.
+     * @param query             the URI query component.
+     * @param fragment          the URI fragment component.
+     * @param encode            if true encode a template value according to the correspond
+     *                          component type of the associated template variable, otherwise
+     *                          contextually encode the template value.
+     * @param encodeSlashInPath if {@code true}, the slash ({@code '/'}) characters
+     *                          in parameter values will be encoded if the template
+     *                          is placed in the URI path component, otherwise the slash
+     *                          characters will not be encoded in path templates.
+     * @return URI template renderer.
+     * @see UriTemplate#createURI(String, String, String, String, String, String, String, String, Object[], boolean, boolean)
+     */
+    public static UriTemplateRenderer compile(
+            final String scheme, final String authority,
+            final String userInfo, final String host, final String port,
+            final String path, final String query, final String fragment,
+            final boolean encode, final boolean encodeSlashInPath) {
+
+        final Builder b = new Builder();
+
+        if (scheme != null) {
+            b.component(UriComponent.Type.SCHEME, scheme, false);
+            b.literal(":");
+        }
+
+        if (userInfo != null || host != null || port != null) {
+            b.literal("//");
+
+            if (userInfo != null && userInfo.length() > 0) {
+                b.component(UriComponent.Type.USER_INFO, userInfo, encode);
+                b.literal("@");
+            }
+
+            if (host != null) {
+                b.component(UriComponent.Type.HOST, host, encode);
+            }
+
+            if (port != null && port.length() > 0) {
+                b.literal(":");
+                b.component(UriComponent.Type.PORT, port, false);
+            }
+        } else if (authority != null) {
+            b.literal("//");
+            b.component(UriComponent.Type.AUTHORITY, authority, encode);
+        }
+
+        if (path != null && path.length() > 0) {
+            if (!b.isEmpty() && path.charAt(0) != '/') {
+                b.literal("/");
+            }
+            // path template values are treated as path segments unless encodeSlashInPath is false.
+            final UriComponent.Type t = (encodeSlashInPath) ? UriComponent.Type.PATH_SEGMENT : UriComponent.Type.PATH;
+            b.component(t, path, encode);
+        }
+
+        if (query != null && query.length() > 0) {
+            b.literal("?");
+            b.component(UriComponent.Type.QUERY_PARAM, query, encode);
+        }
+
+        if (fragment != null && fragment.length() > 0) {
+            b.literal("#");
+            b.component(UriComponent.Type.FRAGMENT, fragment, encode);
+        }
+
+        return b.build();
+    }
+
+    /**
+     * Get the template variable names in the order of the renderer slots.
+     *
+     * @return unmodifiable list of template variable names.
+     */
+    public List<String> getTemplateVariables() {
+        return variables;
+    }
+
+    /**
+     * Render the URI.
+     *
+     * @param values template values in the order of the {@link #getTemplateVariables() template variables}.
+     * @return rendered URI string.
+     * @throws IllegalArgumentException if there is no (or a {@code null}) value for any of the template variables.
+     */
+    public String render(final Object... values) {
+        return renderTo(new StringBuilder(estimatedLength), values).toString();
+    }
+
+    /**
+     * Render the URI.
+     *
+     * @param values template variable name to template value map.
+     * @return rendered URI string.
+     * @throws IllegalArgumentException if there is no (or a {@code null}) value for any of the template variables.
+     */
+    public String render(final Map<String, ?> values) {
+        final Object[] positional = new Object[variables.size()];
+        for (int i = 0; i < positional.length; i++) {
+            positional[i] = values.get(variables.get(i));
+        }
+        return render(positional);
+    }
+
+    /**
+     * Render the URI as a {@link URI} instance.
+     *
+     * @param values template values in the order of the {@link #getTemplateVariables() template variables}.
+     * @return rendered URI.
+     * @throws IllegalArgumentException if there is no (or a {@code null}) value for any of the template variables.
+     * @throws UriBuilderException      if the rendered URI is not a valid URI.
+     */
+    public URI renderUri(final Object... values) {
+        try {
+            return new URI(render(values));
+        } catch (URISyntaxException ex) {
+            throw new UriBuilderException(ex);
+        }
+    }
+
+    /**
+     * Render the URI into a string builder.
+     *
+     * @param sb     string builder to append the rendered URI to.
+     * @param values template values in the order of the {@link #getTemplateVariables() template variables}.
+     * @return the supplied string builder.
+     * @throws IllegalArgumentException if there is no (or a {@code null}) value for any of the template variables.
+     */
+    public StringBuilder renderTo(final StringBuilder sb, final Object... values) {
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]);
+
+            final int slot = slots[i];
+            final Object value = slot < values.length ? values[slot] : null;
+            if (value == null) {
+                throw new IllegalArgumentException("The template variable, "
+                        + variables.get(slot) + ", has no value");
+            }
+            sb.append(encode[i]
+                    ? UriComponent.encode(value.toString(), types[i])
+                    : UriComponent.contextualEncode(value.toString(), types[i]));
+        }
+        return sb.append(literals[slots.length]);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]).append('{').append(variables.get(slots[i])).append('}');
+        }
+        return sb.append(literals[slots.length]).toString();
+    }
+
+    /**
+     * Renderer builder.
+     */
+    private static final class Builder {
+
+        private final List<String> literals = new ArrayList<String>();
+        private final Map<String, Integer> variables = new LinkedHashMap<String, Integer>();
+        private final StringBuilder literal = new StringBuilder();
+
+        private int[] slots = new int[8];
+        private UriComponent.Type[] types = new UriComponent.Type[8];
+        private boolean[] encode = new boolean[8];
+        private int occurrences = 0;
+
+        boolean isEmpty() {
+            return occurrences == 0 && literal.length() == 0;
+        }
+
+        void literal(final String text) {
+            literal.append(text);
+        }
+
+        void component(final UriComponent.Type type, final String template, final boolean encodeValues) {
+            if (template.indexOf('{') == -1) {
+                literal.append(template);
+                return;
+            }
+
+            final TemplateSegments segments = TemplateSegments.of(template);
+            final int size = segments.size();
+            for (int i = 0; i < size; i++) {
+                literal.append(segments.literals[i]);
+                slot(segments.variable(i), type, encodeValues);
+            }
+            literal.append(segments.literals[size]);
+        }
+
+        private void slot(final String variable, final UriComponent.Type type, final boolean encodeValues) {
+            Integer slot = variables.get(variable);
+            if (slot == null) {
+                slot = variables.size();
+                variables.put(variable, slot);
+            }
+
+            if (occurrences == slots.length) {
+                slots = Arrays.copyOf(slots, occurrences * 2);
+                types = Arrays.copyOf(types, occurrences * 2);
+                encode = Arrays.copyOf(encode, occurrences * 2);
+            }
+            slots[occurrences] = slot;
+            types[occurrences] = type;
+            encode[occurrences] = encodeValues;
+            occurrences++;
+
+            literals.add(literal.toString());
+            literal.setLength(0);
+        }
+
+        UriTemplateRenderer build() {
+            literals.add(literal.toString());
+            return new UriTemplateRenderer(this);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -55,6 +55,7 @@ import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.util.collection.MultivaluedStringMap;
 import org.glassfish.jersey.uri.UriComponent;
 import org.glassfish.jersey.uri.UriTemplate;
+import org.glassfish.jersey.uri.UriTemplateRenderer;
 
 import com.google.common.collect.Maps;
 import com.google.common.net.InetAddresses;
@@ -816,6 +817,43 @@ public class JerseyUriBuilder extends UriBuilder {
         return _build(false, false, values);
     }
 
+    /**
+     * Compile the current state of the builder into a reusable {@link UriTemplateRenderer URI template renderer}.
+     * The renderer builds the same URIs as {@link #build(Object...)} would, without the need to parse
+     * the URI template again for each URI.
+     *
+     * @return URI template renderer.
+     * @throws IllegalArgumentException if the scheme specific part is opaque.
+     */
+    public UriTemplateRenderer toRenderer() {
+        return toRenderer(true, true);
+    }
+
+    /**
+     * Compile the current state of the builder into a reusable {@link UriTemplateRenderer URI template renderer}.
+     *
+     * @param encode            if {@code true} encode the template values according to the URI component
+     *                          they are placed in (see {@link #build(Object...)}), otherwise contextually encode
+     *                          the template values (see {@link #buildFromEncoded(Object...)}).
+     * @param encodeSlashInPath if {@code true}, the slash ({@code '/'}) characters in template values
+     *                          placed in the URI path component will be encoded.
+     * @return URI template renderer.
+     * @throws IllegalArgumentException if the scheme specific part is opaque.
+     */
+    public UriTemplateRenderer toRenderer(boolean encode, boolean encodeSlashInPath) {
+        if (ssp != null) {
+            throw new IllegalArgumentException(LocalizationMessages.URI_BUILDER_SCHEMA_PART_OPAQUE());
+        }
+
+        encodeMatrix();
+        encodeQuery();
+
+        return UriTemplateRenderer.compile(
+                scheme, authority,
+                userInfo, host, port,
+                path.toString(), query.toString(), fragment, encode, encodeSlashInPath);
+    }
+
     // @Override
     public String toTemplate() {
         encodeMatrix();
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -46,6 +46,8 @@ import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Martin Matula (martin.matula at oracle.com)
@@ -95,4 +97,27 @@ public class GZipEncodingTest extends AbstractEncodingTest {
             }
         });
     }
+
+    @Test
+    public void testStatistics() throws IOException {
+        final GZipEncoder encoder = new GZipEncoder();
+        for (int i = 0; i < 3; i++) {
+            test(new TestSpec() {
+                @Override
+                public OutputStream getEncoded(OutputStream stream) throws IOException {
+                    return encoder.encode("gzip", stream);
+                }
+
+                @Override
+                public InputStream getDecoded(InputStream stream) throws IOException {
+                    return new GZIPInputStream(stream);
+                }
+            });
+        }
+
+        final CompressionStatistics statistics = encoder.getStatistics();
+        assertEquals(3, statistics.getMessageCount());
+        assertEquals(3 * "Hello world!".length(), statistics.getUncompressedBytes());
+        assertTrue(statistics.getCompressedBytes() > 0);
+    }
 }
@@ -43,6 +43,7 @@ package org.glassfish.jersey.message.internal;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 import javax.ws.rs.RuntimeType;
@@ -52,6 +53,7 @@ import org.glassfish.jersey.model.internal.CommonConfig;
 import org.glassfish.jersey.model.internal.ComponentBag;
 
 import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -360,6 +362,113 @@ public class CommittingOutputStreamTest {
         writeAndCheckIllegalState(cos);
     }
 
+    @Test
+    public void testPooledBufferRecycled() throws IOException {
+        final BufferPool pool = new BufferPool(3, 1, 1);
+        final Passed passed = new Passed();
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(1000);
+        CommittingOutputStream cos = new CommittingOutputStream();
+        setupBufferedStreamProvider(passed, baos, cos, 2);
+        cos.enableBuffering(3, pool);
+
+        cos.write(new byte[]{1, 2});
+        checkNotYetCommitted(passed, baos, cos);
+        assertEquals(0, pool.getIdleCount());
+        cos.commit();
+        check(baos, new byte[]{1, 2});
+        assertEquals(1, pool.getIdleCount());
+        cos.close();
+
+        try {
+            cos.write(3);
+            fail("Write to a closed stream with a pooled buffer should fail.");
+        } catch (IOException e) {
+            // ok - the stream is still referenced after it has been closed
+        }
+        check(baos, new byte[]{1, 2});
+    }
+
+    @Test
+    public void testPooledBufferRecycledOnOverflow() throws IOException {
+        final BufferPool pool = new BufferPool(3, 1, 1);
+        final Passed passed = new Passed();
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(1000);
+        CommittingOutputStream cos = new CommittingOutputStream();
+        setupBufferedStreamProvider(passed, baos, cos, -1);
+        cos.enableBuffering(3, pool);
+
+        cos.write(new byte[]{1, 2});
+        cos.write(new byte[]{3, 4});
+        checkCommitted(passed, cos);
+        check(baos, new byte[]{1, 2, 3, 4});
+        assertEquals(1, pool.getIdleCount());
+        cos.close();
+    }
+
+    private static class GatheringByteArrayOutputStream extends ByteArrayOutputStream implements GatheringOutput {
+
+        private int gatheringWrites = 0;
+
+        @Override
+        public void write(ByteBuffer[] buffers) throws IOException {
+            gatheringWrites++;
+            for (ByteBuffer buffer : buffers) {
+                write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+        }
+    }
+
+    @Test
+    public void testSegmentedBufferGatheringWrite() throws IOException {
+        final int size = 2 * SegmentedBuffer.DEFAULT_SEGMENT_SIZE + 100;
+        final GatheringByteArrayOutputStream out = new GatheringByteArrayOutputStream();
+        CommittingOutputStream cos = new CommittingOutputStream();
+        cos.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+            @Override
+            public OutputStream getOutputStream(int contentLength) throws IOException {
+                assertEquals(size, contentLength);
+                return out;
+            }
+        });
+        cos.enableBuffering(size);
+
+        final byte[] expected = new byte[size];
+        for (int i = 0; i < size; i++) {
+            expected[i] = (byte) i;
+        }
+        for (int i = 0; i < size; i += 1000) {
+            cos.write(expected, i, Math.min(1000, size - i));
+        }
+        assertFalse(cos.isCommitted());
+        cos.close();
+
+        assertEquals(1, out.gatheringWrites);
+        assertArrayEquals(expected, out.toByteArray());
+    }
+
+    @Test
+    public void testPooledSegmentsNotGathered() throws IOException {
+        final BufferPool pool = new BufferPool(3, 1, 1);
+        final GatheringByteArrayOutputStream out = new GatheringByteArrayOutputStream();
+        CommittingOutputStream cos = new CommittingOutputStream();
+        cos.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+            @Override
+            public OutputStream getOutputStream(int contentLength) throws IOException {
+                assertEquals(2, contentLength);
+                return out;
+            }
+        });
+        cos.enableBuffering(3, pool);
+
+        cos.write(new byte[]{1, 2});
+        cos.close();
+
+        // pooled segments are reused, their ownership must not be passed to the output
+        assertEquals(0, out.gatheringWrites);
+        assertArrayEquals(new byte[]{1, 2}, out.toByteArray());
+        assertEquals(1, pool.getIdleCount());
+    }
+
     private void writeAndCheckIllegalState(CommittingOutputStream cos) throws IOException {
         try {
             cos.write('a');
@@ -0,0 +1,152 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link CompressorPool} and pooled compression streams tests.
+ */
+public class CompressorPoolTest {
+
+    @Test
+    public void testDeflaterReused() throws IOException {
+        final CompressorPool<Deflater> pool = CompressorPool.deflaters(Deflater.BEST_SPEED, true, 1);
+        final Deflater deflater = pool.acquire();
+        pool.release(deflater);
+        assertEquals(1, pool.getIdleCount());
+        assertSame(deflater, pool.acquire());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void testPoolBounded() {
+        final CompressorPool<Inflater> pool = CompressorPool.inflaters(false, 1);
+        final Inflater first = pool.acquire();
+        final Inflater second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLevel() {
+        CompressorPool.deflaters(42, false, 1);
+    }
+
+    @Test
+    public void testGZipRoundTrip() throws IOException {
+        final CompressorPool<Deflater> deflaters = CompressorPool.deflaters(Deflater.DEFAULT_COMPRESSION, true, 1);
+        final byte[] entity = "Hello pooled world! Hello pooled world!".getBytes();
+
+        for (int i = 0; i < 2; i++) {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            final OutputStream out = new PooledGZipOutputStream(baos, deflaters, 16, null);
+            out.write(entity);
+            out.close();
+            assertEquals(1, deflaters.getIdleCount());
+
+            final InputStream in = new GZIPInputStream(new ByteArrayInputStream(baos.toByteArray()));
+            assertArrayEquals(entity, readAll(in));
+        }
+    }
+
+    @Test
+    public void testDeflaterReleasedOnHeaderFailure() {
+        final CompressorPool<Deflater> deflaters = CompressorPool.deflaters(Deflater.DEFAULT_COMPRESSION, true, 1);
+        final OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        try {
+            new PooledGZipOutputStream(failing, deflaters, 16, null);
+            fail("Header write failure must be propagated.");
+        } catch (IOException expected) {
+            // ok
+        }
+        assertEquals(1, deflaters.getIdleCount());
+    }
+
+    @Test
+    public void testInflaterReturnedOnClose() throws IOException {
+        final CompressorPool<Deflater> deflaters = CompressorPool.deflaters(Deflater.DEFAULT_COMPRESSION, false, 1);
+        final CompressorPool<Inflater> inflaters = CompressorPool.inflaters(false, 1);
+        final byte[] entity = "Hello world!".getBytes();
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final OutputStream out = new PooledDeflaterOutputStream(baos, deflaters, 512, null);
+        out.write(entity);
+        out.close();
+
+        final InputStream in = new PooledInflaterInputStream(new ByteArrayInputStream(baos.toByteArray()), inflaters, 512);
+        assertArrayEquals(entity, readAll(in));
+        in.close();
+        assertEquals(1, inflaters.getIdleCount());
+
+        try {
+            in.read();
+            fail("Reading from a closed stream must fail.");
+        } catch (IOException expected) {
+            // ok
+        }
+    }
+
+    private static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReaderWriter.writeTo(in, out);
+        return out.toByteArray();
+    }
+}
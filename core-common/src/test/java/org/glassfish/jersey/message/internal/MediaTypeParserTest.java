@@ -0,0 +1,172 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.text.ParseException;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Media type parser unit tests. The results of the single-pass parser are verified against
+ * the generic header reader.
+ */
+public class MediaTypeParserTest {
+
+    private static final String[] ACCEPT_HEADERS = new String[] {
+            "",
+            "   ",
+            "*",
+            "*/*",
+            "text/html",
+            "text/html,",
+            "text/html;",
+            "text/html; , text/plain",
+            "application/json, text/plain;q=0.5, */*;q=0.1",
+            "text/*, text/html, */*, text/plain; charset=UTF-8",
+            "*/html, */*, text/*, text/plain",
+            "text/html;level=1;q=0.7, text/html;q=0.7, TEXT/XML; Q=0.7",
+            "text/html;q=0.3;q=0.8, text/plain;q=0.5",
+            "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8",
+            "application/xml; charset=\"UTF-8\"; q=1, application/json; q=0.9",
+            "application/xml; charset=\"a\\\"b\"",
+            "application/xml;;q=0.5, text/plain",
+            "text/html ;q=0.5, text/plain",
+            "text/html; q = 0.5",
+            "text/html (comment)",
+            "text /html",
+    };
+
+    private static final String[] INVALID_ACCEPT_HEADERS = new String[] {
+            ",",
+            "text/html,,text/plain",
+            "text/html text/plain",
+            "text/html;q=2",
+            "text/html;q=abc",
+            "text/html;q=0.5;q=xyz",
+            "text/html; charset=\"UTF-8",
+            "text/",
+    };
+
+    @Test
+    public void testAcceptMediaTypes() throws Exception {
+        for (String header : ACCEPT_HEADERS) {
+            final List<AcceptableMediaType> expected;
+            try {
+                expected = HttpHeaderReader.readAcceptMediaTypeGeneric(header);
+            } catch (ParseException ex) {
+                assertInvalid(header);
+                continue;
+            }
+            assertEquals("Unexpected result for '" + header + "'.",
+                    expected, MediaTypeParser.readAcceptMediaType(header));
+            assertEquals("Unexpected result for '" + header + "'.",
+                    expected, MediaTypeParser.readAcceptMediaType(new StringBuilder(header)));
+            assertEquals("Unexpected result for '" + header + "'.",
+                    expected, HttpHeaderReader.readAcceptMediaType(header));
+        }
+    }
+
+    @Test
+    public void testInvalidAcceptMediaTypes() throws Exception {
+        for (String header : INVALID_ACCEPT_HEADERS) {
+            assertInvalid(header);
+        }
+    }
+
+    private static void assertInvalid(final String header) {
+        try {
+            MediaTypeParser.readAcceptMediaType(header);
+            fail("ParseException expected for '" + header + "'.");
+        } catch (ParseException expected) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testAcceptOrdering() throws Exception {
+        final List<AcceptableMediaType> types =
+                MediaTypeParser.readAcceptMediaType("*/*;q=0.8, text/*, application/json;q=0.9, text/html, */html");
+
+        assertType("text", "html", 1000, types.get(0));
+        assertType("text", "*", 1000, types.get(1));
+        assertType("*", "html", 1000, types.get(2));
+        assertType("application", "json", 900, types.get(3));
+        assertType("*", "*", 800, types.get(4));
+    }
+
+    private static void assertType(String type, String subtype, int quality, AcceptableMediaType mediaType) {
+        assertEquals(type, mediaType.getType());
+        assertEquals(subtype, mediaType.getSubtype());
+        assertEquals(quality, mediaType.getQuality());
+    }
+
+    @Test
+    public void testAcceptCached() throws Exception {
+        final String header = "application/json, text/plain;q=0.5";
+        assertSame(MediaTypeParser.readAcceptMediaType(header), MediaTypeParser.readAcceptMediaType(header));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAcceptResultImmutable() throws Exception {
+        MediaTypeParser.readAcceptMediaType("text/html, text/plain").clear();
+    }
+
+    @Test
+    public void testAcceptResultCopied() throws Exception {
+        final List<AcceptableMediaType> types = HttpHeaderReader.readAcceptMediaType("text/html, text/plain");
+        types.clear();
+        assertEquals(2, HttpHeaderReader.readAcceptMediaType("text/html, text/plain").size());
+    }
+
+    @Test
+    public void testMediaType() throws Exception {
+        assertSame(MediaType.APPLICATION_JSON_TYPE, MediaTypeParser.readMediaType("application/json"));
+        assertEquals(new MediaType("text", "plain", "UTF-8"), MediaTypeParser.readMediaType("text/plain;charset=UTF-8"));
+        assertSame(MediaTypeParser.readMediaType("text/csv"), MediaTypeParser.readMediaType("text/csv"));
+        assertEquals(MediaTypeProvider.valueOf(HttpHeaderReader.newInstance("text/plain; charset=\"UTF-8\"")),
+                MediaTypeParser.readMediaType("text/plain; charset=\"UTF-8\""));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Type;
+import java.util.Collections;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.RuntimeDelegate;
+
+import org.glassfish.jersey.internal.TestBinder;
+import org.glassfish.jersey.internal.TestRuntimeDelegate;
+import org.glassfish.jersey.internal.inject.Injections;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+
+import org.glassfish.hk2.api.ServiceLocator;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link MessageBodyFactory} worker look-up cache tests.
+ */
+public class MessageBodyFactoryTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public static @interface Custom {
+    }
+
+    @Produces("text/plain")
+    public static class CustomStringWriter implements MessageBodyWriter<String> {
+
+        @Override
+        public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            if (type != String.class) {
+                return false;
+            }
+            for (Annotation annotation : annotations) {
+                if (annotation instanceof Custom) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public long getSize(String s, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(String s, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                            MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+                throws IOException, WebApplicationException {
+            entityStream.write(("custom:" + s).getBytes());
+        }
+    }
+
+    @Custom
+    private static class Annotated {
+    }
+
+    private ServiceLocator locator;
+
+    @Before
+    public void setUp() {
+        RuntimeDelegate.setInstance(new TestRuntimeDelegate());
+        locator = Injections.createLocator(new TestBinder());
+        TestBinder.initProviders(locator, Collections.<Class<?>>singleton(CustomStringWriter.class),
+                Collections.<Object>emptySet());
+    }
+
+    @Test
+    public void testWriterResolutionCached() {
+        final MessageBodyFactory workers = (MessageBodyFactory) locator.getService(MessageBodyWorkers.class);
+
+        final MessageBodyWriter<byte[]> first = workers.getMessageBodyWriter(byte[].class, byte[].class,
+                new Annotation[0], MediaType.APPLICATION_OCTET_STREAM_TYPE);
+        final MessageBodyWriter<byte[]> second = workers.getMessageBodyWriter(byte[].class, byte[].class,
+                new Annotation[0], MediaType.APPLICATION_OCTET_STREAM_TYPE);
+
+        assertNotNull(first);
+        assertSame(first, second);
+
+        final MessageBodyFactory.CacheStatistics statistics = workers.getCacheStatistics();
+        assertEquals(1, statistics.getWriterMisses());
+        assertEquals(1, statistics.getWriterHits());
+        assertEquals(1, statistics.getWriterCacheSize());
+    }
+
+    @Test
+    public void testAnnotationSensitiveWriterConsultedOnCacheHit() {
+        final MessageBodyWorkers workers = locator.getService(MessageBodyWorkers.class);
+        final Annotation[] custom = Annotated.class.getAnnotations();
+
+        for (int i = 0; i < 2; i++) {
+            final MessageBodyWriter<String> plain = workers.getMessageBodyWriter(String.class, String.class,
+                    new Annotation[0], MediaType.TEXT_PLAIN_TYPE);
+            assertNotNull(plain);
+            assertTrue(plain.getClass() != CustomStringWriter.class);
+
+            final MessageBodyWriter<String> annotated = workers.getMessageBodyWriter(String.class, String.class,
+                    custom, MediaType.TEXT_PLAIN_TYPE);
+            assertSame(CustomStringWriter.class, annotated.getClass());
+        }
+
+        assertEquals(3, ((MessageBodyFactory) workers).getCacheStatistics().getWriterHits());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link SegmentedBuffer} tests.
+ */
+public class SegmentedBufferTest {
+
+    private static byte[] data(int size) {
+        final byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    private static SegmentedBuffer buffer(byte[] data, int segmentSize) {
+        final SegmentedBuffer buffer = new SegmentedBuffer(segmentSize);
+        buffer.write(data[0]);
+        buffer.write(data, 1, 6);
+        buffer.write(data, 7, data.length - 7);
+        return buffer;
+    }
+
+    @Test
+    public void testWriteTo() throws IOException {
+        final byte[] data = data(25);
+        final SegmentedBuffer buffer = buffer(data, 4);
+        assertEquals(25, buffer.size());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buffer.writeTo(out);
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    public void testToByteBuffers() {
+        final byte[] data = data(25);
+        final ByteBuffer[] buffers = buffer(data, 10).toByteBuffers();
+        assertEquals(3, buffers.length);
+
+        final ByteBuffer all = ByteBuffer.allocate(25);
+        for (ByteBuffer b : buffers) {
+            all.put(b);
+        }
+        assertArrayEquals(data, all.array());
+    }
+
+    @Test
+    public void testInputStreamReset() throws IOException {
+        final byte[] data = data(25);
+        final InputStream in = buffer(data, 4).toInputStream();
+
+        final byte[] read = new byte[25];
+        read[0] = (byte) in.read();
+        in.mark(100);
+        assertEquals(24, in.read(read, 1, 100));
+        assertEquals(-1, in.read());
+        assertArrayEquals(data, read);
+
+        in.reset();
+        assertEquals(24, in.available());
+        in.close();
+
+        // like ByteArrayInputStream, the stream can be re-read after it has been closed
+        in.reset();
+        final byte[] reread = new byte[25];
+        assertEquals(24, in.read(reread, 1, 24));
+        assertEquals(-1, in.read());
+        reread[0] = data[0];
+        assertArrayEquals(data, reread);
+    }
+
+    @Test
+    public void testPooledSegmentsReleased() {
+        final BufferPool pool = new BufferPool(4, 1, 10);
+        final SegmentedBuffer buffer = new SegmentedBuffer(pool);
+        buffer.write(data(9), 0, 9);
+        assertEquals(0, pool.getIdleCount());
+
+        buffer.release();
+        assertEquals(3, pool.getIdleCount());
+        assertEquals(0, buffer.size());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.uri;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link UriComponent} query decoding tests.
+ */
+public class UriComponentTest {
+
+    @Test
+    public void testDecodeQuery() {
+        final MultivaluedMap<String, String> params =
+                UriComponent.decodeQuery("a=1&b=x+y&c=%7Bz%7D&a=2&&=ignored&flag&%C3%A9t%C3%A9=%E2%82%AC", true);
+
+        assertEquals(5, params.size());
+        assertEquals("1", params.get("a").get(0));
+        assertEquals("2", params.get("a").get(1));
+        assertEquals("x y", params.getFirst("b"));
+        assertEquals("{z}", params.getFirst("c"));
+        assertEquals("", params.getFirst("flag"));
+        assertEquals("\u20ac", params.getFirst("\u00e9t\u00e9"));
+    }
+
+    @Test
+    public void testDecodeQueryEncodedValues() {
+        final MultivaluedMap<String, String> params = UriComponent.decodeQuery("k%20ey=x+y%20z&e=", false);
+
+        assertEquals("x+y%20z", params.getFirst("k ey"));
+        assertEquals("", params.getFirst("e"));
+    }
+
+    @Test
+    public void testDecodeEmptyQuery() {
+        assertTrue(UriComponent.decodeQuery((String) null, true).isEmpty());
+        assertTrue(UriComponent.decodeQuery("", true).isEmpty());
+        assertTrue(UriComponent.decodeQuery("&&", true).isEmpty());
+    }
+
+    @Test
+    public void testDecodeMalformedQuery() {
+        for (String query : new String[]{"a=%", "a=%4", "a%=b", "a=%4G", "a=%41%"}) {
+            try {
+                UriComponent.decodeQuery(query, true);
+                fail("Malformed query should be rejected: " + query);
+            } catch (IllegalArgumentException expected) {
+                // ok
+            }
+        }
+    }
+}
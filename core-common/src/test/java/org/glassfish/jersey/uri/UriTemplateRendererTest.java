@@ -0,0 +1,141 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.uri;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.glassfish.jersey.uri.internal.JerseyUriBuilder;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link UriTemplateRenderer} unit tests.
+ */
+public class UriTemplateRendererTest {
+
+    @Test
+    public void testRenderSameAsBuild() {
+        _testRenderSameAsBuild("http://localhost:8080/orders/{id}", "a b");
+        _testRenderSameAsBuild("http://{host}:{port}/a/{b}/c{d}?x={x}&y={b}#{f}", "localhost", 80, "a/b", "c?d", "e&f", "g");
+        _testRenderSameAsBuild("http://example.org/{a: [0-9]+}/{b}/", 1, "%20");
+        _testRenderSameAsBuild("/relative/{a}/path/{a}", "x y");
+        _testRenderSameAsBuild("http://localhost/static/path?q=1");
+    }
+
+    private void _testRenderSameAsBuild(final String template, final Object... values) {
+        final UriTemplateRenderer renderer = UriTemplateRenderer.compile(template);
+        assertEquals(values.length, renderer.getTemplateVariables().size());
+
+        final URI expected = new JerseyUriBuilder().uri(template).build(values);
+        assertEquals(expected.toString(), renderer.render(values));
+        assertEquals(expected, renderer.renderUri(values));
+    }
+
+    @Test
+    public void testRenderEncoded() {
+        final JerseyUriBuilder builder = new JerseyUriBuilder().uri("http://localhost/{a}/{b}");
+        final UriTemplateRenderer renderer = builder.toRenderer(false, false);
+
+        assertEquals(builder.buildFromEncoded("x%20y", "c/d").toString(), renderer.render("x%20y", "c/d"));
+    }
+
+    @Test
+    public void testRenderFromMap() {
+        final UriTemplateRenderer renderer = UriTemplateRenderer.compile("http://localhost/{a}/{b}?c={a}");
+        assertEquals(Arrays.asList("a", "b"), renderer.getTemplateVariables());
+
+        final Map<String, Object> values = new HashMap<String, Object>();
+        values.put("a", "x");
+        values.put("b", 1);
+        assertEquals("http://localhost/x/1?c=x", renderer.render(values));
+        assertEquals("http://localhost/x/1?c=x", renderer.render("x", 1));
+    }
+
+    @Test
+    public void testRenderTo() {
+        final UriTemplateRenderer renderer = UriTemplateRenderer.compile("/items/{id}");
+        final StringBuilder sb = new StringBuilder("<");
+        renderer.renderTo(sb, 1).append('>');
+        renderer.renderTo(sb.append(",<"), 2).append('>');
+
+        assertEquals("</items/1>,</items/2>", sb.toString());
+    }
+
+    @Test
+    public void testMissingValue() {
+        final UriTemplateRenderer renderer = UriTemplateRenderer.compile("/items/{id}/{sub}");
+        try {
+            renderer.render("1");
+            fail("IllegalArgumentException expected.");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+        try {
+            renderer.render("1", null);
+            fail("IllegalArgumentException expected.");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("http://localhost/{a}/{b}", UriTemplateRenderer.compile("http://localhost/{a: .*}/{b}").toString());
+    }
+
+    @Test
+    public void testTemplateCacheKeepsRecentTemplates() {
+        final String recent = "/recent/{id}";
+        final TemplateSegments segments = TemplateSegments.of(recent);
+        for (int i = 0; i < 2 * TemplateSegments.MAX_CACHE_SIZE; i++) {
+            TemplateSegments.of("/filler/" + i + "/{id}");
+            assertSame(segments, TemplateSegments.of(recent));
+        }
+
+        final String late = "/late/{id}";
+        assertSame(TemplateSegments.of(late), TemplateSegments.of(late));
+    }
+}
@@ -39,10 +39,12 @@
  */
 package org.glassfish.jersey.server;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.security.Principal;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -76,6 +78,7 @@ import javax.inject.Singleton;
 
 import org.glassfish.jersey.CommonProperties;
 import org.glassfish.jersey.internal.Errors;
+import org.glassfish.jersey.internal.spi.AutoDiscoverable;
 import org.glassfish.jersey.internal.ServiceFinder;
 import org.glassfish.jersey.internal.Version;
 import org.glassfish.jersey.internal.inject.Injections;
@@ -84,6 +87,7 @@ import org.glassfish.jersey.internal.inject.ProviderBinder;
 import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.internal.util.Tokenizer;
 import org.glassfish.jersey.model.ContractProvider;
 import org.glassfish.jersey.model.internal.ComponentBag;
 import org.glassfish.jersey.model.internal.RankedComparator;
@@ -206,12 +210,14 @@ public final class ApplicationHandler {
             bindFactory(new RuntimeConfigProvider()).to(ServerConfig.class).to(Configuration.class).in(Singleton.class);
             bindFactory(new JaxrsApplicationProvider()).to(Application.class).in(Singleton.class);
             bind(ApplicationHandler.this).to(ApplicationHandler.class);
+            bind(startupStatistics).to(StartupStatistics.class);
         }
     }
 
     private final Application application;
     private final ResourceConfig runtimeConfig;
     private final ServiceLocator locator;
+    private final StartupStatistics startupStatistics = new StartupStatistics();
     private ServerRuntime runtime;
 
     /**
@@ -298,6 +304,7 @@ public final class ApplicationHandler {
      */
     private void initialize() {
         LOGGER.info(LocalizationMessages.INIT_MSG(Version.getBuildId()));
+        long phaseStart = System.nanoTime();
 
         // Lock original ResourceConfig.
         if (application instanceof ResourceConfig) {
@@ -312,28 +319,31 @@ public final class ApplicationHandler {
 
         // Configure binders and features.
         runtimeConfig.configureMetaProviders(locator);
+        phaseStart = startupStatistics.phaseFinished(StartupStatistics.Phase.CONFIGURATION, phaseStart);
 
         // Introspecting classes & instances
+        final List<Class<?>> classes = Lists.newArrayList(runtimeConfig.getClasses());
+        final List<Object> singletons = Lists.newArrayList(runtimeConfig.getSingletons());
+        final List<Class<?>> introspectedClasses = Lists.newArrayList(classes);
+        for (Object o : singletons) {
+            introspectedClasses.add(o.getClass());
+        }
+        final boolean parallel = PropertiesHelper.getValue(runtimeConfig.getProperties(),
+                ServerProperties.PARALLEL_INITIALIZATION, Boolean.FALSE, Boolean.class);
+        final List<Resource> introspectedResources = new ResourceIntrospector(parallel).introspect(introspectedClasses);
+
+        // register the resources in the original (sequential) order
         final ResourceBag.Builder resourceBagBuilder = new ResourceBag.Builder();
-        for (Class<?> c : runtimeConfig.getClasses()) {
-            try {
-                Resource resource = Resource.from(c);
-                if (resource != null) {
-                    resourceBagBuilder.registerResource(c, resource);
-                }
-            } catch (IllegalArgumentException ex) {
-                LOGGER.warning(ex.getMessage());
+        for (int i = 0; i < classes.size(); i++) {
+            final Resource resource = introspectedResources.get(i);
+            if (resource != null) {
+                resourceBagBuilder.registerResource(classes.get(i), resource);
             }
         }
-
-        for (Object o : runtimeConfig.getSingletons()) {
-            try {
-                Resource resource = Resource.from(o.getClass());
-                if (resource != null) {
-                    resourceBagBuilder.registerResource(o, resource);
-                }
-            } catch (IllegalArgumentException ex) {
-                LOGGER.warning(ex.getMessage());
+        for (int i = 0; i < singletons.size(); i++) {
+            final Resource resource = introspectedResources.get(classes.size() + i);
+            if (resource != null) {
+                resourceBagBuilder.registerResource(singletons.get(i), resource);
             }
         }
 
@@ -345,6 +355,7 @@ public final class ApplicationHandler {
         final ResourceBag resourceBag = resourceBagBuilder.build();
 
         runtimeConfig.lock();
+        phaseStart = startupStatistics.phaseFinished(StartupStatistics.Phase.INTROSPECTION, phaseStart);
 
         // Registering Injection Bindings
         final Set<ComponentProvider> componentProviders = new HashSet<ComponentProvider>();
@@ -361,17 +372,28 @@ public final class ApplicationHandler {
         }
 
         final ProcessingProviders processingProviders = getProcessingProviders(componentBag);
+        phaseStart = startupStatistics.phaseFinished(StartupStatistics.Phase.BINDING, phaseStart);
 
         ResourceModel resourceModel = new ResourceModel.Builder(resourceBag.getRootResources(), false).build();
 
         resourceModel = processResourceModel(resourceModel);
-        // validate the models
-        validate(resourceModel);
+        phaseStart = startupStatistics.phaseFinished(StartupStatistics.Phase.MODEL_PROCESSING, phaseStart);
+
+        // validate the models unless the application matches the stored validation snapshot
+        final ValidationSnapshot validationSnapshot = createValidationSnapshot(resourceModel, componentBag, componentProviders);
+        if (validationSnapshot != null && validationSnapshot.matches()) {
+            startupStatistics.validationSkipped();
+        } else if (validate(resourceModel) && validationSnapshot != null) {
+            validationSnapshot.store();
+        }
+        phaseStart = startupStatistics.phaseFinished(StartupStatistics.Phase.VALIDATION, phaseStart);
 
         bindEnhancingResourceClasses(resourceModel, resourceBag, componentProviders);
 
         final RuntimeModelBuilder runtimeModelBuilder = locator.getService(RuntimeModelBuilder.class);
         runtimeModelBuilder.setProcessingProviders(processingProviders);
+        runtimeModelBuilder.setLazyRouting(PropertiesHelper.getValue(runtimeConfig.getProperties(),
+                ServerProperties.LAZY_ROUTING, Boolean.FALSE, Boolean.class), getLazyRoutingWarmUp());
 
         // assembly request processing chain
         /**
@@ -400,6 +422,7 @@ public final class ApplicationHandler {
                 .to(routingStage)
                 .to(resourceFilteringStage)
                 .build(routedInflectorExtractorStage);
+        phaseStart = startupStatistics.phaseFinished(StartupStatistics.Phase.ROUTING, phaseStart);
 
         // Inject instances.
         for (Object instance : componentBag.getInstances(ComponentBag.EXCLUDE_META_PROVIDERS)) {
@@ -417,6 +440,67 @@ public final class ApplicationHandler {
 
         // inject self
         locator.inject(this);
+        startupStatistics.phaseFinished(StartupStatistics.Phase.RUNTIME, phaseStart);
+
+        if (LOGGER.isLoggable(Level.CONFIG)) {
+            LOGGER.config(LocalizationMessages.INIT_STARTUP_STATISTICS(
+                    startupStatistics.getTotalTime(TimeUnit.MILLISECONDS), startupStatistics));
+        }
+    }
+
+    /**
+     * Create the resource model validation snapshot if {@link ServerProperties#RESOURCE_VALIDATION_SNAPSHOT enabled}.
+     *
+     * @param resourceModel      processed resource model to be validated.
+     * @param componentBag       component bag of the application.
+     * @param componentProviders component providers used to bind the application components.
+     * @return validation snapshot of the application or {@code null} if the snapshot is not enabled or cannot be used.
+     */
+    private ValidationSnapshot createValidationSnapshot(final ResourceModel resourceModel,
+                                                        final ComponentBag componentBag,
+                                                        final Collection<ComponentProvider> componentProviders) {
+        final Object snapshotFile = runtimeConfig.getProperty(ServerProperties.RESOURCE_VALIDATION_SNAPSHOT);
+        if (snapshotFile == null || !runtimeConfig.getResources().isEmpty()) {
+            // programmatic resources cannot be fingerprinted
+            return null;
+        }
+
+        final Set<Class<?>> classes = Sets.newIdentityHashSet();
+        classes.add(application.getClass());
+        classes.addAll(runtimeConfig.getClasses());
+        for (Object singleton : runtimeConfig.getSingletons()) {
+            classes.add(singleton.getClass());
+        }
+        // registered as well as auto-discovered providers and features
+        classes.addAll(componentBag.getClasses());
+        for (Object instance : componentBag.getInstances()) {
+            classes.add(instance.getClass());
+        }
+        for (AutoDiscoverable autoDiscoverable : Providers.getProviders(locator, AutoDiscoverable.class)) {
+            classes.add(autoDiscoverable.getClass());
+        }
+        for (ComponentProvider componentProvider : componentProviders) {
+            classes.add(componentProvider.getClass());
+        }
+
+        final File file = snapshotFile instanceof File ? (File) snapshotFile : new File(snapshotFile.toString());
+        return ValidationSnapshot.create(file, classes, resourceModel, runtimeConfig.getProperties());
+    }
+
+    /**
+     * Get the root resources whose routers should be materialized eagerly even if the
+     * {@link ServerProperties#LAZY_ROUTING lazy routing} is enabled.
+     *
+     * @return paths and class names configured by {@link ServerProperties#LAZY_ROUTING_WARM_UP}, never {@code null}.
+     */
+    private List<String> getLazyRoutingWarmUp() {
+        final Object value = runtimeConfig.getProperty(ServerProperties.LAZY_ROUTING_WARM_UP);
+        if (value instanceof String) {
+            return Arrays.asList(Tokenizer.tokenize((String) value));
+        } else if (value instanceof String[]) {
+            return Arrays.asList(Tokenizer.tokenize((String[]) value));
+        }
+        return Collections.emptyList();
     }
 
     private ProcessingProviders getProcessingProviders(ComponentBag componentBag) {
@@ -689,12 +773,20 @@ public final class ApplicationHandler {
         dc.commit();
     }
 
-    private void validate(ResourceModel resourceModel) {
+    /**
+     * Validate the resource model.
+     *
+     * @param resourceModel resource model to be validated.
+     * @return {@code true} if no validation issues have been found, {@code false} if there are non-fatal issues.
+     * @throws ModelValidationException in case fatal validation issues have been found.
+     */
+    private boolean validate(ResourceModel resourceModel) {
         final ComponentModelValidator validator = new ComponentModelValidator(locator);
         validator.validate(resourceModel);
         if (Errors.fatalIssuesFound()) {
             throw new ModelValidationException(ModelErrors.getErrorsAsResourceModelIssues());
         }
+        return validator.getIssueList().isEmpty();
     }
 
     /**
@@ -865,6 +957,15 @@ public final class ApplicationHandler {
         runtime.process(requestContext);
     }
 
+    /**
+     * Get the time spent in the individual phases of the application initialization.
+     *
+     * @return application start-up statistics.
+     */
+    public StartupStatistics getStartupStatistics() {
+        return startupStatistics;
+    }
+
     /**
      * Returns {@link ServiceLocator} relevant to current application.
      *
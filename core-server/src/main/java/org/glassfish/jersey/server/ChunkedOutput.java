@@ -42,6 +42,8 @@ package org.glassfish.jersey.server;
 import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.LinkedBlockingDeque;
 
@@ -55,6 +57,11 @@ import org.glassfish.jersey.server.internal.process.AsyncContext;
 /**
  * Used for sending messages in "typed" chunks. Useful for long running processes,
  * which needs to produce partial responses.
+ * <p>
+ * Chunks produced by multiple parallel producers can be written in a well-defined order using the
+ * {@link #write(long, Object) sequenced write}: each chunk is tagged with a sequence number and written only
+ * after all the chunks with lower sequence numbers have been written.
+ * </p>
  *
  * @param <T> chunk type.
  * @author Pavel Bucek (pavel.bucek at oracle.com)
@@ -63,6 +70,14 @@ import org.glassfish.jersey.server.internal.process.AsyncContext;
 // TODO:  something like prequel/sequel - usable for EventChannelWriter and XML related writers
 public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
     private final BlockingDeque<T> queue = new LinkedBlockingDeque<T>();
+    /**
+     * Sequenced chunks waiting for the chunks with lower sequence numbers.
+     */
+    private final SortedMap<Long, T> pending = new TreeMap<Long, T>();
+    /**
+     * Sequence number of the next sequenced chunk to be queued for writing. Guarded by {@link #pending}.
+     */
+    private long nextSequence = 0;
 
     private volatile boolean closed = false;
     private boolean flushing = false;
@@ -104,6 +119,61 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         flushQueue();
     }
 
+    /**
+     * Write a chunk produced by one of multiple parallel producers.
+     * <p>
+     * Sequenced chunks are written in the order of their sequence numbers, regardless of the order in which this method
+     * is invoked: a chunk is queued for writing once all the chunks with lower sequence numbers have been queued.
+     * The sequence numbers start at {@code 0} and each of them must be used exactly once. Sequenced writes should not
+     * be combined with the {@link #write(Object) plain writes} of the same chunked output, as the relative order of
+     * the plain and the sequenced chunks is not defined.
+     * </p>
+     * <p>
+     * When the chunked output is {@link #close() closed}, the sequenced chunks still waiting for a missing chunk with
+     * a lower sequence number are written in the order of their sequence numbers.
+     * </p>
+     *
+     * @param sequenceNumber sequence number of the chunk.
+     * @param chunk          a chunk instance to be written.
+     * @throws IOException              if this response is closed or when encountered any problem during serializing
+     *                                  or writing a chunk.
+     * @throws IllegalArgumentException if a chunk with the same sequence number has already been written or if
+     *                                  the sequence number is negative.
+     */
+    public void write(final long sequenceNumber, final T chunk) throws IOException {
+        if (closed) {
+            throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_CLOSED());
+        }
+
+        synchronized (pending) {
+            if (closed) {
+                throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_CLOSED());
+            }
+            if (sequenceNumber < nextSequence || pending.containsKey(sequenceNumber)) {
+                throw new IllegalArgumentException(LocalizationMessages.CHUNKED_OUTPUT_SEQUENCE_INVALID(sequenceNumber));
+            }
+            if (sequenceNumber != nextSequence) {
+                pending.put(sequenceNumber, chunk);
+                return;
+            }
+
+            // queue the chunk and all the consecutive chunks that have been waiting for it
+            queueSequenced(chunk);
+            while (!pending.isEmpty() && pending.firstKey() == nextSequence) {
+                queueSequenced(pending.remove(nextSequence));
+            }
+        }
+
+        flushQueue();
+    }
+
+    private void queueSequenced(final T chunk) {
+        if (chunk != null) {
+            queue.add(chunk);
+        }
+        nextSequence++;
+    }
+
     private void flushQueue() throws IOException {
         if (requestContext == null || responseContext == null) {
             return;
@@ -206,7 +276,16 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
      */
     @Override
     public void close() throws IOException {
-        closed = true;
+        synchronized (pending) {
+            // write the sequenced chunks that are still waiting for a missing chunk
+            for (T chunk : pending.values()) {
+                if (chunk != null) {
+                    queue.add(chunk);
+                }
+            }
+            pending.clear();
+            closed = true;
+        }
         flushQueue();
     }
 
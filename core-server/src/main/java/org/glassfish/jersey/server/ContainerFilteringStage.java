@@ -50,10 +50,12 @@ import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.core.Response;
 
 import org.glassfish.jersey.internal.inject.Providers;
+import org.glassfish.jersey.message.internal.TracingLogger;
 import org.glassfish.jersey.model.internal.RankedComparator;
 import org.glassfish.jersey.model.internal.RankedProvider;
 import org.glassfish.jersey.process.internal.AbstractChainableStage;
 import org.glassfish.jersey.process.internal.Stages;
+import org.glassfish.jersey.server.internal.ServerTraceEvent;
 import org.glassfish.jersey.server.internal.process.Endpoint;
 import org.glassfish.jersey.server.internal.process.RespondingContext;
 import org.glassfish.jersey.server.internal.routing.RoutingContext;
@@ -145,11 +147,14 @@ class ContainerFilteringStage extends AbstractChainableStage<ContainerRequest> {
             sortedRequestFilters = Providers.sortRankedProviders(new RankedComparator<ContainerRequestFilter>(), requestFilters);
         }
 
+        final TracingLogger tracingLogger = TracingLogger.getInstance(requestContext.getPropertiesDelegate());
+        final long timestamp = tracingLogger.timestamp();
         for (ContainerRequestFilter filter : sortedRequestFilters) {
             try {
                 filter.filter(requestContext);
                 final Response abortResponse = requestContext.getAbortResponse();
                 if (abortResponse != null) {
+                    logFiltering(tracingLogger, timestamp);
                     // abort accepting & return response
                     return Continuation.of(requestContext, Stages.asStage(
                             new Endpoint() {
@@ -169,9 +174,15 @@ class ContainerFilteringStage extends AbstractChainableStage<ContainerRequest> {
                 }
             }
         }
+        logFiltering(tracingLogger, timestamp);
         return Continuation.of(requestContext, getDefaultNext());
     }
 
+    private void logFiltering(final TracingLogger tracingLogger, final long timestamp) {
+        tracingLogger.log(responseFilters == null ? ServerTraceEvent.REQUEST_FILTERS : ServerTraceEvent.PRE_MATCH_FILTERS,
+                timestamp);
+    }
+
     private static class ResponseFilterStage extends AbstractChainableStage<ContainerResponse> {
         private final Iterable<RankedProvider<ContainerResponseFilter>> filters;
         private final ServiceLocator locator;
@@ -100,8 +100,10 @@ public class ContainerRequest extends InboundMessageContext
     private final PropertiesDelegate propertiesDelegate;
     // Absolute application root URI (base URI)
     private URI baseUri;
-    // Absolute request URI
+    // Absolute request URI, parsed lazily from the request URI string if not set directly
     private URI requestUri;
+    // Absolute request URI string, to be parsed upon the first request URI access
+    private String requestUriString;
     // Lazily computed encoded request path (relative to application root URI)
     private String encodedRelativePath = null;
     // Lazily computed decoded request path (relative to application root URI)
@@ -149,6 +151,35 @@ public class ContainerRequest extends InboundMessageContext
         this.propertiesDelegate = propertiesDelegate;
     }
 
+    /**
+     * Create new Jersey container request context with the request URI given as a string.
+     * <p>
+     * The request URI string is parsed lazily, upon the first {@link #getRequestUri() request URI access}.
+     * The request path needed for the request matching is extracted from the string directly, so requests that
+     * do not access the request {@link URI} instance do not need to parse it at all. The string must therefore be
+     * a valid absolute URI (see {@link org.glassfish.jersey.server.internal.ContainerUriCache}).
+     * </p>
+     *
+     * @param baseUri            base application URI.
+     * @param requestUri         request URI string, must be a valid URI.
+     * @param httpMethod         request HTTP method name.
+     * @param securityContext    security context of the current request. Must not be {@code null}.
+     *                           The {@link SecurityContext#getUserPrincipal()} must return
+     *                           {@code null} if the current request has not been authenticated
+     *                           by the container.
+     * @param propertiesDelegate custom {@link PropertiesDelegate properties delegate}
+     *                           to be used by the context.
+     */
+    public ContainerRequest(
+            URI baseUri,
+            String requestUri,
+            String httpMethod,
+            SecurityContext securityContext,
+            PropertiesDelegate propertiesDelegate) {
+        this(baseUri, (URI) null, httpMethod, securityContext, propertiesDelegate);
+        this.requestUriString = requestUri;
+    }
+
     /**
      * Get a custom container extensions initializer for the current request.
      *
@@ -298,6 +329,10 @@ public class ContainerRequest extends InboundMessageContext
      * @return request URI.
      */
     public URI getRequestUri() {
+        if (requestUri == null && requestUriString != null) {
+            requestUri = URI.create(requestUriString);
+            requestUriString = null;
+        }
         return requestUri;
     }
 
@@ -310,6 +345,7 @@ public class ContainerRequest extends InboundMessageContext
         this.encodedRelativePath = null;
         this.decodedRelativePath = null;
         this.requestUri = requestUri;
+        this.requestUriString = null;
     }
 
     @Override
@@ -320,6 +356,7 @@ public class ContainerRequest extends InboundMessageContext
 
         this.baseUri = baseUri;
         this.requestUri = requestUri;
+        this.requestUriString = null;
     }
 
     /**
@@ -379,7 +416,12 @@ public class ContainerRequest extends InboundMessageContext
      * @return raw path of the request {@code URI}.
      */
     private String getRequestUriRawPath() {
-        final String rawPath = requestUri.getRawPath();
+        final String rawPath = requestUri != null ? requestUri.getRawPath() : rawPath(requestUriString);
+        if (rawPath.indexOf("//") < 0 && rawPath.indexOf("/.") < 0) {
+            // nothing to normalize
+            return rawPath;
+        }
+
         final StringBuilder builder = new StringBuilder();
 
         int lastSlashPos = 0;
@@ -398,7 +440,27 @@ public class ContainerRequest extends InboundMessageContext
             slashPos = rawPath.indexOf('/', slashPos + 1);
         }
 
-        return requestUri.normalize().getRawPath();
+        return getRequestUri().normalize().getRawPath();
+    }
+
+    /**
+     * Extract the raw path from a valid absolute URI string without parsing the whole URI.
+     *
+     * @param uri absolute URI string.
+     * @return raw path of the URI.
+     */
+    private static String rawPath(final String uri) {
+        int start = uri.indexOf("://");
+        start = start < 0 ? 0 : uri.indexOf('/', start + 3);
+        if (start < 0) {
+            return "";
+        }
+
+        int end = start;
+        while (end < uri.length() && uri.charAt(end) != '?' && uri.charAt(end) != '#') {
+            end++;
+        }
+        return uri.substring(start, end);
     }
 
     @Override
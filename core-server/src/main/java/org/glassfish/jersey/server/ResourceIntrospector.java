@@ -0,0 +1,196 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.Errors;
+import org.glassfish.jersey.internal.util.Producer;
+import org.glassfish.jersey.server.model.Resource;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Introspects the registered component classes and creates the {@link Resource resource models}.
+ * <p>
+ * The introspection of each class is independent of the other classes. In the parallel mode, the classes
+ * are introspected concurrently by a temporary pool of worker threads. The resulting models as well as the
+ * {@link Errors errors} reported during the introspection are returned in the same order as if the classes
+ * were introspected sequentially, so that the subsequent initialization steps are not affected by the
+ * introspection mode.
+ * </p>
+ *
+ * @see ServerProperties#PARALLEL_INITIALIZATION
+ */
+final class ResourceIntrospector {
+
+    private static final Logger LOGGER = Logger.getLogger(ResourceIntrospector.class.getName());
+
+    /**
+     * Minimal number of classes for which the parallel introspection is used.
+     */
+    private static final int MIN_PARALLEL_CLASSES = 16;
+
+    /**
+     * Result of a single class introspection.
+     */
+    private static final class Result {
+
+        private final Resource resource;
+        private final List<Errors.ErrorMessage> errors;
+
+        private Result(final Resource resource, final List<Errors.ErrorMessage> errors) {
+            this.resource = resource;
+            this.errors = errors;
+        }
+    }
+
+    private final boolean parallel;
+
+    /**
+     * Create new resource introspector.
+     *
+     * @param parallel if {@code true}, the classes are introspected concurrently.
+     */
+    ResourceIntrospector(final boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Introspect the classes. Must be invoked in the scope of the {@link Errors error processing}.
+     *
+     * @param classes classes to be introspected.
+     * @return list of resource models, with the same size and order as the list of classes. Contains {@code null}
+     *         elements for the classes that are not resource classes or could not be introspected.
+     */
+    List<Resource> introspect(final List<Class<?>> classes) {
+        final int threads = Math.min(Runtime.getRuntime().availableProcessors(), classes.size() / 4);
+        if (!parallel || classes.size() < MIN_PARALLEL_CLASSES || threads < 2) {
+            final List<Resource> resources = new ArrayList<Resource>(classes.size());
+            for (final Class<?> c : classes) {
+                resources.add(introspect(c));
+            }
+            return resources;
+        }
+
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("jersey-server-initialization-%d").setDaemon(true).build());
+        try {
+            final List<Future<Result>> futures = new ArrayList<Future<Result>>(classes.size());
+            for (final Class<?> c : classes) {
+                futures.add(executor.submit(new Callable<Result>() {
+                    @Override
+                    public Result call() {
+                        final Thread thread = Thread.currentThread();
+                        final ClassLoader original = thread.getContextClassLoader();
+                        thread.setContextClassLoader(contextClassLoader);
+                        try {
+                            return introspectWithErrors(c);
+                        } finally {
+                            thread.setContextClassLoader(original);
+                        }
+                    }
+                }));
+            }
+
+            // join in the registration order and re-report the errors in the initializing thread
+            final List<Resource> resources = new ArrayList<Resource>(classes.size());
+            for (final Future<Result> future : futures) {
+                final Result result = join(future);
+                for (final Errors.ErrorMessage error : result.errors) {
+                    Errors.error(error.getSource(), error.getMessage(), error.isFatal());
+                }
+                resources.add(result.resource);
+            }
+            return resources;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Result introspectWithErrors(final Class<?> c) {
+        return Errors.process(new Producer<Result>() {
+            @Override
+            public Result call() {
+                Errors.mark();
+                final Resource resource = introspect(c);
+                final List<Errors.ErrorMessage> errors = Errors.getErrorMessages(true);
+                // the errors are reported by the initializing thread
+                Errors.reset();
+                return new Result(resource, errors.isEmpty() ? Collections.<Errors.ErrorMessage>emptyList() : errors);
+            }
+        });
+    }
+
+    private static Resource introspect(final Class<?> c) {
+        try {
+            return Resource.from(c);
+        } catch (IllegalArgumentException ex) {
+            LOGGER.warning(ex.getMessage());
+            return null;
+        }
+    }
+
+    private static Result join(final Future<Result> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,12 +39,30 @@
  */
 package org.glassfish.jersey.server;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.UriInfo;
 
 import javax.inject.Inject;
 
+import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.process.internal.ExecutorsFactory;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.internal.process.RequestExecutorMode;
+import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.spi.RequestExecutorsProvider;
 import org.glassfish.jersey.spi.ResponseExecutorsProvider;
 
@@ -57,31 +75,67 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
  * {@link org.glassfish.jersey.process.internal.ExecutorsFactory Executors factory} used on the server side.
  *
  * The class returns the {@link java.util.concurrent.ExecutorService requesting executor} based on the request
- * data.
+ * data and the configured {@link RequestExecutorMode request executor mode}.
  *
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
+ * @see ServerProperties#REQUEST_EXECUTOR
  */
 class ServerExecutorsFactory extends ExecutorsFactory<ContainerRequest> {
+    private static final Logger LOGGER = Logger.getLogger(ServerExecutorsFactory.class.getName());
+
+    /**
+     * Default maximal number of requests waiting for a thread of a bounded requesting executor.
+     */
+    static final int DEFAULT_QUEUE_SIZE = 1024;
+    /**
+     * Maximal number of resource class dedicated executors; requests to the resources encountered after the limit
+     * has been reached are processed using the shared requesting executor.
+     */
+    private static final int MAX_BULKHEADS = 256;
+
+    private final RequestExecutorMode mode;
+    private final int poolSize;
+    private final int queueSize;
     private final ExecutorService requestingExecutor;
     private final ExecutorService respondingExecutor;
+    private final ConcurrentMap<Class<?>, ExecutorService> bulkheads;
 
 
     /**
      * Creates a new instance.
      *
-     * @param locator HK2 service locator.
+     * @param locator       HK2 service locator.
+     * @param configuration application configuration.
      */
     @Inject
-    public ServerExecutorsFactory(ServiceLocator locator) {
+    public ServerExecutorsFactory(ServiceLocator locator, Configuration configuration) {
         super(locator);
+
+        final Map<String, Object> properties = configuration.getProperties();
+        final String configuredMode = PropertiesHelper.getValue(properties, ServerProperties.REQUEST_EXECUTOR, String.class);
+        this.mode = RequestExecutorMode.fromProperties(properties);
+        if (configuredMode != null && !mode.name().equalsIgnoreCase(configuredMode.trim())) {
+            LOGGER.warning(LocalizationMessages.REQUEST_EXECUTOR_MODE_INVALID(configuredMode, mode));
+        }
+
+        final int configuredPoolSize = PropertiesHelper.getValue(properties, ServerProperties.REQUEST_EXECUTOR_POOL_SIZE,
+                Runtime.getRuntime().availableProcessors() * 8);
+        this.poolSize = configuredPoolSize > 0 ? configuredPoolSize : Runtime.getRuntime().availableProcessors() * 8;
+        this.queueSize = Math.max(0, PropertiesHelper.getValue(properties, ServerProperties.REQUEST_EXECUTOR_QUEUE_SIZE,
+                DEFAULT_QUEUE_SIZE));
+
+        final boolean[] defaultExecutorUsed = new boolean[1];
         this.requestingExecutor = getInitialRequestingExecutor(new RequestExecutorsProvider() {
 
             @Override
             public ExecutorService getRequestingExecutor() {
-                return Executors.newCachedThreadPool(
-                        new ThreadFactoryBuilder().setNameFormat("jersey-server-managed-async-executor-%d").build());
+                defaultExecutorUsed[0] = true;
+                return createDefaultRequestingExecutor();
             }
         });
+        this.bulkheads = (mode == RequestExecutorMode.BULKHEAD && defaultExecutorUsed[0])
+                ? new ConcurrentHashMap<Class<?>, ExecutorService>() : null;
+
         this.respondingExecutor = getInitialRespondingExecutor(new ResponseExecutorsProvider() {
 
             @Override
@@ -91,11 +145,84 @@ class ServerExecutorsFactory extends ExecutorsFactory<ContainerRequest> {
         });
     }
 
+    private ExecutorService createDefaultRequestingExecutor() {
+        switch (mode) {
+            case BOUNDED:
+            case BULKHEAD:
+                return createBoundedExecutor("jersey-server-request-executor-%d");
+            case VIRTUAL:
+                final ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+                return virtualThreadExecutor != null
+                        ? virtualThreadExecutor : createBoundedExecutor("jersey-server-request-executor-%d");
+            default:
+                return Executors.newCachedThreadPool(
+                        new ThreadFactoryBuilder().setNameFormat("jersey-server-managed-async-executor-%d").build());
+        }
+    }
+
+    private ExecutorService createBoundedExecutor(final String nameFormat) {
+        final BlockingQueue<Runnable> queue = queueSize > 0
+                ? new ArrayBlockingQueue<Runnable>(queueSize) : new SynchronousQueue<Runnable>();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, queue,
+                new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            final Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (NoSuchMethodException e) {
+            LOGGER.warning(LocalizationMessages.REQUEST_EXECUTOR_VIRTUAL_UNSUPPORTED());
+        } catch (Exception e) {
+            // e.g. virtual threads available only as a preview feature
+            LOGGER.log(Level.WARNING, LocalizationMessages.REQUEST_EXECUTOR_VIRTUAL_UNSUPPORTED(), e);
+        }
+        return null;
+    }
+
     @Override
     public ExecutorService getRequestingExecutor(ContainerRequest request) {
+        if (bulkheads != null) {
+            final Class<?> resourceClass = getResourceClass(request);
+            if (resourceClass != null) {
+                return getBulkhead(resourceClass);
+            }
+        }
         return requestingExecutor;
     }
 
+    private static Class<?> getResourceClass(final ContainerRequest request) {
+        final UriInfo uriInfo = request.getUriInfo();
+        if (uriInfo instanceof ExtendedUriInfo) {
+            final ResourceMethod resourceMethod = ((ExtendedUriInfo) uriInfo).getMatchedResourceMethod();
+            if (resourceMethod != null) {
+                return resourceMethod.getInvocable().getHandler().getHandlerClass();
+            }
+        }
+        return null;
+    }
+
+    private ExecutorService getBulkhead(final Class<?> resourceClass) {
+        ExecutorService bulkhead = bulkheads.get(resourceClass);
+        if (bulkhead == null) {
+            if (bulkheads.size() >= MAX_BULKHEADS) {
+                return requestingExecutor;
+            }
+            final ExecutorService newBulkhead = createBoundedExecutor(
+                    "jersey-server-request-executor-" + resourceClass.getSimpleName() + "-%d");
+            bulkhead = bulkheads.putIfAbsent(resourceClass, newBulkhead);
+            if (bulkhead == null) {
+                bulkhead = newBulkhead;
+            } else {
+                newBulkhead.shutdown();
+            }
+        }
+        return bulkhead;
+    }
+
     @Override
     public ExecutorService getRespondingExecutor(ContainerRequest request) {
         return respondingExecutor;
@@ -314,6 +314,208 @@ public final class ServerProperties {
      */
     public static final String RESOURCE_LOCATOR_VALIDATION_DISABLE = "jersey.config.server.resource.locator.validation.disable";
 
+    /**
+     * Maximum number of sub-resource routers cached by a single sub-resource locator.
+     * <p/>
+     * The model of a sub-resource returned from a sub-resource locator is introspected, processed by the
+     * {@link org.glassfish.jersey.server.model.ModelProcessor model processors}, validated and turned into a request
+     * router when the sub-resource class (or programmatic {@link org.glassfish.jersey.server.model.Resource resource}
+     * instance) is returned for the first time. The built router is cached and reused by the subsequent requests that
+     * return the same sub-resource class or resource instance. Value less or equal to zero disables the caching.
+     * <p/>
+     * Default value is {@code 64}.
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String RESOURCE_LOCATOR_CACHE_SIZE = "jersey.config.server.resource.locator.cache.size";
+
+    /**
+     * Path of the resource model validation snapshot file.
+     * <p/>
+     * Once the application resource model is successfully validated without any issues, a fingerprint of the
+     * application is stored into the snapshot file. When the application is initialized next time with the same
+     * fingerprint, the {@link org.glassfish.jersey.server.model.ComponentModelValidator resource model validation}
+     * is skipped. The fingerprint consists of the configuration property values and of the class names, sizes and
+     * modification times (or checksums) of the class files of the classes visited by the validation: the application
+     * class, the registered and auto-discovered components, the resource classes and resource method declaring
+     * classes, their super-classes and interfaces and the classes used in their fields, constructors and methods
+     * (entity, parameter and return types). A change of any of these classes or property values invalidates the
+     * snapshot.
+     * <p/>
+     * The snapshot is not used if the application registers programmatic
+     * {@link org.glassfish.jersey.server.model.Resource resources}, if any of the classes cannot be fingerprinted
+     * (e.g. classes not loaded from a file system directory or a jar file) or if any of the property values is not
+     * a {@link String}, a primitive wrapper, an {@link Enum}, a {@link java.io.File}, a {@link Class} or an array
+     * of these. Changes that are not reflected in the fingerprinted class files or property values (e.g. a changed
+     * resource injected into a provider) are not detected, so the snapshot should be enabled only for builds whose
+     * configuration is otherwise stable (e.g. by including a build identifier in the snapshot file path).
+     * <p/>
+     * There is no default value, i.e. the snapshot is not used unless the property is set.
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see ApplicationHandler#getStartupStatistics()
+     */
+    public static final String RESOURCE_VALIDATION_SNAPSHOT = "jersey.config.server.resource.validation.snapshot";
+
+    /**
+     * If set to {@code true}, the independent parts of the application initialization are executed in parallel.
+     * <p/>
+     * Currently the introspection of the registered resource classes is parallelized. The introspection results are
+     * processed in the registration order, so the initialization order guarantees the providers rely on are
+     * preserved. The parallel mode is used only for applications with a larger number of registered classes;
+     * the effect can be observed in the {@link StartupStatistics.Phase#INTROSPECTION introspection} phase time of the
+     * {@link ApplicationHandler#getStartupStatistics() application start-up statistics}.
+     * <p/>
+     * Default value is {@code false}.
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String PARALLEL_INITIALIZATION = "jersey.config.server.initialization.parallel";
+
+    /**
+     * If set to {@code true}, the request routers of the application root resources are materialized lazily.
+     * <p/>
+     * In the lazy mode, only the request URI path matching part of the routing tree is created during the application
+     * initialization. The resource method selection routers and the resource method invokers of a root resource are
+     * created when a request is routed to the resource for the first time. This reduces the application start-up time
+     * and memory footprint of large applications, at the expense of a slower first request for each resource. Note that
+     * in the lazy mode the errors of the resource method invoker creation are reported upon the first request
+     * rather than during the application initialization.
+     * <p/>
+     * Default value is {@code false}.
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #LAZY_ROUTING_WARM_UP
+     */
+    public static final String LAZY_ROUTING = "jersey.config.server.routing.lazy";
+
+    /**
+     * Defines the root resources whose request routers are materialized eagerly even if the
+     * {@link #LAZY_ROUTING lazy routing} is enabled.
+     * <p/>
+     * The value is a string or a string array of root resource paths (as declared in the
+     * {@link javax.ws.rs.Path &#64;Path} annotation, leading and trailing slashes are ignored) or fully qualified
+     * root resource class names, separated by space, comma, semicolon or new line.
+     * <p/>
+     * There is no default value.
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String LAZY_ROUTING_WARM_UP = "jersey.config.server.routing.lazy.warmup";
+
+    /**
+     * Strategy of the requesting executor used to run the resource method invocations and the response processing.
+     * <p>
+     * Allowed values are:
+     * <ul>
+     * <li>{@code "CONTAINER"} - requests are processed on the container thread, only the
+     * {@link ManagedAsync managed asynchronous} resource methods are executed using an unbounded requesting executor,</li>
+     * <li>{@code "BOUNDED"} - all resource methods are executed using a single bounded requesting executor,</li>
+     * <li>{@code "BULKHEAD"} - resource methods of each resource class are executed using a dedicated bounded
+     * requesting executor, so that a slow resource cannot exhaust the threads available to the other resources,</li>
+     * <li>{@code "VIRTUAL"} - each resource method invocation is executed in a new virtual thread, if virtual threads are
+     * supported by the JVM, otherwise the {@code "BOUNDED"} strategy is used.</li>
+     * </ul>
+     * Requests rejected by a saturated bounded executor are responded with the {@code 503 Service Unavailable} status.
+     * Any strategy other than {@code "CONTAINER"} requires a container that supports request suspending.
+     * If a custom {@link org.glassfish.jersey.spi.RequestExecutorsProvider requesting executors provider} is registered,
+     * its executor is used instead of the built-in bounded or virtual thread executors.
+     * </p>
+     * <p>
+     * The default value is {@code "CONTAINER"}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #REQUEST_EXECUTOR_POOL_SIZE
+     * @see #REQUEST_EXECUTOR_QUEUE_SIZE
+     */
+    public static final String REQUEST_EXECUTOR = "jersey.config.server.requestExecutor";
+
+    /**
+     * Maximal number of threads of a bounded requesting executor (see {@link #REQUEST_EXECUTOR}). In the {@code "BULKHEAD"}
+     * mode, the limit applies to each resource class executor separately.
+     * <p>
+     * The default value is eight times the number of available processors.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String REQUEST_EXECUTOR_POOL_SIZE = "jersey.config.server.requestExecutor.poolSize";
+
+    /**
+     * Maximal number of requests waiting for a thread of a bounded requesting executor (see {@link #REQUEST_EXECUTOR}).
+     * Requests exceeding the limit are rejected with the {@code 503 Service Unavailable} status.
+     * <p>
+     * The default value is {@code 1024}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String REQUEST_EXECUTOR_QUEUE_SIZE = "jersey.config.server.requestExecutor.queueSize";
+
+    /**
+     * Enables request tracing, i.e. recording of the time spent in the individual request processing stages
+     * (routing, filters, resource method parameter injection and invocation, message body writer and container write).
+     * <p>
+     * Allowed values are:
+     * <ul>
+     * <li>{@code "OFF"} - tracing is disabled,</li>
+     * <li>{@code "ON_DEMAND"} - tracing is enabled only for the requests carrying the {@code X-Jersey-Tracing-Accept}
+     * header,</li>
+     * <li>{@code "ALL"} - tracing is enabled for all requests.</li>
+     * </ul>
+     * The durations of the stages completed before the response is committed are returned in the
+     * {@code X-Jersey-Tracing-*} response headers, the summary of all the stages is logged using the
+     * {@code org.glassfish.jersey.tracing} logger.
+     * </p>
+     * <p>
+     * The default value is {@code "OFF"}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String TRACING = "jersey.config.server.tracing";
+
+    /**
+     * If {@code true} then the application monitoring statistics gathered by the
+     * {@link org.glassfish.jersey.server.monitoring.MonitoringFeature monitoring feature} are also exposed
+     * as JMX MBeans registered in the platform MBean server.
+     * <p>
+     * The property has no effect unless the monitoring feature is enabled.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String MONITORING_STATISTICS_MBEANS_ENABLED = "jersey.config.server.monitoring.statistics.mbeans.enabled";
+
+    /**
+     * Name of the application used to distinguish the monitoring MBeans of multiple applications deployed
+     * in the same JVM.
+     * <p>
+     * If not set, an unique name is derived from the identity of the application.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String MONITORING_APPLICATION_NAME = "jersey.config.server.monitoring.applicationName";
+
 
     private ServerProperties() {
         // prevents instantiation
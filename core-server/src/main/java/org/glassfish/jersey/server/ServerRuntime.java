@@ -52,12 +52,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
 import javax.ws.rs.HttpMethod;
-import javax.ws.rs.NotFoundException;
 import javax.ws.rs.ServiceUnavailableException;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.container.AsyncResponse;
@@ -74,6 +76,7 @@ import javax.inject.Provider;
 
 import org.glassfish.jersey.internal.ProcessingException;
 import org.glassfish.jersey.internal.inject.Injections;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.Closure;
 import org.glassfish.jersey.internal.util.Producer;
 import org.glassfish.jersey.internal.util.collection.Ref;
@@ -81,16 +84,21 @@ import org.glassfish.jersey.internal.util.collection.Refs;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.message.internal.HeaderValueException;
 import org.glassfish.jersey.message.internal.OutboundMessageContext;
+import org.glassfish.jersey.message.internal.TracingLogger;
 import org.glassfish.jersey.process.internal.ExecutorsFactory;
 import org.glassfish.jersey.process.internal.RequestScope;
 import org.glassfish.jersey.process.internal.Stage;
 import org.glassfish.jersey.process.internal.Stages;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.internal.ServerTraceEvent;
 import org.glassfish.jersey.server.internal.inject.ExtractorException;
+import org.glassfish.jersey.server.internal.monitoring.MonitoringStatisticsCollector;
 import org.glassfish.jersey.server.internal.process.AsyncContext;
 import org.glassfish.jersey.server.internal.process.Endpoint;
 import org.glassfish.jersey.server.internal.process.MappableException;
 import org.glassfish.jersey.server.internal.process.RespondingContext;
+import org.glassfish.jersey.server.internal.routing.RoutingContext;
+import org.glassfish.jersey.server.internal.routing.RoutingFailure;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.glassfish.jersey.spi.ExceptionMappers;
 import static org.glassfish.jersey.server.internal.process.AsyncContext.State.COMPLETED;
@@ -117,8 +125,19 @@ class ServerRuntime {
     private final Provider<AsyncContext> asyncContextProvider;
     private final ExecutorsFactory<ContainerRequest> asyncExecutorsFactory;
     private final Configuration configuration;
+    private final MonitoringStatisticsCollector monitoringCollector;
+    private final TracingMode tracingMode;
     private static final Logger LOGGER = Logger.getLogger(ServerRuntime.class.getName());
 
+    /**
+     * Request tracing modes.
+     *
+     * @see ServerProperties#TRACING
+     */
+    private static enum TracingMode {
+        OFF, ON_DEMAND, ALL
+    }
+
     /**
      * Server-side request processing runtime builder.
      */
@@ -156,7 +175,8 @@ class ServerRuntime {
                     asyncContextRefProvider,
                     asyncContextProvider,
                     asyncExecutorsFactory,
-                    configuration);
+                    configuration,
+                    locator.getService(MonitoringStatisticsCollector.class));
         }
     }
 
@@ -168,7 +188,8 @@ class ServerRuntime {
                           Provider<Ref<Value<AsyncContext>>> asyncContextFactoryProvider,
                           Provider<AsyncContext> asyncContextProvider,
                           ExecutorsFactory<ContainerRequest> asyncExecutorsFactory,
-                          Configuration configuration) {
+                          Configuration configuration,
+                          MonitoringStatisticsCollector monitoringCollector) {
         this.requestProcessingRoot = requestProcessingRoot;
         this.locator = locator;
         this.requestScope = requestScope;
@@ -178,6 +199,21 @@ class ServerRuntime {
         this.asyncContextProvider = asyncContextProvider;
         this.asyncExecutorsFactory = asyncExecutorsFactory;
         this.configuration = configuration;
+        this.monitoringCollector = monitoringCollector;
+        this.tracingMode = getTracingMode(configuration);
+    }
+
+    private static TracingMode getTracingMode(final Configuration configuration) {
+        final String mode = PropertiesHelper.getValue(configuration.getProperties(), ServerProperties.TRACING, String.class);
+        if (mode == null) {
+            return TracingMode.OFF;
+        }
+        try {
+            return TracingMode.valueOf(mode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning(LocalizationMessages.TRACING_MODE_INVALID(mode, Arrays.toString(TracingMode.values())));
+            return TracingMode.OFF;
+        }
     }
 
     /**
@@ -187,6 +223,10 @@ class ServerRuntime {
      */
     public void process(final ContainerRequest request) {
         request.checkState();
+        if (tracingMode == TracingMode.ALL
+                || (tracingMode == TracingMode.ON_DEMAND && request.getHeaderString(TracingLogger.HEADER_ACCEPT) != null)) {
+            TracingLogger.enable(request.getPropertiesDelegate());
+        }
         requestScope.runInScope(new Runnable() {
             @Override
             public void run() {
@@ -195,7 +235,9 @@ class ServerRuntime {
                         locator.<RespondingContext>getService(RespondingContext.class),
                         exceptionMappers,
                         closeableServiceProvider,
-                        asyncContextProvider, configuration);
+                        asyncContextProvider,
+                        configuration,
+                        monitoringCollector);
 
                 final AsyncResponderHolder asyncResponderHolder = new AsyncResponderHolder(
                         responder, locator, requestScope, requestScope.referenceCurrent(), asyncExecutorsFactory);
@@ -206,8 +248,11 @@ class ServerRuntime {
 
                     final Endpoint endpoint = endpointRef.get();
                     if (endpoint == null) {
-                        // not found
-                        throw new NotFoundException();
+                        // not found, or the matched resource does not support the request method or media types
+                        final RoutingFailure failure = locator.<RoutingContext>getService(RoutingContext.class)
+                                .getRoutingFailure();
+                        responder.process(failure != null ? failure : RoutingFailure.notFound());
+                        return;
                     }
 
                     asyncContextFactoryProvider.get().set(asyncResponderHolder);
@@ -268,6 +313,7 @@ class ServerRuntime {
 
     private static class Responder {
         private static final Logger LOGGER = Logger.getLogger(Responder.class.getName());
+        private static final Logger TRACING_LOGGER = Logger.getLogger("org.glassfish.jersey.tracing");
 
         private final ContainerRequest request;
         private final RespondingContext respondingCtx;
@@ -275,6 +321,8 @@ class ServerRuntime {
         private final Provider<CloseableService> closeableService;
         private final Provider<AsyncContext> asyncContext;
         private final Configuration configuration;
+        private final MonitoringStatisticsCollector monitoringCollector;
+        private final long startNanos;
 
 
         private final CompletionCallbackRunner completionCallbackRunner = new CompletionCallbackRunner();
@@ -285,7 +333,9 @@ class ServerRuntime {
                          final RespondingContext respondingCtx,
                          final ExceptionMappers exceptionMappers,
                          final Provider<CloseableService> closeableService,
-                         final Provider<AsyncContext> asyncContext, Configuration configuration) {
+                         final Provider<AsyncContext> asyncContext,
+                         final Configuration configuration,
+                         final MonitoringStatisticsCollector monitoringCollector) {
 
             this.request = request;
             this.respondingCtx = respondingCtx;
@@ -293,6 +343,8 @@ class ServerRuntime {
             this.closeableService = closeableService;
             this.asyncContext = asyncContext;
             this.configuration = configuration;
+            this.monitoringCollector = monitoringCollector;
+            this.startNanos = monitoringCollector == null ? 0 : System.nanoTime();
         }
 
         public void process(ContainerResponse response) {
@@ -303,11 +355,22 @@ class ServerRuntime {
         private ContainerResponse processResponse(ContainerResponse response) {
             Stage<ContainerResponse> respondingRoot = respondingCtx.createRespondingRoot();
 
+            final TracingLogger tracingLogger = TracingLogger.getInstance(request.getPropertiesDelegate());
             if (respondingRoot != null) {
+                final long timestamp = tracingLogger.timestamp();
                 response = Stages.process(response, respondingRoot);
+                tracingLogger.log(ServerTraceEvent.RESPONSE_FILTERS, timestamp);
             }
             writeResponse(response);
 
+            if (tracingLogger.isEnabled()) {
+                logTracingSummary(tracingLogger, response);
+            }
+
+            if (monitoringCollector != null) {
+                monitoringCollector.requestFinished(startNanos, response.getStatus(), response.isMappedFromException());
+            }
+
             // no-exception zone
             // the methods below are guaranteed to not throw any exceptions
             completionCallbackRunner.onComplete(null);
@@ -320,17 +383,72 @@ class ServerRuntime {
                 response = convertResponse(mapException(throwable));
                 processResponse(response);
             } catch (Throwable error) {
-                LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_EXCEPTION_NON_MAPPABLE(), error);
-                try {
-                    request.getResponseWriter().failure(error);
-                } finally {
-                    completionCallbackRunner.onComplete(error);
-                }
+                processNonMappable(error);
             } finally {
                 release(response);
             }
         }
 
+        /**
+         * Process the request routing failure.
+         * <p>
+         * Unless there is an exception mapper registered for the failure exception type,
+         * the error response is built directly, without creating and mapping the exception.
+         * </p>
+         *
+         * @param failure request routing failure.
+         */
+        public void process(RoutingFailure failure) {
+            if (exceptionMappers.find(failure.getExceptionType()) != null) {
+                process(failure.toException());
+                return;
+            }
+
+            ContainerResponse response = null;
+            try {
+                response = convertResponse(failure.toResponse());
+                processResponse(response);
+            } catch (Throwable error) {
+                processNonMappable(error);
+            } finally {
+                release(response);
+            }
+        }
+
+        private void processNonMappable(Throwable error) {
+            LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_EXCEPTION_NON_MAPPABLE(), error);
+            if (monitoringCollector != null) {
+                monitoringCollector.requestFinished(
+                        startNanos, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), true);
+            }
+            try {
+                request.getResponseWriter().failure(error);
+            } finally {
+                completionCallbackRunner.onComplete(error);
+            }
+        }
+
+        private void logTracingSummary(final TracingLogger tracingLogger, final ContainerResponse response) {
+            final StringBuilder events = new StringBuilder();
+            for (final Map.Entry<String, Long> event : tracingLogger.getEvents().entrySet()) {
+                if (events.length() > 0) {
+                    events.append(", ");
+                }
+                events.append(event.getKey()).append('=').append(TracingLogger.formatMillis(event.getValue()));
+            }
+
+            final LogRecord record = new LogRecord(Level.INFO, LocalizationMessages.TRACING_SUMMARY(
+                    request.getMethod(),
+                    request.getRequestUri(),
+                    response.getStatus(),
+                    TracingLogger.formatMillis(tracingLogger.getTotalNanos()),
+                    events));
+            record.setLoggerName(TRACING_LOGGER.getName());
+            record.setParameters(new Object[]{
+                    request.getMethod(), request.getRequestUri(), response.getStatus(), tracingLogger.getEvents()});
+            TRACING_LOGGER.log(record);
+        }
+
         private ContainerResponse convertResponse(Response exceptionResponse) {
             final ContainerResponse containerResponse = new ContainerResponse(request, exceptionResponse);
             containerResponse.setMappedFromException(true);
@@ -373,6 +491,9 @@ class ServerRuntime {
                 if (mapper != null) {
                     try {
                         response = mapper.toResponse(throwable);
+                        if (monitoringCollector != null) {
+                            monitoringCollector.exceptionMapped(mapper);
+                        }
                         if (response == null) {
                             return Response.noContent().build();
                         }
@@ -391,8 +512,10 @@ class ServerRuntime {
 
         private ContainerResponse writeResponse(final ContainerResponse response) {
             final ContainerResponseWriter writer = request.getResponseWriter();
+            final TracingLogger tracingLogger = TracingLogger.getInstance(request.getPropertiesDelegate());
 
             if (!response.hasEntity()) {
+                tracingLogger.flush(response.getHeaders());
                 writer.writeResponseStatusAndHeaders(0, response);
                 return response;
             }
@@ -408,6 +531,7 @@ class ServerRuntime {
                 response.setStreamProvider(new OutboundMessageContext.StreamProvider() {
                     @Override
                     public OutputStream getOutputStream(int contentLength) throws IOException {
+                        tracingLogger.flush(response.getHeaders());
                         final OutputStream outputStream = writer.writeResponseStatusAndHeaders(contentLength, response);
                         return isHead ? null : outputStream;
                     }
@@ -464,10 +588,12 @@ class ServerRuntime {
                             // TODO already suspended - what to do? override the timeout value?
                         }
                     } else {
+                        final long timestamp = tracingLogger.timestamp();
                         try {
                             // the response must be closed here instead of just flushed or committed. Some
                             // output streams writes out bytes only on close (for example GZipOutputStream).
                             response.close();
+                            tracingLogger.log(ServerTraceEvent.CONTAINER_WRITE, timestamp);
                         } catch (Exception e) {
                             LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_CLOSING_COMMIT_OUTPUT_STREAM(), e);
                         }
@@ -564,24 +690,31 @@ class ServerRuntime {
 
         @Override
         public void invokeManaged(final Producer<Response> producer) {
-            asyncExecutorsFactory.getRequestingExecutor(responder.request).submit(new Runnable() {
-                @Override
-                public void run() {
-                    requestScope.runInScope(scopeInstance, new Runnable() {
-                        @Override
-                        public void run() {
-                            try {
-                                final Response response = producer.call();
-                                if (response != null) {
-                                    resume(response);
+            final ExecutorService executor = asyncExecutorsFactory.getRequestingExecutor(responder.request);
+            try {
+                executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        requestScope.runInScope(scopeInstance, new Runnable() {
+                            @Override
+                            public void run() {
+                                try {
+                                    final Response response = producer.call();
+                                    if (response != null) {
+                                        resume(response);
+                                    }
+                                } catch (Throwable t) {
+                                    resume(t);
                                 }
-                            } catch (Throwable t) {
-                                resume(t);
                             }
-                        }
-                    });
-                }
-            });
+                        });
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the requesting executor is saturated
+                LOGGER.log(Level.FINE, LocalizationMessages.REQUEST_EXECUTOR_REJECTED(executor), e);
+                resume(new ServiceUnavailableException());
+            }
         }
 
         @Override
@@ -0,0 +1,185 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time spent in the individual phases of the {@link ApplicationHandler application} initialization.
+ * <p>
+ * The statistics are available via {@link ApplicationHandler#getStartupStatistics()} and can also be
+ * injected into any provider, e.g. a {@link org.glassfish.jersey.server.spi.ContainerLifecycleListener
+ * container life-cycle listener} that reports them at the {@link
+ * org.glassfish.jersey.server.spi.ContainerLifecycleListener#onStartup(org.glassfish.jersey.server.spi.Container)
+ * container start-up}. Instances must not be accessed before the application initialization is finished.
+ * </p>
+ *
+ * @see ServerProperties#RESOURCE_VALIDATION_SNAPSHOT
+ */
+public final class StartupStatistics {
+
+    /**
+     * Application initialization phase.
+     */
+    public static enum Phase {
+        /**
+         * Auto-discoverable providers, features and binders configuration.
+         */
+        CONFIGURATION,
+        /**
+         * Resource classes introspection.
+         */
+        INTROSPECTION,
+        /**
+         * Provider and resource injection bindings.
+         */
+        BINDING,
+        /**
+         * Resource model processing by the {@link org.glassfish.jersey.server.model.ModelProcessor model processors}.
+         */
+        MODEL_PROCESSING,
+        /**
+         * Resource model validation.
+         */
+        VALIDATION,
+        /**
+         * Request routing tree and request processing chain creation.
+         */
+        ROUTING,
+        /**
+         * Component instance injection and server runtime creation.
+         */
+        RUNTIME
+    }
+
+    private final Map<Phase, Long> phaseNanos = new EnumMap<Phase, Long>(Phase.class);
+    private boolean validationSkipped = false;
+
+    /**
+     * Package-private constructor, instances are created by the {@link ApplicationHandler}.
+     */
+    StartupStatistics() {
+    }
+
+    /**
+     * Record the end of the initialization phase.
+     *
+     * @param phase      finished initialization phase.
+     * @param startNanos {@link System#nanoTime() time} when the phase has started.
+     * @return phase end time that can be used as the start time of the next phase.
+     */
+    long phaseFinished(final Phase phase, final long startNanos) {
+        final long now = System.nanoTime();
+        phaseNanos.put(phase, now - startNanos);
+        return now;
+    }
+
+    /**
+     * Mark the resource model validation as skipped.
+     */
+    void validationSkipped() {
+        this.validationSkipped = true;
+    }
+
+    /**
+     * Get the time spent in the initialization phase.
+     *
+     * @param phase initialization phase.
+     * @param unit  time unit of the returned value.
+     * @return time spent in the phase, {@code 0} if the phase has not been executed.
+     */
+    public long getTime(final Phase phase, final TimeUnit unit) {
+        final Long nanos = phaseNanos.get(phase);
+        return nanos == null ? 0 : unit.convert(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the total time spent in all the initialization phases.
+     *
+     * @param unit time unit of the returned value.
+     * @return total initialization time.
+     */
+    public long getTotalTime(final TimeUnit unit) {
+        long total = 0;
+        for (final long nanos : phaseNanos.values()) {
+            total += nanos;
+        }
+        return unit.convert(total, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the time spent in the individual initialization phases (in nanoseconds) ordered by the phase
+     * execution order.
+     *
+     * @return read-only map of phase times in nanoseconds.
+     */
+    public Map<Phase, Long> getPhaseTimes() {
+        return Collections.unmodifiableMap(phaseNanos);
+    }
+
+    /**
+     * Check whether the resource model validation has been skipped because the application matched
+     * the {@link ServerProperties#RESOURCE_VALIDATION_SNAPSHOT validation snapshot}.
+     *
+     * @return {@code true} if the validation has been skipped, {@code false} otherwise.
+     */
+    public boolean isValidationSkipped() {
+        return validationSkipped;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (final Map.Entry<Phase, Long> entry : phaseNanos.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(entry.getKey().name().toLowerCase()).append('=')
+                    .append(TimeUnit.NANOSECONDS.toMillis(entry.getValue())).append(" ms");
+        }
+        if (validationSkipped) {
+            sb.append(" (validation skipped)");
+        }
+        return sb.toString();
+    }
+}
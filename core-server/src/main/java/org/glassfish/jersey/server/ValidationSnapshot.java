@@ -0,0 +1,435 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.Version;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.Parameter;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Resource model validation snapshot.
+ * <p>
+ * The snapshot is a text file containing a fingerprint of the classes that affect the resource model
+ * validation result and of the application configuration properties. The fingerprinted classes are the
+ * application class, the registered and auto-discovered components, the classes of the resource model
+ * (resource classes, handler classes and the declaring classes of the resource methods) and, transitively,
+ * the super-classes and interfaces of all these classes as well as the classes used in the signatures of their
+ * fields, constructors and methods (including entity, parameter and return types). For each class the fingerprint
+ * contains the class name and the size and modification time (or CRC checksum for classes loaded from a jar
+ * file) of the class file. Once the resource model is successfully validated, the fingerprint is
+ * {@link #store() stored} and any subsequent application initialization with a {@link #matches() matching}
+ * fingerprint can skip the validation.
+ * </p>
+ * <p>
+ * The snapshot is never used if any of the classes or property values cannot be fingerprinted reliably
+ * (e.g. a class generated at runtime or a property value of an arbitrary type).
+ * </p>
+ *
+ * @see ServerProperties#RESOURCE_VALIDATION_SNAPSHOT
+ */
+final class ValidationSnapshot {
+
+    private static final Logger LOGGER = Logger.getLogger(ValidationSnapshot.class.getName());
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final String HEADER = "# Jersey resource model validation snapshot";
+
+    private final File file;
+    private final String fingerprint;
+
+    private ValidationSnapshot(final File file, final String fingerprint) {
+        this.file = file;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Create the validation snapshot of the application.
+     *
+     * @param file          snapshot file.
+     * @param components    application class and the registered components (resources, providers, features, ...).
+     * @param resourceModel processed resource model to be validated.
+     * @param properties    application configuration properties.
+     * @return validation snapshot or {@code null} if the application cannot be fingerprinted.
+     */
+    static ValidationSnapshot create(final File file,
+                                     final Collection<Class<?>> components,
+                                     final ResourceModel resourceModel,
+                                     final Map<String, Object> properties) {
+        final ClassCollector collector = new ClassCollector();
+        final Map<String, JarFile> jars = new HashMap<String, JarFile>();
+        try {
+            for (final Class<?> component : components) {
+                collector.addComponent(component);
+            }
+            for (final Resource resource : resourceModel.getResources()) {
+                collector.addResource(resource);
+            }
+
+            final StringBuilder sb = new StringBuilder(HEADER).append('\n');
+            sb.append("version=").append(Version.getBuildId()).append('\n');
+
+            // sort by name to get a stable fingerprint
+            final Map<String, Class<?>> sortedClasses = new TreeMap<String, Class<?>>();
+            for (final Class<?> c : collector.classes) {
+                sortedClasses.put(c.getName(), c);
+            }
+            for (final Class<?> c : sortedClasses.values()) {
+                final String classFingerprint = fingerprint(c, jars);
+                if (classFingerprint == null) {
+                    return null;
+                }
+                sb.append("class=").append(c.getName()).append(' ').append(classFingerprint).append('\n');
+            }
+
+            for (final String name : new TreeSet<String>(properties.keySet())) {
+                final String valueFingerprint = fingerprint(properties.get(name), jars);
+                if (valueFingerprint == null) {
+                    LOGGER.fine("Value of the " + name + " property cannot be fingerprinted.");
+                    return null;
+                }
+                sb.append("property=").append(name).append('=').append(valueFingerprint).append('\n');
+            }
+
+            return new ValidationSnapshot(file, sb.toString());
+        } catch (LinkageError error) {
+            LOGGER.log(Level.FINE, "Application classes cannot be fingerprinted.", error);
+            return null;
+        } catch (SecurityException ex) {
+            LOGGER.log(Level.FINE, "Application classes cannot be fingerprinted.", ex);
+            return null;
+        } finally {
+            for (final JarFile jar : jars.values()) {
+                try {
+                    jar.close();
+                } catch (IOException ex) {
+                    LOGGER.log(Level.FINE, "Jar file " + jar.getName() + " cannot be closed.", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the classes the resource model validation depends on.
+     */
+    private static final class ClassCollector {
+
+        private final Set<Class<?>> classes = Sets.newIdentityHashSet();
+        private final Set<Class<?>> components = Sets.newIdentityHashSet();
+        private final Set<TypeVariable<?>> typeVariables = Sets.newHashSet();
+
+        void addResource(final Resource resource) {
+            for (final Class<?> handlerClass : resource.getHandlerClasses()) {
+                addComponent(handlerClass);
+            }
+            for (final ResourceMethod method : resource.getAllMethods()) {
+                final Invocable invocable = method.getInvocable();
+                addComponent(invocable.getHandler().getHandlerClass());
+                addComponent(invocable.getHandlingMethod().getDeclaringClass());
+                addType(invocable.getResponseType());
+                for (final Parameter parameter : invocable.getParameters()) {
+                    addType(parameter.getType());
+                }
+            }
+            for (final Resource child : resource.getChildResources()) {
+                addResource(child);
+            }
+        }
+
+        void addComponent(final Class<?> component) {
+            if (component == null || component.getClassLoader() == null || !components.add(component)) {
+                return;
+            }
+            addClass(component);
+
+            final Set<Class<?>> hierarchy = Sets.newIdentityHashSet();
+            collectHierarchy(component, hierarchy);
+            for (final Class<?> c : hierarchy) {
+                for (final Field field : c.getDeclaredFields()) {
+                    addType(field.getGenericType());
+                }
+                for (final Constructor<?> constructor : c.getDeclaredConstructors()) {
+                    addTypes(constructor.getGenericParameterTypes());
+                }
+                for (final Method method : c.getDeclaredMethods()) {
+                    addType(method.getGenericReturnType());
+                    addTypes(method.getGenericParameterTypes());
+                }
+            }
+        }
+
+        private void collectHierarchy(final Class<?> c, final Set<Class<?>> hierarchy) {
+            if (c == null || c.getClassLoader() == null || !hierarchy.add(c)) {
+                return;
+            }
+            collectHierarchy(c.getSuperclass(), hierarchy);
+            for (final Class<?> i : c.getInterfaces()) {
+                collectHierarchy(i, hierarchy);
+            }
+        }
+
+        private void addTypes(final Type[] types) {
+            for (final Type type : types) {
+                addType(type);
+            }
+        }
+
+        private void addType(final Type type) {
+            if (type instanceof Class) {
+                addClass((Class<?>) type);
+            } else if (type instanceof ParameterizedType) {
+                final ParameterizedType parameterizedType = (ParameterizedType) type;
+                addType(parameterizedType.getRawType());
+                addType(parameterizedType.getOwnerType());
+                addTypes(parameterizedType.getActualTypeArguments());
+            } else if (type instanceof GenericArrayType) {
+                addType(((GenericArrayType) type).getGenericComponentType());
+            } else if (type instanceof WildcardType) {
+                addTypes(((WildcardType) type).getUpperBounds());
+                addTypes(((WildcardType) type).getLowerBounds());
+            } else if (type instanceof TypeVariable) {
+                // recursive bounds (e.g. T extends Comparable<T>) must be visited only once
+                if (typeVariables.add((TypeVariable<?>) type)) {
+                    addTypes(((TypeVariable<?>) type).getBounds());
+                }
+            }
+        }
+
+        private void addClass(Class<?> c) {
+            while (c.isArray()) {
+                c = c.getComponentType();
+            }
+            // JDK classes (and their super-types) do not change
+            if (c.getClassLoader() == null || !classes.add(c)) {
+                return;
+            }
+            if (c.getSuperclass() != null) {
+                addClass(c.getSuperclass());
+            }
+            for (final Class<?> i : c.getInterfaces()) {
+                addClass(i);
+            }
+        }
+    }
+
+    private static String fingerprint(final Object value, final Map<String, JarFile> jars) {
+        if (value == null) {
+            return "null";
+        } else if (value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum || value instanceof File) {
+            return value.toString();
+        } else if (value instanceof Class) {
+            final Class<?> c = (Class<?>) value;
+            final String classFingerprint = fingerprint(c, jars);
+            return classFingerprint == null ? null : c.getName() + ' ' + classFingerprint;
+        } else if (value.getClass().isArray()) {
+            final StringBuilder sb = new StringBuilder("[");
+            final int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                final String elementFingerprint = fingerprint(Array.get(value, i), jars);
+                if (elementFingerprint == null) {
+                    return null;
+                }
+                sb.append(i == 0 ? "" : ",").append(elementFingerprint);
+            }
+            return sb.append(']').toString();
+        }
+
+        // arbitrary objects cannot be compared reliably across application runs
+        return null;
+    }
+
+    private static String fingerprint(final Class<?> c, final Map<String, JarFile> jars) {
+        final ClassLoader loader = c.getClassLoader();
+        if (loader == null) {
+            // JDK class, does not change
+            return "system";
+        }
+
+        final URL url = loader.getResource(c.getName().replace('.', '/') + ".class");
+        if (url == null) {
+            // generated class
+            return null;
+        }
+
+        try {
+            if ("file".equals(url.getProtocol())) {
+                final File classFile = new File(url.toURI());
+                return classFile.length() + ":" + classFile.lastModified();
+            }
+
+            final URLConnection connection = url.openConnection();
+            if (connection instanceof JarURLConnection) {
+                final JarURLConnection jarConnection = (JarURLConnection) connection;
+                final String jarUrl = jarConnection.getJarFileURL().toExternalForm();
+                JarFile jar = jars.get(jarUrl);
+                if (jar == null) {
+                    // do not share (and lock) the jar file with the JVM-wide jar cache, the jar is closed once
+                    // the snapshot is created
+                    jarConnection.setUseCaches(false);
+                    jar = jarConnection.getJarFile();
+                    jars.put(jarUrl, jar);
+                }
+
+                final JarEntry entry = jar.getJarEntry(jarConnection.getEntryName());
+                if (entry != null && entry.getCrc() != -1) {
+                    return entry.getSize() + ":" + Long.toHexString(entry.getCrc());
+                }
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.FINE, "Class file of " + c.getName() + " cannot be fingerprinted.", ex);
+        } catch (URISyntaxException ex) {
+            LOGGER.log(Level.FINE, "Class file of " + c.getName() + " cannot be fingerprinted.", ex);
+        }
+
+        // unsupported class file location
+        return null;
+    }
+
+    /**
+     * Check whether the stored snapshot matches the current application fingerprint.
+     *
+     * @return {@code true} if the stored snapshot matches the application, {@code false} otherwise.
+     */
+    boolean matches() {
+        if (!file.isFile()) {
+            return false;
+        }
+
+        final String stored;
+        try {
+            stored = read();
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.VALIDATION_SNAPSHOT_READ_FAILED(file), ex);
+            return false;
+        }
+
+        if (fingerprint.equals(stored)) {
+            LOGGER.config(LocalizationMessages.VALIDATION_SNAPSHOT_MATCHED(file));
+            return true;
+        }
+
+        LOGGER.config(LocalizationMessages.VALIDATION_SNAPSHOT_INVALID(file));
+        return false;
+    }
+
+    /**
+     * Store the current application fingerprint into the snapshot file. The failure to store the snapshot
+     * is logged, but otherwise ignored.
+     */
+    void store() {
+        final File tmp = new File(file.getPath() + ".tmp");
+        try {
+            final File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Could not create directory " + parent);
+            }
+
+            final Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), UTF8);
+            try {
+                writer.write(fingerprint);
+            } finally {
+                writer.close();
+            }
+
+            // replace the snapshot atomically (where supported) so that a concurrent reader never sees a partial snapshot
+            if (!tmp.renameTo(file) && !(file.delete() && tmp.renameTo(file))) {
+                throw new IOException("Could not rename " + tmp + " to " + file);
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.VALIDATION_SNAPSHOT_WRITE_FAILED(file), ex);
+            //noinspection ResultOfMethodCallIgnored
+            tmp.delete();
+        }
+    }
+
+    private String read() throws IOException {
+        final Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF8));
+        try {
+            final StringBuilder sb = new StringBuilder();
+            final char[] buffer = new char[4096];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+            return sb.toString();
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -40,6 +40,7 @@
 package org.glassfish.jersey.server.filter;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.util.Collections;
 import java.util.List;
@@ -52,12 +53,16 @@ import javax.ws.rs.Priorities;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.HttpHeaders;
 
 import javax.annotation.Priority;
 import javax.inject.Inject;
 
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.MessageProperties;
 import org.glassfish.jersey.message.internal.HttpHeaderReader;
+import org.glassfish.jersey.message.internal.ReaderWriter;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.spi.ContentEncoder;
@@ -77,6 +82,9 @@ import com.google.common.collect.Sets;
  * <p>
  *     The filter also ensures Accept-Encoding is added to the Vary header, for proper interaction with web caches.
  * </p>
+ * <p>
+ *     Entities of a known size smaller than {@link MessageProperties#ENCODING_MIN_SIZE} bytes are not encoded.
+ * </p>
  *
  * @author Martin Matula (martin.matula at oracle.com)
  */
@@ -87,8 +95,12 @@ public final class EncodingFilter implements ContainerResponseFilter {
 
     @Inject
     private ServiceLocator serviceLocator;
+    @Inject
+    private Configuration config;
     // sorted set to keep the order same for different invocations of the app
     private volatile SortedSet<String> supportedEncodings = null;
+    // minimum size of an entity to be encoded, -1 if not initialized yet
+    private volatile int minSize = -1;
 
     /**
      * Enables this filter along with the provided {@link org.glassfish.jersey.spi.ContentEncoder encoders}
@@ -117,6 +129,12 @@ public final class EncodingFilter implements ContainerResponseFilter {
             return;
         }
 
+        // small entities are not worth encoding
+        final long entitySize = getEntitySize((ContainerResponse) response);
+        if (entitySize >= 0 && entitySize < getMinSize()) {
+            return;
+        }
+
         // retrieve the list of accepted encodings
         List<String> acceptEncoding = request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING);
 
@@ -234,6 +252,75 @@ public final class EncodingFilter implements ContainerResponseFilter {
         }
     }
 
+    /**
+     * Returns the size of the response entity in bytes if it can be determined cheaply before the entity
+     * is serialized, {@code -1} otherwise.
+     *
+     * @param response container response.
+     * @return entity size or {@code -1} if not known.
+     */
+    private static long getEntitySize(ContainerResponse response) {
+        final int length = response.getLength();
+        if (length >= 0) {
+            return length;
+        }
+        final Object entity = response.getEntity();
+        if (entity instanceof byte[]) {
+            return ((byte[]) entity).length;
+        } else if (entity instanceof String) {
+            return getEncodedLength((String) entity, ReaderWriter.getCharset(response.getMediaType()));
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of bytes the string occupies once encoded using the given charset. UTF-8 lengths
+     * are counted without encoding the string.
+     *
+     * @param value string to be measured.
+     * @param charset charset the string is going to be encoded with.
+     * @return encoded length in bytes.
+     */
+    static long getEncodedLength(String value, Charset charset) {
+        if (!ReaderWriter.UTF8.equals(charset)) {
+            return value.getBytes(charset).length;
+        }
+        long bytes = 0;
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+                // unpaired surrogate is replaced by a single '?'
+                bytes++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the minimum size of an entity to be encoded.
+     * @return minimum entity size in bytes.
+     */
+    int getMinSize() {
+        // no need for synchronization - in case of a race condition, the property
+        // may be set twice, but it does not break anything
+        if (minSize < 0) {
+            final int value = config == null ? 0 : PropertiesHelper.getValue(config.getProperties(),
+                    MessageProperties.ENCODING_MIN_SIZE, 0);
+            minSize = Math.max(0, value);
+        }
+        return minSize;
+    }
+
     /**
      * Returns a (lexically) sorted set of supported encodings.
      * @return sorted set of supported encodings.
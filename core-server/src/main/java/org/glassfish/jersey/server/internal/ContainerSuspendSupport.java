@@ -0,0 +1,211 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.container.AsyncResponse;
+
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Suspend and time-out support for containers whose underlying HTTP server does not provide a native
+ * way of suspending the request processing.
+ * <p>
+ * A single instance is shared by all the {@link ContainerResponseWriter response writers} of a container.
+ * The time-out scheduler thread is started lazily, once the first time-out is scheduled, and is stopped
+ * when the container is {@link #shutdown() shut down}.
+ * </p>
+ */
+public final class ContainerSuspendSupport {
+
+    private static final Logger LOGGER = Logger.getLogger(ContainerSuspendSupport.class.getName());
+
+    private final String threadName;
+    private ScheduledExecutorService scheduler;
+    private boolean shutdown = false;
+
+    /**
+     * Create new suspend support.
+     *
+     * @param threadName name of the time-out scheduler thread.
+     */
+    public ContainerSuspendSupport(final String threadName) {
+        this.threadName = threadName;
+    }
+
+    /**
+     * Create a new suspend state for a single response writer.
+     *
+     * @param writer response writer passed to the time-out handler.
+     * @return new suspend state of the response writer.
+     */
+    public Suspension newSuspension(final ContainerResponseWriter writer) {
+        return new Suspension(writer);
+    }
+
+    /**
+     * Stop the time-out scheduler. Pending time-outs are discarded and no new time-outs are scheduled
+     * afterwards.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private synchronized ScheduledFuture<?> schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        if (shutdown) {
+            return null;
+        }
+        if (scheduler == null) {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                    new ThreadFactoryBuilder().setNameFormat(threadName).setDaemon(true).build());
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            scheduler = executor;
+        }
+        try {
+            return scheduler.schedule(task, delay, unit);
+        } catch (RejectedExecutionException ex) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.SUSPEND_SHEDULING_ERROR(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Suspend state of a single response writer.
+     */
+    public final class Suspension {
+
+        private final ContainerResponseWriter writer;
+
+        private boolean suspended = false;
+        private ContainerResponseWriter.TimeoutHandler timeoutHandler;
+        private ScheduledFuture<?> timeoutTask;
+
+        private Suspension(final ContainerResponseWriter writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * Suspend the response writer.
+         *
+         * @param timeOut        time-out value, a value lower than or equal to {@code 0} means no time-out.
+         * @param timeUnit       time-out time unit.
+         * @param timeoutHandler handler invoked once the time-out expires.
+         * @return {@code true} if the writer has been suspended, {@code false} if it has already been suspended before.
+         * @see ContainerResponseWriter#suspend(long, TimeUnit, ContainerResponseWriter.TimeoutHandler)
+         */
+        public synchronized boolean suspend(final long timeOut,
+                                            final TimeUnit timeUnit,
+                                            final ContainerResponseWriter.TimeoutHandler timeoutHandler) {
+            if (suspended) {
+                return false;
+            }
+            suspended = true;
+            this.timeoutHandler = timeoutHandler;
+            scheduleTimeout(timeOut, timeUnit);
+            return true;
+        }
+
+        /**
+         * Reset the time-out of the suspended response writer.
+         *
+         * @param timeOut  new time-out value, a value lower than or equal to {@code 0} means no time-out.
+         * @param timeUnit time-out time unit.
+         * @throws IllegalStateException in case the response writer has not been suspended yet.
+         * @see ContainerResponseWriter#setSuspendTimeout(long, TimeUnit)
+         */
+        public synchronized void setSuspendTimeout(final long timeOut, final TimeUnit timeUnit) throws IllegalStateException {
+            if (!suspended) {
+                throw new IllegalStateException(LocalizationMessages.SUSPEND_NOT_SUSPENDED());
+            }
+            scheduleTimeout(timeOut, timeUnit);
+        }
+
+        /**
+         * Check whether the request processing has been suspended, i.e. the response will be committed
+         * asynchronously.
+         *
+         * @return {@code true} if the response writer has been suspended.
+         */
+        public synchronized boolean isSuspended() {
+            return suspended;
+        }
+
+        /**
+         * Cancel the pending time-out, if any. Invoked once the response is committed.
+         */
+        public synchronized void cancelTimeout() {
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+                timeoutTask = null;
+            }
+        }
+
+        private void scheduleTimeout(final long timeOut, final TimeUnit timeUnit) {
+            cancelTimeout();
+            final ContainerResponseWriter.TimeoutHandler handler = timeoutHandler;
+            if (timeOut <= AsyncResponse.NO_TIMEOUT || handler == null) {
+                return;
+            }
+            timeoutTask = schedule(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        handler.onTimeout(writer);
+                    } catch (Throwable throwable) {
+                        LOGGER.log(Level.WARNING, LocalizationMessages.SUSPEND_HANDLER_EXECUTION_FAILED(), throwable);
+                    }
+                }
+            }, timeOut, timeUnit);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.glassfish.jersey.uri.UriComponent;
+
+/**
+ * Helper for containers that builds the application base URI and the request URI of incoming requests.
+ * <p>
+ * The base URI is the same for (almost) all requests served by a container, so it is parsed only once per
+ * distinct combination of scheme, host, port and base path and cached. The request URI is then assembled
+ * as a single string from the cached base URI prefix and the raw request path and query. The path and
+ * query are validated (and contextually encoded if they contain illegal characters) so that the resulting
+ * string is always a valid URI and can be parsed lazily by the {@link org.glassfish.jersey.server.ContainerRequest
+ * container request}.
+ * </p>
+ * <p>
+ * The number of cached base URIs is bounded, since the host name is taken from the client-supplied
+ * {@code Host} header. Instances are thread-safe.
+ * </p>
+ */
+public final class ContainerUriCache {
+
+    /**
+     * Maximum number of cached base URIs.
+     */
+    static final int MAX_CACHED_BASE_URIS = 64;
+
+    /**
+     * Base URI of an application together with the string prefix of all its request URIs.
+     */
+    public static final class BaseUri {
+
+        private final URI uri;
+        private final String prefix;
+
+        private BaseUri(final URI uri, final String prefix) {
+            this.uri = uri;
+            this.prefix = prefix;
+        }
+
+        /**
+         * Get the application base URI.
+         *
+         * @return application base URI.
+         */
+        public URI getUri() {
+            return uri;
+        }
+
+        /**
+         * Build the request URI string from the raw (encoded) request path and query.
+         *
+         * @param rawPath  raw absolute request path (i.e. including the base path), must not be {@code null}.
+         * @param rawQuery raw request query, may be {@code null}.
+         * @return request URI string that is a valid URI.
+         */
+        public String requestUri(final String rawPath, final String rawQuery) {
+            final String path = UriComponent.valid(rawPath, UriComponent.Type.PATH)
+                    ? rawPath : UriComponent.contextualEncode(rawPath, UriComponent.Type.PATH);
+
+            if (rawQuery == null || rawQuery.isEmpty()) {
+                return prefix + path;
+            }
+            final String query = UriComponent.valid(rawQuery, UriComponent.Type.QUERY)
+                    ? rawQuery : UriComponent.contextualEncode(rawQuery, UriComponent.Type.QUERY);
+            return prefix + path + '?' + query;
+        }
+    }
+
+    private final ConcurrentMap<String, BaseUri> cache = new ConcurrentHashMap<String, BaseUri>();
+
+    /**
+     * Get the (cached) application base URI.
+     *
+     * @param scheme   request scheme.
+     * @param host     server host name.
+     * @param port     server port, a negative value if the port should be omitted.
+     * @param basePath raw base path of the application, the path is expected to end with a {@code '/'}.
+     * @return application base URI.
+     * @throws IllegalArgumentException in case the base URI is not valid.
+     */
+    public BaseUri getBaseUri(final String scheme, final String host, final int port, final String basePath)
+            throws IllegalArgumentException {
+        final String prefix = prefix(scheme, host, port);
+        final String key = prefix + basePath;
+
+        BaseUri baseUri = cache.get(key);
+        if (baseUri == null) {
+            final String path = UriComponent.valid(basePath, UriComponent.Type.PATH)
+                    ? basePath : UriComponent.contextualEncode(basePath, UriComponent.Type.PATH);
+            baseUri = new BaseUri(URI.create(prefix + path), prefix);
+            if (cache.size() < MAX_CACHED_BASE_URIS) {
+                cache.putIfAbsent(key, baseUri);
+            }
+        }
+        return baseUri;
+    }
+
+    private static String prefix(final String scheme, final String host, final int port) {
+        final StringBuilder sb = new StringBuilder(scheme.length() + host.length() + 10);
+        sb.append(scheme).append("://");
+        if (host.indexOf(':') >= 0 && host.charAt(0) != '[') {
+            // IPv6 literal
+            sb.append('[').append(host).append(']');
+        } else {
+            sb.append(host);
+        }
+        if (port >= 0) {
+            sb.append(':').append(port);
+        }
+        return sb.toString();
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -64,7 +64,8 @@ abstract class AbstractParamValueExtractor<T> {
      * <p />
      * As part of the initialization, the default value validation is performed
      * based on the presence and value of the {@link ParamConverter.Lazy}
-     * annotation on the supplied string value reader class.
+     * annotation on the supplied string value reader class. The converted default
+     * value is cached and reused for all subsequent extractions.
      *
      * @param converter parameter converter.
      * @param parameterName name of the parameter.
@@ -77,16 +78,17 @@ abstract class AbstractParamValueExtractor<T> {
 
 
         if (defaultValueString != null) {
-            this.convertedDefaultValue = Values.lazy(new Value<T>() {
-                @Override
-                public T get() {
-                    return paramConverter.fromString(defaultValueString);
-                }
-            });
-
-            if (!converter.getClass().isAnnotationPresent(ParamConverter.Lazy.class)) {
-                // ignore return value - executed just for validation reasons
-                convertedDefaultValue.get();
+            if (converter.getClass().isAnnotationPresent(ParamConverter.Lazy.class)) {
+                this.convertedDefaultValue = Values.lazy(new Value<T>() {
+                    @Override
+                    public T get() {
+                        return paramConverter.fromString(defaultValueString);
+                    }
+                });
+            } else {
+                // parse (and thus validate) the default value eagerly and cache the result
+                // so that no further conversion or synchronization is needed at request time
+                this.convertedDefaultValue = Values.of(converter.fromString(defaultValueString));
             }
         } else {
             convertedDefaultValue = null;
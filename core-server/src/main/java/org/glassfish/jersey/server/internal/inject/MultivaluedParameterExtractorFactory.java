@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -40,7 +40,6 @@
 package org.glassfish.jersey.server.internal.inject;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Set;
@@ -156,15 +155,16 @@ final class MultivaluedParameterExtractorFactory implements MultivaluedParameter
                 return null;
             }
 
-            // Check for static valueOf(String )
-            Method valueOf = ReflectionHelper.getValueOfStringMethod(rawType);
-            if (valueOf != null) {
+            // Direct equivalent of the static valueOf(String) method
+            final StringValueParsers.Parser<?> parser = StringValueParsers.get(rawType);
+            if (parser != null) {
                 try {
                     Object defaultDefaultValue = PrimitiveMapper.primitiveToDefaultValueMap.get(rawType);
-                    return new PrimitiveValueOfExtractor(valueOf, parameterName,
+                    return new PrimitiveValueOfExtractor(parser, parameterName,
                             defaultValue, defaultDefaultValue);
                 } catch (Exception e) {
-                    throw new ProcessingException(LocalizationMessages.DEFAULT_COULD_NOT_PROCESS_METHOD(defaultValue, valueOf));
+                    throw new ProcessingException(LocalizationMessages.DEFAULT_COULD_NOT_PROCESS_METHOD(defaultValue,
+                            ReflectionHelper.getValueOfStringMethod(rawType)));
                 }
             }
 
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -102,6 +102,39 @@ class ParamConverters {
     }
 
 
+    /**
+     * {@link ParamConverter Param converter} that converts the supplied string into one of the
+     * well-known JDK value types using a {@link StringValueParsers direct parser}, i.e. without any
+     * reflective invocation. The conversion error handling is the same as in the reflection-based
+     * converters.
+     */
+    private static final class DirectStringReader<T> implements ParamConverter<T> {
+
+        private final StringValueParsers.Parser<T> parser;
+
+        private DirectStringReader(StringValueParsers.Parser<T> parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public T fromString(String value) {
+            try {
+                return parser.parse(value);
+            } catch (RuntimeException ex) {
+                // if the value is an empty string, return null
+                if (value.length() == 0) {
+                    return null;
+                }
+                throw new ExtractorException(ex);
+            }
+        }
+
+        @Override
+        public String toString(T value) throws IllegalArgumentException {
+            return value.toString();
+        }
+    }
+
     /**
      * Provider of {@link ParamConverter param converter} that produce the target Java type instance
      * by invoking a single {@code String} parameter constructor on the target type.
@@ -234,6 +267,13 @@ class ParamConverters {
 
         @Override
         public <T> ParamConverter<T> getConverter(Class<T> rawType, Type genericType, Annotation[] annotations) {
+            // Well-known JDK types are converted directly. The direct parsers invoke the same methods the providers
+            // below would select for these types reflectively, so the conversion order defined by the spec is preserved.
+            final StringValueParsers.Parser<T> parser = StringValueParsers.get(rawType);
+            if (parser != null) {
+                return new DirectStringReader<T>(parser);
+            }
+
             for (ParamConverterProvider p : providers) {
                 // This iteration trough providers is important. It can't be replaced by just registering all the internal
                 // providers of this class. Using iteration trough array the correct ordering of providers is ensured (see
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,25 +39,19 @@
  */
 package org.glassfish.jersey.server.internal.inject;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-
-import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MultivaluedMap;
 
-import org.glassfish.jersey.internal.ProcessingException;
-
 /**
  * Extract primitive parameter value from the {@link MultivaluedMap multivalued parameter map}
- * using one of the {@code valueOf(String)} methods on the primitive Java type wrapper
- * classes.
+ * using a {@link StringValueParsers direct parser} of the primitive Java type wrapper
+ * class (i.e. one of the {@code valueOf(String)} methods invoked without reflection).
  *
  * @author Paul Sandoz
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
 final class PrimitiveValueOfExtractor implements MultivaluedParameterExtractor<Object> {
 
-    private final Method valueOf;
+    private final StringValueParsers.Parser<?> parser;
     private final String parameter;
     private final String defaultStringValue;
     private final Object defaultValue;
@@ -66,14 +60,14 @@ final class PrimitiveValueOfExtractor implements MultivaluedParameterExtractor<O
     /**
      * Create new primitive parameter value extractor.
      *
-     * @param valueOf                   {@code valueOf()} method handler.
+     * @param parser                    primitive type wrapper parser.
      * @param parameter                 string parameter value.
      * @param defaultStringValue        default string value.
      * @param defaultPrimitiveTypeValue default primitive type value.
      */
-    public PrimitiveValueOfExtractor(Method valueOf, String parameter,
+    public PrimitiveValueOfExtractor(StringValueParsers.Parser<?> parser, String parameter,
                                      String defaultStringValue, Object defaultPrimitiveTypeValue) {
-        this.valueOf = valueOf;
+        this.parser = parser;
         this.parameter = parameter;
         this.defaultStringValue = defaultStringValue;
         this.defaultValue = (defaultStringValue != null)
@@ -93,18 +87,9 @@ final class PrimitiveValueOfExtractor implements MultivaluedParameterExtractor<O
 
     private Object getValue(String v) {
         try {
-            return valueOf.invoke(null, v);
-        } catch (InvocationTargetException ex) {
-            Throwable target = ex.getTargetException();
-            if (target instanceof WebApplicationException) {
-                throw (WebApplicationException) target;
-            } else {
-                throw new ExtractorException(target);
-            }
+            return parser.parse(v);
         } catch (RuntimeException ex) {
-            throw new ProcessingException(ex);
-        } catch (Exception ex) {
-            throw new ProcessingException(ex);
+            throw new ExtractorException(ex);
         }
     }
 
@@ -0,0 +1,178 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.inject;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Direct (reflection-free) {@code String} parsers of the well-known JDK value types.
+ * <p>
+ * Each parser invokes exactly the same method that the reflective
+ * {@link ParamConverters param converter providers} would select for the type
+ * ({@code valueOf(String)}, {@code fromString(String)} or the {@code String} constructor),
+ * only without the {@link java.lang.reflect.Method#invoke(Object, Object...) reflective invocation}
+ * and the associated exception wrapping on every parameter extraction.
+ * </p>
+ */
+final class StringValueParsers {
+
+    /**
+     * {@code String} value parser.
+     *
+     * @param <T> parsed Java type.
+     */
+    static interface Parser<T> {
+
+        /**
+         * Parse the string value.
+         *
+         * @param value string value to be parsed, never {@code null}.
+         * @return parsed value.
+         * @throws RuntimeException in case the value cannot be parsed.
+         */
+        T parse(String value);
+    }
+
+    private static final Map<Class<?>, Parser<?>> PARSERS = createParsers();
+
+    private static Map<Class<?>, Parser<?>> createParsers() {
+        final Map<Class<?>, Parser<?>> m = new IdentityHashMap<Class<?>, Parser<?>>();
+
+        // static valueOf(String) methods
+        m.put(Boolean.class, new Parser<Boolean>() {
+            @Override
+            public Boolean parse(String value) {
+                return Boolean.valueOf(value);
+            }
+        });
+        m.put(Byte.class, new Parser<Byte>() {
+            @Override
+            public Byte parse(String value) {
+                return Byte.valueOf(value);
+            }
+        });
+        m.put(Short.class, new Parser<Short>() {
+            @Override
+            public Short parse(String value) {
+                return Short.valueOf(value);
+            }
+        });
+        m.put(Integer.class, new Parser<Integer>() {
+            @Override
+            public Integer parse(String value) {
+                return Integer.valueOf(value);
+            }
+        });
+        m.put(Long.class, new Parser<Long>() {
+            @Override
+            public Long parse(String value) {
+                return Long.valueOf(value);
+            }
+        });
+        m.put(Float.class, new Parser<Float>() {
+            @Override
+            public Float parse(String value) {
+                return Float.valueOf(value);
+            }
+        });
+        m.put(Double.class, new Parser<Double>() {
+            @Override
+            public Double parse(String value) {
+                return Double.valueOf(value);
+            }
+        });
+
+        // static fromString(String) methods
+        m.put(UUID.class, new Parser<UUID>() {
+            @Override
+            public UUID parse(String value) {
+                return UUID.fromString(value);
+            }
+        });
+
+        // String constructors
+        m.put(String.class, new Parser<String>() {
+            @Override
+            public String parse(String value) {
+                // strings are immutable, no need to copy the value
+                return value;
+            }
+        });
+        m.put(BigInteger.class, new Parser<BigInteger>() {
+            @Override
+            public BigInteger parse(String value) {
+                return new BigInteger(value);
+            }
+        });
+        m.put(BigDecimal.class, new Parser<BigDecimal>() {
+            @Override
+            public BigDecimal parse(String value) {
+                return new BigDecimal(value);
+            }
+        });
+
+        return Collections.unmodifiableMap(m);
+    }
+
+    /**
+     * Get the direct parser for the given type.
+     *
+     * @param <T>  parsed Java type.
+     * @param type parsed Java type. Primitive types are not supported, the respective wrapper
+     *             type must be used instead.
+     * @return direct parser of the type or {@code null} if there is no direct parser available
+     *         for the type.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Parser<T> get(Class<T> type) {
+        return (Parser<T>) PARSERS.get(type);
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private StringValueParsers() {
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
+
+/**
+ * Lock-free recorder of execution counts and execution time histogram of a single monitored target.
+ *
+ * @see ExecutionStatistics
+ */
+final class ExecutionRecorder {
+
+    /**
+     * Number of histogram buckets; bucket {@code i} counts executions that took less than {@code 2^i} nanoseconds.
+     */
+    private static final int BUCKETS = 64;
+
+    private final StripedCounter count = new StripedCounter();
+    private final StripedCounter errors = new StripedCounter();
+    private final StripedCounter totalNanos = new StripedCounter();
+    private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxNanos = new AtomicLong(0);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Record a single execution.
+     *
+     * @param nanos  execution time in nanoseconds.
+     * @param failed {@code true} if the execution failed.
+     */
+    void record(long nanos, final boolean failed) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        count.increment();
+        if (failed) {
+            errors.increment();
+        }
+        totalNanos.add(nanos);
+        histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos)));
+
+        long current = minNanos.get();
+        while (nanos < current && !minNanos.compareAndSet(current, nanos)) {
+            current = minNanos.get();
+        }
+        current = maxNanos.get();
+        while (nanos > current && !maxNanos.compareAndSet(current, nanos)) {
+            current = maxNanos.get();
+        }
+    }
+
+    /**
+     * Get the snapshot of the recorded statistics.
+     *
+     * @return execution statistics snapshot.
+     */
+    ExecutionStatistics snapshot() {
+        final long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = histogram.get(i);
+        }
+        final long min = minNanos.get();
+        return new ExecutionStatistics(
+                count.sum(),
+                errors.sum(),
+                totalNanos.sum(),
+                min == Long.MAX_VALUE ? 0 : min,
+                maxNanos.get(),
+                buckets);
+    }
+}
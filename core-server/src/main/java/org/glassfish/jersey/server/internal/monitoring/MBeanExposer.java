@@ -0,0 +1,250 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
+import org.glassfish.jersey.server.monitoring.ExecutionStatisticsMXBean;
+import org.glassfish.jersey.server.monitoring.ResponseStatisticsMXBean;
+
+/**
+ * Registers the monitoring statistics MXBeans of a single application in the platform MBean server.
+ * <p>
+ * The MBeans are registered under the {@code org.glassfish.jersey} domain with the {@code type} key
+ * set to the application name, so that the MBeans of multiple applications do not collide.
+ * </p>
+ */
+final class MBeanExposer {
+
+    private static final Logger LOGGER = Logger.getLogger(MBeanExposer.class.getName());
+
+    private static final String DOMAIN = "org.glassfish.jersey";
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    private final String applicationName;
+    private final List<ObjectName> registered = new CopyOnWriteArrayList<ObjectName>();
+
+    /**
+     * Create new MBean exposer.
+     *
+     * @param applicationName name of the application the MBeans belong to.
+     */
+    MBeanExposer(final String applicationName) {
+        this.applicationName = applicationName;
+    }
+
+    /**
+     * Register the application-wide statistics MBeans.
+     *
+     * @param collector monitoring statistics collector.
+     */
+    void registerApplicationMBeans(final MonitoringStatisticsCollector collector) {
+        register("Global", "Requests", new ExecutionStatisticsMXBeanImpl("Requests") {
+            @Override
+            ExecutionStatistics statistics() {
+                return collector.getRequestStatistics();
+            }
+        });
+        register("Global", "Routing", new ExecutionStatisticsMXBeanImpl("Routing") {
+            @Override
+            ExecutionStatistics statistics() {
+                return collector.getRoutingStatistics();
+            }
+        });
+        register("Global", "Responses", new ResponseStatisticsMXBean() {
+            @Override
+            public Map<Integer, Long> getResponseStatusCounts() {
+                return collector.getResponseStatusCounts();
+            }
+
+            @Override
+            public Map<String, Long> getExceptionMapperCounts() {
+                final Map<String, Long> result = new HashMap<String, Long>();
+                for (final Map.Entry<Class<?>, Long> entry : collector.getExceptionMapperCounts().entrySet()) {
+                    result.put(entry.getKey().getName(), entry.getValue());
+                }
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Register the statistics MBean of an individual resource method or resource class.
+     *
+     * @param target   monitored resource method or resource class.
+     * @param recorder recorder of the monitored target statistics.
+     */
+    void registerTargetMBean(final Object target, final ExecutionRecorder recorder) {
+        final String subType;
+        final String name;
+        if (target instanceof ResourceMethod) {
+            subType = "ResourceMethods";
+            name = resourceMethodName((ResourceMethod) target);
+        } else {
+            subType = "Resources";
+            name = ((Class<?>) target).getName();
+        }
+
+        register(subType, name, new ExecutionStatisticsMXBeanImpl(name) {
+            @Override
+            ExecutionStatistics statistics() {
+                return recorder.snapshot();
+            }
+        });
+    }
+
+    private static String resourceMethodName(final ResourceMethod method) {
+        final Method handlingMethod = method.getInvocable().getHandlingMethod();
+        return method.getHttpMethod() + ' ' + handlingMethod.getDeclaringClass().getName() + '.' + handlingMethod.getName();
+    }
+
+    private void register(final String subType, final String name, final Object mBean) {
+        ObjectName objectName = null;
+        try {
+            objectName = new ObjectName(DOMAIN + ":type=" + ObjectName.quote(applicationName)
+                    + ",subType=" + subType + ",name=" + ObjectName.quote(name));
+            synchronized (this) {
+                if (mBeanServer.isRegistered(objectName)) {
+                    mBeanServer.unregisterMBean(objectName);
+                }
+                mBeanServer.registerMBean(mBean, objectName);
+            }
+            registered.add(objectName);
+        } catch (final JMException e) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.MONITORING_MBEAN_REGISTRATION_FAILED(
+                    objectName == null ? name : objectName), e);
+        }
+    }
+
+    /**
+     * Unregister all the MBeans registered by this exposer.
+     */
+    void unregisterAll() {
+        for (final ObjectName objectName : registered) {
+            try {
+                if (mBeanServer.isRegistered(objectName)) {
+                    mBeanServer.unregisterMBean(objectName);
+                }
+            } catch (final JMException e) {
+                LOGGER.log(Level.WARNING, LocalizationMessages.MONITORING_MBEAN_UNREGISTRATION_FAILED(objectName), e);
+            }
+        }
+        registered.clear();
+    }
+
+    /**
+     * Base {@link ExecutionStatisticsMXBean} implementation reading the values from an execution statistics snapshot.
+     */
+    abstract static class ExecutionStatisticsMXBeanImpl implements ExecutionStatisticsMXBean {
+
+        private final String name;
+
+        ExecutionStatisticsMXBeanImpl(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Get the current execution statistics snapshot.
+         *
+         * @return execution statistics snapshot.
+         */
+        abstract ExecutionStatistics statistics();
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getCount() {
+            return statistics().getCount();
+        }
+
+        @Override
+        public long getErrorCount() {
+            return statistics().getErrorCount();
+        }
+
+        @Override
+        public long getTotalTime() {
+            return statistics().getTotalTime(TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public long getMinimumTime() {
+            return statistics().getMinimumTime(TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public long getMaximumTime() {
+            return statistics().getMaximumTime(TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public long getAverageTime() {
+            return statistics().getAverageTime(TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public long getMedianTime() {
+            return statistics().getPercentileTime(50, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public long get99thPercentileTime() {
+            return statistics().getPercentileTime(99, TimeUnit.MILLISECONDS);
+        }
+    }
+}
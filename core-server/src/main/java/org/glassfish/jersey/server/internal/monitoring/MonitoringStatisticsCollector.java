@@ -0,0 +1,259 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import javax.inject.Inject;
+
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
+import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
+
+/**
+ * Collector of the application {@link MonitoringStatistics monitoring statistics}.
+ * <p>
+ * The collector is notified by the request processing runtime about the processed requests and keeps
+ * the statistics in lock-free recorders so that the overhead on the request processing path stays minimal.
+ * Optionally, the statistics are exposed as JMX MBeans (see
+ * {@link ServerProperties#MONITORING_STATISTICS_MBEANS_ENABLED}).
+ * </p>
+ */
+public final class MonitoringStatisticsCollector implements MonitoringStatistics {
+
+    /**
+     * Maximal number of individually monitored resource methods and resource classes. Resource methods
+     * and resource classes encountered after the limit has been reached (e.g. resource methods of
+     * dynamically created sub-resources) are not monitored individually.
+     */
+    static final int MAX_MONITORED_TARGETS = 1024;
+
+    private static final int MAX_STATUS_CODE = 600;
+
+    private final ExecutionRecorder requests = new ExecutionRecorder();
+    private final ExecutionRecorder routing = new ExecutionRecorder();
+    private final ConcurrentMap<ResourceMethod, ExecutionRecorder> resourceMethods =
+            new ConcurrentHashMap<ResourceMethod, ExecutionRecorder>();
+    private final ConcurrentMap<Class<?>, ExecutionRecorder> resourceClasses =
+            new ConcurrentHashMap<Class<?>, ExecutionRecorder>();
+    private final AtomicLongArray statusCounts = new AtomicLongArray(MAX_STATUS_CODE);
+    private final ConcurrentMap<Class<?>, StripedCounter> exceptionMappers =
+            new ConcurrentHashMap<Class<?>, StripedCounter>();
+
+    private final MBeanExposer mBeanExposer;
+
+    /**
+     * Create new monitoring statistics collector.
+     *
+     * @param config application configuration.
+     */
+    @Inject
+    public MonitoringStatisticsCollector(final Configuration config) {
+        final Map<String, Object> properties = config.getProperties();
+        if (PropertiesHelper.getValue(properties, ServerProperties.MONITORING_STATISTICS_MBEANS_ENABLED, Boolean.FALSE)) {
+            String applicationName = PropertiesHelper.getValue(properties,
+                    ServerProperties.MONITORING_APPLICATION_NAME, String.class);
+            if (applicationName == null) {
+                applicationName = "Application-" + Integer.toHexString(System.identityHashCode(this));
+            }
+            this.mBeanExposer = new MBeanExposer(applicationName);
+            mBeanExposer.registerApplicationMBeans(this);
+        } else {
+            this.mBeanExposer = null;
+        }
+    }
+
+    /**
+     * Notify the collector that a request processing has finished.
+     *
+     * @param startNanos value of {@link System#nanoTime()} at the start of the request processing.
+     * @param status     response status code.
+     * @param failed     {@code true} if the request processing failed or the response has been mapped from
+     *                   an exception.
+     */
+    public void requestFinished(final long startNanos, final int status, final boolean failed) {
+        requests.record(System.nanoTime() - startNanos, failed);
+        if (status >= 0 && status < MAX_STATUS_CODE) {
+            statusCounts.incrementAndGet(status);
+        }
+    }
+
+    /**
+     * Notify the collector that the request routing has finished.
+     *
+     * @param startNanos value of {@link System#nanoTime()} at the start of the routing.
+     * @param matched    {@code true} if the request has been matched to a resource method.
+     */
+    public void routingFinished(final long startNanos, final boolean matched) {
+        routing.record(System.nanoTime() - startNanos, !matched);
+    }
+
+    /**
+     * Notify the collector that an invocation of a resource method has finished.
+     *
+     * @param method        invoked resource method.
+     * @param resourceClass class of the resource (handler) instance the method has been invoked on.
+     * @param startNanos    value of {@link System#nanoTime()} at the start of the invocation.
+     * @param failed        {@code true} if the invocation ended with an exception.
+     */
+    public void resourceMethodFinished(final ResourceMethod method,
+                                       final Class<?> resourceClass,
+                                       final long startNanos,
+                                       final boolean failed) {
+        final long nanos = System.nanoTime() - startNanos;
+
+        ExecutionRecorder recorder = resourceMethods.get(method);
+        if (recorder == null) {
+            recorder = createRecorder(resourceMethods, method);
+        }
+        if (recorder != null) {
+            recorder.record(nanos, failed);
+        }
+
+        recorder = resourceClasses.get(resourceClass);
+        if (recorder == null) {
+            recorder = createRecorder(resourceClasses, resourceClass);
+        }
+        if (recorder != null) {
+            recorder.record(nanos, failed);
+        }
+    }
+
+    private <K> ExecutionRecorder createRecorder(final ConcurrentMap<K, ExecutionRecorder> recorders, final K key) {
+        if (recorders.size() >= MAX_MONITORED_TARGETS) {
+            return null;
+        }
+        final ExecutionRecorder recorder = new ExecutionRecorder();
+        final ExecutionRecorder existing = recorders.putIfAbsent(key, recorder);
+        if (existing != null) {
+            return existing;
+        }
+        if (mBeanExposer != null) {
+            mBeanExposer.registerTargetMBean(key, recorder);
+        }
+        return recorder;
+    }
+
+    /**
+     * Notify the collector that an exception has been mapped to a response by an exception mapper.
+     *
+     * @param mapper exception mapper that mapped the exception.
+     */
+    public void exceptionMapped(final ExceptionMapper<?> mapper) {
+        final Class<?> mapperClass = mapper.getClass();
+        StripedCounter counter = exceptionMappers.get(mapperClass);
+        if (counter == null) {
+            final StripedCounter newCounter = new StripedCounter();
+            counter = exceptionMappers.putIfAbsent(mapperClass, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        counter.increment();
+    }
+
+    /**
+     * Release the resources held by the collector, i.e. unregister all the MBeans registered by the collector.
+     */
+    public void close() {
+        if (mBeanExposer != null) {
+            mBeanExposer.unregisterAll();
+        }
+    }
+
+    @Override
+    public ExecutionStatistics getRequestStatistics() {
+        return requests.snapshot();
+    }
+
+    @Override
+    public ExecutionStatistics getRoutingStatistics() {
+        return routing.snapshot();
+    }
+
+    @Override
+    public Map<ResourceMethod, ExecutionStatistics> getResourceMethodStatistics() {
+        return snapshot(resourceMethods);
+    }
+
+    @Override
+    public Map<Class<?>, ExecutionStatistics> getResourceClassStatistics() {
+        return snapshot(resourceClasses);
+    }
+
+    private static <K> Map<K, ExecutionStatistics> snapshot(final Map<K, ExecutionRecorder> recorders) {
+        final Map<K, ExecutionStatistics> result = new HashMap<K, ExecutionStatistics>(recorders.size() * 2);
+        for (final Map.Entry<K, ExecutionRecorder> entry : recorders.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public Map<Integer, Long> getResponseStatusCounts() {
+        final Map<Integer, Long> result = new HashMap<Integer, Long>();
+        for (int status = 0; status < MAX_STATUS_CODE; status++) {
+            final long count = statusCounts.get(status);
+            if (count > 0) {
+                result.put(status, count);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public Map<Class<?>, Long> getExceptionMapperCounts() {
+        final Map<Class<?>, Long> result = new HashMap<Class<?>, Long>(exceptionMappers.size() * 2);
+        for (final Map.Entry<Class<?>, StripedCounter> entry : exceptionMappers.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
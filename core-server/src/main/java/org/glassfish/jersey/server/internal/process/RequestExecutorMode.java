@@ -0,0 +1,101 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.process;
+
+import java.util.Map;
+
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.server.ServerProperties;
+
+/**
+ * Strategy of the executor used to run the resource method invocation and the response processing.
+ *
+ * @see ServerProperties#REQUEST_EXECUTOR
+ */
+public enum RequestExecutorMode {
+
+    /**
+     * Requests are processed on the container thread, only {@link org.glassfish.jersey.server.ManagedAsync managed
+     * asynchronous} resource methods are executed using an (unbounded) requesting executor.
+     */
+    CONTAINER,
+    /**
+     * Requests are processed using a single bounded requesting executor shared by all resources.
+     */
+    BOUNDED,
+    /**
+     * Requests are processed using bounded requesting executors dedicated to the individual resource classes.
+     */
+    BULKHEAD,
+    /**
+     * Each request is processed in a new virtual thread, if supported by the JVM. Otherwise the {@link #BOUNDED}
+     * strategy is used.
+     */
+    VIRTUAL;
+
+    /**
+     * Get the request executor mode configured in the given configuration properties.
+     *
+     * @param properties configuration properties.
+     * @return configured request executor mode, or {@link #CONTAINER} if the mode is not configured or the configured
+     *         value is not valid.
+     */
+    public static RequestExecutorMode fromProperties(final Map<String, Object> properties) {
+        final String mode = PropertiesHelper.getValue(properties, ServerProperties.REQUEST_EXECUTOR, String.class);
+        if (mode != null) {
+            for (final RequestExecutorMode value : values()) {
+                if (value.name().equalsIgnoreCase(mode.trim())) {
+                    return value;
+                }
+            }
+        }
+        return CONTAINER;
+    }
+
+    /**
+     * Check whether the resource method invocations are dispatched from the container thread to
+     * a requesting executor.
+     *
+     * @return {@code true} if all resource method invocations are dispatched to a requesting executor.
+     */
+    public boolean isDispatching() {
+        return this != CONTAINER;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import org.glassfish.jersey.internal.Errors;
+import org.glassfish.jersey.internal.util.Producer;
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.internal.util.collection.Values;
+import org.glassfish.jersey.server.ContainerRequest;
+
+/**
+ * Router that materializes the wrapped router lazily, upon the first request routed through it.
+ * <p>
+ * The wrapped router is created at most once and safely published to all the request processing
+ * threads. Resource model errors reported while creating the router are logged, fatal errors fail the request.
+ * In case the router creation fails, the creation is retried by the next request.
+ * </p>
+ */
+final class LazyRouter implements Router {
+
+    private final Value<Router> router;
+
+    /**
+     * Create new lazy router.
+     *
+     * @param routerFactory factory of the wrapped router.
+     */
+    LazyRouter(final Value<Router> routerFactory) {
+        this.router = Values.lazy(new Value<Router>() {
+            @Override
+            public Router get() {
+                // the router is built outside of the application initialization, fail on fatal model errors here
+                return Errors.processWithException(new Producer<Router>() {
+                    @Override
+                    public Router call() {
+                        return routerFactory.get();
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public Continuation apply(final ContainerRequest request) {
+        return router.get().apply(request);
+    }
+}
@@ -39,22 +39,22 @@
  */
 package org.glassfish.jersey.server.internal.routing;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.NotAcceptableException;
-import javax.ws.rs.NotAllowedException;
-import javax.ws.rs.NotSupportedException;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.Response;
-import javax.ws.rs.core.Response.Status;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -86,11 +86,20 @@ final class MethodSelectingRouter implements Router {
 
     private static final Logger LOGGER = Logger.getLogger(MethodSelectingRouter.class.getName());
 
+    /**
+     * Maximum number of distinct {@code Content-Type} and {@code Accept} header values
+     * for which the method selection results are cached (per HTTP method).
+     */
+    private static final int MAX_CACHED_HEADER_VALUES = 64;
+
     private final Provider<RespondingContext> respondingContextFactory;
+    private final Provider<RoutingContext> routingContextFactory;
     private final MessageBodyWorkers workers;
 
     private final Map<String, List<ConsumesProducesAcceptor>> consumesProducesAcceptors;
+    private final Map<String, HeaderValueCache<HeaderValueCache<MethodSelection>>> methodSelectionCaches;
     private final Router router;
+    private final RoutingFailure methodNotAllowed;
 
     /**
      * Injectable builder of a {@link MethodSelectingRouter} instance.
@@ -98,6 +107,8 @@ final class MethodSelectingRouter implements Router {
     static class Builder {
         @Inject
         private Provider<RespondingContext> respondingContextFactory;
+        @Inject
+        private Provider<RoutingContext> routingContextFactory;
 
         /**
          * Create a new {@link MethodSelectingRouter} for all the methods on the same path.
@@ -113,6 +124,7 @@ final class MethodSelectingRouter implements Router {
                 final MessageBodyWorkers workers, final List<MethodAcceptorPair> methodAcceptorPairs) {
 
             return new MethodSelectingRouter(respondingContextFactory,
+                    routingContextFactory,
                     workers,
                     methodAcceptorPairs);
         }
@@ -120,9 +132,11 @@ final class MethodSelectingRouter implements Router {
 
     private MethodSelectingRouter(
             Provider<RespondingContext> respondingContextFactory,
+            Provider<RoutingContext> routingContextFactory,
             MessageBodyWorkers msgWorkers,
             List<MethodAcceptorPair> methodAcceptorPairs) {
         this.respondingContextFactory = respondingContextFactory;
+        this.routingContextFactory = routingContextFactory;
         this.workers = msgWorkers;
 
         this.consumesProducesAcceptors = new HashMap<String, List<ConsumesProducesAcceptor>>();
@@ -138,6 +152,12 @@ final class MethodSelectingRouter implements Router {
             addAllConsumesProducesCombinations(httpMethodBoundAcceptors, methodAcceptorPair);
         }
 
+        this.methodSelectionCaches = new HashMap<String, HeaderValueCache<HeaderValueCache<MethodSelection>>>();
+        for (String httpMethod : consumesProducesAcceptors.keySet()) {
+            methodSelectionCaches.put(httpMethod, new HeaderValueCache<HeaderValueCache<MethodSelection>>());
+        }
+        this.methodNotAllowed = RoutingFailure.methodNotAllowed(consumesProducesAcceptors.keySet());
+
         if (!consumesProducesAcceptors.containsKey(HttpMethod.HEAD)) {
             this.router = createHeadEnrichedRouter();
         } else {
@@ -304,6 +324,95 @@ final class MethodSelectingRouter implements Router {
     }
 
 
+    /**
+     * Result of the method selection for a particular combination of the HTTP method,
+     * {@code Content-Type} and {@code Accept} request header values. Unsuccessful selection
+     * is represented by a {@link RoutingFailure routing failure}.
+     */
+    private final class MethodSelection {
+
+        private final MethodAcceptorPair methodAcceptorPair;
+        private final Function<ContainerResponse, ContainerResponse> responseMediaTypeFunction;
+        private final RoutingFailure failure;
+
+        private MethodSelection(final RoutingFailure failure) {
+            this.methodAcceptorPair = null;
+            this.responseMediaTypeFunction = null;
+            this.failure = failure;
+        }
+
+        private MethodSelection(final RequestSpecificConsumesProducesAcceptor selected) {
+            this.failure = null;
+            this.methodAcceptorPair = selected.methodAcceptorPair;
+            this.responseMediaTypeFunction = new Function<ContainerResponse, ContainerResponse>() {
+                @Override
+                public ContainerResponse apply(final ContainerResponse responseContext) {
+                    // we only need to compute and set the effective media type if it hasn't been set already
+                    // and either there is an entity, or we are responding to a HEAD request
+                    if (responseContext.getMediaType() == null &&
+                            (responseContext.hasEntity() ||
+                                    HttpMethod.HEAD.equals(responseContext.getRequestContext().getMethod()))) {
+                        MediaType effectiveResponseType = selected.produces.getCombinedMediaType();
+                        if (isWildcard(effectiveResponseType)) {
+                            if (effectiveResponseType.isWildcardType() || effectiveResponseType.getType()
+                                    .equalsIgnoreCase("application")) {
+                                effectiveResponseType = MediaType.APPLICATION_OCTET_STREAM_TYPE;
+                            } else {
+                                throw new NotAcceptableException();
+                            }
+                        }
+                        responseContext.setMediaType(effectiveResponseType);
+                    }
+                    return responseContext;
+                }
+            };
+        }
+    }
+
+    /**
+     * Bounded cache of values keyed by a request header value. A missing ({@code null})
+     * header value is a valid key.
+     *
+     * @param <V> cached value type.
+     */
+    private static final class HeaderValueCache<V> {
+
+        private final ConcurrentMap<String, V> values = new ConcurrentHashMap<String, V>();
+        private volatile V noHeaderValue;
+
+        /**
+         * Get the value cached for the header value.
+         *
+         * @param headerValue header value, may be {@code null}.
+         * @return cached value or {@code null} if there is no value cached for the header value.
+         */
+        V get(final String headerValue) {
+            return headerValue == null ? noHeaderValue : values.get(headerValue);
+        }
+
+        /**
+         * Cache the value for the header value unless a value is already cached or the cache is full.
+         *
+         * @param headerValue header value, may be {@code null}.
+         * @param value       value to be cached.
+         * @return the value cached for the header value or {@code null} if the cache is full.
+         */
+        V putIfAbsent(final String headerValue, final V value) {
+            if (headerValue == null) {
+                if (noHeaderValue == null) {
+                    noHeaderValue = value;
+                }
+                return noHeaderValue;
+            }
+
+            if (values.size() >= MAX_CACHED_HEADER_VALUES) {
+                return values.get(headerValue);
+            }
+            final V previous = values.putIfAbsent(headerValue, value);
+            return previous == null ? value : previous;
+        }
+    }
+
     private Router createInternalRouter() {
         return new Router() {
 
@@ -381,11 +490,45 @@ final class MethodSelectingRouter implements Router {
     }
 
     private List<Router> getMethodRouter(final ContainerRequest requestContext) {
-        List<ConsumesProducesAcceptor> acceptors = consumesProducesAcceptors.get(requestContext.getMethod());
+        final String httpMethod = requestContext.getMethod();
+        final List<ConsumesProducesAcceptor> acceptors = consumesProducesAcceptors.get(httpMethod);
         if (acceptors == null) {
-            throw new NotAllowedException(
-                    Response.status(Status.METHOD_NOT_ALLOWED).allow(consumesProducesAcceptors.keySet()).build());
+            return fail(methodNotAllowed);
         }
+
+        final String contentTypeHeader = requestContext.getHeaderString(HttpHeaders.CONTENT_TYPE);
+        final String acceptHeader = requestContext.getHeaderString(HttpHeaders.ACCEPT);
+
+        final HeaderValueCache<HeaderValueCache<MethodSelection>> contentTypeCache = methodSelectionCaches.get(httpMethod);
+        HeaderValueCache<MethodSelection> acceptCache = contentTypeCache.get(contentTypeHeader);
+        MethodSelection selection = (acceptCache == null) ? null : acceptCache.get(acceptHeader);
+
+        if (selection == null) {
+            selection = selectMethod(requestContext, acceptors);
+
+            if (acceptCache == null) {
+                acceptCache = contentTypeCache.putIfAbsent(contentTypeHeader, new HeaderValueCache<MethodSelection>());
+            }
+            if (acceptCache != null) {
+                acceptCache.putIfAbsent(acceptHeader, selection);
+            }
+        }
+
+        if (selection.failure != null) {
+            return fail(selection.failure);
+        }
+
+        respondingContextFactory.get().push(selection.responseMediaTypeFunction);
+        return selection.methodAcceptorPair.router;
+    }
+
+    private List<Router> fail(final RoutingFailure failure) {
+        routingContextFactory.get().setRoutingFailure(failure);
+        return Collections.emptyList();
+    }
+
+    private MethodSelection selectMethod(final ContainerRequest requestContext,
+                                         final List<ConsumesProducesAcceptor> acceptors) {
         List<ConsumesProducesAcceptor> satisfyingAcceptors = new LinkedList<ConsumesProducesAcceptor>();
         for (ConsumesProducesAcceptor cpi : acceptors) {
             if (cpi.isConsumable(requestContext)) {
@@ -393,7 +536,7 @@ final class MethodSelectingRouter implements Router {
             }
         }
         if (satisfyingAcceptors.isEmpty()) {
-            throw new NotSupportedException();
+            return new MethodSelection(RoutingFailure.unsupportedMediaType());
         }
 
         final List<MediaType> acceptableMediaTypes = requestContext.getAcceptableMediaTypes();
@@ -423,33 +566,10 @@ final class MethodSelectingRouter implements Router {
                 reportMethodSelectionAmbiguity(acceptableMediaTypes, selected, methodSelector.sameFitnessAcceptors);
             }
 
-            respondingContextFactory.get().push(
-                    new Function<ContainerResponse, ContainerResponse>() {
-                        @Override
-                        public ContainerResponse apply(final ContainerResponse responseContext) {
-                            // we only need to compute and set the effective media type if it hasn't been set already
-                            // and either there is an entity, or we are responding to a HEAD request
-                            if (responseContext.getMediaType() == null &&
-                                    (responseContext.hasEntity() ||
-                                            HttpMethod.HEAD.equals(responseContext.getRequestContext().getMethod()))) {
-                                MediaType effectiveResponseType = selected.produces.getCombinedMediaType();
-                                if (isWildcard(effectiveResponseType)) {
-                                    if (effectiveResponseType.isWildcardType() || effectiveResponseType.getType()
-                                            .equalsIgnoreCase("application")) {
-                                        effectiveResponseType = MediaType.APPLICATION_OCTET_STREAM_TYPE;
-                                    } else {
-                                        throw new NotAcceptableException();
-                                    }
-                                }
-                                responseContext.setMediaType(effectiveResponseType);
-                            }
-                            return responseContext;
-                        }
-                    });
-            return selected.methodAcceptorPair.router;
+            return new MethodSelection(selected);
         }
 
-        throw new NotAcceptableException();
+        return new MethodSelection(RoutingFailure.notAcceptable());
     }
 
     private boolean isWildcard(final MediaType effectiveResponseType) {
@@ -153,6 +153,24 @@ public interface RoutingContext extends ResourceInfo {
      */
     public Inflector<ContainerRequest, ContainerResponse> getInflector();
 
+    /**
+     * Set the request routing failure.
+     *
+     * Once the failure is set, the request routing is terminated without
+     * trying any other routing alternatives.
+     *
+     * @param failure request routing failure.
+     */
+    public void setRoutingFailure(RoutingFailure failure);
+
+    /**
+     * Get the request routing failure if the request routing has failed, or {@code null}
+     * otherwise.
+     *
+     * @return request routing failure, or {@code null} if not available.
+     */
+    public RoutingFailure getRoutingFailure();
+
     /**
      * Get all bound request filters applicable to this request.
      * This is populated once the right resource method is matched.
@@ -0,0 +1,175 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.ws.rs.NotAcceptableException;
+import javax.ws.rs.NotAllowedException;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.NotSupportedException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+/**
+ * Request routing failure.
+ * <p>
+ * Routing failures (no matching resource, unsupported HTTP method or media types) are
+ * a regular outcome of the request routing. Instead of throwing the corresponding
+ * {@link WebApplicationException} from the routers, the failure is recorded in the
+ * {@link RoutingContext routing context} and the error response is built directly
+ * unless there is an {@link javax.ws.rs.ext.ExceptionMapper exception mapper} registered
+ * for the failure exception type. Only in such case the {@link #toException() exception
+ * is created} and mapped as usual.
+ * </p>
+ * <p>
+ * Instances are immutable and may be shared across requests.
+ * </p>
+ */
+public final class RoutingFailure {
+
+    private static final RoutingFailure NOT_FOUND =
+            new RoutingFailure(Response.Status.NOT_FOUND, NotFoundException.class, null);
+    private static final RoutingFailure UNSUPPORTED_MEDIA_TYPE =
+            new RoutingFailure(Response.Status.UNSUPPORTED_MEDIA_TYPE, NotSupportedException.class, null);
+    private static final RoutingFailure NOT_ACCEPTABLE =
+            new RoutingFailure(Response.Status.NOT_ACCEPTABLE, NotAcceptableException.class, null);
+
+    private final Response.Status status;
+    private final Class<? extends WebApplicationException> exceptionType;
+    private final Set<String> allowedMethods;
+
+    private RoutingFailure(final Response.Status status,
+                           final Class<? extends WebApplicationException> exceptionType,
+                           final Set<String> allowedMethods) {
+        this.status = status;
+        this.exceptionType = exceptionType;
+        this.allowedMethods = allowedMethods;
+    }
+
+    /**
+     * Get the failure signalling that no resource method matches the request URI ({@code 404}).
+     *
+     * @return "not found" routing failure.
+     */
+    public static RoutingFailure notFound() {
+        return NOT_FOUND;
+    }
+
+    /**
+     * Get the failure signalling that none of the resource methods consumes the request
+     * entity media type ({@code 415}).
+     *
+     * @return "unsupported media type" routing failure.
+     */
+    public static RoutingFailure unsupportedMediaType() {
+        return UNSUPPORTED_MEDIA_TYPE;
+    }
+
+    /**
+     * Get the failure signalling that none of the resource methods produces a media type
+     * acceptable by the client ({@code 406}).
+     *
+     * @return "not acceptable" routing failure.
+     */
+    public static RoutingFailure notAcceptable() {
+        return NOT_ACCEPTABLE;
+    }
+
+    /**
+     * Create new failure signalling that the matched resource does not support the request
+     * HTTP method ({@code 405}).
+     *
+     * @param allowedMethods HTTP methods supported by the matched resource.
+     * @return new "method not allowed" routing failure.
+     */
+    public static RoutingFailure methodNotAllowed(final Set<String> allowedMethods) {
+        return new RoutingFailure(Response.Status.METHOD_NOT_ALLOWED, NotAllowedException.class,
+                Collections.unmodifiableSet(new LinkedHashSet<String>(allowedMethods)));
+    }
+
+    /**
+     * Get the type of the exception that represents this failure.
+     *
+     * @return failure exception type.
+     */
+    public Class<? extends WebApplicationException> getExceptionType() {
+        return exceptionType;
+    }
+
+    /**
+     * Build new error response for this failure. The response is the same as the response
+     * of the {@link #toException() failure exception}.
+     *
+     * @return new error response.
+     */
+    public Response toResponse() {
+        final Response.ResponseBuilder builder = Response.status(status);
+        if (allowedMethods != null) {
+            builder.allow(allowedMethods);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Create new exception that represents this failure.
+     *
+     * @return new failure exception.
+     */
+    public WebApplicationException toException() {
+        switch (status) {
+            case METHOD_NOT_ALLOWED:
+                return new NotAllowedException(toResponse());
+            case UNSUPPORTED_MEDIA_TYPE:
+                return new NotSupportedException();
+            case NOT_ACCEPTABLE:
+                return new NotAcceptableException();
+            default:
+                return new NotFoundException();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RoutingFailure{" + status.getStatusCode() + ' ' + status.getReasonPhrase() + '}';
+    }
+}
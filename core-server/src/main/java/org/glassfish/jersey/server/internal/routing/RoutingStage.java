@@ -42,11 +42,16 @@ package org.glassfish.jersey.server.internal.routing;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
+import org.glassfish.jersey.message.internal.TracingLogger;
 import org.glassfish.jersey.process.internal.AbstractChainableStage;
 import org.glassfish.jersey.process.internal.Inflecting;
 import org.glassfish.jersey.process.internal.Stage;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.internal.ServerTraceEvent;
+import org.glassfish.jersey.server.internal.monitoring.MonitoringStatisticsCollector;
+
+import org.glassfish.hk2.api.ServiceLocator;
 
 /**
  * Request pre-processing stage that encapsulates hierarchical resource matching
@@ -66,6 +71,8 @@ public class RoutingStage extends AbstractChainableStage<ContainerRequest> {
     public static class Builder {
         @Inject
         private Provider<RoutingContext> routingContextFactory;
+        @Inject
+        private ServiceLocator locator;
 
         /**
          * Build a properly injected resource matching router.
@@ -74,17 +81,21 @@ public class RoutingStage extends AbstractChainableStage<ContainerRequest> {
          * @return properly injected resource matching router.
          */
         public RoutingStage build(final Router routingRoot) {
-            return new RoutingStage(routingRoot, routingContextFactory);
+            return new RoutingStage(routingRoot, routingContextFactory,
+                    locator.getService(MonitoringStatisticsCollector.class));
         }
     }
 
     private final Router routingRoot;
     private final Provider<RoutingContext> routingContextFactory;
+    private final MonitoringStatisticsCollector monitoringCollector;
 
     private RoutingStage(final Router routingRoot,
-                         final Provider<RoutingContext> routingContextFactory) {
+                         final Provider<RoutingContext> routingContextFactory,
+                         final MonitoringStatisticsCollector monitoringCollector) {
         this.routingRoot = routingRoot;
         this.routingContextFactory = routingContextFactory;
+        this.monitoringCollector = monitoringCollector;
     }
 
     /**
@@ -99,12 +110,28 @@ public class RoutingStage extends AbstractChainableStage<ContainerRequest> {
      */
     @Override
     public Continuation<ContainerRequest> apply(ContainerRequest request) {
-        final TransformableData<ContainerRequest, ContainerResponse> result =
-                _apply(request, routingRoot);
+        final TracingLogger tracingLogger = TracingLogger.getInstance(request.getPropertiesDelegate());
+        final long timestamp = tracingLogger.timestamp();
+
+        final RoutingContext routingContext = routingContextFactory.get();
+        final TransformableData<ContainerRequest, ContainerResponse> result;
+        if (monitoringCollector == null) {
+            result = _apply(routingContext, request, routingRoot);
+        } else {
+            final long startNanos = System.nanoTime();
+            boolean matched = false;
+            try {
+                result = _apply(routingContext, request, routingRoot);
+                matched = result.hasInflector();
+            } finally {
+                monitoringCollector.routingFinished(startNanos, matched);
+            }
+        }
+        tracingLogger.log(ServerTraceEvent.ROUTING, timestamp);
 
         Stage<ContainerRequest> nextStage = null;
         if (result.hasInflector()) {
-            routingContextFactory.get().setInflector(result.inflector());
+            routingContext.setInflector(result.inflector());
             nextStage = getDefaultNext();
         }
 
@@ -113,15 +140,15 @@ public class RoutingStage extends AbstractChainableStage<ContainerRequest> {
 
     @SuppressWarnings("unchecked")
     private TransformableData<ContainerRequest, ContainerResponse> _apply(
-            final ContainerRequest request, final Router router) {
+            final RoutingContext routingContext, final ContainerRequest request, final Router router) {
 
         final Router.Continuation continuation = router.apply(request);
 
         for (Router child : continuation.next()) {
             TransformableData<ContainerRequest, ContainerResponse> result =
-                    _apply(continuation.requestContext(), child);
+                    _apply(routingContext, continuation.requestContext(), child);
 
-            if (result.hasInflector()) {
+            if (result.hasInflector() || routingContext.getRoutingFailure() != null) {
                 // we're done
                 return result;
             } // else continue
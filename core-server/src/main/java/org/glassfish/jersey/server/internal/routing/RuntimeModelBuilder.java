@@ -39,10 +39,15 @@
  */
 package org.glassfish.jersey.server.internal.routing;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.inject.Inject;
 
+import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.ContainerRequest;
@@ -80,6 +85,8 @@ public final class RuntimeModelBuilder {
     private final PushMatchedMethodResourceRouter.Builder pushedMatchedMethodResourceBuilder;
     private final PushMatchedRuntimeResourceRouter.Builder pushedMatchedRuntimeResourceBuilder;
     private ProcessingProviders processingProviders;
+    private boolean lazy = false;
+    private Set<String> warmUp = Collections.emptySet();
 
     /**
      * Injection constructor.
@@ -164,6 +171,71 @@ public final class RuntimeModelBuilder {
         }
     }
 
+    private Router createMethodSelectingRouter(final RuntimeResource resource, final boolean lazyResource) {
+        if (!lazyResource) {
+            return methodSelectingAcceptorBuilder.build(workers, createAcceptors(resource));
+        }
+
+        return new LazyRouter(new Value<Router>() {
+            @Override
+            public Router get() {
+                return methodSelectingAcceptorBuilder.build(workers, createAcceptors(resource));
+            }
+        });
+    }
+
+    private Router createLocatorRouter(final ResourceMethod resourceLocator, final boolean lazyResource) {
+        if (!lazyResource) {
+            return createSingleMethodAcceptor(resourceLocator);
+        }
+
+        return new LazyRouter(new Value<Router>() {
+            @Override
+            public Router get() {
+                return createSingleMethodAcceptor(resourceLocator);
+            }
+        });
+    }
+
+    /**
+     * Check whether the routers of the root runtime resource should be materialized lazily.
+     *
+     * @param resource root runtime resource.
+     * @return {@code true} if the resource routers should be created lazily.
+     */
+    private boolean isLazy(final RuntimeResource resource) {
+        if (!lazy) {
+            return false;
+        }
+
+        for (Resource r : resource.getResources()) {
+            if (warmUp.contains(normalizePath(r.getPath()))) {
+                return false;
+            }
+            for (Class<?> handlerClass : r.getHandlerClasses()) {
+                if (warmUp.contains(handlerClass.getName())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String normalizePath(String path) {
+        if (path == null) {
+            return "";
+        }
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
     private RouteToPathBuilder<PathPattern> routeMethodAcceptor(
             final RouteToPathBuilder<PathPattern> lastRoutedBuilder,
             final PathPattern pathPattern,
@@ -198,10 +270,11 @@ public final class RuntimeModelBuilder {
         // route methods
         for (RuntimeResource resource : runtimeResources) {
             PushMatchedRuntimeResourceRouter resourcePushingRouter = pushedMatchedRuntimeResourceBuilder.build(resource);
+            // sub-resource models are built on demand already, only the application root resources are made lazy
+            final boolean lazyResource = !subResourceMode && isLazy(resource);
 
             // resource methods
             if (resource.getResourceMethods().size() > 0) {
-                final List<MethodAcceptorPair> methodAcceptors = createAcceptors(resource);
                 final PathPattern resourceClosedPattern =
                         (subResourceMode) ? PathPattern.END_OF_PATH_PATTERN : PathPattern.asClosed(resource.getPathPattern());
 
@@ -210,7 +283,7 @@ public final class RuntimeModelBuilder {
                         resourceClosedPattern,
                         uriPushingRouter,
                         resourcePushingRouter,
-                        methodSelectingAcceptorBuilder.build(workers, methodAcceptors), subResourceMode);
+                        createMethodSelectingRouter(resource, lazyResource), subResourceMode);
             }
 
             RouteToPathBuilder<PathPattern> srRoutedBuilder = null;
@@ -223,13 +296,11 @@ public final class RuntimeModelBuilder {
 
                     // sub resource methods
                     if (child.getResourceMethods().size() > 0) {
-                        final List<MethodAcceptorPair> childMethodAcceptors = createAcceptors(child);
-
                         srRoutedBuilder = routedBuilder(srRoutedBuilder)
                                 .route(childClosedPattern)
                                 .to(uriPushingRouter)
                                 .to(childResourcePushingRouter)
-                                .to(methodSelectingAcceptorBuilder.build(workers, childMethodAcceptors));
+                                .to(createMethodSelectingRouter(child, lazyResource));
                     }
 
                     // sub resource locator
@@ -238,7 +309,7 @@ public final class RuntimeModelBuilder {
                                 .route(childOpenPattern)
                                 .to(uriPushingRouter)
                                 .to(childResourcePushingRouter)
-                                .to(createSingleMethodAcceptor(child.getResourceLocator()));
+                                .to(createLocatorRouter(child.getResourceLocator(), lazyResource));
                     }
                 }
             }
@@ -248,7 +319,7 @@ public final class RuntimeModelBuilder {
                 srRoutedBuilder = routedBuilder(srRoutedBuilder)
                         .route(PathPattern.OPEN_ROOT_PATH_PATTERN)
                         .to(uriPushingRouter)
-                        .to(createSingleMethodAcceptor(resource.getResourceLocator()));
+                        .to(createLocatorRouter(resource.getResourceLocator(), lazyResource));
             }
 
             if (srRoutedBuilder != null) {
@@ -287,4 +358,27 @@ public final class RuntimeModelBuilder {
     public void setProcessingProviders(ProcessingProviders processingProviders) {
         this.processingProviders = processingProviders;
     }
+
+    /**
+     * Enable or disable the lazy materialization of the resource method routers.
+     * <p>
+     * In the lazy mode, only the request URI path matching routers of the application root resources are created
+     * by the {@link #buildModel(RuntimeResourceModel, boolean)} method. The method selecting routers, the resource
+     * method invokers and the sub-resource locator routers of each root resource are created when the resource
+     * is matched for the first time, unless the resource is listed in the warm-up list.
+     * </p>
+     *
+     * @param lazy   if {@code true}, the resource method routers are materialized lazily.
+     * @param warmUp paths (as declared by the {@link javax.ws.rs.Path &#64;Path} annotation, leading and trailing
+     *               slashes are ignored) or class names of the root resources whose routers are created eagerly
+     *               even in the lazy mode.
+     */
+    public void setLazyRouting(boolean lazy, Collection<String> warmUp) {
+        this.lazy = lazy;
+        final Set<String> normalized = new HashSet<String>();
+        for (String entry : warmUp) {
+            normalized.add(normalizePath(entry));
+        }
+        this.warmUp = normalized;
+    }
 }
@@ -71,25 +71,41 @@ import org.glassfish.jersey.server.spi.internal.ParameterValueHelper;
 import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.api.ServiceLocator;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * An methodAcceptorPair to accept sub-resource requests.
  * It first retrieves the sub-resource instance by invoking the given model method.
  * Then the {@link RuntimeModelBuilder} is used to generate corresponding methodAcceptorPair.
  * Finally the generated methodAcceptorPair is invoked to return the request methodAcceptorPair chain.
  * <p/>
+ * The routers generated for the returned sub-resource classes (or programmatic resource instances) are cached,
+ * so that the sub-resource model introspection, processing and validation as well as the router building
+ * is performed only once per sub-resource class (see {@link ServerProperties#RESOURCE_LOCATOR_CACHE_SIZE}).
+ * <p/>
  *
  * @author Jakub Podlesak (jakub.podlesak at oracle.com)
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
  */
 class SubResourceLocatorRouter implements Router {
 
+    /**
+     * Default maximum number of cached sub-resource routers.
+     */
+    static final int DEFAULT_CACHE_SIZE = 64;
+
     private final ServiceLocator locator;
     private final ResourceMethod locatorModel;
     private final List<Factory<?>> valueProviders;
     private final RuntimeModelBuilder runtimeModelBuilder;
     private final JerseyResourceContext resourceContext;
     private final boolean disableValidation;
-
+    /**
+     * Sub-resource routers keyed by the sub-resource class or programmatic resource instance,
+     * {@code null} if the caching is disabled.
+     */
+    private final Cache<Object, Router> routerCache;
 
     /**
      * Create a new sub-resource locator router.
@@ -112,7 +128,13 @@ class SubResourceLocatorRouter implements Router {
                 ServerProperties.RESOURCE_LOCATOR_VALIDATION_DISABLE,
                 Boolean.FALSE,
                 Boolean.class);
-
+        final int cacheSize = PropertiesHelper.getValue(config.getProperties(),
+                ServerProperties.RESOURCE_LOCATOR_CACHE_SIZE,
+                DEFAULT_CACHE_SIZE,
+                Integer.class);
+        // weak (identity) keys so that the cache does not prevent unloading of the sub-resource classes
+        this.routerCache = cacheSize > 0 ?
+                CacheBuilder.newBuilder().weakKeys().maximumSize(cacheSize).<Object, Router>build() : null;
     }
 
     @Override
@@ -124,9 +146,9 @@ class SubResourceLocatorRouter implements Router {
             throw new NotFoundException();
         }
 
-        Resource subResource;
+        final Object cacheKey;
         if (subResourceInstance.getClass().isAssignableFrom(Resource.class)) {
-            subResource = (Resource) subResourceInstance;
+            cacheKey = subResourceInstance;
         } else {
             if (subResourceInstance.getClass().isAssignableFrom(Class.class)) {
                 final Class<?> clazz = (Class<?>) subResourceInstance;
@@ -135,11 +157,36 @@ class SubResourceLocatorRouter implements Router {
                 routingCtx.pushMatchedResource(subResourceInstance);
                 resourceContext.bindResourceIfSingleton(subResourceInstance);
             }
+            cacheKey = subResourceInstance.getClass();
+        }
+
+        Router subResourceAcceptor = routerCache != null ? routerCache.getIfPresent(cacheKey) : null;
+        if (subResourceAcceptor == null) {
+            subResourceAcceptor = buildRouter(cacheKey);
+            if (routerCache != null) {
+                routerCache.put(cacheKey, subResourceAcceptor);
+            }
+        }
+
+        return Continuation.of(request, subResourceAcceptor);
+    }
 
-            Resource.Builder builder = Resource.builder(subResourceInstance.getClass());
+    /**
+     * Introspect, process and validate the sub-resource model and build the sub-resource router.
+     *
+     * @param resourceOrClass programmatic sub-resource model or sub-resource class.
+     * @return sub-resource router.
+     */
+    private Router buildRouter(final Object resourceOrClass) {
+        Resource subResource;
+        if (resourceOrClass instanceof Resource) {
+            subResource = (Resource) resourceOrClass;
+        } else {
+            final Class<?> subResourceClass = (Class<?>) resourceOrClass;
+            Resource.Builder builder = Resource.builder(subResourceClass);
             if (builder == null) {
                 // resource is empty - do not throw 404, wait if ModelProcessors add any method
-                builder = Resource.builder().name(subResourceInstance.getClass().getName());
+                builder = Resource.builder().name(subResourceClass.getName());
             }
             subResource = builder.build();
         }
@@ -156,10 +203,7 @@ class SubResourceLocatorRouter implements Router {
             resourceContext.bindResource(handlerClass);
         }
 
-        // TODO: implement generated sub-resource methodAcceptorPair caching
-        Router subResourceAcceptor = runtimeModelBuilder.buildModel(resourceModel.getRuntimeResourceModel(), true);
-
-        return Continuation.of(request, subResourceAcceptor);
+        return runtimeModelBuilder.buildModel(resourceModel.getRuntimeResourceModel(), true);
     }
 
     private ResourceModel processSubResource(ResourceModel subResourceModel) {
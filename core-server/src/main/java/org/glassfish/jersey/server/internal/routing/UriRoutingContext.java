@@ -59,6 +59,7 @@ import javax.ws.rs.ext.WriterInterceptor;
 
 import javax.inject.Inject;
 
+import org.glassfish.jersey.internal.util.collection.ImmutableMultivaluedMap;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.model.internal.RankedProvider;
 import org.glassfish.jersey.process.Inflector;
@@ -92,9 +93,18 @@ public class UriRoutingContext implements RoutingContext, ExtendedUriInfo {
     private MultivaluedHashMap<String, String> decodedTemplateValues;
     private final LinkedList<String> paths = Lists.newLinkedList();
     private Inflector<ContainerRequest, ContainerResponse> inflector;
+    private RoutingFailure routingFailure;
     private final LinkedList<RuntimeResource> matchedRuntimeResources = Lists.newLinkedList();
     volatile private ResourceMethod matchedResourceMethod = null;
     volatile private Resource matchedResourceModel = null;
+    // query parameters and path segments are parsed lazily, at most once per decoding mode and request URI
+    private URI queryParametersUri;
+    private MultivaluedMap<String, String> encodedQueryParameters;
+    private MultivaluedMap<String, String> decodedQueryParameters;
+    private URI pathSegmentsUri;
+    private URI pathSegmentsBaseUri;
+    private List<PathSegment> encodedPathSegments;
+    private List<PathSegment> decodedPathSegments;
 
     /**
      * Injection constructor.
@@ -193,6 +203,16 @@ public class UriRoutingContext implements RoutingContext, ExtendedUriInfo {
         return inflector;
     }
 
+    @Override
+    public void setRoutingFailure(final RoutingFailure failure) {
+        this.routingFailure = failure;
+    }
+
+    @Override
+    public RoutingFailure getRoutingFailure() {
+        return routingFailure;
+    }
+
     @Override
     public Iterable<RankedProvider<ContainerRequestFilter>> getBoundRequestFilters() {
         return emptyIfNull(inflector instanceof ResourceMethodInvoker ?
@@ -344,19 +364,67 @@ public class UriRoutingContext implements RoutingContext, ExtendedUriInfo {
 
     @Override
     public List<PathSegment> getPathSegments(boolean decode) {
-        final String ep = getEncodedPath();
-        final String base = getBaseUri().toString();
-        return UriComponent.decodePath(ep.substring(base.length()), decode);
+        final URI requestUri = getRequestUri();
+        final URI baseUri = getBaseUri();
+        if (requestUri != pathSegmentsUri || baseUri != pathSegmentsBaseUri) {
+            // request URI has been changed (e.g. by a pre-matching filter) - reset the parsed path segments
+            pathSegmentsUri = requestUri;
+            pathSegmentsBaseUri = baseUri;
+            encodedPathSegments = null;
+            decodedPathSegments = null;
+        }
+
+        List<PathSegment> segments = decode ? decodedPathSegments : encodedPathSegments;
+        if (segments == null) {
+            final String ep = getEncodedPath();
+            final String base = baseUri.toString();
+            segments = Collections.unmodifiableList(UriComponent.decodePath(ep.substring(base.length()), decode));
+            if (decode) {
+                decodedPathSegments = segments;
+            } else {
+                encodedPathSegments = segments;
+            }
+        }
+        return segments;
     }
 
     @Override
     public MultivaluedMap<String, String> getQueryParameters() {
-        return UriComponent.decodeQuery(getRequestUri(), false);
+        return getQueryParameters(false);
     }
 
     @Override
     public MultivaluedMap<String, String> getQueryParameters(boolean decode) {
-        return UriComponent.decodeQuery(getRequestUri(), decode);
+        final URI requestUri = getRequestUri();
+        if (requestUri != queryParametersUri) {
+            // request URI has been changed (e.g. by a pre-matching filter) - reset the parsed query parameters
+            queryParametersUri = requestUri;
+            encodedQueryParameters = null;
+            decodedQueryParameters = null;
+        }
+
+        if (decode) {
+            if (decodedQueryParameters == null) {
+                decodedQueryParameters = unmodifiable(UriComponent.decodeQuery(requestUri, true));
+            }
+            return decodedQueryParameters;
+        } else {
+            if (encodedQueryParameters == null) {
+                encodedQueryParameters = unmodifiable(UriComponent.decodeQuery(requestUri, false));
+            }
+            return encodedQueryParameters;
+        }
+    }
+
+    /**
+     * Get an unmodifiable view of the parameter map, including its value lists, so that the cached parameters
+     * cannot be changed by any of the callers.
+     */
+    private static MultivaluedMap<String, String> unmodifiable(final MultivaluedMap<String, String> parameters) {
+        for (Map.Entry<String, List<String>> entry : parameters.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return new ImmutableMultivaluedMap<String, String>(parameters);
     }
 
     @Override
@@ -67,6 +67,7 @@ import org.glassfish.jersey.internal.inject.Injections;
 import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.util.Producer;
 import org.glassfish.jersey.message.internal.ReaderInterceptorExecutor;
+import org.glassfish.jersey.message.internal.TracingLogger;
 import org.glassfish.jersey.message.internal.WriterInterceptorExecutor;
 import org.glassfish.jersey.model.ContractProvider;
 import org.glassfish.jersey.model.NameBound;
@@ -77,8 +78,11 @@ import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
+import org.glassfish.jersey.server.internal.ServerTraceEvent;
+import org.glassfish.jersey.server.internal.monitoring.MonitoringStatisticsCollector;
 import org.glassfish.jersey.server.internal.process.AsyncContext;
 import org.glassfish.jersey.server.internal.process.Endpoint;
+import org.glassfish.jersey.server.internal.process.RequestExecutorMode;
 import org.glassfish.jersey.server.internal.process.RespondingContext;
 import org.glassfish.jersey.server.internal.routing.RoutingContext;
 import org.glassfish.jersey.server.model.internal.ResourceMethodDispatcherFactory;
@@ -108,6 +112,8 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
     private final ResourceMethodDispatcher dispatcher;
     private final Method resourceMethod;
     private final Class<?> resourceClass;
+    private final MonitoringStatisticsCollector monitoringCollector;
+    private final boolean dispatching;
     private final List<RankedProvider<ContainerRequestFilter>> requestFilters = Lists.newArrayList();
     private final List<RankedProvider<ContainerResponseFilter>> responseFilters = Lists.newArrayList();
     private final List<RankedProvider<ReaderInterceptor>> readerInterceptors;
@@ -181,6 +187,8 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
 
         this.resourceMethod = invocable.getHandlingMethod();
         this.resourceClass = invocable.getHandler().getHandlerClass();
+        this.monitoringCollector = locator.getService(MonitoringStatisticsCollector.class);
+        this.dispatching = RequestExecutorMode.fromProperties(globalConfig.getProperties()).isDispatching();
 
         // Configure dynamic features.
         final ResourceMethodConfig config = new ResourceMethodConfig(globalConfig.getProperties());
@@ -324,11 +332,13 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
         requestContext.setProperty(WriterInterceptorExecutor.INTERCEPTORS,
                 Providers.sortRankedProviders(new RankedComparator<WriterInterceptor>(), getWriterInterceptors()));
 
-        if (method.isSuspendDeclared() || method.isManagedAsyncDeclared()) {
+        // all resource method invocations are managed if dispatching to a requesting executor is configured
+        final boolean managed = dispatching || method.isManagedAsyncDeclared();
+        if (method.isSuspendDeclared() || managed) {
             asyncContextProvider.get().suspend();
         }
 
-        if (method.isManagedAsyncDeclared()) {
+        if (managed) {
             asyncContextProvider.get().invokeManaged(new Producer<Response>() {
                 @Override
                 public Response call() {
@@ -347,7 +357,23 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
     }
 
     private Response invoke(ContainerRequest requestContext, Object resource) {
-        Response jaxrsResponse = dispatcher.dispatch(resource, requestContext);
+        final TracingLogger tracingLogger = TracingLogger.getInstance(requestContext.getPropertiesDelegate());
+        final long timestamp = tracingLogger.timestamp();
+
+        Response jaxrsResponse;
+        if (monitoringCollector == null) {
+            jaxrsResponse = dispatcher.dispatch(resource, requestContext);
+        } else {
+            final long startNanos = System.nanoTime();
+            boolean failed = true;
+            try {
+                jaxrsResponse = dispatcher.dispatch(resource, requestContext);
+                failed = false;
+            } finally {
+                monitoringCollector.resourceMethodFinished(method, resourceClass, startNanos, failed);
+            }
+        }
+        tracingLogger.log(ServerTraceEvent.RESOURCE_METHOD, timestamp);
         if (jaxrsResponse == null) {
             jaxrsResponse = Response.noContent().build();
         }
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2011-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -50,6 +50,9 @@ import javax.ws.rs.core.Response;
 import javax.inject.Inject;
 
 import org.glassfish.jersey.internal.ProcessingException;
+import org.glassfish.jersey.message.internal.TracingLogger;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.internal.ServerTraceEvent;
 import org.glassfish.jersey.server.model.Invocable;
 import org.glassfish.jersey.server.spi.internal.ParameterValueHelper;
 import org.glassfish.jersey.server.spi.internal.ResourceMethodDispatcher;
@@ -117,8 +120,13 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
             this.valueProviders = valueProviders;
         }
 
-        final Object[] getParamValues() {
-            return ParameterValueHelper.getParameterValues(valueProviders);
+        final Object[] getParamValues(final Request request) {
+            final TracingLogger tracingLogger = TracingLogger.getInstance(request instanceof ContainerRequest
+                    ? ((ContainerRequest) request).getPropertiesDelegate() : null);
+            final long timestamp = tracingLogger.timestamp();
+            final Object[] paramValues = ParameterValueHelper.getParameterValues(valueProviders);
+            tracingLogger.log(ServerTraceEvent.PARAMETER_INJECTION, timestamp);
+            return paramValues;
         }
     }
 
@@ -133,7 +141,7 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
 
         @Override
         protected Response doDispatch(Object resource, Request request) throws ProcessingException {
-            invoke(resource, getParamValues());
+            invoke(resource, getParamValues(request));
             return Response.noContent().build();
         }
     }
@@ -149,7 +157,7 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
 
         @Override
         protected Response doDispatch(Object resource, Request request) throws ProcessingException {
-            return Response.class.cast(invoke(resource, getParamValues()));
+            return Response.class.cast(invoke(resource, getParamValues(request)));
         }
     }
 
@@ -164,7 +172,7 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
 
         @Override
         protected Response doDispatch(Object resource, Request request) throws ProcessingException {
-            final Object o = invoke(resource, getParamValues());
+            final Object o = invoke(resource, getParamValues(request));
 
             if (o instanceof Response) {
                 return Response.class.cast(o);
@@ -192,7 +200,7 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
 
         @Override
         protected Response doDispatch(Object resource, Request request) throws ProcessingException {
-            final Object o = invoke(resource, getParamValues());
+            final Object o = invoke(resource, getParamValues(request));
             if (o != null) {
 
                 Response response = Response.ok().entity(o).build();
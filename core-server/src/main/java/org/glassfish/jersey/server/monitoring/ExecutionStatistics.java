@@ -0,0 +1,196 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of execution statistics of a monitored target (e.g. all requests,
+ * a resource method or a resource class).
+ * <p>
+ * Execution times are recorded into a histogram with exponentially growing (power of two nanoseconds)
+ * buckets, i.e. the percentile values are estimates with the maximal relative error of {@code 100%}
+ * (the upper bound of the matching bucket is returned). Minimum, maximum, average and total times
+ * are exact.
+ * </p>
+ *
+ * @see MonitoringStatistics
+ */
+public final class ExecutionStatistics {
+
+    /**
+     * Empty execution statistics.
+     */
+    public static final ExecutionStatistics EMPTY = new ExecutionStatistics(0, 0, 0, 0, 0, new long[0]);
+
+    private final long count;
+    private final long errorCount;
+    private final long totalNanos;
+    private final long minNanos;
+    private final long maxNanos;
+    private final long[] histogram;
+
+    /**
+     * Create new execution statistics snapshot.
+     *
+     * @param count      number of executions.
+     * @param errorCount number of failed executions.
+     * @param totalNanos total execution time in nanoseconds.
+     * @param minNanos   minimal execution time in nanoseconds.
+     * @param maxNanos   maximal execution time in nanoseconds.
+     * @param histogram  execution time histogram; the value at the index {@code i} is the number
+     *                   of executions that took less than {@code 2^i} nanoseconds (and not less than
+     *                   {@code 2^(i-1)} nanoseconds). The array is not copied.
+     */
+    public ExecutionStatistics(final long count,
+                               final long errorCount,
+                               final long totalNanos,
+                               final long minNanos,
+                               final long maxNanos,
+                               final long[] histogram) {
+        this.count = count;
+        this.errorCount = errorCount;
+        this.totalNanos = totalNanos;
+        this.minNanos = minNanos;
+        this.maxNanos = maxNanos;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Get the number of executions.
+     *
+     * @return number of executions.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the number of failed executions, e.g. executions that ended with an exception.
+     *
+     * @return number of failed executions.
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Get the total execution time.
+     *
+     * @param unit time unit of the returned value.
+     * @return total execution time.
+     */
+    public long getTotalTime(final TimeUnit unit) {
+        return unit.convert(totalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the minimal execution time.
+     *
+     * @param unit time unit of the returned value.
+     * @return minimal execution time or {@code 0} if there were no executions.
+     */
+    public long getMinimumTime(final TimeUnit unit) {
+        return unit.convert(minNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the maximal execution time.
+     *
+     * @param unit time unit of the returned value.
+     * @return maximal execution time or {@code 0} if there were no executions.
+     */
+    public long getMaximumTime(final TimeUnit unit) {
+        return unit.convert(maxNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the average execution time.
+     *
+     * @param unit time unit of the returned value.
+     * @return average execution time or {@code 0} if there were no executions.
+     */
+    public long getAverageTime(final TimeUnit unit) {
+        return count == 0 ? 0 : unit.convert(totalNanos / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the estimated execution time percentile.
+     *
+     * @param percentile requested percentile, a value between {@code 0} and {@code 100}.
+     * @param unit       time unit of the returned value.
+     * @return estimated execution time percentile or {@code 0} if there were no executions.
+     * @throws IllegalArgumentException in case the percentile value is out of range.
+     */
+    public long getPercentileTime(final double percentile, final TimeUnit unit) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be a value between 0 and 100: " + percentile);
+        }
+
+        long total = 0;
+        for (long bucket : histogram) {
+            total += bucket;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long threshold = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long cumulative = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            cumulative += histogram[i];
+            if (cumulative >= threshold) {
+                final long upperBound = i >= 63 ? Long.MAX_VALUE : (1L << i);
+                return unit.convert(Math.max(minNanos, Math.min(upperBound, maxNanos)), TimeUnit.NANOSECONDS);
+            }
+        }
+        return unit.convert(maxNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionStatistics{count=" + count
+                + ", errors=" + errorCount
+                + ", avgUs=" + getAverageTime(TimeUnit.MICROSECONDS)
+                + ", minUs=" + getMinimumTime(TimeUnit.MICROSECONDS)
+                + ", maxUs=" + getMaximumTime(TimeUnit.MICROSECONDS)
+                + ", p99Us=" + getPercentileTime(99, TimeUnit.MICROSECONDS) + '}';
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * JMX MBean exposing {@link ExecutionStatistics execution statistics} of a monitored target.
+ * All times are in milliseconds.
+ */
+public interface ExecutionStatisticsMXBean {
+
+    /**
+     * Get the name of the monitored target.
+     *
+     * @return monitored target name.
+     */
+    public String getName();
+
+    /**
+     * Get the number of executions.
+     *
+     * @return number of executions.
+     */
+    public long getCount();
+
+    /**
+     * Get the number of failed executions.
+     *
+     * @return number of failed executions.
+     */
+    public long getErrorCount();
+
+    /**
+     * Get the total execution time in milliseconds.
+     *
+     * @return total execution time.
+     */
+    public long getTotalTime();
+
+    /**
+     * Get the minimal execution time in milliseconds.
+     *
+     * @return minimal execution time.
+     */
+    public long getMinimumTime();
+
+    /**
+     * Get the maximal execution time in milliseconds.
+     *
+     * @return maximal execution time.
+     */
+    public long getMaximumTime();
+
+    /**
+     * Get the average execution time in milliseconds.
+     *
+     * @return average execution time.
+     */
+    public long getAverageTime();
+
+    /**
+     * Get the estimated median of the execution time in milliseconds.
+     *
+     * @return estimated median execution time.
+     */
+    public long getMedianTime();
+
+    /**
+     * Get the estimated 99th percentile of the execution time in milliseconds.
+     *
+     * @return estimated 99th percentile execution time.
+     */
+    public long get99thPercentileTime();
+}
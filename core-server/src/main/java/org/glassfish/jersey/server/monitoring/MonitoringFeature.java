@@ -0,0 +1,93 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.server.internal.monitoring.MonitoringStatisticsCollector;
+import org.glassfish.jersey.server.spi.AbstractContainerLifecycleListener;
+import org.glassfish.jersey.server.spi.Container;
+
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+/**
+ * Feature enabling the application monitoring.
+ * <p>
+ * Once the feature is enabled, the request processing runtime gathers the request, routing, resource method and
+ * response statistics which are then available via the injectable {@link MonitoringStatistics} instance.
+ * The statistics can be also exposed as JMX MBeans by setting the
+ * {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_MBEANS_ENABLED} property to {@code true}.
+ * </p>
+ */
+public class MonitoringFeature implements Feature {
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(MonitoringStatisticsCollector.class)
+                        .to(MonitoringStatisticsCollector.class)
+                        .to(MonitoringStatistics.class)
+                        .in(Singleton.class);
+            }
+        });
+        context.register(MonitoringContainerLifecycleListener.class);
+        return true;
+    }
+
+    /**
+     * Releases the monitoring resources (i.e. unregisters the MBeans) when the container is shut down.
+     */
+    static class MonitoringContainerLifecycleListener extends AbstractContainerLifecycleListener {
+
+        @Inject
+        private MonitoringStatisticsCollector collector;
+
+        @Override
+        public void onShutdown(final Container container) {
+            collector.close();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import java.util.Map;
+
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+/**
+ * Application monitoring statistics.
+ * <p>
+ * An instance of this interface is injectable (e.g. using {@code @Inject} or {@code @Context}) into
+ * application components once the {@link MonitoringFeature monitoring feature} is enabled. Each invocation
+ * of a getter method returns a new immutable snapshot of the current statistics.
+ * </p>
+ *
+ * @see MonitoringFeature
+ */
+public interface MonitoringStatistics {
+
+    /**
+     * Get the statistics of all the requests processed by the application. The execution time is measured
+     * from the start of the request processing until the response is written. Requests that resulted
+     * in a response mapped from an exception and requests that failed to be processed are counted
+     * as errors.
+     *
+     * @return request execution statistics.
+     */
+    public ExecutionStatistics getRequestStatistics();
+
+    /**
+     * Get the statistics of the request routing (resource matching). Requests that have not been matched
+     * to any resource method are counted as errors.
+     *
+     * @return request routing statistics.
+     */
+    public ExecutionStatistics getRoutingStatistics();
+
+    /**
+     * Get the execution statistics of the individual resource methods. The execution time includes only
+     * the invocation of the resource method itself. Resource method invocations that ended with
+     * an exception are counted as errors.
+     *
+     * @return map of resource methods to their execution statistics.
+     */
+    public Map<ResourceMethod, ExecutionStatistics> getResourceMethodStatistics();
+
+    /**
+     * Get the execution statistics of all resource methods aggregated per resource (handler) class.
+     *
+     * @return map of resource classes to their execution statistics.
+     */
+    public Map<Class<?>, ExecutionStatistics> getResourceClassStatistics();
+
+    /**
+     * Get the number of responses per response status code.
+     *
+     * @return map of response status codes to the number of responses.
+     */
+    public Map<Integer, Long> getResponseStatusCounts();
+
+    /**
+     * Get the number of exceptions mapped by the individual {@link javax.ws.rs.ext.ExceptionMapper exception mappers}.
+     *
+     * @return map of exception mapper classes to the number of exceptions mapped by the mapper.
+     */
+    public Map<Class<?>, Long> getExceptionMapperCounts();
+}
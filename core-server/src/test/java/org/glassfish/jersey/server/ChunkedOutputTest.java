@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,7 +39,11 @@
  */
 package org.glassfish.jersey.server;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
@@ -79,6 +83,75 @@ public class ChunkedOutputTest {
         }
     }
 
+    @Path("/sequenced")
+    public static class SequencedResource {
+        @GET
+        public ChunkedOutput<String> get() {
+            final ChunkedOutput<String> output = new ChunkedOutput<String>(String.class);
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+            new Thread() {
+                public void run() {
+                    try {
+                        // parallel producers emit the chunks in (mostly) reverse order
+                        for (int i = 9; i >= 0; i--) {
+                            final int sequence = i;
+                            executor.submit(new Runnable() {
+                                @Override
+                                public void run() {
+                                    try {
+                                        output.write(sequence, String.valueOf(sequence));
+                                    } catch (IOException e) {
+                                        e.printStackTrace();
+                                    }
+                                }
+                            });
+                        }
+                        executor.shutdown();
+                        executor.awaitTermination(10, TimeUnit.SECONDS);
+                        output.close();
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                        fail();
+                    }
+                }
+            }.start();
+
+            return output;
+        }
+    }
+
+    @Test
+    public void testSequencedChunks() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(SequencedResource.class, ChunkedResponseWriter.class);
+        final ApplicationHandler applicationHandler = new ApplicationHandler(resourceConfig);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContainerResponse response = applicationHandler.apply(
+                RequestContextBuilder.from("/sequenced", "GET").build(), out).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", out.toString());
+    }
+
+    @Test
+    public void testDuplicateSequenceNumber() throws IOException {
+        final ChunkedOutput<String> output = new ChunkedOutput<String>(String.class);
+        output.write(1, "b");
+        try {
+            output.write(1, "c");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        output.write(0, "a");
+        try {
+            output.write(0, "c");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+    }
+
     @Test
     public void testChunkedResponse() throws Exception {
         final ResourceConfig resourceConfig = new ResourceConfig(MyResource.class, ChunkedResponseWriter.class);
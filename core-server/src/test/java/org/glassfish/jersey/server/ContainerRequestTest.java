@@ -223,4 +223,22 @@ public class ContainerRequestTest {
             assertEquals(URI.create(path).normalize().toString() + absoluteUri, request.getPath(true));
         }
     }
+
+    @Test
+    public void testLazyRequestUri() {
+        final ContainerRequest request = new ContainerRequest(URI.create("http://example.org/app/"),
+                "http://example.org/app/resource/sub%20path?q=1", "GET", SECURITY_CONTEXT, new MapPropertiesDelegate());
+
+        assertEquals("/resource/sub%20path", request.getPath(false));
+        assertEquals("/resource/sub path", request.getPath(true));
+        assertEquals(URI.create("http://example.org/app/resource/sub%20path?q=1"), request.getRequestUri());
+    }
+
+    @Test
+    public void testLazyRequestUriNormalized() {
+        final ContainerRequest request = new ContainerRequest(URI.create("http://example.org/app/"),
+                "http://example.org/app/a/../b//c", "GET", SECURITY_CONTEXT, new MapPropertiesDelegate());
+
+        assertEquals("/b/c", request.getPath(true));
+    }
 }
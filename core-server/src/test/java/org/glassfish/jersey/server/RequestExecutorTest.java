@@ -0,0 +1,157 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the configurable requesting executor strategies.
+ */
+public class RequestExecutorTest {
+
+    private static final CountDownLatch BLOCKED_STARTED = new CountDownLatch(1);
+    private static final CountDownLatch BLOCKED_RELEASE = new CountDownLatch(1);
+
+    @Path("thread")
+    public static class ThreadResource {
+
+        @GET
+        public String get() {
+            return Thread.currentThread().getName();
+        }
+    }
+
+    @Path("other")
+    public static class OtherResource {
+
+        @GET
+        public String get() {
+            return Thread.currentThread().getName();
+        }
+    }
+
+    @Path("blocked")
+    public static class BlockedResource {
+
+        @GET
+        public String get() throws InterruptedException {
+            BLOCKED_STARTED.countDown();
+            BLOCKED_RELEASE.await(10, TimeUnit.SECONDS);
+            return "released";
+        }
+    }
+
+    private static ApplicationHandler createApplication(final String mode) {
+        final ResourceConfig resourceConfig = new ResourceConfig(ThreadResource.class, OtherResource.class);
+        if (mode != null) {
+            resourceConfig.property(ServerProperties.REQUEST_EXECUTOR, mode);
+        }
+        return new ApplicationHandler(resourceConfig);
+    }
+
+    private static String get(final ApplicationHandler application, final String path) throws Exception {
+        final ContainerResponse response = application.apply(RequestContextBuilder.from(path, "GET").build())
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(200, response.getStatus());
+        return (String) response.getEntity();
+    }
+
+    @Test
+    public void testContainerMode() throws Exception {
+        final String caller = Thread.currentThread().getName();
+        assertEquals(caller, get(createApplication(null), "/thread"));
+        assertEquals(caller, get(createApplication("container"), "/thread"));
+    }
+
+    @Test
+    public void testBoundedMode() throws Exception {
+        final ApplicationHandler application = createApplication("BOUNDED");
+
+        assertTrue(get(application, "/thread").startsWith("jersey-server-request-executor-"));
+        assertTrue(get(application, "/other").startsWith("jersey-server-request-executor-"));
+    }
+
+    @Test
+    public void testBulkheadMode() throws Exception {
+        final ApplicationHandler application = createApplication("BULKHEAD");
+
+        assertTrue(get(application, "/thread").startsWith("jersey-server-request-executor-ThreadResource-"));
+        assertTrue(get(application, "/other").startsWith("jersey-server-request-executor-OtherResource-"));
+    }
+
+    @Test
+    public void testVirtualMode() throws Exception {
+        // falls back to the bounded executor on JVMs without virtual threads
+        final ApplicationHandler application = createApplication("VIRTUAL");
+
+        assertFalse(Thread.currentThread().getName().equals(get(application, "/thread")));
+    }
+
+    @Test
+    public void testRejectedRequest() throws Exception {
+        final ApplicationHandler application = new ApplicationHandler(new ResourceConfig(BlockedResource.class)
+                .property(ServerProperties.REQUEST_EXECUTOR, "BOUNDED")
+                .property(ServerProperties.REQUEST_EXECUTOR_POOL_SIZE, 1)
+                .property(ServerProperties.REQUEST_EXECUTOR_QUEUE_SIZE, 0));
+
+        final Future<ContainerResponse> blocked = application.apply(RequestContextBuilder.from("/blocked", "GET").build());
+        assertTrue(BLOCKED_STARTED.await(10, TimeUnit.SECONDS));
+
+        try {
+            final ContainerResponse rejected = application.apply(RequestContextBuilder.from("/blocked", "GET").build())
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals(503, rejected.getStatus());
+        } finally {
+            BLOCKED_RELEASE.countDown();
+        }
+
+        assertEquals(200, blocked.get(10, TimeUnit.SECONDS).getStatus());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.glassfish.jersey.internal.Errors;
+import org.glassfish.jersey.internal.util.Producer;
+import org.glassfish.jersey.server.model.Resource;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Test the {@link ServerProperties#PARALLEL_INITIALIZATION parallel} resource introspection.
+ */
+public class ResourceIntrospectorTest {
+
+    @Path("a")
+    public static class ResourceA {
+        @GET
+        public String get() {
+            return "a";
+        }
+    }
+
+    @Path("b")
+    public static class ResourceB {
+        @GET
+        public String get() {
+            return "b";
+        }
+    }
+
+    public static class NotResource {
+    }
+
+    private static List<Resource> introspect(final boolean parallel, final List<Class<?>> classes) {
+        return Errors.process(new Producer<List<Resource>>() {
+            @Override
+            public List<Resource> call() {
+                return new ResourceIntrospector(parallel).introspect(classes);
+            }
+        });
+    }
+
+    @Test
+    public void testParallelIntrospectionKeepsOrder() {
+        final List<Class<?>> classes = Lists.newArrayList();
+        for (int i = 0; i < 50; i++) {
+            classes.add(ResourceA.class);
+            classes.add(NotResource.class);
+            classes.add(ResourceB.class);
+        }
+
+        final List<Resource> sequential = introspect(false, classes);
+        final List<Resource> parallel = introspect(true, classes);
+
+        assertEquals(classes.size(), parallel.size());
+        for (int i = 0; i < classes.size(); i++) {
+            if (classes.get(i) == NotResource.class) {
+                assertNull(parallel.get(i));
+            } else {
+                assertNotNull(parallel.get(i));
+                assertEquals(sequential.get(i).getPath(), parallel.get(i).getPath());
+            }
+        }
+    }
+
+    @Test
+    public void testParallelInitialization() throws ExecutionException, InterruptedException {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(ResourceA.class, ResourceB.class)
+                .property(ServerProperties.PARALLEL_INITIALIZATION, true));
+
+        assertEquals("a", handler.apply(RequestContextBuilder.from("/a", "GET").build()).get().getEntity());
+        assertEquals("b", handler.apply(RequestContextBuilder.from("/b", "GET").build()).get().getEntity());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the {@link StartupStatistics application start-up statistics} and the
+ * {@link ServerProperties#RESOURCE_VALIDATION_SNAPSHOT resource model validation snapshot}.
+ */
+public class StartupStatisticsTest {
+
+    @Path("resource")
+    public static class Resource {
+        @GET
+        public String get() {
+            return "get";
+        }
+    }
+
+    public static class BaseEntity {
+    }
+
+    public static class Entity extends BaseEntity {
+    }
+
+    public static class EntityResourceBase {
+        @GET
+        public Entity get() {
+            return new Entity();
+        }
+    }
+
+    @Path("entity")
+    public static class EntityResource extends EntityResourceBase {
+    }
+
+    private File snapshot;
+
+    @Before
+    public void setUp() throws IOException {
+        snapshot = File.createTempFile("jersey-validation", ".snapshot");
+        assertTrue(snapshot.delete());
+    }
+
+    @After
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        snapshot.delete();
+    }
+
+    private ApplicationHandler createHandler() {
+        return new ApplicationHandler(new ResourceConfig(Resource.class)
+                .property(ServerProperties.RESOURCE_VALIDATION_SNAPSHOT, snapshot.getPath()));
+    }
+
+    @Test
+    public void testPhaseTimes() {
+        final StartupStatistics statistics = new ApplicationHandler(new ResourceConfig(Resource.class))
+                .getStartupStatistics();
+
+        assertEquals(StartupStatistics.Phase.values().length, statistics.getPhaseTimes().size());
+        long total = 0;
+        for (StartupStatistics.Phase phase : StartupStatistics.Phase.values()) {
+            total += statistics.getTime(phase, TimeUnit.NANOSECONDS);
+        }
+        assertEquals(total, statistics.getTotalTime(TimeUnit.NANOSECONDS));
+        assertFalse(statistics.isValidationSkipped());
+    }
+
+    @Test
+    public void testStatisticsInjectable() {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class));
+
+        assertTrue(handler.getStartupStatistics() == handler.getServiceLocator().getService(StartupStatistics.class));
+    }
+
+    @Test
+    public void testValidationSnapshot() throws Exception {
+        final ApplicationHandler first = createHandler();
+        assertFalse(first.getStartupStatistics().isValidationSkipped());
+        assertTrue(snapshot.isFile());
+
+        final ApplicationHandler second = createHandler();
+        assertTrue(second.getStartupStatistics().isValidationSkipped());
+        assertEquals("get", second.apply(RequestContextBuilder.from("/resource", "GET").build()).get().getEntity());
+
+        // changed configuration invalidates the snapshot
+        final ApplicationHandler third = new ApplicationHandler(new ResourceConfig(Resource.class)
+                .property(ServerProperties.RESOURCE_VALIDATION_SNAPSHOT, snapshot.getPath())
+                .property("custom.property", "value"));
+        assertFalse(third.getStartupStatistics().isValidationSkipped());
+    }
+
+    @Test
+    public void testValidationSnapshotFingerprint() throws Exception {
+        new ApplicationHandler(new ResourceConfig(EntityResource.class)
+                .property(ServerProperties.RESOURCE_VALIDATION_SNAPSHOT, snapshot.getPath()));
+
+        final String fingerprint;
+        final FileInputStream in = new FileInputStream(snapshot);
+        try {
+            fingerprint = ReaderWriter.readFromAsString(in, null);
+        } finally {
+            in.close();
+        }
+        assertTrue(fingerprint.contains("class=" + EntityResource.class.getName() + ' '));
+        assertTrue(fingerprint.contains("class=" + EntityResourceBase.class.getName() + ' '));
+        assertTrue(fingerprint.contains("class=" + Entity.class.getName() + ' '));
+        assertTrue(fingerprint.contains("class=" + BaseEntity.class.getName() + ' '));
+    }
+
+    @Test
+    public void testValidationSnapshotNotUsedForObjectProperty() {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class)
+                .property(ServerProperties.RESOURCE_VALIDATION_SNAPSHOT, snapshot.getPath())
+                .property("custom.property", new Object()));
+
+        assertFalse(handler.getStartupStatistics().isValidationSkipped());
+        assertFalse(snapshot.exists());
+    }
+}
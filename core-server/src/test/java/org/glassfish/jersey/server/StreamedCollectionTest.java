@@ -0,0 +1,160 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test writing of the streamed ({@link Iterable} and {@link Iterator}) JAXB collection entities.
+ */
+public class StreamedCollectionTest {
+
+    private static final int SIZE = 250;
+    private static final AtomicInteger closed = new AtomicInteger();
+
+    @XmlRootElement
+    public static class Bean {
+
+        public int value;
+
+        public Bean() {
+        }
+
+        public Bean(int value) {
+            this.value = value;
+        }
+    }
+
+    public static class BeanCursor implements Iterator<Bean>, Closeable {
+
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+            return next < SIZE;
+        }
+
+        @Override
+        public Bean next() {
+            return new Bean(next++);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+
+    @Path("/")
+    public static class Resource {
+
+        @GET
+        @Path("iterator")
+        @Produces("application/xml")
+        public Iterator<Bean> getIterator() {
+            return new BeanCursor();
+        }
+
+        @GET
+        @Path("iterable")
+        @Produces("application/xml")
+        public Iterable<Bean> getIterable() {
+            return new Iterable<Bean>() {
+                @Override
+                public Iterator<Bean> iterator() {
+                    return new BeanCursor();
+                }
+            };
+        }
+    }
+
+    @Before
+    public void setUp() {
+        closed.set(0);
+    }
+
+    private static String get(String uri) throws ExecutionException, InterruptedException {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = handler.apply(RequestContextBuilder.from(uri, "GET").build(), out).get();
+        assertEquals(200, response.getStatus());
+        return out.toString();
+    }
+
+    private static void checkBeans(String xml) {
+        for (int i = 0; i < SIZE; i++) {
+            assertTrue(xml.contains("<value>" + i + "</value>"));
+        }
+        assertTrue(xml.trim().endsWith(">"));
+    }
+
+    @Test
+    public void testIterator() throws ExecutionException, InterruptedException {
+        checkBeans(get("/iterator"));
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testIterable() throws ExecutionException, InterruptedException {
+        checkBeans(get("/iterable"));
+        // only the streamed entity is closed, not the iterators created from it
+        assertEquals(0, closed.get());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+
+import org.glassfish.jersey.message.internal.TracingLogger;
+import org.glassfish.jersey.server.internal.ServerTraceEvent;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Request tracing tests.
+ */
+public class TracingTest {
+
+    @Path("traced")
+    public static class TracedResource {
+
+        @GET
+        public String get(@QueryParam("q") final String q) {
+            return "traced";
+        }
+    }
+
+    private ContainerResponse apply(final String tracing, final boolean tracingHeader) throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(TracedResource.class);
+        if (tracing != null) {
+            resourceConfig.property(ServerProperties.TRACING, tracing);
+        }
+        final RequestContextBuilder request = RequestContextBuilder.from("/traced?q=a", "GET");
+        if (tracingHeader) {
+            request.header(TracingLogger.HEADER_ACCEPT, "true");
+        }
+
+        final ContainerResponse response = new ApplicationHandler(resourceConfig).apply(request.build()).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("traced", response.getEntity());
+        return response;
+    }
+
+    private static void assertTraced(final ContainerResponse response) {
+        assertNotNull(response.getHeaderString(TracingLogger.HEADER_PREFIX + ServerTraceEvent.ROUTING));
+        assertNotNull(response.getHeaderString(TracingLogger.HEADER_PREFIX + ServerTraceEvent.PARAMETER_INJECTION));
+        assertNotNull(response.getHeaderString(TracingLogger.HEADER_PREFIX + ServerTraceEvent.RESOURCE_METHOD));
+        assertNotNull(response.getHeaderString(TracingLogger.HEADER_PREFIX + TracingLogger.TOTAL));
+    }
+
+    private static void assertNotTraced(final ContainerResponse response) {
+        assertNull(response.getHeaderString(TracingLogger.HEADER_PREFIX + ServerTraceEvent.ROUTING));
+        assertNull(response.getHeaderString(TracingLogger.HEADER_PREFIX + TracingLogger.TOTAL));
+    }
+
+    @Test
+    public void testTracingAll() throws Exception {
+        assertTraced(apply("ALL", false));
+    }
+
+    @Test
+    public void testTracingOnDemand() throws Exception {
+        assertTraced(apply("ON_DEMAND", true));
+        assertNotTraced(apply("ON_DEMAND", false));
+    }
+
+    @Test
+    public void testTracingOff() throws Exception {
+        assertNotTraced(apply(null, true));
+        assertNotTraced(apply("OFF", true));
+        assertNotTraced(apply("invalid", true));
+    }
+
+    @Test
+    public void testFormatMillis() {
+        assertEquals("0.000", TracingLogger.formatMillis(999));
+        assertEquals("0.012", TracingLogger.formatMillis(12345));
+        assertEquals("1.234", TracingLogger.formatMillis(1234567));
+        assertEquals("1234.567", TracingLogger.formatMillis(1234567890L));
+    }
+}
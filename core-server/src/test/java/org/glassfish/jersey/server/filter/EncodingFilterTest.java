@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -42,6 +42,7 @@ package org.glassfish.jersey.server.filter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.Charset;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.container.ContainerResponseFilter;
@@ -49,6 +50,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.glassfish.jersey.message.GZipEncoder;
+import org.glassfish.jersey.message.MessageProperties;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
@@ -155,6 +157,36 @@ public class EncodingFilterTest {
         assertNull(response.getHeaders().getFirst(HttpHeaders.VARY));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEntityBelowMinSize() throws IOException {
+        ResourceConfig rc = new ResourceConfig().property(MessageProperties.ENCODING_MIN_SIZE, 10);
+        EncodingFilter.enableFor(rc, FooEncoding.class, GZipEncoder.class);
+        EncodingFilter filter = (EncodingFilter) new ApplicationHandler(rc).getServiceLocator()
+                .getService(ContainerResponseFilter.class);
+        assertEquals(10, filter.getMinSize());
+
+        ContainerRequest request = RequestContextBuilder.from("/resource", "GET").header(HttpHeaders.ACCEPT_ENCODING,
+                "gzip").build();
+        ContainerResponse response = new ContainerResponse(request, Response.ok("OK!").build());
+        filter.filter(request, response);
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeaderString(HttpHeaders.VARY));
+
+        response = new ContainerResponse(request, Response.ok("Long enough entity.").build());
+        filter.filter(request, response);
+        assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void testEncodedStringLength() {
+        assertEquals(3, EncodingFilter.getEncodedLength("abc", Charset.forName("UTF-8")));
+        assertEquals(6, EncodingFilter.getEncodedLength("\u017e\u00e1\u010d", Charset.forName("UTF-8")));
+        assertEquals(9, EncodingFilter.getEncodedLength("\u4e2d\u6587\u5b57", Charset.forName("UTF-8")));
+        assertEquals(4, EncodingFilter.getEncodedLength("\ud83d\ude00", Charset.forName("UTF-8")));
+        assertEquals(6, EncodingFilter.getEncodedLength("abc", Charset.forName("UTF-16BE")));
+    }
+
     @SuppressWarnings("unchecked")
     private EncodingFilter initializeAndGetFilter() {
         ResourceConfig rc = new ResourceConfig();
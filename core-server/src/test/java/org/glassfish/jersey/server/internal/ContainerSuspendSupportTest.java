@@ -0,0 +1,168 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.server.ContainerException;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ContainerSuspendSupport} unit tests.
+ */
+public class ContainerSuspendSupportTest {
+
+    private static class TestWriter implements ContainerResponseWriter {
+
+        @Override
+        public OutputStream writeResponseStatusAndHeaders(long contentLength, ContainerResponse responseContext)
+                throws ContainerException {
+            return null;
+        }
+
+        @Override
+        public boolean suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
+            return false;
+        }
+
+        @Override
+        public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) throws IllegalStateException {
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void failure(Throwable error) {
+        }
+
+        @Override
+        public boolean enableResponseBuffering() {
+            return false;
+        }
+    }
+
+    private static class LatchHandler implements ContainerResponseWriter.TimeoutHandler {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile ContainerResponseWriter writer;
+
+        @Override
+        public void onTimeout(ContainerResponseWriter responseWriter) {
+            writer = responseWriter;
+            latch.countDown();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws InterruptedException {
+        final ContainerSuspendSupport support = new ContainerSuspendSupport("test-timeout");
+        try {
+            final TestWriter writer = new TestWriter();
+            final ContainerSuspendSupport.Suspension suspension = support.newSuspension(writer);
+            final LatchHandler handler = new LatchHandler();
+
+            assertFalse(suspension.isSuspended());
+            assertTrue(suspension.suspend(10, TimeUnit.MILLISECONDS, handler));
+            assertFalse(suspension.suspend(10, TimeUnit.MILLISECONDS, handler));
+            assertTrue(suspension.isSuspended());
+
+            assertTrue(handler.latch.await(5, TimeUnit.SECONDS));
+            assertEquals(writer, handler.writer);
+        } finally {
+            support.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancelledTimeout() throws InterruptedException {
+        final ContainerSuspendSupport support = new ContainerSuspendSupport("test-timeout");
+        try {
+            final ContainerSuspendSupport.Suspension suspension = support.newSuspension(new TestWriter());
+            final LatchHandler handler = new LatchHandler();
+
+            suspension.suspend(50, TimeUnit.MILLISECONDS, handler);
+            suspension.cancelTimeout();
+            assertFalse(handler.latch.await(200, TimeUnit.MILLISECONDS));
+        } finally {
+            support.shutdown();
+        }
+    }
+
+    @Test
+    public void testNotSuspended() {
+        final ContainerSuspendSupport support = new ContainerSuspendSupport("test-timeout");
+        try {
+            support.newSuspension(new TestWriter()).setSuspendTimeout(1, TimeUnit.SECONDS);
+            fail("IllegalStateException expected.");
+        } catch (IllegalStateException expected) {
+            // ok
+        } finally {
+            support.shutdown();
+        }
+    }
+
+    @Test
+    public void testNoTimeoutAfterShutdown() throws InterruptedException {
+        final ContainerSuspendSupport support = new ContainerSuspendSupport("test-timeout");
+        final ContainerSuspendSupport.Suspension pending = support.newSuspension(new TestWriter());
+        final LatchHandler pendingHandler = new LatchHandler();
+        pending.suspend(100, TimeUnit.MILLISECONDS, pendingHandler);
+
+        support.shutdown();
+
+        final ContainerSuspendSupport.Suspension late = support.newSuspension(new TestWriter());
+        final LatchHandler lateHandler = new LatchHandler();
+        assertTrue(late.suspend(10, TimeUnit.MILLISECONDS, lateHandler));
+
+        assertFalse(pendingHandler.latch.await(300, TimeUnit.MILLISECONDS));
+        assertFalse(lateHandler.latch.await(10, TimeUnit.MILLISECONDS));
+    }
+}
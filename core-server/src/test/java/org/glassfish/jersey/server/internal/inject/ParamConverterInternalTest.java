@@ -43,11 +43,14 @@ package org.glassfish.jersey.server.internal.inject;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 
 import javax.ws.rs.DefaultValue;
@@ -153,6 +156,72 @@ public class ParamConverterInternalTest extends AbstractTest {
         assertEquals(404, responseContext.getStatus());
     }
 
+    @Path("/")
+    public static class JdkTypesResource {
+        @GET
+        public String doGet(@QueryParam("u") UUID u,
+                            @QueryParam("i") BigInteger i,
+                            @QueryParam("d") @DefaultValue("1.5") BigDecimal d,
+                            @QueryParam("s") String s) {
+            return u + ":" + i + ":" + d + ":" + s;
+        }
+    }
+
+    @Test
+    public void testJdkTypes() throws ExecutionException, InterruptedException {
+        initiateWebApplication(JdkTypesResource.class);
+        final UUID uuid = UUID.randomUUID();
+
+        ContainerResponse responseContext = getResponseContext(UriBuilder.fromPath("/")
+                .queryParam("u", uuid).queryParam("i", "12345678901234567890").queryParam("s", "text").build().toString());
+        assertEquals(uuid + ":12345678901234567890:1.5:text", responseContext.getEntity());
+
+        responseContext = getResponseContext(UriBuilder.fromPath("/").queryParam("d", "2.25").build().toString());
+        assertEquals("null:null:2.25:null", responseContext.getEntity());
+
+        responseContext = getResponseContext(UriBuilder.fromPath("/").queryParam("i", "").build().toString());
+        assertEquals("null:null:1.5:null", responseContext.getEntity());
+
+        responseContext = getResponseContext(UriBuilder.fromPath("/").queryParam("u", "not-a-uuid").build().toString());
+        assertEquals(404, responseContext.getStatus());
+    }
+
+    public static class NegatingIntegerProvider implements ParamConverterProvider {
+        @Override
+        public <T> ParamConverter<T> getConverter(Class<T> rawType, Type genericType, Annotation[] annotations) {
+            if (rawType != Integer.class) return null;
+
+            return (ParamConverter<T>) new ParamConverter<Integer>() {
+                @Override
+                public Integer fromString(String value) {
+                    return -Integer.parseInt(value);
+                }
+
+                @Override
+                public String toString(Integer value) throws IllegalArgumentException {
+                    return String.valueOf(-value);
+                }
+            };
+        }
+    }
+
+    @Path("/")
+    public static class IntegerResource {
+        @GET
+        public String doGet(@QueryParam("i") Integer i) {
+            return String.valueOf(i);
+        }
+    }
+
+    @Test
+    public void testCustomProviderPreferredToDirectConversion() throws ExecutionException, InterruptedException {
+        initiateWebApplication(IntegerResource.class, NegatingIntegerProvider.class);
+        final ContainerResponse responseContext = getResponseContext(UriBuilder.fromPath("/").queryParam("i", "42")
+                .build().toString());
+
+        assertEquals("-42", responseContext.getEntity());
+    }
+
     public static class ListOfStringReaderProvider implements ParamConverterProvider {
 
 
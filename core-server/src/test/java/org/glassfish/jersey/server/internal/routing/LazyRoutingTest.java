@@ -0,0 +1,195 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the lazy materialization of the resource routers.
+ */
+public class LazyRoutingTest {
+
+    @Path("root")
+    public static class RootResource {
+
+        @GET
+        public String get() {
+            return "root";
+        }
+
+        @GET
+        @Path("child")
+        public String getChild() {
+            return "child";
+        }
+
+        @Path("locator/{id}")
+        public SubResource getSubResource(@PathParam("id") String id) {
+            return new SubResource(id);
+        }
+    }
+
+    public static class SubResource {
+
+        private final String id;
+
+        public SubResource(String id) {
+            this.id = id;
+        }
+
+        @GET
+        public String get() {
+            return "sub-" + id;
+        }
+    }
+
+    @Path("/other/")
+    public static class OtherResource {
+
+        @GET
+        public String get() {
+            return "other";
+        }
+    }
+
+    private static String get(ApplicationHandler handler, String uri) throws ExecutionException, InterruptedException {
+        final ContainerResponse response = handler.apply(RequestContextBuilder.from(uri, "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        return (String) response.getEntity();
+    }
+
+    private static void testRequests(ResourceConfig resourceConfig) throws ExecutionException, InterruptedException {
+        final ApplicationHandler handler = new ApplicationHandler(resourceConfig);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("root", get(handler, "/root"));
+            assertEquals("child", get(handler, "/root/child"));
+            assertEquals("sub-a", get(handler, "/root/locator/a"));
+            assertEquals("sub-b", get(handler, "/root/locator/b"));
+            assertEquals("other", get(handler, "/other"));
+
+            final ContainerRequest request = RequestContextBuilder.from("/root", "DELETE").build();
+            assertEquals(405, handler.apply(request).get().getStatus());
+        }
+    }
+
+    @Test
+    public void testLazyRouting() throws ExecutionException, InterruptedException {
+        testRequests(new ResourceConfig(RootResource.class, OtherResource.class)
+                .property(ServerProperties.LAZY_ROUTING, true));
+    }
+
+    @Test
+    public void testLazyRoutingWarmUp() throws ExecutionException, InterruptedException {
+        testRequests(new ResourceConfig(RootResource.class, OtherResource.class)
+                .property(ServerProperties.LAZY_ROUTING, true)
+                .property(ServerProperties.LAZY_ROUTING_WARM_UP, "/other, " + RootResource.class.getName()));
+    }
+
+    @Test
+    public void testRouterMaterializedOnce() {
+        final AtomicInteger counter = new AtomicInteger();
+        final LazyRouter router = new LazyRouter(new Value<Router>() {
+            @Override
+            public Router get() {
+                counter.incrementAndGet();
+                return new Router() {
+                    @Override
+                    public Continuation apply(ContainerRequest request) {
+                        return null;
+                    }
+                };
+            }
+        });
+
+        assertEquals(0, counter.get());
+        assertNull(router.apply(null));
+        assertEquals(1, counter.get());
+        assertNull(router.apply(null));
+        assertNull(router.apply(null));
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void testRouterMaterializationRetried() {
+        final AtomicInteger counter = new AtomicInteger();
+        final LazyRouter router = new LazyRouter(new Value<Router>() {
+            @Override
+            public Router get() {
+                if (counter.incrementAndGet() == 1) {
+                    throw new IllegalStateException();
+                }
+                return new Router() {
+                    @Override
+                    public Continuation apply(ContainerRequest request) {
+                        return null;
+                    }
+                };
+            }
+        });
+
+        try {
+            router.apply(null);
+            fail("IllegalStateException expected.");
+        } catch (IllegalStateException expected) {
+            // ok
+        }
+        assertNull(router.apply(null));
+        assertEquals(2, counter.get());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.concurrent.ExecutionException;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotAllowedException;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the error responses produced for the {@link RoutingFailure request routing failures}.
+ */
+public class RoutingFailureTest {
+
+    @Path("resource")
+    public static class Resource {
+
+        @GET
+        @Produces("text/plain")
+        public String get() {
+            return "get";
+        }
+
+        @POST
+        @Consumes("text/plain")
+        @Produces("text/plain")
+        public String post(String entity) {
+            return entity;
+        }
+    }
+
+    public static class NotAllowedMapper implements ExceptionMapper<NotAllowedException> {
+
+        @Override
+        public Response toResponse(NotAllowedException exception) {
+            return Response.status(exception.getResponse().getStatus())
+                    .header("Allow", exception.getResponse().getHeaderString("Allow"))
+                    .entity("mapped").build();
+        }
+    }
+
+    public static class WebApplicationExceptionMapper implements ExceptionMapper<WebApplicationException> {
+
+        @Override
+        public Response toResponse(WebApplicationException exception) {
+            return Response.status(exception.getResponse().getStatus()).entity("mapped-wae").build();
+        }
+    }
+
+    private static ContainerResponse apply(ApplicationHandler handler, ContainerRequest request)
+            throws ExecutionException, InterruptedException {
+        return handler.apply(request).get();
+    }
+
+    @Test
+    public void testFailuresWithoutMappers() throws ExecutionException, InterruptedException {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class));
+
+        ContainerResponse response = apply(handler, RequestContextBuilder.from("/missing", "GET").build());
+        assertEquals(404, response.getStatus());
+        assertTrue(response.isMappedFromException());
+
+        response = apply(handler, RequestContextBuilder.from("/resource", "DELETE").build());
+        assertEquals(405, response.getStatus());
+        assertTrue(response.getAllowedMethods().contains("GET"));
+        assertTrue(response.getAllowedMethods().contains("POST"));
+
+        response = apply(handler, RequestContextBuilder.from("/resource", "POST")
+                .type("application/xml").entity("<x/>").build());
+        assertEquals(415, response.getStatus());
+
+        response = apply(handler, RequestContextBuilder.from("/resource", "GET").accept("application/xml").build());
+        assertEquals(406, response.getStatus());
+
+        // the method selection failures are cached - repeat the requests
+        response = apply(handler, RequestContextBuilder.from("/resource", "GET").accept("application/xml").build());
+        assertEquals(406, response.getStatus());
+        response = apply(handler, RequestContextBuilder.from("/resource", "GET").accept("text/plain").build());
+        assertEquals(200, response.getStatus());
+        assertEquals("get", response.getEntity());
+    }
+
+    @Test
+    public void testFailuresWithMappers() throws ExecutionException, InterruptedException {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(Resource.class, NotAllowedMapper.class, WebApplicationExceptionMapper.class));
+
+        ContainerResponse response = apply(handler, RequestContextBuilder.from("/resource", "DELETE").build());
+        assertEquals(405, response.getStatus());
+        assertEquals("mapped", response.getEntity());
+        assertTrue(response.getAllowedMethods().contains("GET"));
+
+        response = apply(handler, RequestContextBuilder.from("/missing", "GET").build());
+        assertEquals(404, response.getStatus());
+        assertEquals("mapped-wae", response.getEntity());
+
+        response = apply(handler, RequestContextBuilder.from("/resource", "GET").accept("application/xml").build());
+        assertEquals(406, response.getStatus());
+        assertEquals("mapped-wae", response.getEntity());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.ModelProcessor;
+import org.glassfish.jersey.server.model.ResourceModel;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test caching of the sub-resource routers built by the {@link SubResourceLocatorRouter}.
+ */
+public class SubResourceLocatorCacheTest {
+
+    private static final AtomicInteger processed = new AtomicInteger();
+
+    public static class CountingModelProcessor implements ModelProcessor {
+
+        @Override
+        public ResourceModel processResourceModel(ResourceModel resourceModel, Configuration configuration) {
+            return resourceModel;
+        }
+
+        @Override
+        public ResourceModel processSubResource(ResourceModel subResourceModel, Configuration configuration) {
+            processed.incrementAndGet();
+            return subResourceModel;
+        }
+    }
+
+    @Path("root")
+    public static class RootResource {
+        @Path("sub/{value}")
+        public SubResource getSubResource(@PathParam("value") String value) {
+            return new SubResource(value);
+        }
+    }
+
+    public static class SubResource {
+
+        private final String value;
+
+        public SubResource(String value) {
+            this.value = value;
+        }
+
+        @GET
+        public String get() {
+            return value;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        processed.set(0);
+    }
+
+    private static String get(ApplicationHandler handler, String uri) throws ExecutionException, InterruptedException {
+        final ContainerResponse response = handler.apply(RequestContextBuilder.from(uri, "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        return (String) response.getEntity();
+    }
+
+    @Test
+    public void testRouterCached() throws ExecutionException, InterruptedException {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(RootResource.class, CountingModelProcessor.class));
+
+        assertEquals("a", get(handler, "/root/sub/a"));
+        assertEquals("b", get(handler, "/root/sub/b"));
+        assertEquals("c", get(handler, "/root/sub/c"));
+        assertEquals(1, processed.get());
+    }
+
+    @Test
+    public void testCacheDisabled() throws ExecutionException, InterruptedException {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(RootResource.class, CountingModelProcessor.class)
+                        .property(ServerProperties.RESOURCE_LOCATOR_CACHE_SIZE, 0));
+
+        assertEquals("a", get(handler, "/root/sub/a"));
+        assertEquals("b", get(handler, "/root/sub/b"));
+        assertEquals(2, processed.get());
+    }
+}
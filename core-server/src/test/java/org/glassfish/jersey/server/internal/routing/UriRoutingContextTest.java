@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2011-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -56,6 +56,8 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 /**
  * @author Marek Potociar (marek.potociar at oracle.com)
@@ -164,4 +166,51 @@ public class UriRoutingContextTest {
         assertEquals("{bar1}", map.getFirst("foo1"));
         assertEquals("{bar2}", map.getFirst("foo2"));
     }
+
+    @Test
+    public void testQueryParamsParsedOnce() throws URISyntaxException {
+        final UriRoutingContext context = createContext("http://example.org/app/resource?foo=a%20b+c&bar=%7Bx%7D", "GET");
+
+        final MultivaluedMap<String, String> decoded = context.getQueryParameters(true);
+        assertEquals("a b c", decoded.getFirst("foo"));
+        assertEquals("{x}", decoded.getFirst("bar"));
+        assertSame(decoded, context.getQueryParameters(true));
+
+        final MultivaluedMap<String, String> encoded = context.getQueryParameters(false);
+        assertEquals("a%20b+c", encoded.getFirst("foo"));
+        assertSame(encoded, context.getQueryParameters(false));
+    }
+
+    @Test
+    public void testQueryParamsUnmodifiable() throws URISyntaxException {
+        final UriRoutingContext context = createContext("http://example.org/app/resource?foo=bar", "GET");
+        final MultivaluedMap<String, String> parameters = context.getQueryParameters();
+
+        try {
+            parameters.add("foo", "baz");
+            fail("Query parameters must not be modifiable.");
+        } catch (UnsupportedOperationException expected) {
+            // ok
+        }
+        try {
+            parameters.get("foo").add("baz");
+            fail("Query parameter values must not be modifiable.");
+        } catch (UnsupportedOperationException expected) {
+            // ok
+        }
+        assertEquals(1, context.getQueryParameters().get("foo").size());
+    }
+
+    @Test
+    public void testPathSegmentsParsedOnce() throws URISyntaxException {
+        final UriRoutingContext context = createContext("http://example.org/app/",
+                "http://example.org/app/a;m=1/b%20c", "GET");
+
+        final List<PathSegment> decoded = context.getPathSegments(true);
+        assertEquals(2, decoded.size());
+        assertEquals("1", decoded.get(0).getMatrixParameters().getFirst("m"));
+        assertEquals("b c", decoded.get(1).getPath());
+        assertSame(decoded, context.getPathSegments(true));
+        assertEquals("b%20c", context.getPathSegments(false).get(1).getPath());
+    }
 }
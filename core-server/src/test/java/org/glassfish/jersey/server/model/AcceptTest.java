@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -240,6 +240,28 @@ public class AcceptTest {
         assertEquals(MediaType.TEXT_PLAIN_TYPE, response.getMediaType());
     }
 
+    @Test
+    public void testRepeatedAccept() throws Exception {
+        ApplicationHandler app = createApplication(Resource.class);
+
+        // the same header combinations must select the same methods when the selection is resolved from cache
+        for (int i = 0; i < 3; i++) {
+            ContainerResponse response = app.apply(RequestContextBuilder.from("/", "GET").accept("application/foo").build()).get();
+            assertEquals("foo", response.getEntity());
+            assertEquals(MediaType.valueOf("application/foo"), response.getMediaType());
+
+            response = app.apply(RequestContextBuilder.from("/", "GET").accept("application/bar").build()).get();
+            assertEquals("bar", response.getEntity());
+            assertEquals(MediaType.valueOf("application/bar"), response.getMediaType());
+
+            response = app.apply(RequestContextBuilder.from("/", "GET").build()).get();
+            assertTrue("Status: " + response.getStatus(), response.getStatus() < 300);
+
+            response = app.apply(RequestContextBuilder.from("/", "GET").accept("application/foo;q=1.1").build()).get();
+            assertEquals(400, response.getStatus());
+        }
+    }
+
     @Path("/")
     public static class NoProducesResource {
         @GET
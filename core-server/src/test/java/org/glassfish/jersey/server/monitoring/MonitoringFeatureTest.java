@@ -0,0 +1,180 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.internal.monitoring.MonitoringStatisticsCollector;
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Monitoring feature tests.
+ */
+public class MonitoringFeatureTest {
+
+    @Path("monitored")
+    public static class MonitoredResource {
+
+        @GET
+        public String get() {
+            return "get";
+        }
+
+        @GET
+        @Path("fail")
+        public String fail() {
+            throw new IllegalStateException("fail");
+        }
+    }
+
+    public static class IllegalStateMapper implements ExceptionMapper<IllegalStateException> {
+
+        @Override
+        public Response toResponse(final IllegalStateException exception) {
+            return Response.status(409).entity(exception.getMessage()).build();
+        }
+    }
+
+    private ContainerResponse apply(final ApplicationHandler handler, final String path) throws Exception {
+        return handler.apply(RequestContextBuilder.from(path, "GET").build()).get();
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(MonitoredResource.class, IllegalStateMapper.class, MonitoringFeature.class));
+
+        assertEquals(200, apply(handler, "/monitored").getStatus());
+        assertEquals(200, apply(handler, "/monitored").getStatus());
+        assertEquals(409, apply(handler, "/monitored/fail").getStatus());
+        assertEquals(404, apply(handler, "/unknown").getStatus());
+
+        final MonitoringStatistics statistics = handler.getServiceLocator().getService(MonitoringStatistics.class);
+        assertNotNull(statistics);
+
+        final ExecutionStatistics requests = statistics.getRequestStatistics();
+        assertEquals(4, requests.getCount());
+        assertEquals(2, requests.getErrorCount());
+        assertTrue(requests.getMaximumTime(TimeUnit.NANOSECONDS) >= requests.getMinimumTime(TimeUnit.NANOSECONDS));
+
+        final ExecutionStatistics routing = statistics.getRoutingStatistics();
+        assertEquals(4, routing.getCount());
+        assertEquals(1, routing.getErrorCount());
+
+        final Map<ResourceMethod, ExecutionStatistics> methods = statistics.getResourceMethodStatistics();
+        assertEquals(2, methods.size());
+        for (final Map.Entry<ResourceMethod, ExecutionStatistics> entry : methods.entrySet()) {
+            final String name = entry.getKey().getInvocable().getHandlingMethod().getName();
+            if ("get".equals(name)) {
+                assertEquals(2, entry.getValue().getCount());
+                assertEquals(0, entry.getValue().getErrorCount());
+            } else {
+                assertEquals("fail", name);
+                assertEquals(1, entry.getValue().getCount());
+                assertEquals(1, entry.getValue().getErrorCount());
+            }
+        }
+
+        final ExecutionStatistics resource = statistics.getResourceClassStatistics().get(MonitoredResource.class);
+        assertEquals(3, resource.getCount());
+        assertEquals(1, resource.getErrorCount());
+
+        final Map<Integer, Long> statusCounts = statistics.getResponseStatusCounts();
+        assertEquals(Long.valueOf(2), statusCounts.get(200));
+        assertEquals(Long.valueOf(1), statusCounts.get(409));
+        assertEquals(Long.valueOf(1), statusCounts.get(404));
+
+        assertEquals(Long.valueOf(1), statistics.getExceptionMapperCounts().get(IllegalStateMapper.class));
+    }
+
+    @Test
+    public void testMonitoringDisabled() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(MonitoredResource.class));
+
+        assertEquals(200, apply(handler, "/monitored").getStatus());
+        assertNull(handler.getServiceLocator().getService(MonitoringStatistics.class));
+    }
+
+    @Test
+    public void testMBeans() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(MonitoredResource.class, MonitoringFeature.class)
+                        .property(ServerProperties.MONITORING_STATISTICS_MBEANS_ENABLED, true)
+                        .property(ServerProperties.MONITORING_APPLICATION_NAME, "monitoringTest"));
+
+        assertEquals(200, apply(handler, "/monitored").getStatus());
+
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName requests = new ObjectName(
+                "org.glassfish.jersey:type=\"monitoringTest\",subType=Global,name=\"Requests\"");
+        assertTrue(mBeanServer.isRegistered(requests));
+        assertEquals(1L, mBeanServer.getAttribute(requests, "Count"));
+
+        final ObjectName resource = new ObjectName("org.glassfish.jersey:type=\"monitoringTest\",subType=Resources,name="
+                + ObjectName.quote(MonitoredResource.class.getName()));
+        assertTrue(mBeanServer.isRegistered(resource));
+
+        handler.getServiceLocator().getService(MonitoringStatisticsCollector.class).close();
+        assertFalse(mBeanServer.isRegistered(requests));
+        assertFalse(mBeanServer.isRegistered(resource));
+    }
+}
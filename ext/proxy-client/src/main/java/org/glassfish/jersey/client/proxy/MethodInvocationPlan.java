@@ -0,0 +1,320 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.proxy;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.CookieParam;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.FormParam;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.MatrixParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Immutable invocation plan of a single resource proxy method.
+ * <p>
+ * The plan captures everything that can be derived from the method signature and annotations (HTTP method,
+ * path, parameter bindings, accepted and consumed media types and the response type), so that the proxy
+ * invocation handler only needs to bind the actual arguments on each call.
+ * </p>
+ *
+ * @see WebResourceFactory
+ */
+final class MethodInvocationPlan {
+
+    /**
+     * Kind of a proxy method parameter.
+     */
+    enum ParamKind {
+        /**
+         * Request entity (parameter without any annotation).
+         */
+        ENTITY,
+        /**
+         * {@link InvocationCallback} of an asynchronous invocation.
+         */
+        CALLBACK,
+        PATH,
+        QUERY,
+        HEADER,
+        COOKIE,
+        MATRIX,
+        FORM,
+        /**
+         * Annotated parameter that is not bound to the request.
+         */
+        IGNORED
+    }
+
+    /**
+     * Binding of a single proxy method parameter.
+     */
+    static final class ParamBinding {
+
+        final ParamKind kind;
+        final String name;
+        final String defaultValue;
+
+        private ParamBinding(final ParamKind kind, final String name, final String defaultValue) {
+            this.kind = kind;
+            this.name = name;
+            this.defaultValue = defaultValue;
+        }
+    }
+
+    /**
+     * HTTP method name or {@code null} if the method is a sub-resource locator.
+     */
+    final String httpMethod;
+    /**
+     * Value of the method {@link Path} annotation or {@code null}.
+     */
+    final String path;
+    /**
+     * Parameter bindings.
+     */
+    final ParamBinding[] params;
+    /**
+     * Generic type of the request entity or {@code null} if the method has no entity parameter.
+     */
+    final Type entityType;
+    /**
+     * {@code true} if the request entity type is a parameterized type.
+     */
+    final boolean genericEntity;
+    /**
+     * Accepted response media types or {@code null}.
+     */
+    final String[] accepts;
+    /**
+     * Request entity media type or {@code null}.
+     */
+    final String contentType;
+    /**
+     * Raw method return type.
+     */
+    final Class<?> returnType;
+    /**
+     * Response entity type. In case of {@link Future} return type, the type of the future result.
+     */
+    final GenericType<?> responseType;
+    /**
+     * {@code true} if the method is invoked asynchronously.
+     */
+    final boolean async;
+    /**
+     * {@code true} if any of the parameters is a header, cookie or form parameter.
+     */
+    final boolean hasHeaderParams;
+    final boolean hasCookieParams;
+    final boolean hasFormParams;
+
+    /**
+     * Create the invocation plan of a proxy method.
+     *
+     * @param resourceInterface proxied resource interface.
+     * @param method            proxy method.
+     * @return invocation plan of the method.
+     * @throws UnsupportedOperationException in case the method is neither a resource method nor a sub-resource
+     *                                       locator returning an interface.
+     */
+    static MethodInvocationPlan create(final Class<?> resourceInterface, final Method method) {
+        return new MethodInvocationPlan(resourceInterface, method);
+    }
+
+    private MethodInvocationPlan(final Class<?> resourceInterface, final Method method) {
+        this.returnType = method.getReturnType();
+
+        // determine method name
+        String name = getHttpMethodName(method);
+        if (name == null) {
+            for (Annotation ann : method.getAnnotations()) {
+                name = getHttpMethodName(ann.annotationType());
+                if (name != null) {
+                    break;
+                }
+            }
+        }
+        this.httpMethod = name;
+
+        final Path p = method.getAnnotation(Path.class);
+        this.path = p == null ? null : p.value();
+
+        if (httpMethod == null) {
+            if (path == null) {
+                // no path annotation on the method -> fail
+                throw new UnsupportedOperationException("Not a resource method.");
+            } else if (!returnType.isInterface()) {
+                // the method is a subresource locator, but returns class,
+                // not interface - can't help here
+                throw new UnsupportedOperationException("Return type not an interface");
+            }
+        }
+
+        // process method params
+        final Annotation[][] paramAnns = method.getParameterAnnotations();
+        final Type[] paramTypes = method.getGenericParameterTypes();
+        final Class<?>[] rawParamTypes = method.getParameterTypes();
+        this.params = new ParamBinding[paramAnns.length];
+
+        Type entity = null;
+        boolean callback = false;
+        boolean headerParams = false;
+        boolean cookieParams = false;
+        boolean formParams = false;
+        for (int i = 0; i < paramAnns.length; i++) {
+            if (paramAnns[i].length == 0) {
+                if (httpMethod != null && InvocationCallback.class.isAssignableFrom(rawParamTypes[i])) {
+                    params[i] = new ParamBinding(ParamKind.CALLBACK, null, null);
+                    callback = true;
+                } else {
+                    params[i] = new ParamBinding(ParamKind.ENTITY, null, null);
+                    entity = paramTypes[i];
+                }
+            } else {
+                params[i] = createBinding(paramAnns[i]);
+                headerParams |= params[i].kind == ParamKind.HEADER;
+                cookieParams |= params[i].kind == ParamKind.COOKIE;
+                formParams |= params[i].kind == ParamKind.FORM;
+            }
+        }
+        this.entityType = entity;
+        this.genericEntity = entity instanceof ParameterizedType;
+        this.hasHeaderParams = headerParams;
+        this.hasCookieParams = cookieParams;
+        this.hasFormParams = formParams;
+
+        // accepted media types
+        Produces produces = method.getAnnotation(Produces.class);
+        if (produces == null) {
+            produces = resourceInterface.getAnnotation(Produces.class);
+        }
+        this.accepts = produces == null ? null : produces.value();
+
+        // content type
+        Consumes consumes = method.getAnnotation(Consumes.class);
+        if (consumes == null) {
+            consumes = resourceInterface.getAnnotation(Consumes.class);
+        }
+        // TODO: should consider q/qs instead of picking the first one
+        this.contentType = consumes != null && consumes.value().length > 0 ? consumes.value()[0] : null;
+
+        // response type
+        this.async = httpMethod != null && (callback || Future.class.equals(returnType));
+        if (httpMethod == null || callback) {
+            this.responseType = null;
+        } else if (async) {
+            this.responseType = futureResultType(method.getGenericReturnType());
+        } else {
+            this.responseType = new GenericType<Object>(method.getGenericReturnType());
+        }
+    }
+
+    private static ParamBinding createBinding(final Annotation[] anns) {
+        String defaultValue = null;
+        ParamKind kind = null;
+        String name = null;
+        int priority = Integer.MAX_VALUE;
+
+        for (Annotation ann : anns) {
+            final Class<? extends Annotation> type = ann.annotationType();
+            // the order of the checks determines the precedence in case of multiple parameter annotations
+            if (type == DefaultValue.class) {
+                defaultValue = ((DefaultValue) ann).value();
+            } else if (type == PathParam.class && priority > 0) {
+                kind = ParamKind.PATH;
+                name = ((PathParam) ann).value();
+                priority = 0;
+            } else if (type == QueryParam.class && priority > 1) {
+                kind = ParamKind.QUERY;
+                name = ((QueryParam) ann).value();
+                priority = 1;
+            } else if (type == HeaderParam.class && priority > 2) {
+                kind = ParamKind.HEADER;
+                name = ((HeaderParam) ann).value();
+                priority = 2;
+            } else if (type == CookieParam.class && priority > 3) {
+                kind = ParamKind.COOKIE;
+                name = ((CookieParam) ann).value();
+                priority = 3;
+            } else if (type == MatrixParam.class && priority > 4) {
+                kind = ParamKind.MATRIX;
+                name = ((MatrixParam) ann).value();
+                priority = 4;
+            } else if (type == FormParam.class && priority > 5) {
+                kind = ParamKind.FORM;
+                name = ((FormParam) ann).value();
+                priority = 5;
+            }
+        }
+
+        return new ParamBinding(kind == null ? ParamKind.IGNORED : kind, name, defaultValue);
+    }
+
+    private static GenericType<?> futureResultType(final Type futureType) {
+        if (futureType instanceof ParameterizedType) {
+            final Type resultType = ((ParameterizedType) futureType).getActualTypeArguments()[0];
+            if (resultType instanceof Class || resultType instanceof ParameterizedType) {
+                return new GenericType<Object>(resultType);
+            }
+        }
+        // raw or wildcard future
+        return new GenericType<Response>(Response.class);
+    }
+
+    private static String getHttpMethodName(final AnnotatedElement ae) {
+        final HttpMethod a = ae.getAnnotation(HttpMethod.class);
+        return a == null ? null : a.value();
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,57 +39,74 @@
  */
 package org.glassfish.jersey.client.proxy;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
-import java.lang.reflect.Type;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
 
-import javax.ws.rs.Consumes;
-import javax.ws.rs.CookieParam;
-import javax.ws.rs.DefaultValue;
-import javax.ws.rs.FormParam;
-import javax.ws.rs.HeaderParam;
-import javax.ws.rs.HttpMethod;
-import javax.ws.rs.MatrixParam;
 import javax.ws.rs.Path;
-import javax.ws.rs.PathParam;
-import javax.ws.rs.Produces;
-import javax.ws.rs.QueryParam;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Cookie;
 import javax.ws.rs.core.Form;
 import javax.ws.rs.core.GenericEntity;
-import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
 /**
  * Factory for client-side representation of a resource.
  * See the <a href="package-summary.html">package overview</a>
  * for an example on how to use this class.
+ * <p>
+ * Each proxy method is analyzed only once, upon its first invocation, and the resulting immutable
+ * {@link MethodInvocationPlan invocation plan} is shared by all the proxies of the same resource interface.
+ * Resource methods returning {@link Future} are invoked {@link javax.ws.rs.client.AsyncInvoker asynchronously},
+ * as well as resource methods having an (unannotated) {@link InvocationCallback} parameter. In the latter case
+ * the method may return either {@code void} or a {@code Future}.
+ * </p>
  *
  * @author Martin Matula (martin.matula at oracle.com)
  */
 public final class WebResourceFactory implements InvocationHandler {
+    private final Class<?> resourceInterface;
     private final WebTarget target;
     private final MultivaluedMap<String, Object> headers;
     private final List<Cookie> cookies;
     private final Form form;
+    private final ConcurrentMap<Method, MethodInvocationPlan> plans;
 
     private static final MultivaluedMap<String, Object> EMPTY_HEADERS = new MultivaluedHashMap<String, Object>();
     private static final Form EMPTY_FORM = new Form();
 
+    /**
+     * Invocation plans of resource interface methods. Both the resource interfaces and the plan maps are weakly
+     * referenced: the plan maps are kept alive by the proxies of the resource interface only (the plans reference
+     * the interface class strongly), so that the resource interface classes can be unloaded once there are no
+     * proxies left.
+     */
+    private static final LoadingCache<Class<?>, ConcurrentMap<Method, MethodInvocationPlan>> PLANS =
+            CacheBuilder.newBuilder().weakKeys().weakValues().build(
+                    new CacheLoader<Class<?>, ConcurrentMap<Method, MethodInvocationPlan>>() {
+                        @Override
+                        public ConcurrentMap<Method, MethodInvocationPlan> load(Class<?> resourceInterface) {
+                            return new ConcurrentHashMap<Method, MethodInvocationPlan>();
+                        }
+                    });
+
     /**
      * Creates a new client-side representation of a resource described by
      * the interface passed in the first argument.
@@ -128,133 +145,122 @@ public final class WebResourceFactory implements InvocationHandler {
                                     MultivaluedMap<String, Object> headers, List<Cookie> cookies, Form form) {
         return (C) Proxy.newProxyInstance(resourceInterface.getClassLoader(),
                 new Class[]{resourceInterface},
-                new WebResourceFactory(ignoreResourcePath ? target : addPathFromAnnotation(resourceInterface, target),
+                new WebResourceFactory(resourceInterface,
+                        ignoreResourcePath ? target : addPathFromAnnotation(resourceInterface, target),
                         headers, cookies, form));
     }
 
-    private WebResourceFactory(WebTarget target, MultivaluedMap<String, Object> headers, List<Cookie> cookies,
-                               Form form) {
+    private WebResourceFactory(Class<?> resourceInterface, WebTarget target, MultivaluedMap<String, Object> headers,
+                               List<Cookie> cookies, Form form) {
+        this.resourceInterface = resourceInterface;
         this.target = target;
         this.headers = headers;
         this.cookies = cookies;
         this.form = form;
+        this.plans = PLANS.getUnchecked(resourceInterface);
+    }
+
+    private MethodInvocationPlan getPlan(Method method) {
+        MethodInvocationPlan plan = plans.get(method);
+        if (plan == null) {
+            plan = MethodInvocationPlan.create(resourceInterface, method);
+            plans.putIfAbsent(method, plan);
+        }
+        return plan;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        // get the interface describing the resource
-        Class<?> proxyIfc = proxy.getClass().getInterfaces()[0];
+        final MethodInvocationPlan plan = getPlan(method);
 
-        // response type
-        Class<?> responseType = method.getReturnType();
+        // create a new target appending the @Path attached to the method
+        WebTarget newTarget = plan.path == null ? target : target.path(plan.path);
 
-        // determine method name
-        String httpMethod = getHttpMethodName(method);
-        if (httpMethod == null) {
-            for (Annotation ann : method.getAnnotations()) {
-                httpMethod = getHttpMethodName(ann.annotationType());
-                if (httpMethod != null) {
-                    break;
-                }
-            }
+        // bind method params (Path|Form|Cookie|Matrix|Header..)Params, entity and callback;
+        // the inherited header, cookie and form params are copied only if they are to be modified
+        MultivaluedMap<String, Object> headers = this.headers;
+        if (plan.hasHeaderParams) {
+            headers = new MultivaluedHashMap<String, Object>(this.headers);
         }
-
-        // create a new UriBuilder appending the @Path attached to the method
-        WebTarget newTarget = addPathFromAnnotation(method, target);
-
-        if (httpMethod == null) {
-            if (newTarget == target) {
-                // no path annotation on the method -> fail
-                throw new UnsupportedOperationException("Not a resource method.");
-            } else if (!responseType.isInterface()) {
-                // the method is a subresource locator, but returns class,
-                // not interface - can't help here
-                throw new UnsupportedOperationException("Return type not an interface");
-            }
+        List<Cookie> cookies = this.cookies;
+        if (plan.hasCookieParams) {
+            cookies = new LinkedList<Cookie>(this.cookies);
+        }
+        Form form = this.form;
+        if (plan.hasFormParams) {
+            form = new Form();
+            form.asMap().putAll(this.form.asMap());
         }
-
-        // process method params (build maps of (Path|Form|Cookie|Matrix|Header..)Params
-        // and extract entity type
-        MultivaluedHashMap<String, Object> headers = new MultivaluedHashMap<String, Object>(this.headers);
-        LinkedList<Cookie> cookies = new LinkedList<Cookie>(this.cookies);
-        Form form = new Form();
-        form.asMap().putAll(this.form.asMap());
-        Annotation[][] paramAnns = method.getParameterAnnotations();
         Object entity = null;
-        Type entityType = null;
-        for (int i = 0; i < paramAnns.length; i++) {
-            Map<Class, Annotation> anns = new HashMap<Class, Annotation>();
-            for (Annotation ann : paramAnns[i]) {
-                anns.put(ann.annotationType(), ann);
-            }
-            Annotation ann;
+        InvocationCallback<Object> callback = null;
+        for (int i = 0; i < plan.params.length; i++) {
+            final MethodInvocationPlan.ParamBinding param = plan.params[i];
             Object value = args[i];
-            if (anns.isEmpty()) {
-                entityType = method.getGenericParameterTypes()[i];
-                entity = value;
-            } else {
-                if (value == null && (ann = anns.get(DefaultValue.class)) != null) {
-                    value = ((DefaultValue) ann).value();
-                }
+            switch (param.kind) {
+                case ENTITY:
+                    entity = value;
+                    continue;
+                case CALLBACK:
+                    if (value == null) {
+                        throw new IllegalArgumentException("The InvocationCallback argument of the " + method
+                                + " resource method must not be null.");
+                    }
+                    callback = (InvocationCallback<Object>) value;
+                    continue;
+                default:
+                    if (value == null) {
+                        value = param.defaultValue;
+                    }
+            }
 
-                if (value != null) {
-                    if ((ann = anns.get(PathParam.class)) != null) {
-                        newTarget = newTarget.resolveTemplate(((PathParam) ann).value(), value);
-                    } else if ((ann = anns.get((QueryParam.class))) != null) {
-                        newTarget = newTarget.queryParam(((QueryParam) ann).value(), value);
-                    } else if ((ann = anns.get((HeaderParam.class))) != null) {
-                        headers.addAll(((HeaderParam) ann).value(), value);
-                    } else if ((ann = anns.get((CookieParam.class))) != null) {
-                        String name = ((CookieParam) ann).value();
+            if (value != null) {
+                switch (param.kind) {
+                    case PATH:
+                        newTarget = newTarget.resolveTemplate(param.name, value);
+                        break;
+                    case QUERY:
+                        newTarget = newTarget.queryParam(param.name, value);
+                        break;
+                    case HEADER:
+                        headers.addAll(param.name, value);
+                        break;
+                    case COOKIE:
                         Cookie c;
                         if (!(value instanceof Cookie)) {
-                            c = new Cookie(name, value.toString());
+                            c = new Cookie(param.name, value.toString());
                         } else {
                             c = (Cookie) value;
-                            if (!name.equals(((Cookie) value).getName())) {
+                            if (!param.name.equals(c.getName())) {
                                 // is this the right thing to do? or should I fail? or ignore the difference?
-                                c = new Cookie(name, c.getValue(), c.getPath(), c.getDomain(), c.getVersion());
+                                c = new Cookie(param.name, c.getValue(), c.getPath(), c.getDomain(), c.getVersion());
                             }
                         }
                         cookies.add(c);
-                    } else if ((ann = anns.get((MatrixParam.class))) != null) {
-                        newTarget = newTarget.matrixParam(((MatrixParam) ann).value(), value);
-                    } else if ((ann = anns.get((FormParam.class))) != null) {
-                        form.param(((FormParam) ann).value(), value.toString());
-                    }
+                        break;
+                    case MATRIX:
+                        newTarget = newTarget.matrixParam(param.name, value);
+                        break;
+                    case FORM:
+                        form.param(param.name, value.toString());
+                        break;
+                    default:
+                        break;
                 }
             }
         }
 
-        if (httpMethod == null) {
+        if (plan.httpMethod == null) {
             // the method is a subresource locator
-            return WebResourceFactory.newResource(responseType, newTarget, true, headers, cookies, form);
-        }
-
-        // accepted media types
-        Produces produces = method.getAnnotation(Produces.class);
-        if (produces == null) {
-            produces = proxyIfc.getAnnotation(Produces.class);
+            return WebResourceFactory.newResource(plan.returnType, newTarget, true, headers, cookies, form);
         }
-        String[] accepts = produces == null ? null : produces.value();
 
         // determine content type
-        String contentType = null;
-        if (entity != null) {
-            Consumes consumes = method.getAnnotation(Consumes.class);
-            if (consumes == null) {
-                consumes = proxyIfc.getAnnotation(Consumes.class);
-            }
-            if (consumes != null && consumes.value().length > 0) {
-                // TODO: should consider q/qs instead of picking the first one
-                contentType = consumes.value()[0];
-            }
-        }
+        String contentType = entity != null ? plan.contentType : null;
 
         Invocation.Builder b;
-        if (accepts != null) {
-            b = newTarget.request(accepts);
+        if (plan.accepts != null) {
+            b = newTarget.request(plan.accepts);
         } else {
             b = newTarget.request();
         }
@@ -270,8 +276,6 @@ public final class WebResourceFactory implements InvocationHandler {
             }
         }
 
-        Object result;
-
         if (entity == null && !form.asMap().isEmpty()) {
             entity = form;
             contentType = MediaType.APPLICATION_FORM_URLENCODED;
@@ -288,17 +292,31 @@ public final class WebResourceFactory implements InvocationHandler {
             }
         }
 
-        GenericType responseGenericType = new GenericType(method.getGenericReturnType());
+        Entity<?> requestEntity = null;
         if (entity != null) {
-            if (entityType instanceof ParameterizedType) {
-                entity = new GenericEntity(entity, entityType);
+            if (plan.genericEntity) {
+                entity = new GenericEntity(entity, plan.entityType);
             }
-            result = b.method(httpMethod, Entity.entity(entity, contentType), responseGenericType);
-        } else {
-            result = b.method(httpMethod, responseGenericType);
+            requestEntity = Entity.entity(entity, contentType);
+        }
+
+        if (!plan.async) {
+            return requestEntity != null
+                    ? b.method(plan.httpMethod, requestEntity, plan.responseType)
+                    : b.method(plan.httpMethod, plan.responseType);
         }
 
-        return result;
+        final Future<?> future;
+        if (callback != null) {
+            future = requestEntity != null
+                    ? b.async().method(plan.httpMethod, requestEntity, callback)
+                    : b.async().method(plan.httpMethod, callback);
+        } else {
+            future = requestEntity != null
+                    ? b.async().method(plan.httpMethod, requestEntity, plan.responseType)
+                    : b.async().method(plan.httpMethod, plan.responseType);
+        }
+        return Future.class.isAssignableFrom(plan.returnType) ? future : null;
     }
 
     private static WebTarget addPathFromAnnotation(AnnotatedElement ae, WebTarget target) {
@@ -308,9 +326,4 @@ public final class WebResourceFactory implements InvocationHandler {
         }
         return target;
     }
-
-    private static String getHttpMethodName(AnnotatedElement ae) {
-        HttpMethod a = ae.getAnnotation(HttpMethod.class);
-        return a == null ? null : a.value();
-    }
 }
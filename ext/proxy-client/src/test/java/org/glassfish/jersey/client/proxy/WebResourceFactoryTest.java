@@ -40,6 +40,11 @@
 package org.glassfish.jersey.client.proxy;
 
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.client.InvocationCallback;
 
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.test.JerseyTest;
@@ -47,6 +52,7 @@ import org.glassfish.jersey.test.TestProperties;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class WebResourceFactoryTest extends JerseyTest {
     private MyResourceIfc resource;
@@ -94,4 +100,46 @@ public class WebResourceFactoryTest extends JerseyTest {
     public void testSubResource() {
         assertEquals("Got it!", resource.getSubResource().getMyBean().name);
     }
+
+    @Test
+    public void testRepeatedInvocation() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("id" + i, resource.getId("id" + i));
+        }
+    }
+
+    @Test
+    public void testFuture() throws Exception {
+        final MyResourceAsyncIfc asyncResource = WebResourceFactory.newResource(MyResourceAsyncIfc.class, target());
+        assertEquals("Got it!", asyncResource.getIt().get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testInvocationCallback() throws Exception {
+        final MyResourceAsyncIfc asyncResource = WebResourceFactory.newResource(MyResourceAsyncIfc.class, target());
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<String> result = new AtomicReference<String>();
+
+        asyncResource.getId("jouda", new InvocationCallback<String>() {
+            @Override
+            public void completed(String response) {
+                result.set(response);
+                latch.countDown();
+            }
+
+            @Override
+            public void failed(Throwable throwable) {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals("jouda", result.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullInvocationCallback() throws Exception {
+        final MyResourceAsyncIfc asyncResource = WebResourceFactory.newResource(MyResourceAsyncIfc.class, target());
+        asyncResource.getId("jouda", null);
+    }
 }
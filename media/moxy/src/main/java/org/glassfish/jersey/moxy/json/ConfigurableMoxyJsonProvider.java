@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012-2013 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -39,11 +39,17 @@
  */
 package org.glassfish.jersey.moxy.json;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Iterator;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
@@ -55,6 +61,8 @@ import javax.xml.bind.Marshaller;
 import javax.xml.bind.PropertyException;
 import javax.xml.bind.Unmarshaller;
 
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
 import org.eclipse.persistence.jaxb.MarshallerProperties;
 import org.eclipse.persistence.jaxb.UnmarshallerProperties;
 import org.eclipse.persistence.jaxb.rs.MOXyJsonProvider;
@@ -68,6 +76,11 @@ import org.eclipse.persistence.jaxb.rs.MOXyJsonProvider;
  *     <li>Value wrapper - {@code $}</li>
  *     <li>Namespace separator - {@code :}</li>
  * </ul>
+ * <p/>
+ * In addition to the types supported by the {@link MOXyJsonProvider}, the provider writes streamed collections, i.e. any
+ * {@code Iterable<T>} or {@code Iterator<T>} entity of a type supported by the {@link MOXyJsonProvider}, as a JSON array.
+ * The elements are marshalled one by one, as they are returned by the iterator, and the entity stream is flushed
+ * periodically.
  *
  * @author Michal Gajdos (michal.gajdos at oracle.com)
  */
@@ -87,6 +100,11 @@ class ConfigurableMoxyJsonProvider extends MOXyJsonProvider {
         setNamespaceSeparator(':');
     }
 
+    /**
+     * Number of written streamed collection elements after which the entity stream is flushed.
+     */
+    private static final int FLUSH_INTERVAL = 100;
+
     private void initializeProperties() {
         final ContextResolver<MoxyJsonConfiguration> contextResolver =
                 providers.getContextResolver(MoxyJsonConfiguration.class, MediaType.APPLICATION_JSON_TYPE);
@@ -128,6 +146,59 @@ class ConfigurableMoxyJsonProvider extends MOXyJsonProvider {
         marshaller.setProperty(MarshallerProperties.NAMESPACE_PREFIX_MAPPER, getNamespacePrefixMapper());
     }
 
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                               final MediaType mediaType) {
+        if (isStreamed(type)) {
+            final Class<?> elementType = getStreamedElementType(genericType);
+            return elementType != null && super.isWriteable(elementType, elementType, annotations, mediaType);
+        }
+        return super.isWriteable(type, genericType, annotations, mediaType);
+    }
+
+    @Override
+    public void writeTo(final Object object, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException, WebApplicationException {
+        if (!isStreamed(type)) {
+            super.writeTo(object, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+            return;
+        }
+
+        final Class<?> elementType = getStreamedElementType(genericType);
+        final String charset = ReaderWriter.getCharset(mediaType).name();
+        final Iterator<?> iterator = (object instanceof Iterator) ? (Iterator<?>) object : ((Iterable<?>) object).iterator();
+
+        entityStream.write("[".getBytes(charset));
+        int count = 0;
+        while (iterator.hasNext()) {
+            if (count > 0) {
+                entityStream.write(",".getBytes(charset));
+            }
+            super.writeTo(iterator.next(), elementType, elementType, annotations, mediaType, httpHeaders, entityStream);
+            // let the client process the first elements while the rest of the collection is written
+            if (++count % FLUSH_INTERVAL == 1) {
+                entityStream.flush();
+            }
+        }
+        entityStream.write("]".getBytes(charset));
+    }
+
+    private static boolean isStreamed(final Class<?> type) {
+        return Iterator.class.isAssignableFrom(type)
+                || (Iterable.class.isAssignableFrom(type) && !Collection.class.isAssignableFrom(type));
+    }
+
+    private static Class<?> getStreamedElementType(final Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            final Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+            if (arguments.length == 1 && arguments[0] instanceof Class) {
+                return (Class<?>) arguments[0];
+            }
+        }
+        return null;
+    }
+
     @Override
     protected void preReadFrom(final Class<Object> type, final Type genericType, final Annotation[] annotations,
                                final MediaType mediaType, final MultivaluedMap<String, String> httpHeaders,
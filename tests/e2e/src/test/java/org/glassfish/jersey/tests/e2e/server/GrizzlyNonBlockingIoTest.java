@@ -0,0 +1,214 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.tests.e2e.server;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpContainerProperties;
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests of the non-blocking request entity reading and chunked response writing
+ * of the Grizzly HTTP container.
+ */
+public class GrizzlyNonBlockingIoTest extends JerseyTest {
+
+    private static final int THRESHOLD = 1024;
+    private static final int QUEUE_LIMIT = 4096;
+    private static final int CHUNK_COUNT = 64;
+    private static final int CHUNK_SIZE = 8192;
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(Resource.class)
+                .property(GrizzlyHttpContainerProperties.ENTITY_READ_THRESHOLD, THRESHOLD)
+                .property(GrizzlyHttpContainerProperties.CHUNKED_OUTPUT_NON_BLOCKING, true)
+                .property(GrizzlyHttpContainerProperties.CHUNKED_OUTPUT_QUEUE_LIMIT, QUEUE_LIMIT);
+    }
+
+    @Path("/")
+    public static class Resource {
+
+        static final AtomicInteger echoInvocations = new AtomicInteger();
+        static volatile Throwable chunkFailure;
+
+        @POST
+        @Path("echo")
+        public String echo(final String entity) {
+            echoInvocations.incrementAndGet();
+            return entity;
+        }
+
+        @GET
+        @Path("chunks")
+        public ChunkedOutput<String> chunks() {
+            final ChunkedOutput<String> output = new ChunkedOutput<String>(String.class);
+
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < CHUNK_COUNT; i++) {
+                            output.write(chunk(i));
+                        }
+                        output.close();
+                    } catch (Throwable t) {
+                        chunkFailure = t;
+                    }
+                }
+            }.start();
+
+            return output;
+        }
+    }
+
+    private static String chunk(final int index) {
+        final char[] chars = new char[CHUNK_SIZE];
+        Arrays.fill(chars, (char) ('a' + index % 26));
+        return new String(chars);
+    }
+
+    private static String entity(final int size) {
+        final StringBuilder sb = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            sb.append((char) ('0' + i % 10));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testEntityBelowThreshold() {
+        final String entity = entity(THRESHOLD / 2);
+        assertEquals(entity, target("echo").request().post(Entity.entity(entity, MediaType.TEXT_PLAIN), String.class));
+    }
+
+    @Test
+    public void testEntityAboveThreshold() {
+        final String entity = entity(THRESHOLD * 64);
+        assertEquals(entity, target("echo").request().post(Entity.entity(entity, MediaType.TEXT_PLAIN), String.class));
+    }
+
+    @Test
+    public void testEntityReadError() throws Exception {
+        final int invocations = Resource.echoInvocations.get();
+
+        final Socket socket = new Socket("localhost", getPort());
+        String statusLine;
+        try {
+            socket.setSoTimeout(10000);
+            final OutputStream out = socket.getOutputStream();
+            out.write(("POST " + getBaseUri().getPath() + "echo HTTP/1.1\r\n"
+                    + "Host: localhost:" + getPort() + "\r\n"
+                    + "Content-Type: text/plain\r\n"
+                    + "Content-Length: " + (THRESHOLD / 2) + "\r\n"
+                    + "\r\n"
+                    + "truncated").getBytes("US-ASCII"));
+            out.flush();
+            // the client goes away before the whole entity is sent
+            socket.shutdownOutput();
+
+            try {
+                statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream(), "US-ASCII")).readLine();
+            } catch (IOException e) {
+                statusLine = null;
+            }
+        } finally {
+            socket.close();
+        }
+
+        assertFalse("Unexpected response: " + statusLine, statusLine != null && statusLine.contains(" 200 "));
+        assertEquals(invocations, Resource.echoInvocations.get());
+
+        // the container keeps serving other requests
+        testEntityBelowThreshold();
+    }
+
+    @Test
+    public void testSlowConsumerChunkedOutput() throws Exception {
+        final HttpURLConnection connection =
+                (HttpURLConnection) getBaseUri().resolve("chunks").toURL().openConnection();
+        try {
+            assertEquals(200, connection.getResponseCode());
+            final InputStream in = connection.getInputStream();
+
+            // do not consume the response for a while so that the queue limit is reached on the server side
+            Thread.sleep(500);
+
+            final ByteArrayOutputStream received = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                received.write(buffer, 0, read);
+            }
+
+            final StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < CHUNK_COUNT; i++) {
+                expected.append(chunk(i));
+            }
+            assertEquals(expected.toString(), received.toString("US-ASCII"));
+            assertNull(Resource.chunkFailure);
+        } finally {
+            connection.disconnect();
+        }
+    }
+}